@@ -0,0 +1,215 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.AnalisisSensibilidad;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Calcula el análisis de sensibilidad (rangos de costos y precios sombra)
+ * a partir de la base final de una solución óptima.
+ *
+ * Celda no básica (i, j) con costo reducido d: la base sigue siendo óptima
+ * mientras el costo no baje de c - d.
+ *
+ * Celda básica: quitarla del árbol lo separa en dos partes y variar su costo en δ
+ * desplaza los potenciales de la parte del nodo hijo; solo cambian los costos reducidos
+ * de las celdas no básicas que cruzan el corte (unas en +δ y otras en -δ). El rango es
+ * el mínimo costo reducido de cada grupo. Para calcularlo en todas las celdas básicas a la vez
+ * se recorren las no básicas en orden creciente de costo reducido: cada una fija el límite
+ * de las aristas de su camino en el árbol que todavía no lo tienen, saltando las ya fijadas
+ * con union-find. Costo O(mn log mn) en total.
+ */
+@Component
+public class AnalizadorSensibilidad {
+
+    /**
+     * Analiza una solución óptima.
+     *
+     * @param problema problema balanceado
+     * @param solucion solución óptima con celdas básicas
+     * @return rangos de costos, costos reducidos y precios sombra
+     */
+    public AnalisisSensibilidad analizar(ProblemaTransporte problema, SolucionTransporte solucion) {
+        if (solucion.getCeldasBasicas() == null) {
+            throw new IllegalArgumentException("La solución no tiene base para el análisis de sensibilidad");
+        }
+
+        FuenteCostos costos = problema.getFuenteCostos();
+        BaseTransporte base = BaseTransporte.desdeBase(
+                costos, problema.getOfertas(), problema.getDemandas(), solucion.getCeldasBasicas());
+
+        int m = base.getNumOrigenes();
+        int n = base.getNumDestinos();
+        double[] u = base.getPotencialesFila();
+        double[] v = base.getPotencialesColumna();
+
+        int[] basicas = base.getCeldasBasicas().clone();
+        Arrays.sort(basicas);
+
+        // Costos reducidos y rangos de las celdas no básicas
+        double[][] reducidos = new double[m][n];
+        double[][] minimo = new double[m][n];
+        double[][] maximo = new double[m][n];
+        double[] buffer = new double[n];
+        for (int i = 0; i < m; i++) {
+            double[] fila = costos.obtenerFila(i, buffer);
+            for (int j = 0; j < n; j++) {
+                boolean basica = Arrays.binarySearch(basicas, i * n + j) >= 0;
+                double reducido = basica ? 0.0 : Math.max(0.0, fila[j] - u[i] - v[j]);
+                reducidos[i][j] = reducido;
+                minimo[i][j] = fila[j] - reducido;
+                maximo[i][j] = Double.POSITIVE_INFINITY;
+            }
+        }
+
+        rangosBasicas(base, basicas, reducidos, minimo, maximo);
+
+        return AnalisisSensibilidad.builder()
+                .preciosSombraOfertas(u.clone())
+                .preciosSombraDemandas(v.clone())
+                .costosReducidos(reducidos)
+                .costoMinimo(minimo)
+                .costoMaximo(maximo)
+                .build();
+    }
+
+    /**
+     * Calcula los rangos de todas las celdas básicas.
+     */
+    private void rangosBasicas(
+            BaseTransporte base,
+            int[] basicas,
+            double[][] reducidos,
+            double[][] minimo,
+            double[][] maximo) {
+
+        int m = base.getNumOrigenes();
+        int n = base.getNumDestinos();
+        int nodos = m + n;
+        int[] padre = base.getPadres();
+        int[] celdaPadre = base.getCeldasPadre();
+        int[] orden = base.getOrdenRecorrido();
+        int[] filaBasica = base.getFilasBasicas();
+        int[] columnaBasica = base.getColumnasBasicas();
+        double[] costoBasica = base.getCostosBasicas();
+
+        // Intervalos de preorden para saber en O(1) si un nodo es ancestro de otro
+        int[] tamano = new int[nodos];
+        for (int p = nodos - 1; p >= 0; p--) {
+            int nodo = orden[p];
+            tamano[nodo]++;
+            if (padre[nodo] >= 0) tamano[padre[nodo]] += tamano[nodo];
+        }
+        int[] entrada = new int[nodos];
+        int[] siguienteLibre = new int[nodos];
+        for (int p = 0; p < nodos; p++) {
+            int nodo = orden[p];
+            if (padre[nodo] >= 0) {
+                entrada[nodo] = siguienteLibre[padre[nodo]];
+                siguienteLibre[padre[nodo]] += tamano[nodo];
+            }
+            siguienteLibre[nodo] = entrada[nodo] + 1;
+        }
+
+        // Límite por arista: cruces con el origen dentro del subárbol hijo y con el destino dentro
+        int numBasicas = filaBasica.length;
+        double[] limiteOrigenDentro = new double[numBasicas];
+        double[] limiteDestinoDentro = new double[numBasicas];
+        Arrays.fill(limiteOrigenDentro, Double.POSITIVE_INFINITY);
+        Arrays.fill(limiteDestinoDentro, Double.POSITIVE_INFINITY);
+
+        // Saltos union-find: nodo cuya arista al padre aún no tiene límite (uno por tipo de cruce)
+        int[] saltoOrigen = new int[nodos];
+        int[] saltoDestino = new int[nodos];
+        for (int k = 0; k < nodos; k++) {
+            saltoOrigen[k] = k;
+            saltoDestino[k] = k;
+        }
+
+        int pendientes = 2 * numBasicas;
+        for (long clave : ordenarNoBasicas(reducidos, basicas, m, n)) {
+            if (pendientes == 0) break;
+
+            int celda = (int) clave;
+            int i = celda / n;
+            int j = celda % n;
+            double reducido = reducidos[i][j];
+
+            // Aristas entre el origen i y el ancestro común con el destino j
+            for (int x = buscar(saltoOrigen, i);
+                 !esAncestro(entrada, tamano, x, m + j);
+                 x = buscar(saltoOrigen, padre[x])) {
+                limiteOrigenDentro[celdaPadre[x]] = reducido;
+                saltoOrigen[x] = padre[x];
+                pendientes--;
+            }
+            // Aristas entre el destino j y el ancestro común con el origen i
+            for (int y = buscar(saltoDestino, m + j);
+                 !esAncestro(entrada, tamano, y, i);
+                 y = buscar(saltoDestino, padre[y])) {
+                limiteDestinoDentro[celdaPadre[y]] = reducido;
+                saltoDestino[y] = padre[y];
+                pendientes--;
+            }
+        }
+
+        // Si el hijo es un origen, subir el costo baja los reducidos de los cruces con el origen dentro;
+        // si es un destino, los de los cruces con el destino dentro
+        for (int k = 0; k < numBasicas; k++) {
+            int i = filaBasica[k];
+            int j = columnaBasica[k];
+            boolean hijoEsOrigen = padre[i] == m + j && celdaPadre[i] == k;
+
+            double aumento = hijoEsOrigen ? limiteOrigenDentro[k] : limiteDestinoDentro[k];
+            double disminucion = hijoEsOrigen ? limiteDestinoDentro[k] : limiteOrigenDentro[k];
+            minimo[i][j] = costoBasica[k] - disminucion;
+            maximo[i][j] = costoBasica[k] + aumento;
+        }
+    }
+
+    /**
+     * Devuelve las celdas no básicas ordenadas por costo reducido creciente,
+     * codificadas como (rango del costo reducido << 32) | celda.
+     */
+    private long[] ordenarNoBasicas(double[][] reducidos, int[] basicas, int m, int n) {
+        int total = m * n - basicas.length;
+        double[] valores = new double[total];
+        int t = 0;
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                if (Arrays.binarySearch(basicas, i * n + j) < 0) valores[t++] = reducidos[i][j];
+            }
+        }
+        double[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+
+        long[] claves = new long[total];
+        t = 0;
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                int celda = i * n + j;
+                if (Arrays.binarySearch(basicas, celda) >= 0) continue;
+                long rango = Arrays.binarySearch(ordenados, valores[t]);
+                claves[t++] = (rango << 32) | celda;
+            }
+        }
+        Arrays.sort(claves);
+        return claves;
+    }
+
+    private static boolean esAncestro(int[] entrada, int[] tamano, int ancestro, int nodo) {
+        return entrada[ancestro] <= entrada[nodo] && entrada[nodo] < entrada[ancestro] + tamano[ancestro];
+    }
+
+    private static int buscar(int[] salto, int x) {
+        while (salto[x] != x) {
+            salto[x] = salto[salto[x]];
+            x = salto[x];
+        }
+        return x;
+    }
+}
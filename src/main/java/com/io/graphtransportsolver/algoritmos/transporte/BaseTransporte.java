@@ -0,0 +1,755 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.CapacidadesCarril;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import com.io.graphtransportsolver.models.transporte.enums.EstadoCelda;
+
+import java.util.Arrays;
+
+/**
+ * Base de una solución básica factible del problema de transporte.
+ *
+ * Las m + n - 1 celdas básicas forman un árbol generador sobre los nodos
+ * de orígenes (0..m-1) y destinos (m..m+n-1). Sobre ese árbol se calculan
+ * los potenciales u/v del método MODI y se encuentran los ciclos de pivoteo
+ * en O(m + n), sin recorrer la matriz completa.
+ *
+ * Si hay capacidades por carril, la base es la del simplex con variables acotadas:
+ * una celda no básica puede estar en cero (NO_BASICA) o en su capacidad (EN_COTA_SUPERIOR),
+ * y el problema conserva su tamaño m×n en lugar de agregar nodos por cada carril limitado.
+ */
+public class BaseTransporte {
+
+    /**
+     * Umbral por debajo del cual una asignación se considera cero.
+     */
+    public static final double EPSILON = 1e-9;
+
+    private final int m;
+    private final int n;
+    private final FuenteCostos costos;
+    private final double[][] asignaciones;
+
+    // Celdas básicas y su costo unitario (cacheado para no recalcular costos implícitos)
+    private final int[] filaBasica;
+    private final int[] columnaBasica;
+    private final double[] costoBasica;
+    private final double[] limiteBasica;
+
+    // Capacidades por carril (null si no hay) y estado de cada carril con límite
+    private CapacidadesCarril capacidades;
+    private EstadoCelda[] estadoCarril;
+
+    // Potenciales (variables duales) de orígenes y destinos
+    private final double[] u;
+    private final double[] v;
+
+    // Árbol enraizado en el origen 0
+    private final int[] padre;
+    private final int[] celdaPadre;
+    private final int[] profundidad;
+
+    // Listas de adyacencia del árbol (cada celda básica aporta dos aristas)
+    private final int[] cabeza;
+    private final int[] siguiente;
+    private final int[] nodoArista;
+    private final int[] celdaArista;
+
+    // Buffers para recorridos y ciclos
+    private final int[] cola;
+    private final int[] caminoOrigen;
+    private final int[] caminoDestino;
+    private final int[] ciclo;
+
+    private BaseTransporte(FuenteCostos costos, double[][] asignaciones) {
+        this.m = asignaciones.length;
+        this.n = asignaciones[0].length;
+        this.costos = costos;
+        this.asignaciones = asignaciones;
+
+        int nodos = m + n;
+        int basicas = nodos - 1;
+        this.filaBasica = new int[basicas];
+        this.columnaBasica = new int[basicas];
+        this.costoBasica = new double[basicas];
+        this.limiteBasica = new double[basicas];
+        this.u = new double[m];
+        this.v = new double[n];
+        this.padre = new int[nodos];
+        this.celdaPadre = new int[nodos];
+        this.profundidad = new int[nodos];
+        this.cabeza = new int[nodos];
+        this.siguiente = new int[2 * basicas];
+        this.nodoArista = new int[2 * basicas];
+        this.celdaArista = new int[2 * basicas];
+        this.cola = new int[nodos];
+        this.caminoOrigen = new int[nodos];
+        this.caminoDestino = new int[nodos];
+        this.ciclo = new int[nodos];
+    }
+
+    /**
+     * Construye la base a partir de una solución factible.
+     * Las celdas con asignación positiva se toman como básicas; si forman un ciclo
+     * se redistribuye el flujo por el ciclo (sin aumentar el costo) hasta romperlo.
+     * Si hay degeneración, el árbol se completa con celdas básicas de valor cero.
+     *
+     * @param costos       fuente de costos del problema balanceado
+     * @param asignaciones solución factible [orígenes][destinos]; no se modifica
+     * @return base lista para iterar, con potenciales calculados
+     */
+    public static BaseTransporte desdeAsignaciones(FuenteCostos costos, double[][] asignaciones) {
+        return desdeAsignaciones(costos, asignaciones, null);
+    }
+
+    /**
+     * Construye la base a partir de una solución factible que respeta las capacidades por carril.
+     * Las celdas que usan su capacidad completa quedan fuera del árbol en su cota superior;
+     * al romper ciclos tampoco se supera ninguna capacidad.
+     *
+     * @param costos       fuente de costos del problema balanceado
+     * @param asignaciones solución factible [orígenes][destinos]; no se modifica
+     * @param capacidades  capacidades por carril (null si no hay)
+     * @return base lista para iterar, con potenciales calculados
+     */
+    public static BaseTransporte desdeAsignaciones(
+            FuenteCostos costos,
+            double[][] asignaciones,
+            CapacidadesCarril capacidades) {
+        double[][] copia = new double[asignaciones.length][];
+        for (int i = 0; i < asignaciones.length; i++) {
+            copia[i] = Arrays.copyOf(asignaciones[i], asignaciones[i].length);
+        }
+
+        BaseTransporte base = new BaseTransporte(costos, copia);
+        if (capacidades != null) {
+            base.capacidades = capacidades;
+            base.estadoCarril = new EstadoCelda[capacidades.getCantidad()];
+            Arrays.fill(base.estadoCarril, EstadoCelda.NO_BASICA);
+        }
+        base.construirArbol();
+        base.actualizarPotenciales();
+        return base;
+    }
+
+    /**
+     * Selecciona como básicas las celdas positivas, rompe ciclos y completa el árbol.
+     */
+    private void construirArbol() {
+        int nodos = m + n;
+        int[] conjunto = new int[nodos];
+        for (int k = 0; k < nodos; k++) {
+            conjunto[k] = k;
+        }
+
+        int numBasicas = 0;
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                if (asignaciones[i][j] <= EPSILON) {
+                    asignaciones[i][j] = 0.0;
+                    continue;
+                }
+
+                // Una celda que usa toda su capacidad queda fuera del árbol, en su cota superior
+                int carril = capacidades != null ? capacidades.buscar(i, j) : -1;
+                if (carril >= 0 && asignaciones[i][j] >= capacidades.getLimite(carril) - EPSILON) {
+                    asignaciones[i][j] = capacidades.getLimite(carril);
+                    estadoCarril[carril] = EstadoCelda.EN_COTA_SUPERIOR;
+                    continue;
+                }
+
+                int raizFila = buscar(conjunto, i);
+                int raizColumna = buscar(conjunto, m + j);
+                if (raizFila != raizColumna) {
+                    conjunto[raizFila] = raizColumna;
+                    registrarBasica(numBasicas++, i, j);
+                    continue;
+                }
+
+                // La celda cierra un ciclo con las básicas actuales: se rompe moviendo flujo
+                int salida = romperCiclo(i, j, numBasicas);
+                if (salida >= 0) {
+                    registrarBasica(salida, i, j);
+                }
+            }
+        }
+
+        completarArbol(conjunto, numBasicas);
+    }
+
+    /**
+     * Completa el árbol con celdas degeneradas (asignación cero) de la fila 0 y la columna 0.
+     */
+    private void completarArbol(int[] conjunto, int numBasicas) {
+        int nodos = m + n;
+        for (int j = 0; j < n && numBasicas < nodos - 1; j++) {
+            if (buscar(conjunto, m + j) != buscar(conjunto, 0)) {
+                conjunto[buscar(conjunto, m + j)] = buscar(conjunto, 0);
+                registrarBasica(numBasicas++, 0, j);
+            }
+        }
+        for (int i = 1; i < m && numBasicas < nodos - 1; i++) {
+            if (buscar(conjunto, i) != buscar(conjunto, 0)) {
+                conjunto[buscar(conjunto, i)] = buscar(conjunto, 0);
+                registrarBasica(numBasicas++, i, 0);
+            }
+        }
+    }
+
+    /**
+     * Construye la base a partir de una lista de celdas básicas de una solución anterior
+     * (arranque en caliente). Las celdas que cerrarían un ciclo se ignoran y el árbol
+     * se completa si faltan celdas. Las asignaciones se calculan resolviendo el árbol
+     * con las ofertas y demandas actuales, por lo que pueden quedar negativas si la base
+     * ya no es factible: en ese caso se debe llamar a {@link #repararFactibilidad}.
+     *
+     * @param costos   fuente de costos del problema balanceado
+     * @param ofertas  ofertas actuales
+     * @param demandas demandas actuales
+     * @param celdas   celdas básicas como índices planos (i * n + j)
+     * @return base con potenciales y asignaciones del árbol
+     */
+    public static BaseTransporte desdeBase(FuenteCostos costos, double[] ofertas, double[] demandas, int[] celdas) {
+        int m = ofertas.length;
+        int n = demandas.length;
+        BaseTransporte base = new BaseTransporte(costos, new double[m][n]);
+
+        int[] conjunto = new int[m + n];
+        for (int k = 0; k < conjunto.length; k++) {
+            conjunto[k] = k;
+        }
+
+        int numBasicas = 0;
+        for (int celda : celdas) {
+            if (celda < 0 || celda >= (long) m * n) {
+                throw new IllegalArgumentException(
+                        "La base inicial contiene la celda " + celda + " fuera de la matriz " + m + "x" + n);
+            }
+            if (numBasicas == m + n - 1) {
+                break;
+            }
+
+            int i = celda / n;
+            int j = celda % n;
+            int raizFila = buscar(conjunto, i);
+            int raizColumna = buscar(conjunto, m + j);
+            if (raizFila != raizColumna) {
+                conjunto[raizFila] = raizColumna;
+                base.registrarBasica(numBasicas++, i, j);
+            }
+        }
+        base.completarArbol(conjunto, numBasicas);
+
+        base.actualizarPotenciales();
+        base.calcularFlujosArbol(ofertas, demandas);
+        return base;
+    }
+
+    /**
+     * Calcula las asignaciones de las celdas básicas a partir de las ofertas y demandas,
+     * eliminando hojas en orden inverso al recorrido del árbol. Costo O(m + n).
+     * Requiere el árbol recorrido desde la raíz (actualizarPotenciales).
+     */
+    private void calcularFlujosArbol(double[] ofertas, double[] demandas) {
+        double[] neto = new double[m + n];
+        System.arraycopy(ofertas, 0, neto, 0, m);
+        for (int j = 0; j < n; j++) {
+            neto[m + j] = -demandas[j];
+        }
+
+        for (int p = m + n - 1; p > 0; p--) {
+            int nodo = cola[p];
+            int k = celdaPadre[nodo];
+            // Un origen envía su excedente al destino padre; un destino recibe su faltante del origen padre
+            asignaciones[filaBasica[k]][columnaBasica[k]] = nodo < m ? neto[nodo] : -neto[nodo];
+            neto[padre[nodo]] += neto[nodo];
+        }
+    }
+
+    /**
+     * Recupera la factibilidad de una base con asignaciones negativas mediante pivotes
+     * del simplex dual: sale la celda más negativa y entra, entre las celdas que vuelven
+     * a unir las dos partes del árbol en el sentido que cubre el desbalance, la de menor
+     * costo reducido. Si la base era óptima para los costos actuales, la optimalidad se
+     * conserva y normalmente bastan pocos pivotes.
+     *
+     * @param ofertas  ofertas actuales
+     * @param demandas demandas actuales
+     * @param limite   máximo de pivotes
+     * @param control  presupuesto de tiempo
+     * @return pivotes realizados, o -1 si no se logró la factibilidad
+     */
+    public int repararFactibilidad(double[] ofertas, double[] demandas, int limite, ControlEjecucion control) {
+        boolean[] enSubarbol = new boolean[m + n];
+        double[] buffer = new double[n];
+
+        for (int pivotes = 0; pivotes <= limite; pivotes++) {
+            int salida = -1;
+            double peor = -EPSILON;
+            for (int k = 0; k < filaBasica.length; k++) {
+                double valor = asignaciones[filaBasica[k]][columnaBasica[k]];
+                if (valor < peor) {
+                    peor = valor;
+                    salida = k;
+                }
+            }
+
+            if (salida < 0) {
+                // Factible: limpiar residuos numéricos
+                for (int k = 0; k < filaBasica.length; k++) {
+                    if (asignaciones[filaBasica[k]][columnaBasica[k]] < 0.0) {
+                        asignaciones[filaBasica[k]][columnaBasica[k]] = 0.0;
+                    }
+                }
+                return pivotes;
+            }
+            if (pivotes == limite || control.debeDetenerse()) {
+                break;
+            }
+
+            // Quitar la celda de salida separa el árbol: marcar el subárbol de su extremo hijo
+            int fila = filaBasica[salida];
+            int nodoColumna = m + columnaBasica[salida];
+            int hijo = padre[fila] == nodoColumna && celdaPadre[fila] == salida ? fila : nodoColumna;
+
+            Arrays.fill(enSubarbol, false);
+            double excedente = 0.0;
+            for (int p = 0; p < m + n; p++) {
+                int nodo = cola[p];
+                enSubarbol[nodo] = nodo == hijo || (padre[nodo] >= 0 && enSubarbol[padre[nodo]]);
+                if (enSubarbol[nodo]) {
+                    excedente += nodo < m ? ofertas[nodo] : -demandas[nodo - m];
+                }
+            }
+
+            // El excedente del subárbol sale por un origen del subárbol hacia un destino de fuera (o al revés)
+            boolean origenDentro = excedente > 0;
+            int filaEntrada = -1;
+            int columnaEntrada = -1;
+            double mejorReducido = Double.MAX_VALUE;
+            for (int i = 0; i < m; i++) {
+                if (enSubarbol[i] != origenDentro) continue;
+
+                double[] filaCostos = costos.obtenerFila(i, buffer);
+                for (int j = 0; j < n; j++) {
+                    if (enSubarbol[m + j] == origenDentro) continue;
+
+                    double reducido = costoReducido(i, j, filaCostos[j]);
+                    if (reducido < mejorReducido) {
+                        mejorReducido = reducido;
+                        filaEntrada = i;
+                        columnaEntrada = j;
+                    }
+                }
+            }
+            if (filaEntrada < 0) {
+                return -1;
+            }
+
+            asignaciones[fila][columnaBasica[salida]] = 0.0;
+            registrarBasica(salida, filaEntrada, columnaEntrada);
+            actualizarPotenciales();
+            calcularFlujosArbol(ofertas, demandas);
+        }
+        return -1;
+    }
+
+    private void registrarBasica(int k, int i, int j) {
+        filaBasica[k] = i;
+        columnaBasica[k] = j;
+        costoBasica[k] = costos.costo(i, j);
+        limiteBasica[k] = limite(i, j);
+        marcar(i, j, EstadoCelda.BASICA);
+    }
+
+    /**
+     * Capacidad de una celda (infinito si no tiene límite).
+     */
+    private double limite(int i, int j) {
+        return capacidades != null ? capacidades.limite(i, j) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Actualiza el estado de la celda si es un carril con límite.
+     */
+    private void marcar(int i, int j, EstadoCelda estado) {
+        if (capacidades == null) {
+            return;
+        }
+        int carril = capacidades.buscar(i, j);
+        if (carril >= 0) {
+            estadoCarril[carril] = estado;
+        }
+    }
+
+    /**
+     * Indica si la celda no básica (i, j) está en su cota superior.
+     */
+    private boolean enCotaSuperior(int i, int j) {
+        if (capacidades == null) {
+            return false;
+        }
+        int carril = capacidades.buscar(i, j);
+        return carril >= 0 && estadoCarril[carril] == EstadoCelda.EN_COTA_SUPERIOR;
+    }
+
+    private static int buscar(int[] conjunto, int x) {
+        while (conjunto[x] != x) {
+            conjunto[x] = conjunto[conjunto[x]];
+            x = conjunto[x];
+        }
+        return x;
+    }
+
+    /**
+     * Rompe el ciclo que forma la celda (i, j) con las primeras numBasicas celdas básicas.
+     * Empuja flujo en la dirección que no aumenta el costo hasta que una celda llega a cero
+     * o a su capacidad.
+     *
+     * @return posición de la celda básica que salió (para reemplazarla por (i, j)),
+     *         o -1 si la que llegó a su cota fue la propia (i, j)
+     */
+    private int romperCiclo(int i, int j, int numBasicas) {
+        // Árbol parcial con las básicas actuales, enraizado en el origen i
+        construirAdyacencia(numBasicas);
+        recorrerDesde(i);
+
+        int largo = 0;
+        for (int nodo = m + j; nodo != i; nodo = padre[nodo]) {
+            caminoDestino[largo++] = celdaPadre[nodo];
+        }
+
+        // Signos alternados a partir de (i, j) con signo +; el camino empieza con -
+        double delta = costos.costo(i, j);
+        for (int p = 0; p < largo; p++) {
+            delta += (p % 2 == 0 ? -1 : 1) * costoBasica[caminoDestino[p]];
+        }
+        int signo = delta <= 0 ? 1 : -1;
+
+        double theta = signo > 0 ? limite(i, j) - asignaciones[i][j] : asignaciones[i][j];
+        int salida = -1;
+        boolean salidaEnCota = false;
+        for (int p = 0; p < largo; p++) {
+            boolean disminuye = (p % 2 == 0) == (signo > 0);
+            int k = caminoDestino[p];
+            double valor = asignaciones[filaBasica[k]][columnaBasica[k]];
+            double holgura = disminuye ? valor : limiteBasica[k] - valor;
+            if (holgura < theta) {
+                theta = holgura;
+                salida = k;
+                salidaEnCota = !disminuye;
+            }
+        }
+
+        asignaciones[i][j] += signo * theta;
+        for (int p = 0; p < largo; p++) {
+            int k = caminoDestino[p];
+            asignaciones[filaBasica[k]][columnaBasica[k]] += (p % 2 == 0 ? -signo : signo) * theta;
+        }
+
+        if (salida < 0) {
+            fijarEnCota(i, j, signo > 0);
+        } else {
+            fijarEnCota(filaBasica[salida], columnaBasica[salida], salidaEnCota);
+        }
+        return salida;
+    }
+
+    /**
+     * Deja una celda que sale del árbol exactamente en cero o en su capacidad.
+     */
+    private void fijarEnCota(int i, int j, boolean enCota) {
+        asignaciones[i][j] = enCota ? limite(i, j) : 0.0;
+        marcar(i, j, enCota ? EstadoCelda.EN_COTA_SUPERIOR : EstadoCelda.NO_BASICA);
+    }
+
+    /**
+     * Reconstruye el árbol y recalcula los potenciales u/v (u[0] = 0).
+     * Costo O(m + n).
+     */
+    public void actualizarPotenciales() {
+        construirAdyacencia(m + n - 1);
+        recorrerDesde(0);
+    }
+
+    private void construirAdyacencia(int numBasicas) {
+        Arrays.fill(cabeza, -1);
+        for (int k = 0; k < numBasicas; k++) {
+            int origen = filaBasica[k];
+            int destino = m + columnaBasica[k];
+
+            nodoArista[2 * k] = destino;
+            celdaArista[2 * k] = k;
+            siguiente[2 * k] = cabeza[origen];
+            cabeza[origen] = 2 * k;
+
+            nodoArista[2 * k + 1] = origen;
+            celdaArista[2 * k + 1] = k;
+            siguiente[2 * k + 1] = cabeza[destino];
+            cabeza[destino] = 2 * k + 1;
+        }
+    }
+
+    /**
+     * Recorrido en anchura desde la raíz: fija padres, profundidades y potenciales.
+     */
+    private void recorrerDesde(int raiz) {
+        Arrays.fill(padre, -2);
+        padre[raiz] = -1;
+        celdaPadre[raiz] = -1;
+        profundidad[raiz] = 0;
+        if (raiz < m) {
+            u[raiz] = 0.0;
+        } else {
+            v[raiz - m] = 0.0;
+        }
+
+        int inicio = 0;
+        int fin = 0;
+        cola[fin++] = raiz;
+        while (inicio < fin) {
+            int nodo = cola[inicio++];
+            for (int a = cabeza[nodo]; a >= 0; a = siguiente[a]) {
+                int vecino = nodoArista[a];
+                if (padre[vecino] != -2) continue;
+
+                int k = celdaArista[a];
+                padre[vecino] = nodo;
+                celdaPadre[vecino] = k;
+                profundidad[vecino] = profundidad[nodo] + 1;
+                if (vecino >= m) {
+                    v[vecino - m] = costoBasica[k] - u[nodo];
+                } else {
+                    u[vecino] = costoBasica[k] - v[nodo - m];
+                }
+                cola[fin++] = vecino;
+            }
+        }
+    }
+
+    /**
+     * Calcula el costo reducido de una celda con los potenciales actuales.
+     *
+     * @param i     índice del origen
+     * @param j     índice del destino
+     * @param costo costo unitario de la celda
+     * @return c_ij - u_i - v_j
+     */
+    public double costoReducido(int i, int j, double costo) {
+        return costo - u[i] - v[j];
+    }
+
+    /**
+     * Ingresa la celda no básica (i, j) a la base: recorre el ciclo que forma con el árbol,
+     * mueve la máxima cantidad posible y saca de la base la celda que queda en cero.
+     * Deja los potenciales actualizados.
+     *
+     * Con capacidades por carril, una celda en su cota superior entra disminuyendo su flujo,
+     * la cantidad también se limita por la capacidad de las celdas que aumentan y la celda
+     * que sale puede quedar en cero o en su capacidad. Si la cota que se alcanza primero es
+     * la de la propia (i, j), la celda pasa a la cota opuesta sin cambiar la base.
+     *
+     * @param i índice del origen
+     * @param j índice del destino
+     * @return cantidad movida por el ciclo (0 en un pivote degenerado)
+     */
+    public double pivotear(int i, int j) {
+        int largo = trazarCiclo(i, j);
+
+        // Ciclo: (i, j) con el signo de entrada, luego el camino desde el destino j hasta el origen i
+        // alternando el signo contrario y el mismo
+        boolean desdeCota = enCotaSuperior(i, j);
+        double theta = desdeCota ? asignaciones[i][j] : limite(i, j);
+        int salida = -1;
+        boolean salidaEnCota = false;
+        for (int p = desdeCota ? 1 : 0; p < largo; p += 2) {
+            int k = ciclo[p];
+            double valor = asignaciones[filaBasica[k]][columnaBasica[k]];
+            if (valor < theta) {
+                theta = valor;
+                salida = k;
+                salidaEnCota = false;
+            }
+        }
+        if (capacidades != null) {
+            for (int p = desdeCota ? 0 : 1; p < largo; p += 2) {
+                int k = ciclo[p];
+                double holgura = limiteBasica[k] - asignaciones[filaBasica[k]][columnaBasica[k]];
+                if (holgura < theta) {
+                    theta = holgura;
+                    salida = k;
+                    salidaEnCota = true;
+                }
+            }
+        }
+
+        double cambio = desdeCota ? -theta : theta;
+        asignaciones[i][j] += cambio;
+        for (int p = 0; p < largo; p++) {
+            int k = ciclo[p];
+            asignaciones[filaBasica[k]][columnaBasica[k]] += (p % 2 == 0 ? -cambio : cambio);
+        }
+
+        if (salida < 0) {
+            // La propia celda llegó a su otra cota: la base y los potenciales no cambian
+            fijarEnCota(i, j, !desdeCota);
+            return theta;
+        }
+
+        fijarEnCota(filaBasica[salida], columnaBasica[salida], salidaEnCota);
+        registrarBasica(salida, i, j);
+        actualizarPotenciales();
+        return theta;
+    }
+
+    /**
+     * Recorre el ciclo que forma la celda (i, j) con el árbol y deja sus celdas básicas en
+     * {@code ciclo}, empezando por la del destino j y terminando en la del origen i.
+     *
+     * @return largo del ciclo sin contar (i, j)
+     */
+    private int trazarCiclo(int i, int j) {
+        int largoOrigen = 0;
+        int largoDestino = 0;
+        int a = i;
+        int b = m + j;
+
+        while (profundidad[a] > profundidad[b]) {
+            caminoOrigen[largoOrigen++] = celdaPadre[a];
+            a = padre[a];
+        }
+        while (profundidad[b] > profundidad[a]) {
+            caminoDestino[largoDestino++] = celdaPadre[b];
+            b = padre[b];
+        }
+        while (a != b) {
+            caminoOrigen[largoOrigen++] = celdaPadre[a];
+            a = padre[a];
+            caminoDestino[largoDestino++] = celdaPadre[b];
+            b = padre[b];
+        }
+
+        System.arraycopy(caminoDestino, 0, ciclo, 0, largoDestino);
+        for (int p = 0; p < largoOrigen; p++) {
+            ciclo[largoDestino + p] = caminoOrigen[largoOrigen - 1 - p];
+        }
+        return largoDestino + largoOrigen;
+    }
+
+    /**
+     * Calcula el costo total de la solución actual.
+     *
+     * @return suma de costo * asignación de las celdas básicas
+     */
+    public double calcularCosto() {
+        double total = 0.0;
+        for (int k = 0; k < filaBasica.length; k++) {
+            total += costoBasica[k] * asignaciones[filaBasica[k]][columnaBasica[k]];
+        }
+        for (int celda : getCeldasEnCotaSuperior()) {
+            total += costos.costo(celda / n, celda % n) * asignaciones[celda / n][celda % n];
+        }
+        return total;
+    }
+
+    /**
+     * Obtiene las celdas básicas como índices planos (i * n + j).
+     *
+     * @return arreglo con las m + n - 1 celdas básicas
+     */
+    public int[] getCeldasBasicas() {
+        int[] celdas = new int[filaBasica.length];
+        for (int k = 0; k < celdas.length; k++) {
+            celdas[k] = filaBasica[k] * n + columnaBasica[k];
+        }
+        return celdas;
+    }
+
+    /**
+     * Obtiene las celdas no básicas que están en su cota superior como índices planos (i * n + j).
+     *
+     * @return celdas en su capacidad fuera del árbol (vacío si no hay capacidades)
+     */
+    public int[] getCeldasEnCotaSuperior() {
+        if (capacidades == null) {
+            return new int[0];
+        }
+        int[] celdas = new int[capacidades.getCantidad()];
+        int total = 0;
+        for (int i = 0; i < m; i++) {
+            for (int k = capacidades.inicio(i); k < capacidades.fin(i); k++) {
+                if (estadoCarril[k] == EstadoCelda.EN_COTA_SUPERIOR) {
+                    celdas[total++] = i * n + capacidades.getColumna(k);
+                }
+            }
+        }
+        return Arrays.copyOf(celdas, total);
+    }
+
+    /**
+     * Obtiene el estado de un carril con límite.
+     *
+     * @param carril posición del carril en las capacidades
+     * @return BASICA, NO_BASICA o EN_COTA_SUPERIOR
+     */
+    public EstadoCelda getEstadoCarril(int carril) {
+        return estadoCarril[carril];
+    }
+
+    public CapacidadesCarril getCapacidades() {
+        return capacidades;
+    }
+
+    public int getNumOrigenes() {
+        return m;
+    }
+
+    public int getNumDestinos() {
+        return n;
+    }
+
+    public FuenteCostos getCostos() {
+        return costos;
+    }
+
+    public double[][] getAsignaciones() {
+        return asignaciones;
+    }
+
+    public double[] getPotencialesFila() {
+        return u;
+    }
+
+    public double[] getPotencialesColumna() {
+        return v;
+    }
+
+    // Acceso a la estructura del árbol para el análisis de sensibilidad (mismo paquete)
+
+    int[] getFilasBasicas() {
+        return filaBasica;
+    }
+
+    int[] getColumnasBasicas() {
+        return columnaBasica;
+    }
+
+    double[] getCostosBasicas() {
+        return costoBasica;
+    }
+
+    int[] getPadres() {
+        return padre;
+    }
+
+    int[] getCeldasPadre() {
+        return celdaPadre;
+    }
+
+    /**
+     * Nodos en el orden del último recorrido en anchura desde la raíz (padres antes que hijos).
+     */
+    int[] getOrdenRecorrido() {
+        return cola;
+    }
+}
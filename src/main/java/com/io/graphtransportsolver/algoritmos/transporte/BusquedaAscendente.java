@@ -0,0 +1,95 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.JerarquiaContraccion;
+
+/**
+ * Búsqueda de Dijkstra sobre una {@link JerarquiaContraccion} que solo sube de rango: hacia
+ * adelante desde un origen por las aristas de salida o hacia atrás desde un destino por las
+ * de entrada. Recorre todo el espacio ascendente (unos cientos de nodos en redes viales) y deja
+ * los nodos asentados con su distancia para cruzarlos con los de la búsqueda opuesta.
+ *
+ * Cada instancia guarda su espacio de trabajo y no es segura entre hilos; se usa una por hilo.
+ */
+public class BusquedaAscendente {
+
+    private final JerarquiaContraccion jerarquia;
+    private final MonticuloIndexado monticulo;
+    private final int[] asentados;
+    private int numAsentados;
+
+    public BusquedaAscendente(JerarquiaContraccion jerarquia) {
+        this.jerarquia = jerarquia;
+        this.monticulo = new MonticuloIndexado(jerarquia.getNumNodos());
+        this.asentados = new int[jerarquia.getNumNodos()];
+    }
+
+    /**
+     * Recorre el espacio ascendente de un nodo, descartando el de la búsqueda anterior.
+     *
+     * @param nodo         índice del nodo de partida
+     * @param haciaAdelante true para seguir las aristas de salida (desde un origen),
+     *                      false para las de entrada (desde un destino)
+     * @return número de nodos asentados
+     */
+    public int buscar(int nodo, boolean haciaAdelante) {
+        monticulo.restaurar();
+        numAsentados = 0;
+        monticulo.mejorar(nodo, 0.0);
+
+        while (!monticulo.estaVacio()) {
+            int u = monticulo.extraerMinimo();
+            double base = monticulo.clave(u);
+            if (estancado(u, base, haciaAdelante)) {
+                continue;
+            }
+            asentados[numAsentados++] = u;
+            if (haciaAdelante) {
+                for (int a = jerarquia.inicioSalida(u); a < jerarquia.finSalida(u); a++) {
+                    monticulo.mejorar(jerarquia.getDestinoSalida(a), base + jerarquia.getPesoSalida(a));
+                }
+            } else {
+                for (int a = jerarquia.inicioEntrada(u); a < jerarquia.finEntrada(u); a++) {
+                    monticulo.mejorar(jerarquia.getOrigenEntrada(a), base + jerarquia.getPesoEntrada(a));
+                }
+            }
+        }
+        return numAsentados;
+    }
+
+    /**
+     * Un nodo está estancado si algún vecino de mayor rango ya alcanzado lo alcanza más barato
+     * bajando por una arista: entonces ningún camino mínimo sube por él y no hace falta expandirlo.
+     */
+    private boolean estancado(int u, double base, boolean haciaAdelante) {
+        if (haciaAdelante) {
+            for (int a = jerarquia.inicioEntrada(u); a < jerarquia.finEntrada(u); a++) {
+                if (monticulo.clave(jerarquia.getOrigenEntrada(a)) + jerarquia.getPesoEntrada(a) < base) {
+                    return true;
+                }
+            }
+        } else {
+            for (int a = jerarquia.inicioSalida(u); a < jerarquia.finSalida(u); a++) {
+                if (monticulo.clave(jerarquia.getDestinoSalida(a)) + jerarquia.getPesoSalida(a) < base) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param k posición entre 0 y el número de asentados de la última búsqueda
+     * @return índice del k-ésimo nodo asentado
+     */
+    public int getAsentado(int k) {
+        return asentados[k];
+    }
+
+    /**
+     * @param k posición entre 0 y el número de asentados de la última búsqueda
+     * @return distancia ascendente del k-ésimo nodo asentado
+     */
+    public double getDistancia(int k) {
+        return monticulo.clave(asentados[k]);
+    }
+}
@@ -0,0 +1,66 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.GrafoVial;
+
+/**
+ * Dijkstra de una fuente a un conjunto fijo de nodos objetivo sobre una {@link GrafoVial}.
+ *
+ * Cada instancia guarda su espacio de trabajo (un montículo indexado en arreglos primitivos)
+ * y lo reutiliza entre consultas, restaurando solo los nodos visitados; no es segura entre
+ * hilos, así que se usa una por hilo. La búsqueda se detiene en cuanto se fijan todos los objetivos.
+ */
+public class CaminosMinimos {
+
+    private final GrafoVial grafo;
+    private final boolean[] esObjetivo;
+    private final int objetivosDistintos;
+    private final MonticuloIndexado monticulo;
+
+    /**
+     * @param grafo      red vial
+     * @param objetivos  índices de los nodos cuyas distancias se consultan (pueden repetirse)
+     */
+    public CaminosMinimos(GrafoVial grafo, int[] objetivos) {
+        this.grafo = grafo;
+        this.esObjetivo = new boolean[grafo.getNumNodos()];
+        int distintos = 0;
+        for (int objetivo : objetivos) {
+            if (!esObjetivo[objetivo]) {
+                esObjetivo[objetivo] = true;
+                distintos++;
+            }
+        }
+        this.objetivosDistintos = distintos;
+        this.monticulo = new MonticuloIndexado(grafo.getNumNodos());
+    }
+
+    /**
+     * Calcula las distancias desde un nodo hasta cada objetivo.
+     *
+     * @param origen    índice del nodo de partida
+     * @param objetivos índices de los objetivos, en el orden de la fila resultado
+     * @param fila      destino de las distancias (infinito si el objetivo no es alcanzable)
+     * @return la fila recibida
+     */
+    public double[] distancias(int origen, int[] objetivos, double[] fila) {
+        monticulo.mejorar(origen, 0.0);
+        int fijados = 0;
+
+        while (!monticulo.estaVacio() && fijados < objetivosDistintos) {
+            int u = monticulo.extraerMinimo();
+            if (esObjetivo[u]) {
+                fijados++;
+            }
+            double base = monticulo.clave(u);
+            for (int a = grafo.inicio(u); a < grafo.fin(u); a++) {
+                monticulo.mejorar(grafo.getDestino(a), base + grafo.getPeso(a));
+            }
+        }
+
+        for (int j = 0; j < objetivos.length; j++) {
+            fila[j] = monticulo.clave(objetivos[j]);
+        }
+        monticulo.restaurar();
+        return fila;
+    }
+}
@@ -0,0 +1,327 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+
+import java.util.Arrays;
+
+/**
+ * Conjunto disperso de carriles (celdas) candidatos para la optimización.
+ *
+ * Guarda por cada origen las columnas candidatas y su costo, de modo que el
+ * subproblema restringido se puede valorar sin volver a leer la matriz completa.
+ * Inicialmente contiene los k destinos más baratos de cada origen, los k orígenes
+ * más baratos de cada destino y las celdas usadas por la solución inicial.
+ */
+public class CarrilesCandidatos {
+
+    private final int[][] columnas;
+    private final double[][] costos;
+    private final int[] cantidad;
+
+    private CarrilesCandidatos(int m) {
+        this.columnas = new int[m][];
+        this.costos = new double[m][];
+        this.cantidad = new int[m];
+    }
+
+    /**
+     * Crea un conjunto sin candidatos, para llenarlo con {@link #agregarSiFalta}.
+     *
+     * @param m número de orígenes
+     * @return conjunto vacío
+     */
+    public static CarrilesCandidatos vacio(int m) {
+        CarrilesCandidatos candidatos = new CarrilesCandidatos(m);
+        for (int i = 0; i < m; i++) {
+            candidatos.columnas[i] = new int[0];
+            candidatos.costos[i] = new double[0];
+        }
+        return candidatos;
+    }
+
+    /**
+     * Selecciona los carriles candidatos iniciales en una sola pasada por filas.
+     *
+     * @param fuente       costos del problema balanceado
+     * @param k            carriles más baratos a conservar por fila y por columna
+     * @param asignaciones solución inicial cuyas celdas positivas también se conservan (o null)
+     * @return conjunto de candidatos
+     */
+    public static CarrilesCandidatos seleccionar(FuenteCostos fuente, int k, double[][] asignaciones) {
+        int m = fuente.getNumOrigenes();
+        int n = fuente.getNumDestinos();
+        int kFila = Math.min(k, n);
+        int kColumna = Math.min(k, m);
+
+        // Los k menores por columna se mantienen ordenados (inserción, k pequeño)
+        double[][] mejoresCostoColumna = new double[n][kColumna];
+        int[][] mejoresFilaColumna = new int[n][kColumna];
+        int[] llenosColumna = new int[n];
+
+        // Los k menores de cada fila se guardan directamente como columnas candidatas
+        int[][] mejoresColumnaFila = new int[m][];
+        double[] mejoresCosto = new double[kFila];
+        int[] mejoresColumna = new int[kFila];
+        double[] buffer = new double[n];
+
+        for (int i = 0; i < m; i++) {
+            double[] fila = fuente.obtenerFila(i, buffer);
+            int llenos = 0;
+            for (int j = 0; j < n; j++) {
+                double costo = fila[j];
+                llenos = insertarOrdenado(mejoresCosto, mejoresColumna, llenos, costo, j);
+                llenosColumna[j] = insertarOrdenado(
+                        mejoresCostoColumna[j], mejoresFilaColumna[j], llenosColumna[j], costo, i);
+            }
+            mejoresColumnaFila[i] = Arrays.copyOf(mejoresColumna, llenos);
+        }
+
+        // Unir, por fila: mejores de la fila + filas elegidas por columnas + solución inicial
+        int[] extraPorFila = new int[m];
+        for (int j = 0; j < n; j++) {
+            for (int p = 0; p < llenosColumna[j]; p++) {
+                extraPorFila[mejoresFilaColumna[j][p]]++;
+            }
+        }
+        int[][] unionFila = new int[m][];
+        int[] llenosUnion = new int[m];
+        for (int i = 0; i < m; i++) {
+            int usadas = 0;
+            for (int j = 0; asignaciones != null && j < n; j++) {
+                if (asignaciones[i][j] > BaseTransporte.EPSILON) usadas++;
+            }
+            unionFila[i] = new int[mejoresColumnaFila[i].length + extraPorFila[i] + usadas];
+            for (int c : mejoresColumnaFila[i]) {
+                unionFila[i][llenosUnion[i]++] = c;
+            }
+            for (int j = 0; asignaciones != null && j < n; j++) {
+                if (asignaciones[i][j] > BaseTransporte.EPSILON) {
+                    unionFila[i][llenosUnion[i]++] = j;
+                }
+            }
+        }
+        for (int j = 0; j < n; j++) {
+            for (int p = 0; p < llenosColumna[j]; p++) {
+                int i = mejoresFilaColumna[j][p];
+                unionFila[i][llenosUnion[i]++] = j;
+            }
+        }
+
+        CarrilesCandidatos candidatos = new CarrilesCandidatos(m);
+        for (int i = 0; i < m; i++) {
+            int[] unicas = Arrays.stream(unionFila[i], 0, llenosUnion[i]).sorted().distinct().toArray();
+            double[] fila = fuente.obtenerFila(i, buffer);
+            candidatos.columnas[i] = unicas;
+            candidatos.costos[i] = new double[unicas.length];
+            for (int p = 0; p < unicas.length; p++) {
+                candidatos.costos[i][p] = fila[unicas[p]];
+            }
+            candidatos.cantidad[i] = unicas.length;
+        }
+        return candidatos;
+    }
+
+    /**
+     * Inserta (valor, indice) en un arreglo ordenado ascendentemente de capacidad fija,
+     * descartando el mayor si ya está lleno.
+     *
+     * @return nueva cantidad de elementos
+     */
+    private static int insertarOrdenado(double[] valores, int[] indices, int llenos, double valor, int indice) {
+        int capacidad = valores.length;
+        if (llenos == capacidad && valor >= valores[capacidad - 1]) {
+            return llenos;
+        }
+        int p = llenos < capacidad ? llenos : capacidad - 1;
+        while (p > 0 && valores[p - 1] > valor) {
+            valores[p] = valores[p - 1];
+            indices[p] = indices[p - 1];
+            p--;
+        }
+        valores[p] = valor;
+        indices[p] = indice;
+        return llenos < capacidad ? llenos + 1 : llenos;
+    }
+
+    /**
+     * Valora todas las celdas de la matriz completa con los potenciales dados,
+     * en una sola pasada por filas, y agrega como candidatas las que violan
+     * la condición de optimalidad (costo reducido negativo).
+     *
+     * @param fuente     costos del problema balanceado
+     * @param u          potenciales de los orígenes
+     * @param v          potenciales de los destinos
+     * @param maxPorFila máximo de carriles a agregar por fila (los más negativos)
+     * @param tolerancia umbral de costo reducido para considerar una violación
+     * @return número de carriles agregados (0 si la solución es óptima en la matriz completa)
+     */
+    public int agregarViolaciones(FuenteCostos fuente, double[] u, double[] v, int maxPorFila, double tolerancia) {
+        int m = columnas.length;
+        int n = fuente.getNumDestinos();
+        double[] buffer = new double[n];
+        double[] peoresReducido = new double[maxPorFila];
+        int[] peoresColumna = new int[maxPorFila];
+        int agregados = 0;
+
+        for (int i = 0; i < m; i++) {
+            double[] fila = fuente.obtenerFila(i, buffer);
+            int llenos = violacionesFila(fila, u[i], v, tolerancia, peoresReducido, peoresColumna);
+
+            for (int p = 0; p < llenos; p++) {
+                int j = peoresColumna[p];
+                if (contiene(i, j)) continue;
+                agregar(i, j, fila[j]);
+                agregados++;
+            }
+        }
+        return agregados;
+    }
+
+    /**
+     * Busca en una fila de costos las celdas con costo reducido negativo y conserva las más negativas.
+     *
+     * @param fila           costos de la fila
+     * @param u              potencial del origen
+     * @param v              potenciales de los destinos
+     * @param tolerancia     umbral de costo reducido para considerar una violación
+     * @param peoresReducido costos reducidos encontrados, de menor a mayor (su largo es el máximo a conservar)
+     * @param peoresColumna  columna de cada costo reducido encontrado
+     * @return número de violaciones conservadas
+     */
+    public static int violacionesFila(
+            double[] fila,
+            double u,
+            double[] v,
+            double tolerancia,
+            double[] peoresReducido,
+            int[] peoresColumna) {
+        int llenos = 0;
+        for (int j = 0; j < v.length; j++) {
+            double reducido = fila[j] - u - v[j];
+            if (reducido < -tolerancia) {
+                llenos = insertarOrdenado(peoresReducido, peoresColumna, llenos, reducido, j);
+            }
+        }
+        return llenos;
+    }
+
+    /**
+     * Agrega un carril si todavía no es candidato.
+     *
+     * @param i     índice del origen
+     * @param j     índice del destino
+     * @param costo costo unitario del carril
+     * @return true si se agregó
+     */
+    public boolean agregarSiFalta(int i, int j, double costo) {
+        if (contiene(i, j)) {
+            return false;
+        }
+        agregar(i, j, costo);
+        return true;
+    }
+
+    /**
+     * Obtiene el costo de un carril candidato.
+     *
+     * @param i índice del origen
+     * @param j índice del destino
+     * @return costo unitario, o NaN si el carril no es candidato
+     */
+    public double buscarCosto(int i, int j) {
+        for (int p = 0; p < cantidad[i]; p++) {
+            if (columnas[i][p] == j) return costos[i][p];
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Expone los candidatos como fuente de costos de una matriz de n destinos, para construir
+     * una base sin tener la matriz completa. Solo se pueden consultar carriles candidatos.
+     *
+     * @param n número de destinos
+     * @return fuente de costos respaldada por este conjunto
+     */
+    public FuenteCostos comoFuente(int n) {
+        return new FuenteCostos() {
+            @Override
+            public int getNumOrigenes() {
+                return columnas.length;
+            }
+
+            @Override
+            public int getNumDestinos() {
+                return n;
+            }
+
+            @Override
+            public double costo(int i, int j) {
+                double costo = buscarCosto(i, j);
+                if (Double.isNaN(costo)) {
+                    throw new IllegalStateException("El carril (" + i + ", " + j + ") no es candidato");
+                }
+                return costo;
+            }
+
+            @Override
+            public long estimarBytes() {
+                return 12L * getTotal();
+            }
+        };
+    }
+
+    private boolean contiene(int i, int j) {
+        for (int p = 0; p < cantidad[i]; p++) {
+            if (columnas[i][p] == j) return true;
+        }
+        return false;
+    }
+
+    private void agregar(int i, int j, double costo) {
+        if (cantidad[i] == columnas[i].length) {
+            int nuevaCapacidad = Math.max(4, columnas[i].length * 2);
+            columnas[i] = Arrays.copyOf(columnas[i], nuevaCapacidad);
+            costos[i] = Arrays.copyOf(costos[i], nuevaCapacidad);
+        }
+        columnas[i][cantidad[i]] = j;
+        costos[i][cantidad[i]] = costo;
+        cantidad[i]++;
+    }
+
+    /**
+     * @param i índice del origen
+     * @return número de carriles candidatos del origen i
+     */
+    public int getCantidad(int i) {
+        return cantidad[i];
+    }
+
+    /**
+     * @param i índice del origen
+     * @param p posición dentro de los candidatos del origen
+     * @return columna del candidato
+     */
+    public int getColumna(int i, int p) {
+        return columnas[i][p];
+    }
+
+    /**
+     * @param i índice del origen
+     * @param p posición dentro de los candidatos del origen
+     * @return costo unitario del candidato
+     */
+    public double getCosto(int i, int p) {
+        return costos[i][p];
+    }
+
+    /**
+     * @return número total de carriles candidatos
+     */
+    public long getTotal() {
+        long total = 0;
+        for (int c : cantidad) {
+            total += c;
+        }
+        return total;
+    }
+}
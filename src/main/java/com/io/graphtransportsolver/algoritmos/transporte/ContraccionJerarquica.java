@@ -0,0 +1,260 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.GrafoVial;
+import com.io.graphtransportsolver.models.transporte.JerarquiaContraccion;
+
+import java.util.Arrays;
+
+/**
+ * Preproceso que construye la {@link JerarquiaContraccion} de una red vial.
+ *
+ * Los nodos se contraen de a uno, en el orden que menos aristas agrega: al contraer v, cada par
+ * u → v → w de vecinos sin contraer recibe un atajo u → w con el peso del camino, salvo que una
+ * búsqueda de testigos encuentre otro camino igual o más corto que evite v. La prioridad de cada
+ * nodo (atajos que agregaría menos aristas que quitaría, más vecinos ya contraídos) se recalcula
+ * cada vez que se contrae alguno de sus vecinos.
+ *
+ * La búsqueda de testigos se detiene al asentar todos los vecinos de salida y está acotada en nodos
+ * asentados; si se corta antes de encontrar un testigo se agrega un atajo de más, lo que nunca altera
+ * las distancias.
+ */
+public final class ContraccionJerarquica {
+
+    // Nodos asentados por búsqueda de testigos: más alto da menos atajos pero preprocesa más lento
+    private static final int LIMITE_ASENTADOS = 200;
+
+    // Al solo estimar la prioridad basta una búsqueda corta: sobrestima algunos atajos pero no agrega ninguno
+    private static final int LIMITE_ASENTADOS_SIMULACION = 20;
+
+    private final int numNodos;
+    private final ListaAristas[] salida;
+    private final ListaAristas[] entrada;
+    private final boolean[] contraido;
+    private final int[] vecinosContraidos;
+    private final MonticuloIndexado testigos;
+    // Marca de los vecinos de salida del nodo en contracción: el valor es el turno en que se marcaron
+    private final int[] marcaObjetivo;
+    private int turno;
+    private int atajos;
+
+    private ContraccionJerarquica(GrafoVial grafo) {
+        this.numNodos = grafo.getNumNodos();
+        this.salida = new ListaAristas[numNodos];
+        this.entrada = new ListaAristas[numNodos];
+        for (int u = 0; u < numNodos; u++) {
+            salida[u] = new ListaAristas();
+            entrada[u] = new ListaAristas();
+        }
+        // Aristas paralelas: queda la más corta; los lazos no acortan ningún camino
+        for (int u = 0; u < numNodos; u++) {
+            for (int a = grafo.inicio(u); a < grafo.fin(u); a++) {
+                int w = grafo.getDestino(a);
+                if (w != u) {
+                    salida[u].minimo(w, grafo.getPeso(a));
+                    entrada[w].minimo(u, grafo.getPeso(a));
+                }
+            }
+        }
+        this.contraido = new boolean[numNodos];
+        this.vecinosContraidos = new int[numNodos];
+        this.testigos = new MonticuloIndexado(numNodos);
+        this.marcaObjetivo = new int[numNodos];
+    }
+
+    /**
+     * Contrae todos los nodos de la red y arma el índice con las aristas que suben de rango.
+     *
+     * @param grafo red vial
+     * @return índice en memoria
+     */
+    public static JerarquiaContraccion construir(GrafoVial grafo) {
+        ContraccionJerarquica contraccion = new ContraccionJerarquica(grafo);
+        contraccion.contraerTodos();
+        return contraccion.armarIndice(grafo);
+    }
+
+    private void contraerTodos() {
+        MonticuloIndexado cola = new MonticuloIndexado(numNodos);
+        for (int v = 0; v < numNodos; v++) {
+            cola.fijar(v, prioridad(v));
+        }
+
+        while (!cola.estaVacio()) {
+            int v = cola.extraerMinimo();
+            contraer(v, false);
+            contraido[v] = true;
+
+            // Al contraer v sus vecinos cambian de grado y de atajos necesarios
+            ListaAristas fuera = salida[v];
+            for (int k = 0; k < fuera.tamano; k++) {
+                actualizarVecino(cola, fuera.nodos[k]);
+            }
+            ListaAristas dentro = entrada[v];
+            for (int k = 0; k < dentro.tamano; k++) {
+                actualizarVecino(cola, dentro.nodos[k]);
+            }
+        }
+    }
+
+    private void actualizarVecino(MonticuloIndexado cola, int w) {
+        if (!contraido[w]) {
+            vecinosContraidos[w]++;
+            cola.fijar(w, prioridad(w));
+        }
+    }
+
+    private double prioridad(int v) {
+        return contraer(v, true) - salida[v].tamano - entrada[v].tamano + vecinosContraidos[v];
+    }
+
+    /**
+     * Contrae v: agrega los atajos necesarios entre sus vecinos sin contraer y quita v de sus
+     * listas, de modo que las de v conservan solo las aristas hacia nodos de mayor rango.
+     *
+     * @param simular si es true solo cuenta los atajos, sin modificar la red
+     * @return atajos necesarios
+     */
+    private int contraer(int v, boolean simular) {
+        ListaAristas dentro = entrada[v];
+        ListaAristas fuera = salida[v];
+        double maximoSalida = 0.0;
+        turno++;
+        for (int k = 0; k < fuera.tamano; k++) {
+            maximoSalida = Math.max(maximoSalida, fuera.pesos[k]);
+            marcaObjetivo[fuera.nodos[k]] = turno;
+        }
+
+        int necesarios = 0;
+        for (int ku = 0; ku < dentro.tamano; ku++) {
+            int u = dentro.nodos[ku];
+            double pesoEntrada = dentro.pesos[ku];
+            // u también es vecino de salida en las aristas de ida y vuelta, pero no necesita testigo
+            int objetivos = marcaObjetivo[u] == turno ? fuera.tamano - 1 : fuera.tamano;
+            buscarTestigos(u, v, pesoEntrada + maximoSalida, objetivos, simular ? LIMITE_ASENTADOS_SIMULACION : LIMITE_ASENTADOS);
+            for (int kw = 0; kw < fuera.tamano; kw++) {
+                int w = fuera.nodos[kw];
+                double viaV = pesoEntrada + fuera.pesos[kw];
+                if (w == u || testigos.clave(w) <= viaV) {
+                    continue;
+                }
+                necesarios++;
+                if (!simular && salida[u].minimo(w, viaV)) {
+                    entrada[w].minimo(u, viaV);
+                    atajos++;
+                }
+            }
+            testigos.restaurar();
+        }
+
+        if (!simular) {
+            for (int k = 0; k < fuera.tamano; k++) {
+                entrada[fuera.nodos[k]].quitar(v);
+            }
+            for (int k = 0; k < dentro.tamano; k++) {
+                salida[dentro.nodos[k]].quitar(v);
+            }
+        }
+        return necesarios;
+    }
+
+    /**
+     * Dijkstra desde u sobre los nodos sin contraer, evitando v, hasta asentar todos los vecinos
+     * de salida de v, superar la distancia límite o el máximo de nodos asentados. Las distancias
+     * quedan en el montículo de testigos.
+     */
+    private void buscarTestigos(int u, int v, double limite, int objetivos, int maximo) {
+        testigos.mejorar(u, 0.0);
+       
+        int asentados = 0;
+        while (!testigos.estaVacio() && objetivos > 0 && asentados < maximo) {
+            int x = testigos.extraerMinimo();
+            double base = testigos.clave(x);
+            if (base > limite) {
+                break;
+            }
+            if (marcaObjetivo[x] == turno && x != u) {
+                objetivos--;
+            }
+            asentados++;
+            ListaAristas fuera = salida[x];
+            for (int k = 0; k < fuera.tamano; k++) {
+                int y = fuera.nodos[k];
+                if (y != v) {
+                    testigos.mejorar(y, base + fuera.pesos[k]);
+                }
+            }
+        }
+    }
+
+    private JerarquiaContraccion armarIndice(GrafoVial grafo) {
+        long[] ids = new long[numNodos];
+        int[] inicioSalida = new int[numNodos + 1];
+        int[] inicioEntrada = new int[numNodos + 1];
+        for (int u = 0; u < numNodos; u++) {
+            ids[u] = grafo.getId(u);
+            inicioSalida[u + 1] = inicioSalida[u] + salida[u].tamano;
+            inicioEntrada[u + 1] = inicioEntrada[u] + entrada[u].tamano;
+        }
+
+        int[] destinoSalida = new int[inicioSalida[numNodos]];
+        double[] pesoSalida = new double[inicioSalida[numNodos]];
+        int[] origenEntrada = new int[inicioEntrada[numNodos]];
+        double[] pesoEntrada = new double[inicioEntrada[numNodos]];
+        for (int u = 0; u < numNodos; u++) {
+            ListaAristas fuera = salida[u];
+            System.arraycopy(fuera.nodos, 0, destinoSalida, inicioSalida[u], fuera.tamano);
+            System.arraycopy(fuera.pesos, 0, pesoSalida, inicioSalida[u], fuera.tamano);
+            ListaAristas dentro = entrada[u];
+            System.arraycopy(dentro.nodos, 0, origenEntrada, inicioEntrada[u], dentro.tamano);
+            System.arraycopy(dentro.pesos, 0, pesoEntrada, inicioEntrada[u], dentro.tamano);
+        }
+
+        return new JerarquiaContraccion(ids, inicioSalida, destinoSalida, pesoSalida,
+                inicioEntrada, origenEntrada, pesoEntrada, atajos);
+    }
+
+    /**
+     * Aristas de un nodo hacia sus vecinos (uno por vecino) en arreglos que crecen al duplicar.
+     */
+    private static final class ListaAristas {
+
+        private int[] nodos = new int[4];
+        private double[] pesos = new double[4];
+        private int tamano;
+
+        /**
+         * Agrega la arista hacia el nodo o baja su peso si ya existe y el nuevo es menor.
+         *
+         * @return true si la lista cambió
+         */
+        boolean minimo(int nodo, double peso) {
+            for (int k = 0; k < tamano; k++) {
+                if (nodos[k] == nodo) {
+                    if (peso < pesos[k]) {
+                        pesos[k] = peso;
+                        return true;
+                    }
+                    return false;
+                }
+            }
+            if (tamano == nodos.length) {
+                nodos = Arrays.copyOf(nodos, 2 * tamano);
+                pesos = Arrays.copyOf(pesos, 2 * tamano);
+            }
+            nodos[tamano] = nodo;
+            pesos[tamano++] = peso;
+            return true;
+        }
+
+        void quitar(int nodo) {
+            for (int k = 0; k < tamano; k++) {
+                if (nodos[k] == nodo) {
+                    tamano--;
+                    nodos[k] = nodos[tamano];
+                    pesos[k] = pesos[tamano];
+                    return;
+                }
+            }
+        }
+    }
+}
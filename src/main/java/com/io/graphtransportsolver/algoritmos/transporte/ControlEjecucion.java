@@ -0,0 +1,227 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Presupuesto de tiempo y señal de cancelación de una resolución. Los ciclos de los
+ * algoritmos lo consultan entre iteraciones y, al agotarse, terminan con la mejor
+ * solución factible que tengan.
+ *
+ * Una vez agotado sigue agotado, de modo que todas las fases siguientes terminan de inmediato.
+ * Una fase puede recibir solo parte del tiempo restante ({@link #subpresupuesto}) para
+ * dejar margen a las fases que mejoran la solución. Cancelar un control (p. ej. porque el
+ * cliente cerró la conexión) detiene también a todos sus controles hijos.
+ *
+ * Un control compartido ({@link #compartido}) sirve a una resolución que esperan varias solicitudes:
+ * se cancela solo cuando se cancelaron los controles de todas ellas.
+ *
+ * Los plazos ({@link #conPlazo}) se miden desde que se aceptó la solicitud, no desde que empieza la
+ * resolución: el tiempo que la solicitud esperó un hilo libre se descuenta de su presupuesto.
+ */
+public final class ControlEjecucion {
+
+    /**
+     * Control sin límite de tiempo (no se puede cancelar).
+     */
+    public static final ControlEjecucion SIN_LIMITE = new ControlEjecucion(0L, Long.MAX_VALUE, null, null);
+
+    // Instante en que se aceptó la solicitud; los hijos lo heredan
+    private final long inicioNanos;
+    private final long limiteNanos;
+    private final ControlEjecucion padre;
+    // Controles de las solicitudes que esperan una resolución compartida (null si no es compartido)
+    private final List<ControlEjecucion> interesados;
+    private volatile boolean agotado;
+    private volatile boolean interrumpido;
+    private volatile boolean cancelado;
+
+    private ControlEjecucion(long inicioNanos, long limiteNanos, ControlEjecucion padre, List<ControlEjecucion> interesados) {
+        this.inicioNanos = inicioNanos;
+        this.limiteNanos = limiteNanos;
+        this.padre = padre;
+        this.interesados = interesados;
+    }
+
+    /**
+     * Crea un control sin límite de tiempo que se puede cancelar. Se debe crear al aceptar la
+     * solicitud: sus plazos corren desde ese instante.
+     *
+     * @return control cancelable
+     */
+    public static ControlEjecucion cancelable() {
+        return new ControlEjecucion(System.nanoTime(), Long.MAX_VALUE, null, null);
+    }
+
+    /**
+     * Crea un control sin límite de tiempo para una resolución que esperan varias solicitudes;
+     * queda cancelado cuando se cancelan todos sus interesados.
+     *
+     * @param primero control de la solicitud que ejecuta la resolución; sus plazos corren desde
+     *                que se aceptó esa solicitud
+     * @return control compartido, sin interesados
+     */
+    public static ControlEjecucion compartido(ControlEjecucion primero) {
+        return new ControlEjecucion(primero.inicio(), Long.MAX_VALUE, null, new CopyOnWriteArrayList<>());
+    }
+
+    /**
+     * Suma una solicitud que espera la resolución de este control compartido.
+     *
+     * @param control control de la solicitud
+     * @return false si la resolución ya se canceló porque nadie la esperaba
+     */
+    public synchronized boolean agregarInteresado(ControlEjecucion control) {
+        if (interesados == null) {
+            throw new IllegalStateException("Solo un control compartido admite interesados");
+        }
+        if (fueCancelado()) {
+            return false;
+        }
+        interesados.add(control);
+        return true;
+    }
+
+    /**
+     * Crea un control hijo con plazo propio, contado desde que se aceptó la solicitud; se detiene
+     * también si este se cancela.
+     *
+     * @param milisegundos presupuesto de tiempo; 0 o negativo equivale a sin límite
+     * @return control hijo
+     */
+    public ControlEjecucion conPlazo(long milisegundos) {
+        long inicio = inicio();
+        long limite = milisegundos > 0 ? inicio + milisegundos * 1_000_000L : Long.MAX_VALUE;
+        return new ControlEjecucion(inicio, limite, this, null);
+    }
+
+    /**
+     * Aborta antes de empezar si la solicitud se canceló o si su plazo ya venció, p. ej. mientras
+     * esperaba un hilo libre: no tiene sentido calcular una solución que nadie puede usar.
+     *
+     * @throws CancellationException si se canceló este control o alguno de sus ancestros
+     * @throws PlazoVencidoException si el plazo venció antes de empezar
+     */
+    public void verificarInicio() {
+        verificarCancelacion();
+        if (debeDetenerse()) {
+            throw new PlazoVencidoException("El plazo venció antes de empezar la resolución; puede reintentarse con más tiempo");
+        }
+    }
+
+    /**
+     * Crea un control para una fase con una fracción del tiempo restante.
+     * Si la fase se detiene, este control queda marcado como interrumpido.
+     *
+     * @param fraccion parte del tiempo restante (entre 0 y 1)
+     * @return control de la fase
+     */
+    public ControlEjecucion subpresupuesto(double fraccion) {
+        if (limiteNanos == Long.MAX_VALUE) {
+            return this == SIN_LIMITE ? this : new ControlEjecucion(inicioNanos, Long.MAX_VALUE, this, null);
+        }
+        long ahora = System.nanoTime();
+        long restante = Math.max(0L, limiteNanos - ahora);
+        return new ControlEjecucion(inicioNanos, ahora + (long) (restante * fraccion), this, null);
+    }
+
+    /**
+     * Indica si hay que detenerse (venció el plazo o se canceló este control o su padre).
+     * Quien recibe true debe terminar con la mejor solución que tenga.
+     *
+     * @return true si ya no queda tiempo
+     */
+    public boolean debeDetenerse() {
+        if (agotado) {
+            return true;
+        }
+        if (cancelado
+                || sinInteresados()
+                || (limiteNanos != Long.MAX_VALUE && System.nanoTime() - limiteNanos >= 0)
+                || (padre != null && padre.debeDetenerse())) {
+            agotado = true;
+            marcarInterrumpido();
+        }
+        return agotado;
+    }
+
+    /**
+     * Indica si alguna fase se detuvo antes de terminar por este control (o por una fase hija).
+     *
+     * @return true si la resolución se interrumpió
+     */
+    public boolean fueInterrumpido() {
+        return interrumpido;
+    }
+
+    /**
+     * Cancela la resolución: los algoritmos que usan este control o sus hijos se detienen
+     * en su próxima consulta.
+     */
+    public void cancelar() {
+        if (this == SIN_LIMITE) {
+            throw new IllegalStateException("El control sin límite no se puede cancelar");
+        }
+        cancelado = true;
+    }
+
+    /**
+     * Indica si se canceló este control o alguno de sus ancestros.
+     *
+     * @return true si la resolución fue cancelada
+     */
+    public boolean fueCancelado() {
+        return cancelado || sinInteresados() || (padre != null && padre.fueCancelado());
+    }
+
+    /**
+     * En un control compartido, lo marca cancelado si ya se cancelaron todos sus interesados.
+     * La comprobación definitiva se repite bajo el mismo candado que {@link #agregarInteresado}.
+     */
+    private boolean sinInteresados() {
+        if (interesados == null || interesados.isEmpty() || !todosCancelados()) {
+            return false;
+        }
+        synchronized (this) {
+            if (todosCancelados()) {
+                cancelado = true;
+            }
+            return cancelado;
+        }
+    }
+
+    private boolean todosCancelados() {
+        for (ControlEjecucion interesado : interesados) {
+            if (!interesado.fueCancelado()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Aborta la resolución si fue cancelada.
+     *
+     * @throws CancellationException si se canceló este control o alguno de sus ancestros
+     */
+    public void verificarCancelacion() {
+        if (fueCancelado()) {
+            throw new CancellationException("Resolución cancelada");
+        }
+    }
+
+    /**
+     * El control sin límite no pertenece a ninguna solicitud: sus plazos corren desde ahora.
+     */
+    private long inicio() {
+        return this == SIN_LIMITE ? System.nanoTime() : inicioNanos;
+    }
+
+    private void marcarInterrumpido() {
+        interrumpido = true;
+        if (padre != null) {
+            padre.marcarInterrumpido();
+        }
+    }
+}
@@ -1,13 +1,11 @@
 package com.io.graphtransportsolver.algoritmos.transporte;
 
-import com.io.graphtransportsolver.models.transporte.Celda;
 import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
 import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
 import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-
 /**
  * Implementación del método de Costo Mínimo para encontrar
  * una solución básica factible inicial del problema de transporte.
@@ -21,6 +19,11 @@ public class CostoMinimoStrategy implements SolucionInicialStrategy {
 
     @Override
     public SolucionTransporte encontrarSolucionInicial(ProblemaTransporte problema) {
+        return encontrarSolucionInicial(problema, ControlEjecucion.SIN_LIMITE);
+    }
+
+    @Override
+    public SolucionTransporte encontrarSolucionInicial(ProblemaTransporte problema, ControlEjecucion control) {
 
         int m = problema.getOfertas().length;  // número de orígenes
         int n = problema.getDemandas().length; // número de destinos
@@ -28,76 +31,82 @@ public class CostoMinimoStrategy implements SolucionInicialStrategy {
         // Crear matriz de asignaciones
         double[][] asignaciones = new double[m][n];
 
-        // Copias de ofertas y demandas para no modificar el original
-        double[] ofertasDisponibles = Arrays.copyOf(problema.getOfertas(), m);
-        double[] demandasRestantes = Arrays.copyOf(problema.getDemandas(), n);
-
-        // Arrays para marcar filas y columnas agotadas
-        boolean[] filaAgotada = new boolean[m];
-        boolean[] columnaAgotada = new boolean[n];
-
-        int celdasAsignadas = 0;
-        int celdasEsperadas = m + n - 1;
-
-        // Algoritmo de Costo Mínimo
-        while (celdasAsignadas < celdasEsperadas) {
-            // Encontrar la celda con el menor costo no agotada
-            Celda celdaMin = encontrarCeldaMinimaDisponible(
-                problema.getCostos(),
-                filaAgotada,
-                columnaAgotada,
-                m,
-                n
-            );
-
-            if (celdaMin == null) {
-                break; // No hay más celdas disponibles
-            }
+        // Los costos se leen por filas: sin copia si hay matriz, calculados si son implícitos
+        FuenteCostos costos = problema.getFuenteCostos();
+
+        // Buffers temporales reciclados (copias de ofertas/demandas y marcas de agotado)
+        try (EspacioTrabajo espacio = EspacioTrabajo.adquirir(m, n)) {
+            espacio.cargarCantidades(problema.getOfertas(), problema.getDemandas());
+            double[] ofertasDisponibles = espacio.ofertasDisponibles;
+            double[] demandasRestantes = espacio.demandasRestantes;
+            boolean[] filaAgotada = espacio.filaAgotada;
+            boolean[] columnaAgotada = espacio.columnaAgotada;
+
+            int celdasAsignadas = 0;
+            int celdasEsperadas = m + n - 1;
+
+            // Algoritmo de Costo Mínimo
+            while (celdasAsignadas < celdasEsperadas) {
+                // Sin tiempo: completar lo pendiente con Esquina Noroeste
+                if (control.debeDetenerse()) {
+                    EsquinaNoroesteStrategy.completar(asignaciones, espacio, m, n);
+                    break;
+                }
 
-            int i = celdaMin.getFila();
-            int j = celdaMin.getColumna();
+                // Encontrar la celda con el menor costo no agotada
+                if (!encontrarCeldaMinimaDisponible(costos, espacio, m, n)) {
+                    break; // No hay más celdas disponibles
+                }
 
-            // Asignar el mínimo entre oferta disponible y demanda restante
-            double asignacion = Math.min(ofertasDisponibles[i], demandasRestantes[j]);
-            asignaciones[i][j] = asignacion;
+                int i = espacio.filaSeleccionada;
+                int j = espacio.columnaSeleccionada;
 
-            // Actualizar ofertas y demandas
-            ofertasDisponibles[i] -= asignacion;
-            demandasRestantes[j] -= asignacion;
+                // Asignar el mínimo entre oferta disponible y demanda restante
+                double asignacion = Math.min(ofertasDisponibles[i], demandasRestantes[j]);
+                asignaciones[i][j] = asignacion;
 
-            // Marcar filas o columnas agotadas
-            if (Math.abs(ofertasDisponibles[i]) < 1e-6) {
-                filaAgotada[i] = true;
-            }
-            if (Math.abs(demandasRestantes[j]) < 1e-6) {
-                columnaAgotada[j] = true;
-            }
+                // Actualizar ofertas y demandas
+                ofertasDisponibles[i] -= asignacion;
+                demandasRestantes[j] -= asignacion;
 
-            celdasAsignadas++;
-        }
+                // Marcar filas o columnas agotadas
+                if (Math.abs(ofertasDisponibles[i]) < 1e-6) {
+                    filaAgotada[i] = true;
+                }
+                if (Math.abs(demandasRestantes[j]) < 1e-6) {
+                    columnaAgotada[j] = true;
+                }
 
-        // Crear y retornar la solución
-        SolucionTransporte solucion = SolucionTransporte.builder()
-                .asignaciones(asignaciones)
-                .metodoUtilizado(MetodoSolucionInicial.COSTO_MINIMO)
-                .build();
+                celdasAsignadas++;
+            }
+
+            // Crear y retornar la solución
+            SolucionTransporte solucion = SolucionTransporte.builder()
+                    .asignaciones(asignaciones)
+                    .metodoUtilizado(MetodoSolucionInicial.COSTO_MINIMO)
+                    .build();
 
-        // Calcular el costo total
-        solucion.calcularCostoTotal(problema.getCostos());
+            // Calcular el costo total
+            solucion.calcularCostoTotal(costos, espacio.getBufferFila());
 
-        return solucion;
+            return solucion;
+        }
     }
 
     /**
-     * Encuentra la celda con el menor costo que aún no ha sido agotada.
+     * Encuentra la celda con el menor costo que aún no ha sido agotada
+     * y la deja en filaSeleccionada/columnaSeleccionada del espacio de trabajo.
+     *
+     * @return false si no quedan celdas disponibles
      */
-    private Celda encontrarCeldaMinimaDisponible(
-            double[][] costos,
-            boolean[] filaAgotada,
-            boolean[] columnaAgotada,
+    private boolean encontrarCeldaMinimaDisponible(
+            FuenteCostos costos,
+            EspacioTrabajo espacio,
             int m,
             int n) {
 
+        boolean[] filaAgotada = espacio.filaAgotada;
+        boolean[] columnaAgotada = espacio.columnaAgotada;
         double costoMinimo = Double.MAX_VALUE;
         int filaMin = -1;
         int colMin = -1;
@@ -105,11 +114,12 @@ public class CostoMinimoStrategy implements SolucionInicialStrategy {
         for (int i = 0; i < m; i++) {
             if (filaAgotada[i]) continue;
 
+            double[] fila = costos.obtenerFila(i, espacio.getBufferFila());
             for (int j = 0; j < n; j++) {
                 if (columnaAgotada[j]) continue;
 
-                if (costos[i][j] < costoMinimo) {
-                    costoMinimo = costos[i][j];
+                if (fila[j] < costoMinimo) {
+                    costoMinimo = fila[j];
                     filaMin = i;
                     colMin = j;
                 }
@@ -117,13 +127,11 @@ public class CostoMinimoStrategy implements SolucionInicialStrategy {
         }
 
         if (filaMin == -1 || colMin == -1) {
-            return null;
+            return false;
         }
 
-        return Celda.builder()
-                .fila(filaMin)
-                .columna(colMin)
-                .costo(costoMinimo)
-                .build();
+        espacio.filaSeleccionada = filaMin;
+        espacio.columnaSeleccionada = colMin;
+        return true;
     }
 }
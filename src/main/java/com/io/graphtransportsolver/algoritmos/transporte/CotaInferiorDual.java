@@ -0,0 +1,106 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+
+import java.util.Arrays;
+
+/**
+ * Cota inferior del costo óptimo de un problema balanceado a partir de potenciales
+ * duales factibles (u_i + v_j ≤ c_ij): por dualidad débil ningún plan cuesta menos que
+ * Σ oferta_i · u_i + Σ demanda_j · v_j.
+ *
+ * Partiendo de unos potenciales de fila (o de cero) se fija cada v_j al mayor valor
+ * factible y luego cada u_i; cada barrido cuesta O(mn) y no empeora la cota.
+ */
+public final class CotaInferiorDual {
+
+    private CotaInferiorDual() {
+    }
+
+    /**
+     * Potenciales duales factibles (u_i + v_j ≤ c_ij).
+     *
+     * @param fila    potenciales u de los orígenes
+     * @param columna potenciales v de los destinos
+     */
+    public record Potenciales(double[] fila, double[] columna) {
+    }
+
+    /**
+     * Calcula la cota inferior.
+     *
+     * @param costos           costos del problema balanceado
+     * @param ofertas          ofertas
+     * @param demandas         demandas
+     * @param potencialesFila  potenciales u de partida (null para empezar desde cero)
+     * @param barridos         barridos columna-fila (al menos 1)
+     * @return cota inferior del costo óptimo
+     */
+    public static double calcular(
+            FuenteCostos costos,
+            double[] ofertas,
+            double[] demandas,
+            double[] potencialesFila,
+            int barridos) {
+        return valor(ofertas, demandas, ajustar(costos, potencialesFila, barridos));
+    }
+
+    /**
+     * Ajusta los potenciales con barridos columna-fila. Partiendo de cero, el primer barrido
+     * equivale a reducir por columnas y luego por filas.
+     *
+     * @param costos          costos del problema balanceado
+     * @param potencialesFila potenciales u de partida (null para empezar desde cero)
+     * @param barridos        barridos columna-fila (al menos 1)
+     * @return potenciales factibles
+     */
+    public static Potenciales ajustar(FuenteCostos costos, double[] potencialesFila, int barridos) {
+        int m = costos.getNumOrigenes();
+        int n = costos.getNumDestinos();
+        double[] u = potencialesFila != null ? potencialesFila.clone() : new double[m];
+        double[] v = new double[n];
+        double[] buffer = new double[n];
+
+        for (int barrido = 0; barrido < Math.max(1, barridos); barrido++) {
+            // v_j = min_i (c_ij - u_i)
+            Arrays.fill(v, Double.POSITIVE_INFINITY);
+            for (int i = 0; i < m; i++) {
+                double[] fila = costos.obtenerFila(i, buffer);
+                for (int j = 0; j < n; j++) {
+                    double holgura = fila[j] - u[i];
+                    if (holgura < v[j]) v[j] = holgura;
+                }
+            }
+            // u_i = min_j (c_ij - v_j)
+            for (int i = 0; i < m; i++) {
+                double[] fila = costos.obtenerFila(i, buffer);
+                double minimo = Double.POSITIVE_INFINITY;
+                for (int j = 0; j < n; j++) {
+                    double holgura = fila[j] - v[j];
+                    if (holgura < minimo) minimo = holgura;
+                }
+                u[i] = minimo;
+            }
+        }
+        return new Potenciales(u, v);
+    }
+
+    /**
+     * Valor dual de unos potenciales factibles: Σ oferta_i · u_i + Σ demanda_j · v_j.
+     *
+     * @param ofertas     ofertas
+     * @param demandas    demandas
+     * @param potenciales potenciales factibles
+     * @return cota inferior del costo óptimo
+     */
+    public static double valor(double[] ofertas, double[] demandas, Potenciales potenciales) {
+        double cota = 0.0;
+        for (int i = 0; i < ofertas.length; i++) {
+            cota += ofertas[i] * potenciales.fila()[i];
+        }
+        for (int j = 0; j < demandas.length; j++) {
+            cota += demandas[j] * potenciales.columna()[j];
+        }
+        return cota;
+    }
+}
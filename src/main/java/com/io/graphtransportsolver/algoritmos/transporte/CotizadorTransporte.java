@@ -0,0 +1,191 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.CotizacionTransporte;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+
+import java.util.Arrays;
+
+/**
+ * Acota el costo óptimo de un problema balanceado sin resolverlo ni crear la matriz
+ * de asignaciones.
+ *
+ * Cota inferior: reducción por columnas y por filas seguida de barridos de ascenso dual
+ * ({@link CotaInferiorDual}). Cota superior: costo de un plan voraz guiado por los costos
+ * reducidos de esos potenciales; solo se acumula su costo. Se reparte sobre unas pocas celdas
+ * candidatas por fila y por columna (O(mn) para elegirlas) y el resto fila por fila; cada
+ * destino se agota una sola vez, así que ese resto hace a lo sumo m + n búsquedas sobre los
+ * destinos abiertos.
+ */
+public final class CotizadorTransporte {
+
+    /**
+     * Barridos de ascenso dual por defecto.
+     */
+    public static final int BARRIDOS = 3;
+
+    /**
+     * Celdas candidatas por fila para el reparto voraz.
+     */
+    private static final int CANDIDATOS_POR_FILA = 4;
+
+    private CotizadorTransporte() {
+    }
+
+    /**
+     * Calcula las cotas del costo óptimo.
+     *
+     * @param problema problema balanceado
+     * @param barridos barridos de ascenso dual (al menos 1)
+     * @return cotas inferior y superior
+     */
+    public static CotizacionTransporte cotizar(ProblemaTransporte problema, int barridos) {
+        FuenteCostos costos = problema.getFuenteCostos();
+        double[] ofertas = problema.getOfertas();
+        double[] demandas = problema.getDemandas();
+
+        CotaInferiorDual.Potenciales potenciales = CotaInferiorDual.ajustar(costos, null, barridos);
+        double inferior = CotaInferiorDual.valor(ofertas, demandas, potenciales);
+        double superior = Math.max(inferior, costoVoraz(costos, ofertas, demandas, potenciales));
+
+        double brecha = superior != 0.0 ? (superior - inferior) / Math.abs(superior) : 0.0;
+        return CotizacionTransporte.builder()
+                .cotaInferior(inferior)
+                .cotaSuperior(superior)
+                .brechaOptimalidad(brecha)
+                .build();
+    }
+
+    /**
+     * Costo del plan voraz. Primero se reparte, como en Costo Mínimo, sobre las celdas
+     * candidatas (las {@value #CANDIDATOS_POR_FILA} de menor costo reducido de cada fila y las
+     * dos de cada columna) en orden creciente de costo reducido; lo que quede se envía fila por
+     * fila al destino abierto más barato.
+     */
+    private static double costoVoraz(FuenteCostos costos, double[] ofertas, double[] demandas,
+                                     CotaInferiorDual.Potenciales potenciales) {
+        int m = ofertas.length;
+        int n = demandas.length;
+        double[] u = potenciales.fila();
+        double[] v = potenciales.columna();
+        double[] buffer = new double[n];
+
+        // Candidatas: k mejores por fila (inserción ordenada) y 2 mejores por columna
+        int k = Math.min(CANDIDATOS_POR_FILA, n);
+        int[] filaCandidata = new int[m * k + 2 * n];
+        int[] columnaCandidata = new int[filaCandidata.length];
+        double[] costoCandidata = new double[filaCandidata.length];
+        float[] reducidoCandidata = new float[filaCandidata.length];
+        int numCandidatas = 0;
+
+        int[] mejorFila = new int[2 * n];
+        double[] menorReducidoColumna = new double[2 * n];
+        Arrays.fill(mejorFila, -1);
+        Arrays.fill(menorReducidoColumna, Double.POSITIVE_INFINITY);
+
+        int[] mejoresColumnas = new int[k];
+        double[] mejoresReducidos = new double[k];
+        for (int i = 0; i < m; i++) {
+            double[] fila = costos.obtenerFila(i, buffer);
+            int llenas = 0;
+            for (int j = 0; j < n; j++) {
+                double reducido = Math.max(0.0, fila[j] - u[i] - v[j]);
+
+                if (llenas < k || reducido < mejoresReducidos[llenas - 1]) {
+                    int p = llenas < k ? llenas++ : llenas - 1;
+                    while (p > 0 && mejoresReducidos[p - 1] > reducido) {
+                        mejoresReducidos[p] = mejoresReducidos[p - 1];
+                        mejoresColumnas[p] = mejoresColumnas[p - 1];
+                        p--;
+                    }
+                    mejoresReducidos[p] = reducido;
+                    mejoresColumnas[p] = j;
+                }
+
+                if (reducido < menorReducidoColumna[2 * j + 1]) {
+                    if (reducido < menorReducidoColumna[2 * j]) {
+                        menorReducidoColumna[2 * j + 1] = menorReducidoColumna[2 * j];
+                        mejorFila[2 * j + 1] = mejorFila[2 * j];
+                        menorReducidoColumna[2 * j] = reducido;
+                        mejorFila[2 * j] = i;
+                    } else {
+                        menorReducidoColumna[2 * j + 1] = reducido;
+                        mejorFila[2 * j + 1] = i;
+                    }
+                }
+            }
+            for (int p = 0; p < llenas; p++) {
+                int j = mejoresColumnas[p];
+                filaCandidata[numCandidatas] = i;
+                columnaCandidata[numCandidatas] = j;
+                costoCandidata[numCandidatas] = fila[j];
+                reducidoCandidata[numCandidatas++] = (float) mejoresReducidos[p];
+            }
+        }
+        for (int j = 0; j < n; j++) {
+            for (int t = 2 * j; t < 2 * j + 2 && mejorFila[t] >= 0; t++) {
+                filaCandidata[numCandidatas] = mejorFila[t];
+                columnaCandidata[numCandidatas] = j;
+                costoCandidata[numCandidatas] = costos.costo(mejorFila[t], j);
+                reducidoCandidata[numCandidatas++] = (float) menorReducidoColumna[t];
+            }
+        }
+
+        // Costos reducidos no negativos: sus bits como float crecen con el valor
+        long[] claves = new long[numCandidatas];
+        for (int c = 0; c < numCandidatas; c++) {
+            claves[c] = ((long) Float.floatToIntBits(reducidoCandidata[c]) << 32) | c;
+        }
+        Arrays.sort(claves);
+
+        double[] ofertaRestante = ofertas.clone();
+        double[] restante = demandas.clone();
+        double costo = 0.0;
+        for (long clave : claves) {
+            int c = (int) clave;
+            int i = filaCandidata[c];
+            int j = columnaCandidata[c];
+            double cantidad = Math.min(ofertaRestante[i], restante[j]);
+            if (cantidad > BaseTransporte.EPSILON) {
+                costo += cantidad * costoCandidata[c];
+                ofertaRestante[i] -= cantidad;
+                restante[j] -= cantidad;
+            }
+        }
+
+        // Destinos con demanda pendiente; al agotarse uno se reemplaza por el último
+        int[] abiertos = new int[n];
+        int numAbiertos = 0;
+        for (int j = 0; j < n; j++) {
+            if (restante[j] > BaseTransporte.EPSILON) abiertos[numAbiertos++] = j;
+        }
+
+        for (int i = 0; i < m && numAbiertos > 0; i++) {
+            double oferta = ofertaRestante[i];
+            if (oferta <= BaseTransporte.EPSILON) continue;
+            double[] fila = costos.obtenerFila(i, buffer);
+
+            while (oferta > BaseTransporte.EPSILON && numAbiertos > 0) {
+                int mejor = 0;
+                double menor = fila[abiertos[0]] - v[abiertos[0]];
+                for (int t = 1; t < numAbiertos; t++) {
+                    double reducido = fila[abiertos[t]] - v[abiertos[t]];
+                    if (reducido < menor) {
+                        menor = reducido;
+                        mejor = t;
+                    }
+                }
+
+                int j = abiertos[mejor];
+                double cantidad = Math.min(oferta, restante[j]);
+                costo += cantidad * fila[j];
+                oferta -= cantidad;
+                restante[j] -= cantidad;
+                if (restante[j] <= BaseTransporte.EPSILON) {
+                    abiertos[mejor] = abiertos[--numAbiertos];
+                }
+            }
+        }
+        return costo;
+    }
+}
@@ -0,0 +1,155 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * Espacio de trabajo reutilizable para las estrategias de solución inicial.
+ *
+ * Agrupa los buffers temporales de los algoritmos (copias de ofertas y demandas,
+ * marcas de filas/columnas agotadas, penalizaciones de Vogel y buffer de fila de costos)
+ * y los recicla desde un pool acotado por hilo, de modo que los bucles de las
+ * estrategias no asignan memoria una vez que el pool se calentó.
+ *
+ * Uso:
+ * <pre>
+ * try (EspacioTrabajo espacio = EspacioTrabajo.adquirir(m, n)) {
+ *     ...
+ * }
+ * </pre>
+ *
+ * La matriz de asignaciones no forma parte del espacio: se entrega dentro de la
+ * solución y por lo tanto no puede reciclarse.
+ */
+public final class EspacioTrabajo implements AutoCloseable {
+
+    /**
+     * Espacios retenidos como máximo por hilo (permite un nivel de anidamiento).
+     */
+    private static final int MAX_POR_HILO = 2;
+
+    /**
+     * Bytes máximos de los buffers de un espacio que se devuelve al pool; los más grandes se
+     * descartan para no retener memoria de peticiones atípicas. Con dos espacios por hilo, cada
+     * hilo retiene como máximo 1 MB (un problema de unos 9.000 x 9.000).
+     */
+    private static final long BYTES_MAXIMOS_RETENIDOS = 512L * 1024;
+
+    private static final ThreadLocal<ArrayDeque<EspacioTrabajo>> POOL =
+            ThreadLocal.withInitial(ArrayDeque::new);
+
+    // Buffers por origen (tamaño >= m)
+    double[] ofertasDisponibles = new double[0];
+    boolean[] filaAgotada = new boolean[0];
+    double[] penalizacionesFila = new double[0];
+
+    // Buffers por destino (tamaño >= n)
+    double[] demandasRestantes = new double[0];
+    boolean[] columnaAgotada = new boolean[0];
+    double[] penalizacionesColumna = new double[0];
+    double[] minimo1Columna = new double[0];
+    double[] minimo2Columna = new double[0];
+    double[] bufferFila = new double[0];
+
+    // Celda seleccionada en el último paso (evita crear objetos Celda por iteración)
+    int filaSeleccionada;
+    int columnaSeleccionada;
+
+    // Penalización máxima seleccionada en el último paso de Vogel
+    int indicePenalizacion;
+    boolean penalizacionEsFila;
+
+    private int m;
+    private int n;
+    private boolean enUso;
+
+    private EspacioTrabajo() {
+    }
+
+    /**
+     * Obtiene un espacio del pool del hilo actual (o crea uno nuevo) dimensionado
+     * para un problema de m orígenes y n destinos. Las marcas de agotado quedan en false.
+     *
+     * @param m número de orígenes
+     * @param n número de destinos
+     * @return espacio listo para usar; debe cerrarse al terminar
+     */
+    public static EspacioTrabajo adquirir(int m, int n) {
+        EspacioTrabajo espacio = POOL.get().pollFirst();
+        if (espacio == null) {
+            espacio = new EspacioTrabajo();
+        }
+        espacio.preparar(m, n);
+        return espacio;
+    }
+
+    private void preparar(int m, int n) {
+        if (ofertasDisponibles.length < m) {
+            ofertasDisponibles = new double[m];
+            filaAgotada = new boolean[m];
+            penalizacionesFila = new double[m];
+        }
+        if (demandasRestantes.length < n) {
+            demandasRestantes = new double[n];
+            columnaAgotada = new boolean[n];
+            penalizacionesColumna = new double[n];
+            minimo1Columna = new double[n];
+            minimo2Columna = new double[n];
+            bufferFila = new double[n];
+        }
+        Arrays.fill(filaAgotada, 0, m, false);
+        Arrays.fill(columnaAgotada, 0, n, false);
+        this.m = m;
+        this.n = n;
+        this.enUso = true;
+    }
+
+    /**
+     * Copia las ofertas y demandas del problema en los buffers de trabajo.
+     *
+     * @param ofertas  ofertas originales (no se modifican)
+     * @param demandas demandas originales (no se modifican)
+     */
+    public void cargarCantidades(double[] ofertas, double[] demandas) {
+        System.arraycopy(ofertas, 0, ofertasDisponibles, 0, m);
+        System.arraycopy(demandas, 0, demandasRestantes, 0, n);
+    }
+
+    /**
+     * Obtiene el buffer de fila de costos (al menos n posiciones).
+     *
+     * @return buffer reutilizable para FuenteCostos.obtenerFila
+     */
+    public double[] getBufferFila() {
+        return bufferFila;
+    }
+
+    /**
+     * Devuelve el espacio al pool del hilo actual si hay lugar y no es demasiado grande.
+     */
+    @Override
+    public void close() {
+        if (!enUso) {
+            return;
+        }
+        enUso = false;
+
+        if (bytesRetenidos() > BYTES_MAXIMOS_RETENIDOS) {
+            return;
+        }
+
+        ArrayDeque<EspacioTrabajo> libres = POOL.get();
+        if (libres.size() < MAX_POR_HILO) {
+            libres.addFirst(this);
+        }
+    }
+
+    /**
+     * Bytes ocupados por los buffers: por origen dos double y un boolean, por destino cinco
+     * double y un boolean.
+     */
+    private long bytesRetenidos() {
+        return (long) ofertasDisponibles.length * (2 * Double.BYTES + 1)
+                + (long) demandasRestantes.length * (5 * Double.BYTES + 1);
+    }
+}
@@ -5,8 +5,6 @@ import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
 import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-
 /**
  * Implementación del método de Esquina Noroeste para encontrar
  * una solución básica factible inicial del problema de transporte.
@@ -27,44 +25,88 @@ public class EsquinaNoroesteStrategy implements SolucionInicialStrategy {
         // Crear matriz de asignaciones
         double[][] asignaciones = new double[m][n];
 
-        // Copias de ofertas y demandas para no modificar el original
-        double[] ofertasDisponibles = Arrays.copyOf(problema.getOfertas(), m);
-        double[] demandasRestantes = Arrays.copyOf(problema.getDemandas(), n);
+        // Copias recicladas de ofertas y demandas para no modificar el original
+        try (EspacioTrabajo espacio = EspacioTrabajo.adquirir(m, n)) {
+            espacio.cargarCantidades(problema.getOfertas(), problema.getDemandas());
+            double[] ofertasDisponibles = espacio.ofertasDisponibles;
+            double[] demandasRestantes = espacio.demandasRestantes;
+
+            // Índices para recorrer la matriz
+            int i = 0; // índice de origen actual
+            int j = 0; // índice de destino actual
+
+            // Algoritmo de Esquina Noroeste
+            while (i < m && j < n) {
+                // Asignar el mínimo entre oferta disponible y demanda restante
+                double asignacion = Math.min(ofertasDisponibles[i], demandasRestantes[j]);
+                asignaciones[i][j] = asignacion;
+
+                // Actualizar ofertas y demandas
+                ofertasDisponibles[i] -= asignacion;
+                demandasRestantes[j] -= asignacion;
 
-        // Índices para recorrer la matriz
-        int i = 0; // índice de origen actual
-        int j = 0; // índice de destino actual
+                // Decidir hacia dónde moverse
+                // Si se agotó la oferta del origen actual, moverse hacia abajo
+                if (Math.abs(ofertasDisponibles[i]) < 1e-6) {
+                    i++;
+                }
+                // Si se satisfizo la demanda del destino actual, moverse hacia la derecha
+                if (Math.abs(demandasRestantes[j]) < 1e-6) {
+                    j++;
+                }
+            }
+
+            // Crear y retornar la solución
+            SolucionTransporte solucion = SolucionTransporte.builder()
+                    .asignaciones(asignaciones)
+                    .metodoUtilizado(MetodoSolucionInicial.ESQUINA_NOROESTE)
+                    .build();
 
-        // Algoritmo de Esquina Noroeste
+            // Calcular el costo total
+            solucion.calcularCostoTotal(problema.getFuenteCostos(), espacio.getBufferFila());
+
+            return solucion;
+        }
+    }
+
+    /**
+     * Completa una solución parcial asignando con Esquina Noroeste las ofertas y demandas
+     * pendientes del espacio de trabajo, saltando las filas y columnas ya agotadas.
+     * Cada paso agota una fila o una columna, por lo que no se forman ciclos.
+     *
+     * @param asignaciones asignaciones parciales (se completan en el lugar)
+     * @param espacio      espacio con las cantidades pendientes y las marcas de agotado
+     * @param m            número de orígenes
+     * @param n            número de destinos
+     */
+    static void completar(double[][] asignaciones, EspacioTrabajo espacio, int m, int n) {
+        double[] ofertasDisponibles = espacio.ofertasDisponibles;
+        double[] demandasRestantes = espacio.demandasRestantes;
+        boolean[] filaAgotada = espacio.filaAgotada;
+        boolean[] columnaAgotada = espacio.columnaAgotada;
+
+        int i = siguienteActivo(filaAgotada, 0, m);
+        int j = siguienteActivo(columnaAgotada, 0, n);
         while (i < m && j < n) {
-            // Asignar el mínimo entre oferta disponible y demanda restante
             double asignacion = Math.min(ofertasDisponibles[i], demandasRestantes[j]);
-            asignaciones[i][j] = asignacion;
-
-            // Actualizar ofertas y demandas
+            asignaciones[i][j] += asignacion;
             ofertasDisponibles[i] -= asignacion;
             demandasRestantes[j] -= asignacion;
 
-            // Decidir hacia dónde moverse
-            // Si se agotó la oferta del origen actual, moverse hacia abajo
             if (Math.abs(ofertasDisponibles[i]) < 1e-6) {
-                i++;
+                filaAgotada[i] = true;
+                i = siguienteActivo(filaAgotada, i + 1, m);
             }
-            // Si se satisfizo la demanda del destino actual, moverse hacia la derecha
             if (Math.abs(demandasRestantes[j]) < 1e-6) {
-                j++;
+                columnaAgotada[j] = true;
+                j = siguienteActivo(columnaAgotada, j + 1, n);
             }
         }
+    }
 
-        // Crear y retornar la solución
-        SolucionTransporte solucion = SolucionTransporte.builder()
-                .asignaciones(asignaciones)
-                .metodoUtilizado(MetodoSolucionInicial.ESQUINA_NOROESTE)
-                .build();
-
-        // Calcular el costo total
-        solucion.calcularCostoTotal(problema.getCostos());
-
-        return solucion;
+    private static int siguienteActivo(boolean[] agotado, int desde, int limite) {
+        int k = desde;
+        while (k < limite && agotado[k]) k++;
+        return k;
     }
 }
@@ -0,0 +1,299 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.RedTransbordo;
+import com.io.graphtransportsolver.models.transporte.SolucionRed;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Flujo de costo mínimo sobre una red con transbordo por caminos de aumento más cortos.
+ *
+ * Se agregan una fuente que alimenta a cada origen con su oferta y un sumidero que recibe
+ * de cada destino su demanda; en cada iteración se busca con Dijkstra el camino más barato
+ * de la fuente al sumidero en la red residual (con costos reducidos por potenciales, que
+ * quedan no negativos) y, tras actualizar los potenciales, se envía flujo por todos los
+ * caminos de costo reducido cero a la vez (bloqueo de Dinic) antes de la siguiente búsqueda.
+ *
+ * La red residual guarda dos aristas por arco: memoria O(V + A) y O(A log V) por búsqueda.
+ */
+@Component
+public class FlujoCostoMinimo {
+
+    private static final double INFINITO = Double.POSITIVE_INFINITY;
+
+    /**
+     * Tolerancia relativa para considerar nulo un costo reducido.
+     */
+    private static final double TOLERANCIA_COSTO = 1e-9;
+
+    /**
+     * Resuelve el flujo de costo mínimo. Si la oferta no alcanza o algún destino no es
+     * alcanzable, se cubre toda la demanda posible y el resto se informa como insatisfecha.
+     *
+     * @param red red con orígenes, transbordos, destinos y arcos
+     * @return flujo por arco y costo total
+     * @throws IllegalArgumentException si la red tiene un ciclo de costo negativo
+     */
+    public SolucionRed resolver(RedTransbordo red) {
+        Residual residual = new Residual(red);
+        int fuente = residual.fuente;
+        int sumidero = residual.sumidero;
+        int nodos = residual.nodos;
+
+        double[] potencial = residual.potencialesIniciales();
+        // Las claves del montículo son las distancias de la búsqueda en curso
+        MonticuloIndexado distancia = new MonticuloIndexado(nodos);
+
+        int iteraciones = 0;
+        while (true) {
+            // Dijkstra con costos reducidos c + π(u) - π(v) ≥ 0
+            distancia.restaurar();
+            distancia.mejorar(fuente, 0.0);
+            while (!distancia.estaVacio()) {
+                int nodo = distancia.extraerMinimo();
+                if (nodo == sumidero) {
+                    // Los nodos pendientes están al menos tan lejos como el sumidero
+                    break;
+                }
+                double distanciaNodo = distancia.clave(nodo);
+                for (int e = residual.cabeza[nodo]; e >= 0; e = residual.siguiente[e]) {
+                    if (residual.capacidad[e] <= BaseTransporte.EPSILON) continue;
+                    int vecino = residual.hasta[e];
+                    double reducido = Math.max(0.0, residual.costo[e] + potencial[nodo] - potencial[vecino]);
+                    distancia.mejorar(vecino, distanciaNodo + reducido);
+                }
+            }
+            double tope = distancia.clave(sumidero);
+            if (tope == INFINITO) {
+                break;
+            }
+
+            // Los nodos más lejanos que el sumidero (o no alcanzados) se acotan a su distancia
+            // para conservar los costos reducidos no negativos
+            for (int v = 0; v < nodos; v++) {
+                potencial[v] += Math.min(distancia.clave(v), tope);
+            }
+
+            // Enviar por todos los caminos de costo reducido cero antes de volver a Dijkstra
+            iteraciones += residual.saturarAdmisibles(potencial);
+        }
+
+        return residual.solucion(red, iteraciones);
+    }
+
+    /**
+     * Red residual en forma de lista de aristas enlazadas por nodo; la arista e ^ 1 es la inversa de e.
+     * Las aristas 2a y 2a + 1 corresponden al arco a de la red.
+     */
+    private static final class Residual {
+
+        final int nodos;
+        final int fuente;
+        final int sumidero;
+        final int[] cabeza;
+        final int[] siguiente;
+        final int[] hasta;
+        final double[] capacidad;
+        final double[] costo;
+        private int aristas;
+
+        // Niveles, arista actual por nodo y pila del camino para los envíos por caminos admisibles
+        private final int[] nivel;
+        private final int[] actual;
+        private final int[] cola;
+        private final int[] camino;
+
+        Residual(RedTransbordo red) {
+            int numNodos = red.getNumNodos();
+            int m = red.getNumOrigenes();
+            int n = red.getNumDestinos();
+            int numArcos = red.getNumArcos();
+
+            nodos = numNodos + 2;
+            fuente = numNodos;
+            sumidero = numNodos + 1;
+            int capacidadAristas = 2 * (numArcos + m + n);
+            cabeza = new int[nodos];
+            siguiente = new int[capacidadAristas];
+            hasta = new int[capacidadAristas];
+            capacidad = new double[capacidadAristas];
+            costo = new double[capacidadAristas];
+            Arrays.fill(cabeza, -1);
+            nivel = new int[nodos];
+            actual = new int[nodos];
+            cola = new int[nodos];
+            camino = new int[nodos];
+
+            for (int a = 0; a < numArcos; a++) {
+                agregar(red.getArcoDesde()[a], red.getArcoHasta()[a], INFINITO, red.getArcoCosto()[a]);
+            }
+            for (int i = 0; i < m; i++) {
+                agregar(fuente, i, red.getOfertas()[i], 0.0);
+            }
+            for (int j = 0; j < n; j++) {
+                agregar(red.nodoDestino(j), sumidero, red.getDemandas()[j], 0.0);
+            }
+        }
+
+        private void agregar(int desde, int destino, double cap, double c) {
+            enlazar(desde, destino, cap, c);
+            enlazar(destino, desde, 0.0, -c);
+        }
+
+        private void enlazar(int desde, int destino, double cap, double c) {
+            hasta[aristas] = destino;
+            capacidad[aristas] = cap;
+            costo[aristas] = c;
+            siguiente[aristas] = cabeza[desde];
+            cabeza[desde] = aristas++;
+        }
+
+        /**
+         * Envía flujo por caminos de costo reducido cero (todos son caminos más cortos) como en
+         * Dinic: niveles por BFS sobre las aristas admisibles y caminos que solo bajan un nivel,
+         * para que las aristas inversas creadas no formen ciclos.
+         *
+         * @return caminos utilizados
+         */
+        int saturarAdmisibles(double[] potencial) {
+            int caminos = 0;
+            while (calcularNiveles(potencial)) {
+                System.arraycopy(cabeza, 0, actual, 0, nodos);
+                while (enviarPorCamino(potencial)) {
+                    caminos++;
+                }
+            }
+            return caminos;
+        }
+
+        private boolean admisible(int e, int desde, double[] potencial) {
+            if (capacidad[e] <= BaseTransporte.EPSILON) return false;
+            double reducido = costo[e] + potencial[desde] - potencial[hasta[e]];
+            return reducido <= TOLERANCIA_COSTO * (1.0 + Math.abs(costo[e]) + Math.abs(potencial[desde]));
+        }
+
+        private boolean calcularNiveles(double[] potencial) {
+            Arrays.fill(nivel, -1);
+            nivel[fuente] = 0;
+            int inicio = 0;
+            int fin = 0;
+            cola[fin++] = fuente;
+            while (inicio < fin) {
+                int nodo = cola[inicio++];
+                for (int e = cabeza[nodo]; e >= 0; e = siguiente[e]) {
+                    int vecino = hasta[e];
+                    if (nivel[vecino] < 0 && admisible(e, nodo, potencial)) {
+                        nivel[vecino] = nivel[nodo] + 1;
+                        cola[fin++] = vecino;
+                    }
+                }
+            }
+            return nivel[sumidero] >= 0;
+        }
+
+        /**
+         * Busca un camino admisible desde la fuente (sin recursión) y envía su cuello de botella.
+         * Los nodos sin salida se descartan hasta el siguiente cálculo de niveles.
+         */
+        private boolean enviarPorCamino(double[] potencial) {
+            int largo = 0;
+            int nodo = fuente;
+            while (nodo != sumidero) {
+                int e = actual[nodo];
+                while (e >= 0 && !(nivel[hasta[e]] == nivel[nodo] + 1 && admisible(e, nodo, potencial))) {
+                    e = siguiente[e];
+                }
+                actual[nodo] = e;
+                if (e >= 0) {
+                    camino[largo++] = e;
+                    nodo = hasta[e];
+                    continue;
+                }
+                if (nodo == fuente) {
+                    return false;
+                }
+                nivel[nodo] = -1;
+                int previa = camino[--largo];
+                nodo = hasta[previa ^ 1];
+                actual[nodo] = siguiente[actual[nodo]];
+            }
+
+            double cantidad = INFINITO;
+            for (int p = 0; p < largo; p++) {
+                cantidad = Math.min(cantidad, capacidad[camino[p]]);
+            }
+            for (int p = 0; p < largo; p++) {
+                capacidad[camino[p]] -= cantidad;
+                capacidad[camino[p] ^ 1] += cantidad;
+            }
+            return true;
+        }
+
+        /**
+         * Potenciales iniciales: cero si no hay costos negativos; si los hay, Bellman-Ford
+         * desde un origen virtual unido a todos los nodos.
+         */
+        double[] potencialesIniciales() {
+            double[] potencial = new double[nodos];
+            boolean hayNegativos = false;
+            for (int e = 0; e < aristas; e++) {
+                if (capacidad[e] > 0.0 && costo[e] < 0.0) {
+                    hayNegativos = true;
+                    break;
+                }
+            }
+            if (!hayNegativos) {
+                return potencial;
+            }
+
+            for (int ronda = 0; ronda <= nodos; ronda++) {
+                boolean cambio = false;
+                for (int nodo = 0; nodo < nodos; nodo++) {
+                    for (int e = cabeza[nodo]; e >= 0; e = siguiente[e]) {
+                        if (capacidad[e] <= 0.0) continue;
+                        double candidato = potencial[nodo] + costo[e];
+                        if (candidato < potencial[hasta[e]] - BaseTransporte.EPSILON) {
+                            potencial[hasta[e]] = candidato;
+                            cambio = true;
+                        }
+                    }
+                }
+                if (!cambio) {
+                    return potencial;
+                }
+            }
+            throw new IllegalArgumentException("La red tiene un ciclo de costo negativo: el costo no está acotado");
+        }
+
+        SolucionRed solucion(RedTransbordo red, int iteraciones) {
+            int numArcos = red.getNumArcos();
+            double[] flujos = new double[numArcos];
+            double costoTotal = 0.0;
+            for (int a = 0; a < numArcos; a++) {
+                // El flujo del arco es la capacidad acumulada en su arista inversa
+                flujos[a] = capacidad[2 * a + 1] > BaseTransporte.EPSILON ? capacidad[2 * a + 1] : 0.0;
+                costoTotal += flujos[a] * red.getArcoCosto()[a];
+            }
+
+            double ofertaSobrante = 0.0;
+            double demandaInsatisfecha = 0.0;
+            for (int e = 2 * numArcos; e < aristas; e += 2) {
+                if (capacidad[e] <= BaseTransporte.EPSILON) continue;
+                if (hasta[e ^ 1] == fuente) {
+                    ofertaSobrante += capacidad[e];
+                } else {
+                    demandaInsatisfecha += capacidad[e];
+                }
+            }
+
+            return SolucionRed.builder()
+                    .flujos(flujos)
+                    .costoTotal(costoTotal)
+                    .ofertaSobrante(ofertaSobrante)
+                    .demandaInsatisfecha(demandaInsatisfecha)
+                    .iteraciones(iteraciones)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.HuellaProblema;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.stream.IntStream;
+
+/**
+ * Calcula la huella canónica de un problema de transporte para reconocer problemas repetidos.
+ *
+ * Para que la huella no dependa del orden de los orígenes y destinos, se ordenan por una firma
+ * que tampoco depende de él: primero la cantidad junto con el multiconjunto de sus costos, y
+ * luego cada costo emparejado con la firma de la línea opuesta (un paso de refinamiento). Los
+ * multiconjuntos se resumen sumando un hash de cada elemento, así que basta recorrer la matriz
+ * fila por fila sin materializarla. La clave es el SHA-256 del problema completo en ese orden:
+ * dos problemas con la misma clave son el mismo problema con filas y columnas reordenadas.
+ *
+ * Si dos líneas distintas empatan en firma, su orden relativo sigue el recibido y el mismo
+ * problema listado en otro orden puede dar otra clave; nunca al revés.
+ */
+public final class HuellaCanonica {
+
+    private static final long MULTIPLICADOR = 0x9E3779B97F4A7C15L;
+
+    private HuellaCanonica() {
+    }
+
+    /**
+     * Calcula la huella de un problema sin balancear.
+     *
+     * @param problema   problema tal como se recibió
+     * @param permutable si es true la huella no depende del orden de orígenes y destinos;
+     *                   si es false se conserva el orden recibido (para resultados que dependen de él)
+     * @param opciones   opciones de resolución que cambian el resultado, en forma de texto
+     * @return clave y orden canónico
+     */
+    public static HuellaProblema calcular(ProblemaTransporte problema, boolean permutable, String opciones) {
+        FuenteCostos costos = problema.getFuenteCostos();
+        double[] ofertas = problema.getOfertas();
+        double[] demandas = problema.getDemandas();
+        int m = ofertas.length;
+        int n = demandas.length;
+        double[] buffer = new double[n];
+
+        int[] ordenOrigenes = IntStream.range(0, m).toArray();
+        int[] ordenDestinos = IntStream.range(0, n).toArray();
+        if (permutable) {
+            // Ronda 1: cantidad y multiconjunto de costos de cada línea
+            long[] firmaFila = new long[m];
+            long[] firmaColumna = new long[n];
+            for (int i = 0; i < m; i++) {
+                double[] fila = costos.obtenerFila(i, buffer);
+                for (int j = 0; j < n; j++) {
+                    long h = mezclar(bits(fila[j]));
+                    firmaFila[i] += h;
+                    firmaColumna[j] += h;
+                }
+            }
+            for (int i = 0; i < m; i++) {
+                firmaFila[i] = mezclar(firmaFila[i] ^ bits(ofertas[i]) * MULTIPLICADOR);
+            }
+            for (int j = 0; j < n; j++) {
+                firmaColumna[j] = mezclar(firmaColumna[j] ^ bits(demandas[j]) * MULTIPLICADOR);
+            }
+
+            // Ronda 2: cada costo junto con la firma de la línea que cruza
+            long[] refinadaFila = new long[m];
+            long[] refinadaColumna = new long[n];
+            for (int i = 0; i < m; i++) {
+                double[] fila = costos.obtenerFila(i, buffer);
+                for (int j = 0; j < n; j++) {
+                    long c = bits(fila[j]) * MULTIPLICADOR;
+                    refinadaFila[i] += mezclar(c + firmaColumna[j]);
+                    refinadaColumna[j] += mezclar(c + firmaFila[i]);
+                }
+            }
+
+            ordenOrigenes = ordenar(refinadaFila, firmaFila);
+            ordenDestinos = ordenar(refinadaColumna, firmaColumna);
+        }
+
+        MessageDigest resumen = sha256();
+        resumen.update(opciones.getBytes(StandardCharsets.UTF_8));
+        ByteBuffer cabecera = ByteBuffer.allocate(9 + 8 * (m + n));
+        cabecera.put((byte) (permutable ? 1 : 0)).putInt(m).putInt(n);
+        for (int i : ordenOrigenes) {
+            cabecera.putLong(bits(ofertas[i]));
+        }
+        for (int j : ordenDestinos) {
+            cabecera.putLong(bits(demandas[j]));
+        }
+        resumen.update(cabecera.array());
+
+        ByteBuffer fila = ByteBuffer.allocate(8 * n);
+        for (int i : ordenOrigenes) {
+            double[] valores = costos.obtenerFila(i, buffer);
+            fila.clear();
+            for (int j : ordenDestinos) {
+                fila.putLong(bits(valores[j]));
+            }
+            resumen.update(fila.array());
+        }
+
+        return HuellaProblema.builder()
+                .clave(HexFormat.of().formatHex(resumen.digest()))
+                .ordenOrigenes(ordenOrigenes)
+                .ordenDestinos(ordenDestinos)
+                .build();
+    }
+
+    /**
+     * Índices ordenados por firma refinada y luego por firma inicial; los empates conservan el orden recibido.
+     */
+    private static int[] ordenar(long[] refinada, long[] inicial) {
+        return IntStream.range(0, refinada.length)
+                .boxed()
+                .sorted(Comparator.<Integer>comparingLong(k -> refinada[k]).thenComparingLong(k -> inicial[k]))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Bits del valor con el cero negativo igualado al positivo.
+     */
+    private static long bits(double valor) {
+        return Double.doubleToLongBits(valor + 0.0);
+    }
+
+    /**
+     * Mezcla de 64 bits (finalizador de SplitMix64): cambia en promedio la mitad de los bits
+     * de salida por cada bit de entrada, así las sumas de hashes no se cancelan por estructura.
+     */
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM debe incluir SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
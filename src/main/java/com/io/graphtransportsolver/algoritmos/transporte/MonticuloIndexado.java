@@ -0,0 +1,147 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import java.util.Arrays;
+
+/**
+ * Montículo binario de mínimos sobre los nodos 0..capacidad-1, con la clave de cada nodo en
+ * arreglos primitivos (no crea objetos por inserción).
+ *
+ * Los nodos sin clave valen infinito. Un nodo extraído conserva su clave hasta {@link #restaurar()},
+ * que solo recorre los nodos tocados desde la última restauración; así el mismo espacio sirve
+ * para muchas búsquedas seguidas sobre un grafo grande.
+ */
+final class MonticuloIndexado {
+
+    private static final int FUERA = -1;
+    private static final int EXTRAIDO = Integer.MIN_VALUE;
+
+    private final double[] clave;
+    private final int[] monticulo;
+    private final int[] posicion;
+    private int tamano;
+
+    private final int[] tocados;
+    private int numTocados;
+
+    MonticuloIndexado(int capacidad) {
+        this.clave = new double[capacidad];
+        Arrays.fill(clave, Double.POSITIVE_INFINITY);
+        this.monticulo = new int[capacidad];
+        this.posicion = new int[capacidad];
+        Arrays.fill(posicion, FUERA);
+        this.tocados = new int[capacidad];
+    }
+
+    boolean estaVacio() {
+        return tamano == 0;
+    }
+
+    double clave(int nodo) {
+        return clave[nodo];
+    }
+
+    /**
+     * @return nodo con la menor clave, sin extraerlo
+     */
+    int minimo() {
+        return monticulo[0];
+    }
+
+    /**
+     * Baja la clave de un nodo no extraído, insertándolo si no estaba.
+     *
+     * @return true si la clave mejoró
+     */
+    boolean mejorar(int nodo, double valor) {
+        if (posicion[nodo] == EXTRAIDO || !(valor < clave[nodo])) {
+            return false;
+        }
+        fijar(nodo, valor);
+        return true;
+    }
+
+    /**
+     * Fija la clave de un nodo no extraído, insertándolo si no estaba; la clave puede subir o bajar.
+     */
+    void fijar(int nodo, double valor) {
+        int p = posicion[nodo];
+        if (p == EXTRAIDO) {
+            throw new IllegalStateException("El nodo " + nodo + " ya fue extraído del montículo");
+        }
+        double anterior = clave[nodo];
+        clave[nodo] = valor;
+        if (p == FUERA) {
+            tocados[numTocados++] = nodo;
+            monticulo[tamano] = nodo;
+            posicion[nodo] = tamano++;
+            subir(posicion[nodo]);
+        } else if (valor < anterior) {
+            subir(p);
+        } else {
+            bajar(p);
+        }
+    }
+
+    int extraerMinimo() {
+        int minimo = monticulo[0];
+        posicion[minimo] = EXTRAIDO;
+        tamano--;
+        if (tamano > 0) {
+            monticulo[0] = monticulo[tamano];
+            posicion[monticulo[0]] = 0;
+            bajar(0);
+        }
+        return minimo;
+    }
+
+    /**
+     * Vacía el montículo y devuelve a infinito las claves de los nodos tocados.
+     */
+    void restaurar() {
+        for (int k = 0; k < numTocados; k++) {
+            int nodo = tocados[k];
+            clave[nodo] = Double.POSITIVE_INFINITY;
+            posicion[nodo] = FUERA;
+        }
+        numTocados = 0;
+        tamano = 0;
+    }
+
+    private void subir(int p) {
+        int nodo = monticulo[p];
+        double valor = clave[nodo];
+        while (p > 0) {
+            int padre = (p - 1) >>> 1;
+            if (clave[monticulo[padre]] <= valor) {
+                break;
+            }
+            monticulo[p] = monticulo[padre];
+            posicion[monticulo[p]] = p;
+            p = padre;
+        }
+        monticulo[p] = nodo;
+        posicion[nodo] = p;
+    }
+
+    private void bajar(int p) {
+        int nodo = monticulo[p];
+        double valor = clave[nodo];
+        while (true) {
+            int hijo = 2 * p + 1;
+            if (hijo >= tamano) {
+                break;
+            }
+            if (hijo + 1 < tamano && clave[monticulo[hijo + 1]] < clave[monticulo[hijo]]) {
+                hijo++;
+            }
+            if (clave[monticulo[hijo]] >= valor) {
+                break;
+            }
+            monticulo[p] = monticulo[hijo];
+            posicion[monticulo[p]] = p;
+            p = hijo;
+        }
+        monticulo[p] = nodo;
+        posicion[nodo] = p;
+    }
+}
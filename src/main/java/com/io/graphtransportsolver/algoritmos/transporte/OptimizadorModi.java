@@ -0,0 +1,525 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.CapacidadesCarril;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.CostosConFicticio;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import com.io.graphtransportsolver.models.transporte.enums.EstadoCelda;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Método MODI (u-v / simplex de transporte) para llevar una solución básica
+ * factible inicial hasta la solución óptima.
+ *
+ * En cada iteración calcula los potenciales u/v sobre el árbol de la base,
+ * busca la celda no básica con el costo reducido más negativo y la ingresa
+ * pivoteando por su ciclo. Termina cuando ningún costo reducido es negativo.
+ *
+ * También ofrece un modo por carriles candidatos: resuelve el subproblema
+ * restringido a los k carriles más baratos por fila y columna, valora la matriz
+ * completa con los potenciales resultantes y reincorpora los carriles que violan
+ * la optimalidad hasta que no quede ninguno. El resultado sigue siendo óptimo.
+ *
+ * Con capacidades por carril usa el MODI de variables acotadas: las celdas no básicas pueden
+ * estar en cero o en su capacidad (EN_COTA_SUPERIOR), y una celda en su cota mejora el plan si
+ * su costo reducido es positivo, porque entra disminuyendo su flujo.
+ */
+@Component
+@Slf4j
+public class OptimizadorModi {
+
+    private static final double TOLERANCIA = 1e-7;
+
+    /**
+     * Optimiza la solución valorando todas las celdas en cada iteración.
+     *
+     * @param problema problema balanceado
+     * @param inicial  solución básica factible inicial
+     * @return solución óptima con potenciales y base
+     */
+    public SolucionTransporte optimizar(ProblemaTransporte problema, SolucionTransporte inicial) {
+        return optimizar(problema, inicial, ControlEjecucion.SIN_LIMITE);
+    }
+
+    /**
+     * Optimiza la solución valorando todas las celdas en cada iteración, hasta el óptimo
+     * o hasta que venza el plazo (en cuyo caso devuelve la última base, que es factible).
+     *
+     * @param problema problema balanceado
+     * @param inicial  solución básica factible inicial
+     * @param control  presupuesto de tiempo
+     * @return solución óptima, o la mejor encontrada si venció el plazo
+     */
+    public SolucionTransporte optimizar(ProblemaTransporte problema, SolucionTransporte inicial, ControlEjecucion control) {
+        BaseTransporte base = BaseTransporte.desdeAsignaciones(problema.getFuenteCostos(), inicial.getAsignaciones());
+
+        Resultado resultado = iterar(base, null, control);
+
+        log.debug("MODI: {} iteraciones, óptima={}", resultado.iteraciones, resultado.optima);
+        return construirSolucion(base, inicial, resultado);
+    }
+
+    /**
+     * Optimiza la solución trabajando solo sobre carriles candidatos y
+     * reparando la optimalidad con valoraciones de la matriz completa.
+     *
+     * @param problema problema balanceado
+     * @param inicial  solución básica factible inicial
+     * @param k        carriles más baratos a conservar por fila y por columna
+     * @return solución óptima con potenciales y base
+     */
+    public SolucionTransporte optimizarConCandidatos(ProblemaTransporte problema, SolucionTransporte inicial, int k) {
+        return optimizarConCandidatos(problema, inicial, k, ControlEjecucion.SIN_LIMITE);
+    }
+
+    /**
+     * Optimiza con carriles candidatos respetando un presupuesto de tiempo.
+     *
+     * @param problema problema balanceado
+     * @param inicial  solución básica factible inicial
+     * @param k        carriles más baratos a conservar por fila y por columna
+     * @param control  presupuesto de tiempo
+     * @return solución óptima, o la mejor encontrada si venció el plazo
+     */
+    public SolucionTransporte optimizarConCandidatos(
+            ProblemaTransporte problema,
+            SolucionTransporte inicial,
+            int k,
+            ControlEjecucion control) {
+        FuenteCostos costos = problema.getFuenteCostos();
+        BaseTransporte base = BaseTransporte.desdeAsignaciones(costos, inicial.getAsignaciones());
+        CarrilesCandidatos candidatos = CarrilesCandidatos.seleccionar(costos, k, inicial.getAsignaciones());
+
+        Resultado resultado = iterarPorRondas(base, candidatos,
+                (conjunto, u, v, maxPorFila, tolerancia) -> conjunto.agregarViolaciones(costos, u, v, maxPorFila, tolerancia),
+                k, control);
+        return construirSolucion(base, inicial, resultado);
+    }
+
+    /**
+     * Optimiza una base cuyos costos solo se conocen en los carriles candidatos; la valoración
+     * de la matriz completa en cada ronda la hace el valorador (p. ej. trabajadores remotos
+     * que tienen las filas de costos).
+     *
+     * @param base       base factible construida sobre {@link CarrilesCandidatos#comoFuente}
+     * @param candidatos carriles candidatos, con al menos las celdas de la base
+     * @param valorador  valoración de la matriz completa con los potenciales de la base
+     * @param k          carriles a agregar por fila en cada ronda
+     * @param control    presupuesto de tiempo
+     * @return solución óptima, o la mejor encontrada si venció el plazo
+     */
+    public SolucionTransporte optimizarConValorador(
+            BaseTransporte base,
+            CarrilesCandidatos candidatos,
+            ValoradorCarriles valorador,
+            int k,
+            ControlEjecucion control) {
+        Resultado resultado = iterarPorRondas(base, candidatos, valorador, k, control);
+        return construirSolucion(base, null, resultado);
+    }
+
+    /**
+     * Alterna MODI sobre los candidatos con la valoración de la matriz completa hasta que
+     * ninguna celda viole la optimalidad o venza el plazo.
+     */
+    private Resultado iterarPorRondas(
+            BaseTransporte base,
+            CarrilesCandidatos candidatos,
+            ValoradorCarriles valorador,
+            int k,
+            ControlEjecucion control) {
+        long celdasTotales = (long) base.getNumOrigenes() * base.getNumDestinos();
+        log.debug("Carriles candidatos iniciales: {} de {} celdas", candidatos.getTotal(), celdasTotales);
+
+        Resultado acumulado = new Resultado();
+        int rondas = 0;
+        while (true) {
+            rondas++;
+            Resultado resultado = iterar(base, candidatos, control);
+            acumulado.iteraciones += resultado.iteraciones;
+            if (!resultado.optima) {
+                acumulado.optima = false;
+                break;
+            }
+
+            // Valorar toda la matriz con los potenciales del subproblema
+            int agregados = valorador.agregarViolaciones(
+                    candidatos,
+                    base.getPotencialesFila(),
+                    base.getPotencialesColumna(),
+                    k,
+                    TOLERANCIA
+            );
+            if (agregados == 0) {
+                acumulado.optima = true;
+                break;
+            }
+            log.debug("Ronda {}: {} carriles reincorporados", rondas, agregados);
+        }
+
+        log.debug("Carriles candidatos: {} rondas, {} iteraciones, {} de {} celdas usadas",
+                rondas, acumulado.iteraciones, candidatos.getTotal(), celdasTotales);
+        return acumulado;
+    }
+
+    /**
+     * Reanuda la optimización desde la base de una solución anterior (arranque en caliente).
+     * Resuelve el árbol con las ofertas y demandas actuales, recupera la factibilidad con
+     * pivotes del simplex dual si hace falta y continúa con MODI.
+     *
+     * @param problema      problema balanceado (con los costos y cantidades actuales)
+     * @param celdasBasicas celdas básicas de la solución anterior (i * n + j)
+     * @return solución óptima, o null si la base no se pudo reparar
+     */
+    public SolucionTransporte reanudar(ProblemaTransporte problema, int[] celdasBasicas) {
+        return reanudar(problema, celdasBasicas, ControlEjecucion.SIN_LIMITE);
+    }
+
+    /**
+     * Reanuda la optimización desde una base anterior respetando un presupuesto de tiempo.
+     *
+     * @param problema      problema balanceado (con los costos y cantidades actuales)
+     * @param celdasBasicas celdas básicas de la solución anterior (i * n + j)
+     * @param control       presupuesto de tiempo
+     * @return solución óptima (o la mejor si venció el plazo), o null si la base no se pudo reparar
+     */
+    public SolucionTransporte reanudar(ProblemaTransporte problema, int[] celdasBasicas, ControlEjecucion control) {
+        double[] ofertas = problema.getOfertas();
+        double[] demandas = problema.getDemandas();
+        BaseTransporte base = BaseTransporte.desdeBase(problema.getFuenteCostos(), ofertas, demandas, celdasBasicas);
+
+        int limiteReparacion = 10 * (ofertas.length + demandas.length) + 1_000;
+        int reparaciones = base.repararFactibilidad(ofertas, demandas, limiteReparacion, control);
+        if (reparaciones < 0) {
+            log.debug("No se pudo reparar la factibilidad de la base inicial");
+            return null;
+        }
+
+        Resultado resultado = iterar(base, null, control);
+        resultado.iteraciones += reparaciones;
+
+        log.debug("Arranque en caliente: {} pivotes de reparación, {} iteraciones en total, óptima={}",
+                reparaciones, resultado.iteraciones, resultado.optima);
+        return construirSolucion(base, null, resultado);
+    }
+
+    /**
+     * Optimiza un problema con capacidades por carril con el MODI de variables acotadas.
+     *
+     * La solución inicial no considera las capacidades: se recorta a ellas y lo que sobra en cada
+     * origen y falta en cada destino se envía por un origen y un destino artificiales de costo
+     * penalizado (gran M), que el método vacía si existe un plan factible. Solo se agrega esa fila
+     * y esa columna, y solo si el recorte dejó cantidades pendientes.
+     *
+     * @param problema problema balanceado con capacidades
+     * @param inicial  solución básica factible inicial del problema sin capacidades
+     * @param control  presupuesto de tiempo
+     * @return solución óptima, o la mejor encontrada si venció el plazo
+     * @throws IllegalArgumentException si las capacidades no permiten un plan factible
+     * @throws PlazoVencidoException    si el plazo venció antes de encontrar uno
+     */
+    public SolucionTransporte optimizarConCapacidades(
+            ProblemaTransporte problema,
+            SolucionTransporte inicial,
+            ControlEjecucion control) {
+        CapacidadesCarril capacidades = problema.getCapacidades();
+        FuenteCostos costos = problema.getFuenteCostos();
+        double[][] asignaciones = inicial.getAsignaciones();
+        int m = problema.getOfertas().length;
+        int n = problema.getDemandas().length;
+
+        // Exceso sobre la capacidad de cada carril, acumulado por origen y destino
+        double[] excesoFila = new double[m];
+        double[] excesoColumna = new double[n];
+        double exceso = 0.0;
+        for (int i = 0; i < m; i++) {
+            for (int k = capacidades.inicio(i); k < capacidades.fin(i); k++) {
+                int j = capacidades.getColumna(k);
+                double sobrante = asignaciones[i][j] - capacidades.getLimite(k);
+                if (sobrante > BaseTransporte.EPSILON) {
+                    excesoFila[i] += sobrante;
+                    excesoColumna[j] += sobrante;
+                    exceso += sobrante;
+                }
+            }
+        }
+
+        boolean artificial = exceso > BaseTransporte.EPSILON;
+        int filas = artificial ? m + 1 : m;
+        int columnas = artificial ? n + 1 : n;
+        double[][] plan = new double[filas][];
+        for (int i = 0; i < m; i++) {
+            plan[i] = Arrays.copyOf(asignaciones[i], columnas);
+            for (int k = capacidades.inicio(i); k < capacidades.fin(i); k++) {
+                int j = capacidades.getColumna(k);
+                plan[i][j] = Math.min(plan[i][j], capacidades.getLimite(k));
+            }
+        }
+
+        FuenteCostos costosPlan = costos;
+        CapacidadesCarril capacidadesPlan = capacidades;
+        if (artificial) {
+            plan[m] = new double[columnas];
+            for (int i = 0; i < m; i++) {
+                plan[i][n] = excesoFila[i];
+            }
+            System.arraycopy(excesoColumna, 0, plan[m], 0, n);
+
+            double penalizacion = penalizacionArtificial(costos);
+            costosPlan = CostosConFicticio.conDestinoFicticio(
+                    CostosConFicticio.conOrigenFicticio(costos, penalizacion), penalizacion);
+            capacidadesPlan = capacidades.conOrigenes(m + 1);
+            log.debug("Capacidades: {} unidades sobre el límite pasan por la fila y columna artificiales", exceso);
+        }
+
+        BaseTransporte base = BaseTransporte.desdeAsignaciones(costosPlan, plan, capacidadesPlan);
+        Resultado resultado = iterarAcotado(base, control);
+        log.debug("MODI acotado: {} iteraciones, óptima={}", resultado.iteraciones, resultado.optima);
+
+        double[][] finales = base.getAsignaciones();
+        if (artificial) {
+            double pendiente = 0.0;
+            for (int i = 0; i < m; i++) {
+                pendiente += finales[i][n];
+            }
+            if (pendiente > TOLERANCIA * Math.max(1.0, problema.getOfertaTotal())) {
+                if (!resultado.optima) {
+                    control.verificarCancelacion();
+                    throw new PlazoVencidoException(
+                            "El plazo venció antes de encontrar un plan que respete las capacidades de los carriles");
+                }
+                throw new IllegalArgumentException(String.format(
+                        "Las capacidades de los carriles no permiten enviar %.4f unidades de la oferta a los destinos",
+                        pendiente));
+            }
+        }
+
+        return construirSolucionAcotada(base, inicial, resultado, costos, m, n);
+    }
+
+    /**
+     * Costo de las celdas artificiales: mayor que lo que puede ahorrar cualquier ciclo de celdas
+     * reales (a lo sumo m + n + 2 celdas), para que solo lleven flujo si no hay plan factible.
+     */
+    private double penalizacionArtificial(FuenteCostos costos) {
+        int m = costos.getNumOrigenes();
+        int n = costos.getNumDestinos();
+        double[] buffer = new double[n];
+        double maximo = 1.0;
+        for (int i = 0; i < m; i++) {
+            double[] fila = costos.obtenerFila(i, buffer);
+            for (int j = 0; j < n; j++) {
+                maximo = Math.max(maximo, Math.abs(fila[j]));
+            }
+        }
+        return 2.0 * (m + n + 2) * maximo;
+    }
+
+    /**
+     * Itera el MODI de variables acotadas hasta que ninguna celda no básica mejore el plan:
+     * las que están en cero mejoran con costo reducido negativo y las que están en su
+     * capacidad, con costo reducido positivo.
+     */
+    private Resultado iterarAcotado(BaseTransporte base, ControlEjecucion control) {
+        int m = base.getNumOrigenes();
+        int n = base.getNumDestinos();
+        FuenteCostos costos = base.getCostos();
+        CapacidadesCarril capacidades = base.getCapacidades();
+        double[] buffer = new double[n];
+
+        int limiteDegenerados = m + n;
+        int limiteIteraciones = 50 * (m + n) + 10_000;
+        int degenerados = 0;
+
+        Resultado resultado = new Resultado();
+        while (resultado.iteraciones < limiteIteraciones) {
+            if (control.debeDetenerse()) {
+                log.debug("MODI acotado detenido por plazo tras {} iteraciones", resultado.iteraciones);
+                return resultado;
+            }
+
+            boolean bland = degenerados > limiteDegenerados;
+            double mejorMejora = TOLERANCIA;
+            int filaEntrada = -1;
+            int columnaEntrada = -1;
+
+            buscar:
+            for (int i = 0; i < m; i++) {
+                double[] fila = costos.obtenerFila(i, buffer);
+                // Los carriles con límite del origen están ordenados por destino: se recorren a la par
+                int carril = capacidades.inicio(i);
+                int finCarriles = capacidades.fin(i);
+                for (int j = 0; j < n; j++) {
+                    boolean enCota = false;
+                    if (carril < finCarriles && capacidades.getColumna(carril) == j) {
+                        enCota = base.getEstadoCarril(carril) == EstadoCelda.EN_COTA_SUPERIOR;
+                        carril++;
+                    }
+
+                    double reducido = base.costoReducido(i, j, fila[j]);
+                    double mejora = enCota ? reducido : -reducido;
+                    if (mejora > mejorMejora) {
+                        mejorMejora = mejora;
+                        filaEntrada = i;
+                        columnaEntrada = j;
+                        if (bland) break buscar;
+                    }
+                }
+            }
+
+            if (filaEntrada < 0) {
+                resultado.optima = true;
+                return resultado;
+            }
+
+            double theta = base.pivotear(filaEntrada, columnaEntrada);
+            degenerados = theta <= BaseTransporte.EPSILON ? degenerados + 1 : 0;
+            resultado.iteraciones++;
+        }
+
+        log.warn("MODI acotado alcanzó el límite de {} iteraciones sin confirmar optimalidad", limiteIteraciones);
+        return resultado;
+    }
+
+    /**
+     * Itera el método MODI hasta que no haya costos reducidos negativos
+     * entre las celdas valoradas (todas, o solo las candidatas) o venza el plazo.
+     */
+    private Resultado iterar(BaseTransporte base, CarrilesCandidatos candidatos, ControlEjecucion control) {
+        int m = base.getNumOrigenes();
+        int n = base.getNumDestinos();
+        FuenteCostos costos = base.getCostos();
+        double[] buffer = new double[n];
+
+        // Tras muchos pivotes degenerados seguidos se usa la regla de Bland para evitar ciclar
+        int limiteDegenerados = m + n;
+        int limiteIteraciones = 50 * (m + n) + 10_000;
+        int degenerados = 0;
+
+        Resultado resultado = new Resultado();
+        while (resultado.iteraciones < limiteIteraciones) {
+            if (control.debeDetenerse()) {
+                log.debug("MODI detenido por plazo tras {} iteraciones", resultado.iteraciones);
+                return resultado;
+            }
+
+            boolean bland = degenerados > limiteDegenerados;
+            double mejorReducido = -TOLERANCIA;
+            int filaEntrada = -1;
+            int columnaEntrada = -1;
+
+            buscar:
+            for (int i = 0; i < m; i++) {
+                if (candidatos == null) {
+                    double[] fila = costos.obtenerFila(i, buffer);
+                    for (int j = 0; j < n; j++) {
+                        double reducido = base.costoReducido(i, j, fila[j]);
+                        if (reducido < mejorReducido) {
+                            mejorReducido = reducido;
+                            filaEntrada = i;
+                            columnaEntrada = j;
+                            if (bland) break buscar;
+                        }
+                    }
+                } else {
+                    for (int p = 0; p < candidatos.getCantidad(i); p++) {
+                        int j = candidatos.getColumna(i, p);
+                        double reducido = base.costoReducido(i, j, candidatos.getCosto(i, p));
+                        if (reducido < mejorReducido) {
+                            mejorReducido = reducido;
+                            filaEntrada = i;
+                            columnaEntrada = j;
+                            if (bland) break buscar;
+                        }
+                    }
+                }
+            }
+
+            if (filaEntrada < 0) {
+                resultado.optima = true;
+                return resultado;
+            }
+
+            double theta = base.pivotear(filaEntrada, columnaEntrada);
+            degenerados = theta <= BaseTransporte.EPSILON ? degenerados + 1 : 0;
+            resultado.iteraciones++;
+        }
+
+        log.warn("MODI alcanzó el límite de {} iteraciones sin confirmar optimalidad", limiteIteraciones);
+        return resultado;
+    }
+
+    /**
+     * Construye la solución de salida a partir de la base final.
+     */
+    private SolucionTransporte construirSolucion(BaseTransporte base, SolucionTransporte inicial, Resultado resultado) {
+        SolucionTransporte solucion = SolucionTransporte.builder()
+                .asignaciones(base.getAsignaciones())
+                .metodoUtilizado(inicial != null ? inicial.getMetodoUtilizado() : null)
+                .potencialesFila(base.getPotencialesFila().clone())
+                .potencialesColumna(base.getPotencialesColumna().clone())
+                .celdasBasicas(base.getCeldasBasicas())
+                .optima(resultado.optima)
+                .iteracionesOptimizacion(resultado.iteraciones)
+                .build();
+
+        solucion.setCostoTotal(base.calcularCosto());
+        return solucion;
+    }
+
+    /**
+     * Construye la solución de un problema con capacidades quitando la fila y la columna
+     * artificiales (si se agregaron). Las celdas básicas no se devuelven porque sin el estado
+     * de las celdas en su cota no describen el plan.
+     */
+    private SolucionTransporte construirSolucionAcotada(
+            BaseTransporte base,
+            SolucionTransporte inicial,
+            Resultado resultado,
+            FuenteCostos costos,
+            int m,
+            int n) {
+        double[][] asignaciones = base.getAsignaciones();
+        double[][] plan = new double[m][];
+        double[] buffer = new double[n];
+        double costoTotal = 0.0;
+        for (int i = 0; i < m; i++) {
+            plan[i] = asignaciones[i].length == n ? asignaciones[i] : Arrays.copyOf(asignaciones[i], n);
+            double[] fila = costos.obtenerFila(i, buffer);
+            for (int j = 0; j < n; j++) {
+                if (plan[i][j] != 0.0) {
+                    costoTotal += fila[j] * plan[i][j];
+                }
+            }
+        }
+
+        int columnas = base.getNumDestinos();
+        int[] enCota = base.getCeldasEnCotaSuperior();
+        for (int p = 0; p < enCota.length; p++) {
+            enCota[p] = enCota[p] / columnas * n + enCota[p] % columnas;
+        }
+
+        return SolucionTransporte.builder()
+                .asignaciones(plan)
+                .costoTotal(costoTotal)
+                .metodoUtilizado(inicial.getMetodoUtilizado())
+                .potencialesFila(Arrays.copyOf(base.getPotencialesFila(), m))
+                .potencialesColumna(Arrays.copyOf(base.getPotencialesColumna(), n))
+                .celdasEnCotaSuperior(enCota)
+                .optima(resultado.optima)
+                .iteracionesOptimizacion(resultado.iteraciones)
+                .build();
+    }
+
+    /**
+     * Resultado de una fase de iteraciones.
+     */
+    private static class Resultado {
+        int iteraciones;
+        boolean optima;
+    }
+}
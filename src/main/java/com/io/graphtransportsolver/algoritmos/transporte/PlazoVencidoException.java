@@ -0,0 +1,12 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+/**
+ * El plazo de la resolución venció antes de tener una solución que se pueda entregar. A
+ * diferencia de un problema infactible, la misma solicitud puede resolverse con más tiempo.
+ */
+public class PlazoVencidoException extends RuntimeException {
+
+    public PlazoVencidoException(String message) {
+        super(message);
+    }
+}
@@ -16,4 +16,17 @@ public interface SolucionInicialStrategy {
      * @return la solución inicial encontrada
      */
     SolucionTransporte encontrarSolucionInicial(ProblemaTransporte problema);
+
+    /**
+     * Encuentra una solución básica factible inicial respetando un presupuesto de tiempo.
+     * Si el plazo vence antes de terminar, la solución se completa con Esquina Noroeste
+     * sobre las cantidades pendientes (sigue siendo factible).
+     *
+     * @param problema el problema de transporte a resolver
+     * @param control  presupuesto de tiempo
+     * @return la solución inicial encontrada
+     */
+    default SolucionTransporte encontrarSolucionInicial(ProblemaTransporte problema, ControlEjecucion control) {
+        return encontrarSolucionInicial(problema);
+    }
 }
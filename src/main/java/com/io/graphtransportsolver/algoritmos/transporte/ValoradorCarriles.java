@@ -0,0 +1,22 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+/**
+ * Valora la matriz completa con los potenciales de una base y agrega a los candidatos
+ * los carriles que violan la condición de optimalidad.
+ *
+ * Permite que la valoración (el paso O(mn) de cada ronda) se haga donde estén los costos:
+ * en el mismo proceso o repartida entre trabajadores remotos.
+ */
+@FunctionalInterface
+public interface ValoradorCarriles {
+
+    /**
+     * @param candidatos carriles candidatos donde se agregan las violaciones
+     * @param u          potenciales de los orígenes
+     * @param v          potenciales de los destinos
+     * @param maxPorFila máximo de carriles a agregar por fila (los más negativos)
+     * @param tolerancia umbral de costo reducido para considerar una violación
+     * @return número de carriles agregados (0 si la base es óptima en la matriz completa)
+     */
+    int agregarViolaciones(CarrilesCandidatos candidatos, double[] u, double[] v, int maxPorFila, double tolerancia);
+}
@@ -0,0 +1,470 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.CertificadoSolucion;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import com.io.graphtransportsolver.models.transporte.enums.ResultadoVerificacion;
+
+import java.util.Arrays;
+
+/**
+ * Verifica un plan de transporte sin resolver el problema, en recorridos O(mn).
+ *
+ * Un plan factible es óptimo si existen potenciales u, v con c_ij - u_i - v_j ≥ 0 en todas
+ * las celdas y = 0 en las que llevan flujo: su valor dual iguala al costo del plan. Se prueban
+ * los potenciales recibidos (si los hay) y luego los del bosque formado por las celdas con flujo,
+ * ajustando la constante libre de cada árbol si el plan es degenerado. Si el plan no es óptimo,
+ * la cota inferior dual acota la mejora posible y un pivote sobre la celda de menor costo
+ * reducido (o los ciclos de costo no nulo del plan) da una mejora concreta.
+ *
+ * El plan y los potenciales se reciben en las dimensiones del problema original; el flujo
+ * del origen o destino ficticio es la holgura de cada fila o columna.
+ */
+public final class VerificadorSolucion {
+
+    /**
+     * Tolerancia relativa para comparar cantidades y costos.
+     */
+    private static final double TOLERANCIA = 1e-7;
+
+    /**
+     * Máximo de partes del bosque de flujo para el ajuste de potenciales (Bellman-Ford O(partes³)).
+     */
+    private static final int MAX_PARTES = 512;
+
+    private VerificadorSolucion() {
+    }
+
+    /**
+     * Verifica un plan.
+     *
+     * @param problema           problema balanceado
+     * @param asignaciones       plan [orígenes][destinos] del problema original
+     * @param potencialesFila    potenciales u del problema original (opcional)
+     * @param potencialesColumna potenciales v del problema original (opcional, junto con u)
+     * @return certificado de la verificación
+     */
+    public static CertificadoSolucion verificar(
+            ProblemaTransporte problema,
+            double[][] asignaciones,
+            double[] potencialesFila,
+            double[] potencialesColumna) {
+
+        FuenteCostos costos = problema.getFuenteCostos();
+        double[] ofertas = problema.getOfertas();
+        double[] demandas = problema.getDemandas();
+        int m = ofertas.length;
+        int n = demandas.length;
+
+        double[][] plan = extenderPlan(asignaciones, ofertas, demandas);
+        int mOriginal = asignaciones.length;
+        int nOriginal = asignaciones[0].length;
+
+        // 1. Factibilidad primal y costo del plan
+        double total = Arrays.stream(ofertas).sum();
+        double toleranciaCantidad = TOLERANCIA * Math.max(1.0, total);
+        double violacion = 0.0;
+        double costo = 0.0;
+        double costoMaximo = 0.0;
+        double[] sumaColumnas = new double[n];
+        double[] buffer = new double[n];
+        for (int i = 0; i < m; i++) {
+            double[] fila = costos.obtenerFila(i, buffer);
+            double sumaFila = 0.0;
+            for (int j = 0; j < n; j++) {
+                double x = plan[i][j];
+                violacion = Math.max(violacion, -x);
+                sumaFila += x;
+                sumaColumnas[j] += x;
+                costo += x * fila[j];
+                costoMaximo = Math.max(costoMaximo, Math.abs(fila[j]));
+            }
+            violacion = Math.max(violacion, Math.abs(sumaFila - ofertas[i]));
+        }
+        for (int j = 0; j < n; j++) {
+            violacion = Math.max(violacion, Math.abs(sumaColumnas[j] - demandas[j]));
+        }
+
+        if (violacion > toleranciaCantidad) {
+            return CertificadoSolucion.builder()
+                    .resultado(ResultadoVerificacion.NO_FACTIBLE)
+                    .violacionMaxima(violacion)
+                    .costoTotal(costo)
+                    .cotaInferior(CotaInferiorDual.calcular(costos, ofertas, demandas, null, CotizadorTransporte.BARRIDOS))
+                    .build();
+        }
+
+        double toleranciaCosto = TOLERANCIA * Math.max(1.0, costoMaximo);
+        double toleranciaBrecha = TOLERANCIA * Math.max(1.0, Math.abs(costo));
+
+        // 2. Potenciales recibidos
+        Evaluacion recibida = null;
+        if (potencialesFila != null && potencialesColumna != null) {
+            if (potencialesFila.length != mOriginal || potencialesColumna.length != nOriginal) {
+                throw new IllegalArgumentException(String.format(
+                        "Los potenciales deben tener %d valores de fila y %d de columna", mOriginal, nOriginal));
+            }
+            CotaInferiorDual.Potenciales potenciales =
+                    extenderPotenciales(costos, potencialesFila, potencialesColumna, m, n);
+            recibida = evaluar(costos, plan, potenciales, ofertas, demandas, toleranciaCantidad, toleranciaCosto);
+            if (recibida.certifica() && costo - recibida.cota() <= toleranciaBrecha) {
+                return certificado(ResultadoVerificacion.OPTIMA, costo, recibida.cota(), 0.0, recibida, true,
+                        mOriginal, nOriginal);
+            }
+        }
+
+        // 3. Potenciales del árbol del plan (los ciclos de costo no nulo se rompen mejorando el costo)
+        BaseTransporte base = BaseTransporte.desdeAsignaciones(costos, plan);
+        double mejoraMinima = Math.max(0.0, costo - base.calcularCosto());
+        boolean optimoDescartado = mejoraMinima > toleranciaBrecha;
+
+        // 4. Si el plan es degenerado, desplazar los potenciales de cada parte del bosque de flujo
+        Evaluacion propia = null;
+        if (!optimoDescartado) {
+            AjusteComponentes ajuste = ajustarComponentes(base, costos, toleranciaCosto);
+            optimoDescartado = ajuste.optimoDescartado();
+            if (ajuste.potenciales() != null) {
+                propia = evaluar(costos, plan, ajuste.potenciales(), ofertas, demandas,
+                        toleranciaCantidad, toleranciaCosto);
+                if (propia.certifica() && costo - propia.cota() <= toleranciaBrecha) {
+                    return certificado(ResultadoVerificacion.OPTIMA, costo, propia.cota(), 0.0,
+                            recibida != null ? recibida : propia, false, mOriginal, nOriginal);
+                }
+            }
+        }
+
+        // 5. No es óptimo o no se pudo decidir: acotar la mejora
+        CotaInferiorDual.Potenciales delArbol =
+                new CotaInferiorDual.Potenciales(base.getPotencialesFila(), base.getPotencialesColumna());
+        Evaluacion arbol = evaluar(costos, plan, delArbol, ofertas, demandas, toleranciaCantidad, toleranciaCosto);
+        double cota = Math.max(arbol.cota(), propia != null ? propia.cota() : Double.NEGATIVE_INFINITY);
+        if (recibida != null) {
+            cota = Math.max(cota, recibida.cota());
+        }
+        cota = Math.max(cota, CotaInferiorDual.calcular(costos, ofertas, demandas, null, CotizadorTransporte.BARRIDOS));
+
+        if (arbol.minimo() < -toleranciaCosto) {
+            // Una iteración de MODI sobre la celda más negativa da una mejora alcanzable
+            double theta = base.pivotear(arbol.fila(), arbol.columna());
+            mejoraMinima += theta * -arbol.minimo();
+        }
+
+        ResultadoVerificacion resultado;
+        if (costo - cota <= toleranciaBrecha) {
+            resultado = ResultadoVerificacion.OPTIMA;
+            mejoraMinima = 0.0;
+        } else if (optimoDescartado || mejoraMinima > toleranciaBrecha) {
+            resultado = ResultadoVerificacion.MEJORABLE;
+        } else {
+            resultado = ResultadoVerificacion.INDETERMINADA;
+        }
+
+        Evaluacion reportada = recibida != null ? recibida : arbol;
+        return certificado(resultado, costo, cota, mejoraMinima, reportada, false, mOriginal, nOriginal);
+    }
+
+    /**
+     * Potenciales ajustados por partes del bosque de flujo.
+     *
+     * @param potenciales      potenciales con holgura complementaria y factibles (null si no existen
+     *                         o hay demasiadas partes para decidirlo)
+     * @param optimoDescartado true si se demostró que ningún potencial certifica el plan
+     */
+    private record AjusteComponentes(CotaInferiorDual.Potenciales potenciales, boolean optimoDescartado) {
+    }
+
+    /**
+     * En un plan degenerado las celdas con flujo forman un bosque y los potenciales de cada
+     * árbol quedan libres salvo una constante: sumar δ_k a los u y restarlo a los v de la parte k
+     * mantiene la holgura complementaria. Hay potenciales factibles si y solo si las restricciones
+     * δ_a - δ_b ≤ min c_ij - u_i - v_j (i en a, j en b) son compatibles, lo que se decide con
+     * Bellman-Ford sobre las partes. Los orígenes y destinos sin flujo toman al final el mayor
+     * potencial factible.
+     */
+    private static AjusteComponentes ajustarComponentes(BaseTransporte base, FuenteCostos costos, double tolerancia) {
+        int m = base.getNumOrigenes();
+        int n = base.getNumDestinos();
+        double[][] flujo = base.getAsignaciones();
+
+        // Partes del bosque formado por las celdas con flujo
+        int[] conjunto = new int[m + n];
+        for (int k = 0; k < conjunto.length; k++) {
+            conjunto[k] = k;
+        }
+        boolean[] conFlujo = new boolean[m + n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                if (flujo[i][j] > BaseTransporte.EPSILON) {
+                    conjunto[buscar(conjunto, i)] = buscar(conjunto, m + j);
+                    conFlujo[i] = true;
+                    conFlujo[m + j] = true;
+                }
+            }
+        }
+        int[] parte = new int[m + n];
+        int[] indiceRaiz = new int[m + n];
+        Arrays.fill(parte, -1);
+        Arrays.fill(indiceRaiz, -1);
+        int partes = 0;
+        for (int k = 0; k < m + n; k++) {
+            if (!conFlujo[k]) continue;
+            int raiz = buscar(conjunto, k);
+            if (indiceRaiz[raiz] < 0) indiceRaiz[raiz] = partes++;
+            parte[k] = indiceRaiz[raiz];
+        }
+        if (partes > MAX_PARTES) {
+            return new AjusteComponentes(null, false);
+        }
+
+        double[] u = base.getPotencialesFila().clone();
+        double[] v = base.getPotencialesColumna().clone();
+        double[] buffer = new double[n];
+
+        // Menor costo reducido entre cada par de partes (origen en a, destino en b)
+        double[][] limite = new double[partes][partes];
+        for (double[] filaLimite : limite) {
+            Arrays.fill(filaLimite, Double.POSITIVE_INFINITY);
+        }
+        for (int i = 0; i < m; i++) {
+            int a = parte[i];
+            if (a < 0) continue;
+            double[] fila = costos.obtenerFila(i, buffer);
+            for (int j = 0; j < n; j++) {
+                int b = parte[m + j];
+                if (b < 0) continue;
+                double reducido = fila[j] - u[i] - v[j];
+                if (a == b) {
+                    // Dentro de un árbol los potenciales están fijos
+                    if (reducido < -tolerancia) return new AjusteComponentes(null, true);
+                } else if (reducido < limite[a][b]) {
+                    limite[a][b] = reducido;
+                }
+            }
+        }
+
+        // Bellman-Ford desde un origen virtual: δ_a ≤ δ_b + limite[a][b]
+        double[] delta = new double[partes];
+        for (int ronda = 0; ronda <= partes; ronda++) {
+            boolean cambio = false;
+            for (int a = 0; a < partes; a++) {
+                for (int b = 0; b < partes; b++) {
+                    double candidato = delta[b] + limite[a][b];
+                    if (candidato < delta[a] - tolerancia) {
+                        delta[a] = candidato;
+                        cambio = true;
+                    }
+                }
+            }
+            if (!cambio) break;
+            if (ronda == partes) return new AjusteComponentes(null, true);
+        }
+
+        for (int i = 0; i < m; i++) {
+            if (parte[i] >= 0) u[i] += delta[parte[i]];
+        }
+        for (int j = 0; j < n; j++) {
+            if (parte[m + j] >= 0) v[j] -= delta[parte[m + j]];
+        }
+
+        // Destinos sin flujo contra los orígenes con flujo; luego orígenes sin flujo contra todos
+        for (int j = 0; j < n; j++) {
+            if (parte[m + j] < 0) v[j] = Double.POSITIVE_INFINITY;
+        }
+        for (int i = 0; i < m; i++) {
+            if (parte[i] < 0) continue;
+            double[] fila = costos.obtenerFila(i, buffer);
+            for (int j = 0; j < n; j++) {
+                if (parte[m + j] < 0) v[j] = Math.min(v[j], fila[j] - u[i]);
+            }
+        }
+        for (int j = 0; j < n; j++) {
+            if (v[j] == Double.POSITIVE_INFINITY) v[j] = 0.0;
+        }
+        for (int i = 0; i < m; i++) {
+            if (parte[i] >= 0) continue;
+            double[] fila = costos.obtenerFila(i, buffer);
+            double minimo = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < n; j++) {
+                minimo = Math.min(minimo, fila[j] - v[j]);
+            }
+            u[i] = minimo;
+        }
+        return new AjusteComponentes(new CotaInferiorDual.Potenciales(u, v), false);
+    }
+
+    /**
+     * Costos reducidos de unos potenciales sobre todo el plan.
+     *
+     * @param minimo             menor costo reducido
+     * @param fila               origen de la celda con el menor costo reducido
+     * @param columna            destino de la celda con el menor costo reducido
+     * @param mejorables         celdas con costo reducido negativo
+     * @param violacionesHolgura celdas con flujo y costo reducido no nulo
+     * @param cota               cota inferior que dan (los mismos potenciales si son factibles,
+     *                           si no, tras un barrido que los vuelve factibles)
+     * @param potenciales        potenciales evaluados
+     */
+    private record Evaluacion(
+            double minimo,
+            int fila,
+            int columna,
+            int mejorables,
+            int violacionesHolgura,
+            double cota,
+            CotaInferiorDual.Potenciales potenciales) {
+
+        boolean certifica() {
+            return mejorables == 0 && violacionesHolgura == 0;
+        }
+    }
+
+    private static Evaluacion evaluar(
+            FuenteCostos costos,
+            double[][] plan,
+            CotaInferiorDual.Potenciales potenciales,
+            double[] ofertas,
+            double[] demandas,
+            double toleranciaCantidad,
+            double toleranciaCosto) {
+
+        int m = ofertas.length;
+        int n = demandas.length;
+        double[] u = potenciales.fila();
+        double[] v = potenciales.columna();
+        double[] buffer = new double[n];
+
+        double minimo = Double.POSITIVE_INFINITY;
+        int filaMinima = -1;
+        int columnaMinima = -1;
+        int mejorables = 0;
+        int violacionesHolgura = 0;
+        for (int i = 0; i < m; i++) {
+            double[] fila = costos.obtenerFila(i, buffer);
+            for (int j = 0; j < n; j++) {
+                double reducido = fila[j] - u[i] - v[j];
+                if (reducido < minimo) {
+                    minimo = reducido;
+                    filaMinima = i;
+                    columnaMinima = j;
+                }
+                if (reducido < -toleranciaCosto) mejorables++;
+                if (plan[i][j] > toleranciaCantidad && Math.abs(reducido) > toleranciaCosto) violacionesHolgura++;
+            }
+        }
+
+        double cota = mejorables == 0
+                ? CotaInferiorDual.valor(ofertas, demandas, potenciales)
+                : CotaInferiorDual.calcular(costos, ofertas, demandas, u, 1);
+        return new Evaluacion(minimo, filaMinima, columnaMinima, mejorables, violacionesHolgura, cota, potenciales);
+    }
+
+    private static CertificadoSolucion certificado(
+            ResultadoVerificacion resultado,
+            double costo,
+            double cota,
+            double mejoraMinima,
+            Evaluacion evaluacion,
+            boolean porRecibidos,
+            int mOriginal,
+            int nOriginal) {
+
+        return CertificadoSolucion.builder()
+                .resultado(resultado)
+                .violacionMaxima(0.0)
+                .costoTotal(costo)
+                .cotaInferior(Math.min(cota, costo))
+                .mejoraMinima(mejoraMinima)
+                .mejoraMaxima(Math.max(0.0, costo - cota))
+                .costoReducidoMinimo(evaluacion.minimo())
+                .celdasMejorables(evaluacion.mejorables())
+                .violacionesHolgura(evaluacion.violacionesHolgura())
+                .certificadoPorPotencialesRecibidos(porRecibidos)
+                .potencialesFila(Arrays.copyOf(evaluacion.potenciales().fila(), mOriginal))
+                .potencialesColumna(Arrays.copyOf(evaluacion.potenciales().columna(), nOriginal))
+                .build();
+    }
+
+    /**
+     * Agrega al plan la fila o columna ficticia con la holgura de cada columna o fila.
+     */
+    private static double[][] extenderPlan(double[][] asignaciones, double[] ofertas, double[] demandas) {
+        int m = ofertas.length;
+        int n = demandas.length;
+        if (asignaciones == null || asignaciones.length == 0) {
+            throw new IllegalArgumentException("Las asignaciones son obligatorias");
+        }
+        int mOriginal = asignaciones.length;
+        int nOriginal = asignaciones[0] != null ? asignaciones[0].length : 0;
+        boolean dimensionesValidas = (mOriginal == m && nOriginal == n)
+                || (mOriginal == m && nOriginal == n - 1)
+                || (mOriginal == m - 1 && nOriginal == n);
+        if (!dimensionesValidas) {
+            throw new IllegalArgumentException(String.format(
+                    "Las asignaciones %dx%d no corresponden al problema", mOriginal, nOriginal));
+        }
+
+        double[][] plan = new double[m][n];
+        for (int i = 0; i < mOriginal; i++) {
+            if (asignaciones[i] == null || asignaciones[i].length != nOriginal) {
+                throw new IllegalArgumentException(
+                        String.format("La fila %d de asignaciones debe tener %d columnas", i, nOriginal));
+            }
+            System.arraycopy(asignaciones[i], 0, plan[i], 0, nOriginal);
+        }
+
+        if (nOriginal < n) {
+            for (int i = 0; i < m; i++) {
+                plan[i][n - 1] = ofertas[i] - sumar(asignaciones[i]);
+            }
+        } else if (mOriginal < m) {
+            for (int j = 0; j < n; j++) {
+                double suma = 0.0;
+                for (int i = 0; i < mOriginal; i++) {
+                    suma += asignaciones[i][j];
+                }
+                plan[m - 1][j] = demandas[j] - suma;
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * Completa los potenciales recibidos con el del ficticio: el mayor valor factible.
+     */
+    private static CotaInferiorDual.Potenciales extenderPotenciales(
+            FuenteCostos costos, double[] potencialesFila, double[] potencialesColumna, int m, int n) {
+
+        double[] u = Arrays.copyOf(potencialesFila, m);
+        double[] v = Arrays.copyOf(potencialesColumna, n);
+        double[] buffer = new double[n];
+        if (potencialesColumna.length < n) {
+            v[n - 1] = Double.POSITIVE_INFINITY;
+            for (int i = 0; i < m; i++) {
+                v[n - 1] = Math.min(v[n - 1], costos.obtenerFila(i, buffer)[n - 1] - u[i]);
+            }
+        } else if (potencialesFila.length < m) {
+            double[] fila = costos.obtenerFila(m - 1, buffer);
+            u[m - 1] = Double.POSITIVE_INFINITY;
+            for (int j = 0; j < n; j++) {
+                u[m - 1] = Math.min(u[m - 1], fila[j] - v[j]);
+            }
+        }
+        return new CotaInferiorDual.Potenciales(u, v);
+    }
+
+    private static double sumar(double[] valores) {
+        double suma = 0.0;
+        for (double valor : valores) {
+            suma += valor;
+        }
+        return suma;
+    }
+
+    private static int buscar(int[] conjunto, int x) {
+        while (conjunto[x] != x) {
+            conjunto[x] = conjunto[conjunto[x]];
+            x = conjunto[x];
+        }
+        return x;
+    }
+}
@@ -1,8 +1,8 @@
 package com.io.graphtransportsolver.algoritmos.transporte;
 
-import com.io.graphtransportsolver.models.transporte.Celda;
 import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
 import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
 import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
 import org.springframework.stereotype.Component;
 
@@ -21,6 +21,11 @@ public class VogelStrategy implements SolucionInicialStrategy {
 
     @Override
     public SolucionTransporte encontrarSolucionInicial(ProblemaTransporte problema) {
+        return encontrarSolucionInicial(problema, ControlEjecucion.SIN_LIMITE);
+    }
+
+    @Override
+    public SolucionTransporte encontrarSolucionInicial(ProblemaTransporte problema, ControlEjecucion control) {
 
         int m = problema.getOfertas().length;  // número de orígenes
         int n = problema.getDemandas().length; // número de destinos
@@ -28,110 +33,91 @@ public class VogelStrategy implements SolucionInicialStrategy {
         // Crear matriz de asignaciones
         double[][] asignaciones = new double[m][n];
 
-        // Copias de ofertas y demandas para no modificar el original
-        double[] ofertasDisponibles = Arrays.copyOf(problema.getOfertas(), m);
-        double[] demandasRestantes = Arrays.copyOf(problema.getDemandas(), n);
-
-        // Arrays para marcar filas y columnas agotadas
-        boolean[] filaAgotada = new boolean[m];
-        boolean[] columnaAgotada = new boolean[n];
-
-        int celdasAsignadas = 0;
-        int celdasEsperadas = m + n - 1;
-
-        // Algoritmo de Vogel
-        while (celdasAsignadas < celdasEsperadas) {
-            // Calcular penalizaciones para filas
-            double[] penalizacionesFila = calcularPenalizacionesFila(
-                problema.getCostos(),
-                filaAgotada,
-                columnaAgotada,
-                m,
-                n
-            );
-
-            // Calcular penalizaciones para columnas
-            double[] penalizacionesColumna = calcularPenalizacionesColumna(
-                problema.getCostos(),
-                filaAgotada,
-                columnaAgotada,
-                m,
-                n
-            );
-
-            // Encontrar la máxima penalización
-            Penalizacion maxPenalizacion = encontrarMaximaPenalizacion(
-                penalizacionesFila,
-                penalizacionesColumna,
-                filaAgotada,
-                columnaAgotada
-            );
-
-            if (maxPenalizacion == null) {
-                break; // No hay más penalizaciones válidas
-            }
+        // Los costos se leen por filas: sin copia si hay matriz, calculados si son implícitos
+        FuenteCostos costos = problema.getFuenteCostos();
+
+        // Buffers temporales reciclados (copias de ofertas/demandas, marcas y penalizaciones)
+        try (EspacioTrabajo espacio = EspacioTrabajo.adquirir(m, n)) {
+            espacio.cargarCantidades(problema.getOfertas(), problema.getDemandas());
+            double[] ofertasDisponibles = espacio.ofertasDisponibles;
+            double[] demandasRestantes = espacio.demandasRestantes;
+            boolean[] filaAgotada = espacio.filaAgotada;
+            boolean[] columnaAgotada = espacio.columnaAgotada;
+
+            int celdasAsignadas = 0;
+            int celdasEsperadas = m + n - 1;
+
+            // Algoritmo de Vogel
+            while (celdasAsignadas < celdasEsperadas) {
+                // Sin tiempo: completar lo pendiente con Esquina Noroeste
+                if (control.debeDetenerse()) {
+                    EsquinaNoroesteStrategy.completar(asignaciones, espacio, m, n);
+                    break;
+                }
 
-            // Encontrar la celda de menor costo en la fila/columna seleccionada
-            Celda celdaMinima = encontrarCeldaMinima(
-                problema.getCostos(),
-                maxPenalizacion,
-                filaAgotada,
-                columnaAgotada,
-                m,
-                n
-            );
-
-            if (celdaMinima == null) {
-                break;
-            }
+                // Calcular penalizaciones para filas y columnas
+                calcularPenalizacionesFila(costos, espacio, m, n);
+                calcularPenalizacionesColumna(costos, espacio, m, n);
 
-            int i = celdaMinima.getFila();
-            int j = celdaMinima.getColumna();
+                // Encontrar la máxima penalización
+                if (!encontrarMaximaPenalizacion(espacio, m, n)) {
+                    break; // No hay más penalizaciones válidas
+                }
 
-            // Asignar el mínimo entre oferta disponible y demanda restante
-            double asignacion = Math.min(ofertasDisponibles[i], demandasRestantes[j]);
-            asignaciones[i][j] = asignacion;
+                // Encontrar la celda de menor costo en la fila/columna seleccionada
+                if (!encontrarCeldaMinima(costos, espacio, m, n)) {
+                    break;
+                }
 
-            // Actualizar ofertas y demandas
-            ofertasDisponibles[i] -= asignacion;
-            demandasRestantes[j] -= asignacion;
+                int i = espacio.filaSeleccionada;
+                int j = espacio.columnaSeleccionada;
 
-            // Marcar filas o columnas agotadas
-            if (Math.abs(ofertasDisponibles[i]) < 1e-6) {
-                filaAgotada[i] = true;
-            }
-            if (Math.abs(demandasRestantes[j]) < 1e-6) {
-                columnaAgotada[j] = true;
-            }
+                // Asignar el mínimo entre oferta disponible y demanda restante
+                double asignacion = Math.min(ofertasDisponibles[i], demandasRestantes[j]);
+                asignaciones[i][j] = asignacion;
 
-            celdasAsignadas++;
-        }
+                // Actualizar ofertas y demandas
+                ofertasDisponibles[i] -= asignacion;
+                demandasRestantes[j] -= asignacion;
 
-        // Crear y retornar la solución
-        SolucionTransporte solucion = SolucionTransporte.builder()
-                .asignaciones(asignaciones)
-                .metodoUtilizado(MetodoSolucionInicial.VOGEL)
-                .build();
+                // Marcar filas o columnas agotadas
+                if (Math.abs(ofertasDisponibles[i]) < 1e-6) {
+                    filaAgotada[i] = true;
+                }
+                if (Math.abs(demandasRestantes[j]) < 1e-6) {
+                    columnaAgotada[j] = true;
+                }
 
-        // Calcular el costo total
-        solucion.calcularCostoTotal(problema.getCostos());
+                celdasAsignadas++;
+            }
+
+            // Crear y retornar la solución
+            SolucionTransporte solucion = SolucionTransporte.builder()
+                    .asignaciones(asignaciones)
+                    .metodoUtilizado(MetodoSolucionInicial.VOGEL)
+                    .build();
+
+            // Calcular el costo total
+            solucion.calcularCostoTotal(costos, espacio.getBufferFila());
 
-        return solucion;
+            return solucion;
+        }
     }
 
     /**
      * Calcula las penalizaciones para cada fila.
      * La penalización es la diferencia entre los dos menores costos.
      */
-    private double[] calcularPenalizacionesFila(
-            double[][] costos,
-            boolean[] filaAgotada,
-            boolean[] columnaAgotada,
+    private void calcularPenalizacionesFila(
+            FuenteCostos costos,
+            EspacioTrabajo espacio,
             int m,
             int n) {
 
-        double[] penalizaciones = new double[m];
-        Arrays.fill(penalizaciones, -1);
+        boolean[] filaAgotada = espacio.filaAgotada;
+        boolean[] columnaAgotada = espacio.columnaAgotada;
+        double[] penalizaciones = espacio.penalizacionesFila;
+        Arrays.fill(penalizaciones, 0, m, -1);
 
         for (int i = 0; i < m; i++) {
             if (filaAgotada[i]) continue;
@@ -139,10 +125,11 @@ public class VogelStrategy implements SolucionInicialStrategy {
             double min1 = Double.MAX_VALUE;
             double min2 = Double.MAX_VALUE;
 
+            double[] fila = costos.obtenerFila(i, espacio.getBufferFila());
             for (int j = 0; j < n; j++) {
                 if (columnaAgotada[j]) continue;
 
-                double costo = costos[i][j];
+                double costo = fila[j];
                 if (costo < min1) {
                     min2 = min1;
                     min1 = costo;
@@ -158,97 +145,105 @@ public class VogelStrategy implements SolucionInicialStrategy {
                 penalizaciones[i] = min1;
             }
         }
-
-        return penalizaciones;
     }
 
     /**
      * Calcula las penalizaciones para cada columna.
+     * Recorre los costos por filas (acceso contiguo) actualizando los dos
+     * menores costos de cada columna, en lugar de recorrer por columnas.
      */
-    private double[] calcularPenalizacionesColumna(
-            double[][] costos,
-            boolean[] filaAgotada,
-            boolean[] columnaAgotada,
+    private void calcularPenalizacionesColumna(
+            FuenteCostos costos,
+            EspacioTrabajo espacio,
             int m,
             int n) {
 
-        double[] penalizaciones = new double[n];
-        Arrays.fill(penalizaciones, -1);
-
-        for (int j = 0; j < n; j++) {
-            if (columnaAgotada[j]) continue;
+        boolean[] filaAgotada = espacio.filaAgotada;
+        boolean[] columnaAgotada = espacio.columnaAgotada;
+        double[] min1 = espacio.minimo1Columna;
+        double[] min2 = espacio.minimo2Columna;
+        Arrays.fill(min1, 0, n, Double.MAX_VALUE);
+        Arrays.fill(min2, 0, n, Double.MAX_VALUE);
 
-            double min1 = Double.MAX_VALUE;
-            double min2 = Double.MAX_VALUE;
+        for (int i = 0; i < m; i++) {
+            if (filaAgotada[i]) continue;
 
-            for (int i = 0; i < m; i++) {
-                if (filaAgotada[i]) continue;
+            double[] fila = costos.obtenerFila(i, espacio.getBufferFila());
+            for (int j = 0; j < n; j++) {
+                if (columnaAgotada[j]) continue;
 
-                double costo = costos[i][j];
-                if (costo < min1) {
-                    min2 = min1;
-                    min1 = costo;
-                } else if (costo < min2) {
-                    min2 = costo;
+                double costo = fila[j];
+                if (costo < min1[j]) {
+                    min2[j] = min1[j];
+                    min1[j] = costo;
+                } else if (costo < min2[j]) {
+                    min2[j] = costo;
                 }
             }
+        }
 
-            if (min2 != Double.MAX_VALUE) {
-                penalizaciones[j] = min2 - min1;
-            } else if (min1 != Double.MAX_VALUE) {
+        double[] penalizaciones = espacio.penalizacionesColumna;
+        Arrays.fill(penalizaciones, 0, n, -1);
+
+        for (int j = 0; j < n; j++) {
+            if (columnaAgotada[j]) continue;
+
+            if (min2[j] != Double.MAX_VALUE) {
+                penalizaciones[j] = min2[j] - min1[j];
+            } else if (min1[j] != Double.MAX_VALUE) {
                 // Solo hay una fila disponible
-                penalizaciones[j] = min1;
+                penalizaciones[j] = min1[j];
             }
         }
-
-        return penalizaciones;
     }
 
     /**
-     * Encuentra la penalización máxima entre filas y columnas.
+     * Encuentra la penalización máxima entre filas y columnas
+     * y la deja en indicePenalizacion/penalizacionEsFila del espacio de trabajo.
+     *
+     * @return false si no hay penalizaciones válidas
      */
-    private Penalizacion encontrarMaximaPenalizacion(
-            double[] penalizacionesFila,
-            double[] penalizacionesColumna,
-            boolean[] filaAgotada,
-            boolean[] columnaAgotada) {
+    private boolean encontrarMaximaPenalizacion(EspacioTrabajo espacio, int m, int n) {
 
         double maxPenalizacion = -1;
         int indiceMax = -1;
         boolean esFila = true;
 
         // Buscar en filas
-        for (int i = 0; i < penalizacionesFila.length; i++) {
-            if (!filaAgotada[i] && penalizacionesFila[i] > maxPenalizacion) {
-                maxPenalizacion = penalizacionesFila[i];
+        for (int i = 0; i < m; i++) {
+            if (!espacio.filaAgotada[i] && espacio.penalizacionesFila[i] > maxPenalizacion) {
+                maxPenalizacion = espacio.penalizacionesFila[i];
                 indiceMax = i;
             }
         }
 
         // Buscar en columnas
-        for (int j = 0; j < penalizacionesColumna.length; j++) {
-            if (!columnaAgotada[j] && penalizacionesColumna[j] > maxPenalizacion) {
-                maxPenalizacion = penalizacionesColumna[j];
+        for (int j = 0; j < n; j++) {
+            if (!espacio.columnaAgotada[j] && espacio.penalizacionesColumna[j] > maxPenalizacion) {
+                maxPenalizacion = espacio.penalizacionesColumna[j];
                 indiceMax = j;
                 esFila = false;
             }
         }
 
         if (indiceMax == -1) {
-            return null;
+            return false;
         }
 
-        return new Penalizacion(indiceMax, maxPenalizacion, esFila);
+        espacio.indicePenalizacion = indiceMax;
+        espacio.penalizacionEsFila = esFila;
+        return true;
     }
 
     /**
-     * Encuentra la celda de menor costo en la fila o columna seleccionada.
+     * Encuentra la celda de menor costo en la fila o columna seleccionada
+     * y la deja en filaSeleccionada/columnaSeleccionada del espacio de trabajo.
+     *
+     * @return false si no hay celdas disponibles
      */
-    private Celda encontrarCeldaMinima(
-            double[][] costos,
-            Penalizacion penalizacion,
-            boolean[] filaAgotada,
-            boolean[] columnaAgotada,
+    private boolean encontrarCeldaMinima(
+            FuenteCostos costos,
+            EspacioTrabajo espacio,
             int m,
             int n) {
 
@@ -256,22 +251,26 @@ public class VogelStrategy implements SolucionInicialStrategy {
         int filaMin = -1;
         int colMin = -1;
 
-        if (penalizacion.esFila) {
+        if (espacio.penalizacionEsFila) {
             // Buscar en la fila seleccionada
-            int i = penalizacion.indice;
+            int i = espacio.indicePenalizacion;
+            double[] fila = costos.obtenerFila(i, espacio.getBufferFila());
             for (int j = 0; j < n; j++) {
-                if (!columnaAgotada[j] && costos[i][j] < costoMinimo) {
-                    costoMinimo = costos[i][j];
+                if (!espacio.columnaAgotada[j] && fila[j] < costoMinimo) {
+                    costoMinimo = fila[j];
                     filaMin = i;
                     colMin = j;
                 }
             }
         } else {
             // Buscar en la columna seleccionada
-            int j = penalizacion.indice;
+            int j = espacio.indicePenalizacion;
             for (int i = 0; i < m; i++) {
-                if (!filaAgotada[i] && costos[i][j] < costoMinimo) {
-                    costoMinimo = costos[i][j];
+                if (espacio.filaAgotada[i]) continue;
+
+                double costo = costos.costo(i, j);
+                if (costo < costoMinimo) {
+                    costoMinimo = costo;
                     filaMin = i;
                     colMin = j;
                 }
@@ -279,27 +278,11 @@ public class VogelStrategy implements SolucionInicialStrategy {
         }
 
         if (filaMin == -1 || colMin == -1) {
-            return null;
+            return false;
         }
 
-        return Celda.builder()
-                .fila(filaMin)
-                .columna(colMin)
-                .build();
-    }
-
-    /**
-     * Clase auxiliar para representar una penalización.
-     */
-    private static class Penalizacion {
-        int indice;
-        double valor;
-        boolean esFila;
-
-        Penalizacion(int indice, double valor, boolean esFila) {
-            this.indice = indice;
-            this.valor = valor;
-            this.esFila = esFila;
-        }
+        espacio.filaSeleccionada = filaMin;
+        espacio.columnaSeleccionada = colMin;
+        return true;
     }
 }
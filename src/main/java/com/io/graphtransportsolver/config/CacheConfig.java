@@ -0,0 +1,97 @@
+package com.io.graphtransportsolver.config;
+
+import com.io.graphtransportsolver.presentation.dto.grafico.ProblemaGraficoDTO;
+import com.io.graphtransportsolver.presentation.dto.grafico.SolucionGraficoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ProblemaTransporteDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SolucionTransporteDTO;
+import com.io.graphtransportsolver.utils.CacheLRUPonderada;
+import com.io.graphtransportsolver.utils.Constants;
+import com.io.graphtransportsolver.utils.RespuestasEtiquetadas;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Configuración de las cachés de soluciones, indexadas por la huella canónica del problema, y de
+ * las respuestas serializadas que se consultan por su etiqueta HTTP.
+ */
+@Configuration
+public class CacheConfig {
+
+    /**
+     * Soluciones de transporte en orden canónico y sin nombres.
+     *
+     * @param memoriaMb memoria máxima estimada en MB (0 deshabilita la caché)
+     * @param maximo    cantidad máxima de soluciones
+     * @return caché LRU ponderada por memoria
+     */
+    @Bean
+    public CacheLRUPonderada<SolucionTransporteDTO> cacheSolucionesTransporte(
+            @Value("${transporte.cache.memoria-mb:128}") long memoriaMb,
+            @Value("${transporte.cache.maximo:1024}") int maximo) {
+        return new CacheLRUPonderada<>("transporte", memoriaMb * 1024L * 1024L, maximo);
+    }
+
+    /**
+     * Soluciones del método gráfico.
+     *
+     * @param memoriaMb memoria máxima estimada en MB (0 deshabilita la caché)
+     * @param maximo    cantidad máxima de soluciones
+     * @return caché LRU ponderada por memoria
+     */
+    @Bean
+    public CacheLRUPonderada<SolucionGraficoDTO> cacheSolucionesGrafico(
+            @Value("${grafico.cache.memoria-mb:16}") long memoriaMb,
+            @Value("${grafico.cache.maximo:4096}") int maximo) {
+        return new CacheLRUPonderada<>("grafico", memoriaMb * 1024L * 1024L, maximo);
+    }
+
+    /**
+     * Respuestas de {@code POST /transporte/resolver} serializadas, por etiqueta del cuerpo.
+     *
+     * @param jsonMapper serializador de la API
+     * @param contexto   ruta de contexto del servidor
+     * @param memoriaMb  memoria máxima en MB (0 deshabilita la caché; las etiquetas se siguen enviando)
+     * @param maxAgeS    segundos que un cliente puede reutilizar una respuesta sin revalidarla
+     * @return respuestas etiquetadas
+     */
+    @Bean
+    public RespuestasEtiquetadas<ProblemaTransporteDTO> respuestasTransporte(
+            JsonMapper jsonMapper,
+            @Value("${server.servlet.context-path:}") String contexto,
+            @Value("${transporte.respuestas.memoria-mb:64}") long memoriaMb,
+            @Value("${transporte.respuestas.max-age-s:0}") long maxAgeS) {
+        return new RespuestasEtiquetadas<>(
+                contexto + Constants.Global.API_BASE_PATH + Constants.Global.API_VERSION
+                        + Constants.Transporte.TRANSPORTE_SERVICE_PATH
+                        + Constants.Transporte.TRANSPORTE_SERVICE_PATH_SOLUTIONS + "/",
+                jsonMapper,
+                new CacheLRUPonderada<>("respuestas de transporte", memoriaMb * 1024L * 1024L, Integer.MAX_VALUE),
+                maxAgeS);
+    }
+
+    /**
+     * Respuestas de {@code POST /grafico/resolver} serializadas, por etiqueta del cuerpo.
+     *
+     * @param jsonMapper serializador de la API
+     * @param contexto   ruta de contexto del servidor
+     * @param memoriaMb  memoria máxima en MB (0 deshabilita la caché; las etiquetas se siguen enviando)
+     * @param maxAgeS    segundos que un cliente puede reutilizar una respuesta sin revalidarla
+     * @return respuestas etiquetadas
+     */
+    @Bean
+    public RespuestasEtiquetadas<ProblemaGraficoDTO> respuestasGrafico(
+            JsonMapper jsonMapper,
+            @Value("${server.servlet.context-path:}") String contexto,
+            @Value("${grafico.respuestas.memoria-mb:8}") long memoriaMb,
+            @Value("${grafico.respuestas.max-age-s:0}") long maxAgeS) {
+        return new RespuestasEtiquetadas<>(
+                contexto + Constants.Global.API_BASE_PATH + Constants.Global.API_VERSION
+                        + Constants.Grafico.GRAFICO_SERVICE_PATH
+                        + Constants.Grafico.GRAFICO_SERVICE_PATH_SOLUTIONS + "/",
+                jsonMapper,
+                new CacheLRUPonderada<>("respuestas del método gráfico", memoriaMb * 1024L * 1024L, Integer.MAX_VALUE),
+                maxAgeS);
+    }
+}
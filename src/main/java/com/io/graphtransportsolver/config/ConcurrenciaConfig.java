@@ -0,0 +1,74 @@
+package com.io.graphtransportsolver.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuración de los recursos de cómputo paralelo de los solucionadores.
+ */
+@Configuration
+public class ConcurrenciaConfig {
+
+    /**
+     * Pool fork-join compartido para resolver subproblemas de transporte en paralelo.
+     *
+     * @param paralelismo hilos del pool (0 usa el número de procesadores disponibles)
+     * @return pool dedicado, separado del pool común de la JVM
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool poolTransporte(@Value("${transporte.paralelismo:0}") int paralelismo) {
+        int hilos = paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(hilos);
+    }
+
+    /**
+     * Hilos donde se resuelven las solicitudes asíncronas, para liberar los hilos de Tomcat
+     * y poder cancelar la resolución si el cliente se desconecta. La cola es acotada: con la
+     * cola llena el ejecutor rechaza la solicitud en lugar de acumular trabajo cuyo plazo
+     * vencería mientras espera.
+     *
+     * @param hilos     hilos del ejecutor (0 usa el número de procesadores disponibles)
+     * @param capacidad solicitudes que pueden esperar un hilo libre
+     * @return ejecutor de tamaño fijo con cola acotada
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService ejecutorSolicitudes(
+            @Value("${transporte.hilos-solicitudes:0}") int hilos,
+            @Value("${transporte.cola-solicitudes:256}") int capacidad) {
+        int tamano = hilos > 0 ? hilos : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(tamano, tamano, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, capacidad)));
+    }
+
+    /**
+     * Hilo que consume la cola de ingesta de cambios de cantidades. Uno solo basta:
+     * mientras resuelve un lote, los eventos nuevos se acumulan en el siguiente.
+     *
+     * @return ejecutor de un hilo
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ExecutorService ejecutorIngesta() {
+        return Executors.newSingleThreadExecutor();
+    }
+
+    /**
+     * Hilo que sondea las conexiones de las solicitudes asíncronas para cancelar las resoluciones
+     * cuyo cliente se desconectó. Cada sonda solo hace una lectura sin bloquear. También envía
+     * los latidos de las suscripciones a problemas residentes.
+     *
+     * @return planificador de un hilo
+     */
+    @Bean(destroyMethod = "shutdownNow")
+    public ScheduledExecutorService planificadorSondas() {
+        return Executors.newSingleThreadScheduledExecutor();
+    }
+}
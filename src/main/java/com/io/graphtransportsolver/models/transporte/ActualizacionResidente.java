@@ -0,0 +1,44 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de aplicar cambios a un problema residente y volver a resolverlo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActualizacionResidente {
+
+    private String id;
+
+    private long version;
+
+    private double costoTotal;
+
+    private boolean optima;
+
+    private int iteraciones;
+
+    private boolean arranqueEnCaliente;
+
+    /**
+     * Indica si el plan no usa carriles cerrados. Si es false, los carriles abiertos
+     * no alcanzan para cubrir el problema balanceado.
+     */
+    @Builder.Default
+    private boolean factible = true;
+
+    /**
+     * Celdas de orígenes y destinos reales cuya asignación cambió.
+     */
+    @Builder.Default
+    private List<CambioAsignacion> asignacionesCambiadas = new ArrayList<>();
+}
@@ -0,0 +1,47 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Análisis de sensibilidad de una solución óptima, derivado de la base final.
+ *
+ * Los rangos indican cuánto puede variar el costo de cada celda (una a la vez)
+ * sin que la base deje de ser óptima, es decir, sin que cambie el plan.
+ * Los límites no acotados se representan con infinito.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AnalisisSensibilidad {
+
+    /**
+     * Precios sombra de las ofertas (potenciales u_i, con u_0 = 0 como referencia).
+     * Aumentar en una unidad la oferta del origen i y la demanda del destino j
+     * cambia el costo óptimo en u_i + v_j.
+     */
+    private double[] preciosSombraOfertas;
+
+    /**
+     * Precios sombra de las demandas (potenciales v_j).
+     */
+    private double[] preciosSombraDemandas;
+
+    /**
+     * Costos reducidos c_ij - u_i - v_j (cero en las celdas básicas).
+     */
+    private double[][] costosReducidos;
+
+    /**
+     * Menor costo de cada celda con el que la base sigue siendo óptima.
+     */
+    private double[][] costoMinimo;
+
+    /**
+     * Mayor costo de cada celda con el que la base sigue siendo óptima.
+     */
+    private double[][] costoMaximo;
+}
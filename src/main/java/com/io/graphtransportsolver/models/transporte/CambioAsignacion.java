@@ -0,0 +1,24 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Asignación de una celda que cambió entre dos soluciones de un problema residente.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambioAsignacion {
+
+    private int fila;
+
+    private int columna;
+
+    private double anterior;
+
+    private double nueva;
+}
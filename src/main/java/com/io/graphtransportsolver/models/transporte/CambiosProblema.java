@@ -0,0 +1,51 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Cambios a aplicar sobre un problema residente. Se aplican todos o ninguno.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CambiosProblema {
+
+    /**
+     * Celdas con nuevo costo (fila, columna, costo). Abre el carril si estaba cerrado.
+     */
+    @Builder.Default
+    private List<Celda> costos = new ArrayList<>();
+
+    /**
+     * Nueva oferta por índice de origen.
+     */
+    @Builder.Default
+    private Map<Integer, Double> ofertas = new TreeMap<>();
+
+    /**
+     * Nueva demanda por índice de destino.
+     */
+    @Builder.Default
+    private Map<Integer, Double> demandas = new TreeMap<>();
+
+    /**
+     * Carriles que dejan de poder usarse (fila, columna).
+     */
+    @Builder.Default
+    private List<Celda> carrilesCerrados = new ArrayList<>();
+
+    /**
+     * Carriles que vuelven a su costo original (fila, columna).
+     */
+    @Builder.Default
+    private List<Celda> carrilesAbiertos = new ArrayList<>();
+}
@@ -0,0 +1,163 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import java.util.Arrays;
+
+/**
+ * Capacidades máximas de los carriles origen-destino que tienen límite (p. ej. por número de camiones).
+ *
+ * Se guardan de forma dispersa, agrupadas por origen y ordenadas por destino dentro de cada
+ * origen (formato CSR): el costo en memoria es proporcional a los carriles con límite, no a m×n.
+ * Los carriles sin entrada no tienen límite.
+ */
+public final class CapacidadesCarril {
+
+    private final int[] inicioFila;
+    private final int[] columnas;
+    private final double[] limites;
+
+    private CapacidadesCarril(int[] inicioFila, int[] columnas, double[] limites) {
+        this.inicioFila = inicioFila;
+        this.columnas = columnas;
+        this.limites = limites;
+    }
+
+    /**
+     * Construye las capacidades a partir de una lista de carriles.
+     *
+     * @param m        número de orígenes
+     * @param n        número de destinos
+     * @param filas    origen de cada carril
+     * @param columnas destino de cada carril
+     * @param limites  capacidad de cada carril (mayor o igual a cero)
+     * @return capacidades ordenadas por origen y destino
+     */
+    public static CapacidadesCarril desdeCarriles(int m, int n, int[] filas, int[] columnas, double[] limites) {
+        int total = filas.length;
+        long[] claves = new long[total];
+        for (int k = 0; k < total; k++) {
+            int i = filas[k];
+            int j = columnas[k];
+            if (i < 0 || i >= m || j < 0 || j >= n) {
+                throw new IllegalArgumentException(
+                        String.format("El carril (%d, %d) está fuera de la matriz %dx%d", i, j, m, n));
+            }
+            if (!(limites[k] >= 0.0)) {
+                throw new IllegalArgumentException(
+                        String.format("La capacidad del carril (%d, %d) debe ser mayor o igual a cero", i, j));
+            }
+            claves[k] = ((long) i * n + j) << 32 | k;
+        }
+        Arrays.sort(claves);
+
+        int[] inicio = new int[m + 1];
+        int[] columnasOrdenadas = new int[total];
+        double[] limitesOrdenados = new double[total];
+        long anterior = -1;
+        for (int p = 0; p < total; p++) {
+            long celda = claves[p] >>> 32;
+            int k = (int) claves[p];
+            if (celda == anterior) {
+                throw new IllegalArgumentException(String.format(
+                        "El carril (%d, %d) tiene más de una capacidad", filas[k], columnas[k]));
+            }
+            anterior = celda;
+            inicio[filas[k] + 1]++;
+            columnasOrdenadas[p] = columnas[k];
+            limitesOrdenados[p] = limites[k];
+        }
+        for (int i = 0; i < m; i++) {
+            inicio[i + 1] += inicio[i];
+        }
+        return new CapacidadesCarril(inicio, columnasOrdenadas, limitesOrdenados);
+    }
+
+    /**
+     * Devuelve las mismas capacidades para una matriz con más orígenes
+     * (p. ej. con un origen ficticio); los orígenes agregados no tienen límites.
+     *
+     * @param m número de orígenes de la nueva matriz (mayor o igual al actual)
+     * @return capacidades con m orígenes
+     */
+    public CapacidadesCarril conOrigenes(int m) {
+        if (m == getNumOrigenes()) {
+            return this;
+        }
+        int[] inicio = Arrays.copyOf(inicioFila, m + 1);
+        Arrays.fill(inicio, inicioFila.length, m + 1, columnas.length);
+        return new CapacidadesCarril(inicio, columnas, limites);
+    }
+
+    /**
+     * Devuelve los mismos carriles con otros límites (p. ej. la capacidad que queda libre).
+     *
+     * @param nuevosLimites límite de cada carril, en el orden de sus posiciones
+     * @return capacidades con la misma estructura
+     */
+    public CapacidadesCarril conLimites(double[] nuevosLimites) {
+        if (nuevosLimites.length != limites.length) {
+            throw new IllegalArgumentException(
+                    String.format("Se esperaban %d límites y se recibieron %d", limites.length, nuevosLimites.length));
+        }
+        return new CapacidadesCarril(inicioFila, columnas, nuevosLimites);
+    }
+
+    /**
+     * Busca un carril con límite.
+     *
+     * @param i índice del origen
+     * @param j índice del destino
+     * @return posición del carril, o -1 si no tiene límite
+     */
+    public int buscar(int i, int j) {
+        if (i >= getNumOrigenes()) {
+            return -1;
+        }
+        int k = Arrays.binarySearch(columnas, inicioFila[i], inicioFila[i + 1], j);
+        return k >= 0 ? k : -1;
+    }
+
+    /**
+     * Obtiene la capacidad de un carril.
+     *
+     * @param i índice del origen
+     * @param j índice del destino
+     * @return capacidad, o infinito si el carril no tiene límite
+     */
+    public double limite(int i, int j) {
+        int k = buscar(i, j);
+        return k >= 0 ? limites[k] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Primera posición de los carriles del origen i.
+     */
+    public int inicio(int i) {
+        return i < getNumOrigenes() ? inicioFila[i] : columnas.length;
+    }
+
+    /**
+     * Posición siguiente a la del último carril del origen i.
+     */
+    public int fin(int i) {
+        return i < getNumOrigenes() ? inicioFila[i + 1] : columnas.length;
+    }
+
+    public int getColumna(int k) {
+        return columnas[k];
+    }
+
+    public double getLimite(int k) {
+        return limites[k];
+    }
+
+    public int getNumOrigenes() {
+        return inicioFila.length - 1;
+    }
+
+    /**
+     * @return número de carriles con límite
+     */
+    public int getCantidad() {
+        return columnas.length;
+    }
+}
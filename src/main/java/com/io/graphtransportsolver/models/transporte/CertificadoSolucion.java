@@ -0,0 +1,82 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import com.io.graphtransportsolver.models.transporte.enums.ResultadoVerificacion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de verificar un plan de transporte recibido de fuera: factibilidad primal,
+ * holgura complementaria y signo de los costos reducidos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CertificadoSolucion {
+
+    /**
+     * Veredicto de la verificación.
+     */
+    private ResultadoVerificacion resultado;
+
+    /**
+     * Mayor violación de ofertas, demandas o no negatividad (0 si el plan es factible).
+     */
+    private double violacionMaxima;
+
+    /**
+     * Costo total del plan.
+     */
+    private double costoTotal;
+
+    /**
+     * Cota inferior del costo óptimo.
+     */
+    private double cotaInferior;
+
+    /**
+     * Mejora de costo que se comprobó alcanzable (null si el plan no es factible).
+     */
+    @Builder.Default
+    private Double mejoraMinima = null;
+
+    /**
+     * Máxima mejora posible: costo del plan menos la cota inferior (null si el plan no es factible).
+     */
+    @Builder.Default
+    private Double mejoraMaxima = null;
+
+    /**
+     * Menor costo reducido con los potenciales evaluados (negativo: celda que mejoraría el plan).
+     */
+    private double costoReducidoMinimo;
+
+    /**
+     * Celdas con costo reducido negativo.
+     */
+    private int celdasMejorables;
+
+    /**
+     * Celdas con asignación positiva y costo reducido distinto de cero (holgura complementaria).
+     */
+    private int violacionesHolgura;
+
+    /**
+     * Indica si los potenciales recibidos bastaron para certificar la optimalidad.
+     */
+    private boolean certificadoPorPotencialesRecibidos;
+
+    /**
+     * Potenciales de los orígenes evaluados (sin el ficticio; null si el plan no es factible).
+     */
+    @Builder.Default
+    private double[] potencialesFila = null;
+
+    /**
+     * Potenciales de los destinos evaluados (sin el ficticio; null si el plan no es factible).
+     */
+    @Builder.Default
+    private double[] potencialesColumna = null;
+}
@@ -0,0 +1,37 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Componente conexa del grafo bipartito origen-destino formado por los carriles permitidos.
+ * Ningún carril permitido une orígenes y destinos de componentes distintas,
+ * por lo que cada componente se puede balancear y resolver por separado.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComponenteTransporte {
+
+    /**
+     * Índices originales de los orígenes de la componente (ordenados).
+     */
+    private int[] origenes;
+
+    /**
+     * Índices originales de los destinos de la componente (ordenados).
+     */
+    private int[] destinos;
+
+    /**
+     * Obtiene el tamaño del subproblema de la componente.
+     *
+     * @return número de celdas (orígenes × destinos)
+     */
+    public long getNumCeldas() {
+        return (long) origenes.length * destinos.length;
+    }
+}
@@ -0,0 +1,32 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cotas del costo óptimo de un problema de transporte obtenidas sin resolverlo:
+ * el óptimo está entre la cota inferior dual y el costo de un plan factible heurístico.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CotizacionTransporte {
+
+    /**
+     * Cota inferior del costo óptimo (valor de unos potenciales duales factibles).
+     */
+    private double cotaInferior;
+
+    /**
+     * Costo de un plan factible heurístico (cota superior del costo óptimo).
+     */
+    private double cotaSuperior;
+
+    /**
+     * Distancia relativa entre las cotas respecto a la cota superior.
+     */
+    private double brechaOptimalidad;
+}
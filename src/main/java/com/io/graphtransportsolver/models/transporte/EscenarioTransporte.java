@@ -0,0 +1,49 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escenario de un lote: cambios compactos sobre el problema base
+ * (misma red, otros costos u otras cantidades).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EscenarioTransporte {
+
+    /**
+     * Nombre del escenario.
+     */
+    private String nombre;
+
+    /**
+     * Multiplicador de todos los costos base (p. ej. variación del precio del combustible).
+     */
+    @Builder.Default
+    private double factorCostos = 1.0;
+
+    /**
+     * Celdas cuyo costo se reemplaza (fila, columna, costo). El factor no se aplica a ellas.
+     */
+    @Builder.Default
+    private List<Celda> cambiosCostos = new ArrayList<>();
+
+    /**
+     * Variación de la oferta de cada origen (null si no cambia).
+     */
+    @Builder.Default
+    private double[] deltaOfertas = null;
+
+    /**
+     * Variación de la demanda de cada destino (null si no cambia).
+     */
+    @Builder.Default
+    private double[] deltaDemandas = null;
+}
@@ -0,0 +1,31 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import com.io.graphtransportsolver.models.transporte.enums.TipoCantidad;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cambio de una oferta o demanda de un problema residente, recibido por la cola de ingesta.
+ *
+ * El valor es la nueva cantidad (no un incremento): si llegan varios eventos de la misma
+ * cantidad en un lote, solo cuenta el último.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventoCantidad {
+
+    private String problemaId;
+
+    private TipoCantidad tipo;
+
+    /**
+     * Índice del origen o destino.
+     */
+    private int indice;
+
+    private double valor;
+}
@@ -0,0 +1,147 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+
+/**
+ * Firma compacta de un problema de transporte balanceado para buscar problemas parecidos ya
+ * resueltos: sus dimensiones y un resumen de tamaño fijo de cantidades y costos.
+ *
+ * Las filas se agrupan en hasta {@link #GRUPOS} tramos contiguos, y lo mismo las columnas; cada
+ * tramo guarda la cantidad media y el costo medio de sus líneas. Dos problemas con las mismas
+ * dimensiones se comparan tramo a tramo, así que la firma supone que las líneas se listan en el
+ * mismo orden (el caso de un mismo plan que se vuelve a resolver con datos actualizados).
+ */
+public final class FirmaProblema {
+
+    /**
+     * Tramos máximos por dimensión.
+     */
+    public static final int GRUPOS = 32;
+
+    private final int filas;
+    private final int columnas;
+    // Por tramo: cantidades de filas, costos de filas, cantidades de columnas y costos de columnas
+    private final float[] resumen;
+
+    /**
+     * @param filas    orígenes del problema balanceado
+     * @param columnas destinos del problema balanceado
+     * @param resumen  resumen con {@link #largoResumen} valores
+     */
+    public FirmaProblema(int filas, int columnas, float[] resumen) {
+        if (resumen.length != largoResumen(filas, columnas)) {
+            throw new IllegalArgumentException("El resumen no corresponde a las dimensiones de la firma");
+        }
+        this.filas = filas;
+        this.columnas = columnas;
+        this.resumen = resumen;
+    }
+
+    /**
+     * Calcula la firma recorriendo la matriz de costos una vez, fila por fila.
+     *
+     * @param problema problema balanceado
+     * @return firma del problema
+     */
+    public static FirmaProblema de(ProblemaTransporte problema) {
+        int m = problema.getOfertas().length;
+        int n = problema.getDemandas().length;
+        int gf = Math.min(m, GRUPOS);
+        int gc = Math.min(n, GRUPOS);
+        double[] cantidadFila = new double[gf];
+        double[] costoFila = new double[gf];
+        double[] cantidadColumna = new double[gc];
+        double[] costoColumna = new double[gc];
+
+        FuenteCostos costos = problema.getFuenteCostos();
+        double[] buffer = new double[n];
+        for (int i = 0; i < m; i++) {
+            int tf = tramo(i, m, gf);
+            cantidadFila[tf] += problema.getOfertas()[i];
+            double[] fila = costos.obtenerFila(i, buffer);
+            for (int j = 0; j < n; j++) {
+                double c = Double.isFinite(fila[j]) ? fila[j] : 0.0;
+                costoFila[tf] += c;
+                costoColumna[tramo(j, n, gc)] += c;
+            }
+        }
+        for (int j = 0; j < n; j++) {
+            cantidadColumna[tramo(j, n, gc)] += problema.getDemandas()[j];
+        }
+
+        // Medias por línea y por celda: tramos de distinto tamaño quedan en la misma escala
+        float[] resumen = new float[2 * gf + 2 * gc];
+        for (int t = 0; t < gf; t++) {
+            int lineas = tamanoTramo(t, m, gf);
+            resumen[t] = (float) (cantidadFila[t] / lineas);
+            resumen[gf + t] = (float) (costoFila[t] / ((double) lineas * n));
+        }
+        for (int t = 0; t < gc; t++) {
+            int lineas = tamanoTramo(t, n, gc);
+            resumen[2 * gf + t] = (float) (cantidadColumna[t] / lineas);
+            resumen[2 * gf + gc + t] = (float) (costoColumna[t] / ((double) lineas * m));
+        }
+        return new FirmaProblema(m, n, resumen);
+    }
+
+    /**
+     * Distancia entre dos firmas de las mismas dimensiones: promedio de la diferencia relativa
+     * de cada parte (cantidades y costos de filas y de columnas), entre 0 y 1.
+     *
+     * @param otra firma con las mismas dimensiones
+     * @return 0 si los resúmenes coinciden, 1 si no tienen nada en común
+     */
+    public double distancia(FirmaProblema otra) {
+        if (filas != otra.filas || columnas != otra.columnas) {
+            throw new IllegalArgumentException("Solo se comparan firmas de las mismas dimensiones");
+        }
+        int gf = Math.min(filas, GRUPOS);
+        int gc = Math.min(columnas, GRUPOS);
+        return (diferenciaRelativa(otra, 0, gf)
+                + diferenciaRelativa(otra, gf, gf)
+                + diferenciaRelativa(otra, 2 * gf, gc)
+                + diferenciaRelativa(otra, 2 * gf + gc, gc)) / 4.0;
+    }
+
+    private double diferenciaRelativa(FirmaProblema otra, int desde, int cantidad) {
+        double diferencia = 0.0;
+        double total = 0.0;
+        for (int k = desde; k < desde + cantidad; k++) {
+            diferencia += Math.abs(resumen[k] - otra.resumen[k]);
+            total += Math.abs(resumen[k]) + Math.abs(otra.resumen[k]);
+        }
+        return total > 0.0 ? diferencia / total : 0.0;
+    }
+
+    /**
+     * @return cantidad de valores del resumen para unas dimensiones
+     */
+    public static int largoResumen(int filas, int columnas) {
+        return 2 * Math.min(filas, GRUPOS) + 2 * Math.min(columnas, GRUPOS);
+    }
+
+    private static int tramo(int linea, int lineas, int tramos) {
+        return (int) ((long) linea * tramos / lineas);
+    }
+
+    private static int tamanoTramo(int tramo, int lineas, int tramos) {
+        int inicio = (int) (((long) tramo * lineas + tramos - 1) / tramos);
+        int fin = (int) (((long) (tramo + 1) * lineas + tramos - 1) / tramos);
+        return fin - inicio;
+    }
+
+    public int getFilas() {
+        return filas;
+    }
+
+    public int getColumnas() {
+        return columnas;
+    }
+
+    /**
+     * @return resumen (no debe modificarse)
+     */
+    public float[] getResumen() {
+        return resumen;
+    }
+}
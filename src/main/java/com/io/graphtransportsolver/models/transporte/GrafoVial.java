@@ -0,0 +1,146 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import java.util.Arrays;
+
+/**
+ * Red vial con pesos no negativos en las aristas (distancia, tiempo o costo por unidad).
+ *
+ * Los nodos se identifican externamente con cualquier id entero y se guardan con índices
+ * densos 0..numNodos-1 (ids ordenados, búsqueda binaria). Las aristas salientes de cada nodo
+ * se guardan contiguas (formato CSR) en arreglos primitivos, de modo que recorrer la red no
+ * crea objetos por arista.
+ */
+public final class GrafoVial {
+
+    private final long[] ids;
+    private final int[] inicio;
+    private final int[] destinos;
+    private final double[] pesos;
+
+    private GrafoVial(long[] ids, int[] inicio, int[] destinos, double[] pesos) {
+        this.ids = ids;
+        this.inicio = inicio;
+        this.destinos = destinos;
+        this.pesos = pesos;
+    }
+
+    /**
+     * Construye la red a partir de una lista de aristas.
+     *
+     * @param desde    id del nodo de salida de cada arista
+     * @param hasta    id del nodo de llegada de cada arista
+     * @param pesos    peso de cada arista (finito y mayor o igual a cero)
+     * @param dirigida si es false cada arista se recorre en ambos sentidos
+     * @return red en formato CSR
+     */
+    public static GrafoVial desdeAristas(long[] desde, long[] hasta, double[] pesos, boolean dirigida) {
+        int aristas = desde.length;
+        if (hasta.length != aristas || pesos.length != aristas) {
+            throw new IllegalArgumentException("Cada arista debe tener nodo de salida, de llegada y peso");
+        }
+
+        long[] todos = new long[2 * aristas];
+        System.arraycopy(desde, 0, todos, 0, aristas);
+        System.arraycopy(hasta, 0, todos, aristas, aristas);
+        long[] ids = Arrays.stream(todos).sorted().distinct().toArray();
+
+        int numNodos = ids.length;
+        int total = dirigida ? aristas : 2 * aristas;
+        int[] salida = new int[total];
+        int[] llegada = new int[total];
+        double[] peso = new double[total];
+        for (int k = 0; k < aristas; k++) {
+            if (!(pesos[k] >= 0.0) || Double.isInfinite(pesos[k])) {
+                throw new IllegalArgumentException(String.format(
+                        "La arista %d -> %d debe tener un peso finito mayor o igual a cero", desde[k], hasta[k]));
+            }
+            salida[k] = Arrays.binarySearch(ids, desde[k]);
+            llegada[k] = Arrays.binarySearch(ids, hasta[k]);
+            peso[k] = pesos[k];
+            if (!dirigida) {
+                salida[aristas + k] = llegada[k];
+                llegada[aristas + k] = salida[k];
+                peso[aristas + k] = pesos[k];
+            }
+        }
+
+        // Conteo por nodo de salida y acumulado: inicio[u]..inicio[u + 1] son las aristas de u
+        int[] inicio = new int[numNodos + 1];
+        for (int k = 0; k < total; k++) {
+            inicio[salida[k] + 1]++;
+        }
+        for (int u = 0; u < numNodos; u++) {
+            inicio[u + 1] += inicio[u];
+        }
+        int[] siguiente = Arrays.copyOf(inicio, numNodos);
+        int[] destinosOrdenados = new int[total];
+        double[] pesosOrdenados = new double[total];
+        for (int k = 0; k < total; k++) {
+            int p = siguiente[salida[k]]++;
+            destinosOrdenados[p] = llegada[k];
+            pesosOrdenados[p] = peso[k];
+        }
+        return new GrafoVial(ids, inicio, destinosOrdenados, pesosOrdenados);
+    }
+
+    /**
+     * Busca el índice interno de un nodo.
+     *
+     * @param id id externo del nodo
+     * @return índice del nodo, o -1 si no aparece en ninguna arista
+     */
+    public int indice(long id) {
+        int k = Arrays.binarySearch(ids, id);
+        return k >= 0 ? k : -1;
+    }
+
+    /**
+     * @param indice índice interno del nodo
+     * @return id externo del nodo
+     */
+    public long getId(int indice) {
+        return ids[indice];
+    }
+
+    /**
+     * Primera posición de las aristas salientes del nodo u.
+     */
+    public int inicio(int u) {
+        return inicio[u];
+    }
+
+    /**
+     * Posición siguiente a la de la última arista saliente del nodo u.
+     */
+    public int fin(int u) {
+        return inicio[u + 1];
+    }
+
+    public int getDestino(int arista) {
+        return destinos[arista];
+    }
+
+    public double getPeso(int arista) {
+        return pesos[arista];
+    }
+
+    public int getNumNodos() {
+        return ids.length;
+    }
+
+    /**
+     * @return número de aristas dirigidas (las no dirigidas cuentan dos veces)
+     */
+    public int getNumAristas() {
+        return destinos.length;
+    }
+
+    /**
+     * Estima la memoria ocupada por la red.
+     *
+     * @return bytes aproximados
+     */
+    public long estimarBytes() {
+        return 8L * ids.length + 4L * inicio.length + 12L * destinos.length;
+    }
+}
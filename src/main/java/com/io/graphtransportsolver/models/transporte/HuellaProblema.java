@@ -0,0 +1,32 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Huella canónica de un problema de transporte: identifica el problema sin importar los nombres
+ * ni, si se pidió, el orden en que se listan los orígenes y los destinos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HuellaProblema {
+
+    /**
+     * Resumen SHA-256 en hexadecimal del problema en el orden canónico y de las opciones de resolución.
+     */
+    private String clave;
+
+    /**
+     * Origen del problema recibido que ocupa cada posición del orden canónico.
+     */
+    private int[] ordenOrigenes;
+
+    /**
+     * Destino del problema recibido que ocupa cada posición del orden canónico.
+     */
+    private int[] ordenDestinos;
+}
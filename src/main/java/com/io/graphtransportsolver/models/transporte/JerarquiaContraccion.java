@@ -0,0 +1,270 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Índice de jerarquía de contracción de una {@link GrafoVial}: los nodos se contraen en un orden
+ * (rango) y se agregan atajos que preservan las distancias entre los nodos restantes.
+ *
+ * Solo se guardan las aristas que suben de rango, en formato CSR: las de salida de cada nodo
+ * (búsqueda hacia adelante desde un origen) y las de entrada (búsqueda hacia atrás desde un
+ * destino, recorridas al revés). Toda distancia es la de un camino que sube y luego baja,
+ * así que ambas búsquedas se encuentran en el nodo más alto del camino.
+ *
+ * El índice se guarda en un archivo binario con los arreglos contiguos, que se mapea en
+ * memoria al cargarlo: las consultas leen directamente de las páginas del archivo.
+ */
+public final class JerarquiaContraccion {
+
+    // "CHV1"
+    private static final int MAGICO = 0x43485631;
+    private static final int VERSION = 1;
+    private static final int CABECERA = 32;
+
+    private final LongBuffer ids;
+    private final IntBuffer inicioSalida;
+    private final IntBuffer destinoSalida;
+    private final DoubleBuffer pesoSalida;
+    private final IntBuffer inicioEntrada;
+    private final IntBuffer origenEntrada;
+    private final DoubleBuffer pesoEntrada;
+    private final int atajos;
+
+    /**
+     * Crea el índice sobre arreglos en memoria.
+     *
+     * @param ids           id externo de cada nodo, ordenados
+     * @param inicioSalida  inicio de las aristas de salida de cada nodo (numNodos + 1)
+     * @param destinoSalida nodo de llegada de cada arista de salida
+     * @param pesoSalida    peso de cada arista de salida
+     * @param inicioEntrada inicio de las aristas de entrada de cada nodo (numNodos + 1)
+     * @param origenEntrada nodo de salida de cada arista de entrada
+     * @param pesoEntrada   peso de cada arista de entrada
+     * @param atajos        atajos agregados durante la contracción
+     */
+    public JerarquiaContraccion(
+            long[] ids,
+            int[] inicioSalida,
+            int[] destinoSalida,
+            double[] pesoSalida,
+            int[] inicioEntrada,
+            int[] origenEntrada,
+            double[] pesoEntrada,
+            int atajos) {
+        this(LongBuffer.wrap(ids), IntBuffer.wrap(inicioSalida), IntBuffer.wrap(destinoSalida),
+                DoubleBuffer.wrap(pesoSalida), IntBuffer.wrap(inicioEntrada), IntBuffer.wrap(origenEntrada),
+                DoubleBuffer.wrap(pesoEntrada), atajos);
+    }
+
+    private JerarquiaContraccion(
+            LongBuffer ids,
+            IntBuffer inicioSalida,
+            IntBuffer destinoSalida,
+            DoubleBuffer pesoSalida,
+            IntBuffer inicioEntrada,
+            IntBuffer origenEntrada,
+            DoubleBuffer pesoEntrada,
+            int atajos) {
+        this.ids = ids;
+        this.inicioSalida = inicioSalida;
+        this.destinoSalida = destinoSalida;
+        this.pesoSalida = pesoSalida;
+        this.inicioEntrada = inicioEntrada;
+        this.origenEntrada = origenEntrada;
+        this.pesoEntrada = pesoEntrada;
+        this.atajos = atajos;
+    }
+
+    /**
+     * Escribe el índice en un archivo, reemplazándolo si existe.
+     *
+     * Formato (little endian): cabecera de 32 bytes (mágico, versión, nodos, aristas de salida,
+     * aristas de entrada, atajos), luego ids, pesos de salida y de entrada, y por último los
+     * arreglos enteros de salida y de entrada.
+     *
+     * @param archivo ruta del archivo
+     */
+    public void escribir(Path archivo) throws IOException {
+        long tamano = estimarBytes();
+        if (tamano > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("La red es demasiado grande para un único archivo mapeado");
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamano);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGICO)
+                    .putInt(VERSION)
+                    .putInt(getNumNodos())
+                    .putInt(getNumAristasSalida())
+                    .putInt(getNumAristasEntrada())
+                    .putInt(atajos);
+
+            int posicion = CABECERA;
+            posicion = copiar(ids, buffer, posicion);
+            posicion = copiar(pesoSalida, buffer, posicion);
+            posicion = copiar(pesoEntrada, buffer, posicion);
+            posicion = copiar(inicioSalida, buffer, posicion);
+            posicion = copiar(destinoSalida, buffer, posicion);
+            posicion = copiar(inicioEntrada, buffer, posicion);
+            copiar(origenEntrada, buffer, posicion);
+            buffer.force();
+        }
+    }
+
+    /**
+     * Mapea en memoria un índice escrito con {@link #escribir(Path)}. Los arreglos no se copian:
+     * se leen del archivo a medida que las consultas los recorren.
+     *
+     * @param archivo ruta del archivo
+     * @return índice respaldado por el archivo
+     */
+    public static JerarquiaContraccion mapear(Path archivo) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            if (canal.size() < CABECERA || canal.size() > Integer.MAX_VALUE) {
+                throw new IOException("El archivo " + archivo + " no es un índice de red válido");
+            }
+            buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.getInt(0) != MAGICO || buffer.getInt(4) != VERSION) {
+            throw new IOException("El archivo " + archivo + " no es un índice de red válido");
+        }
+        int nodos = buffer.getInt(8);
+        int salida = buffer.getInt(12);
+        int entrada = buffer.getInt(16);
+        int atajos = buffer.getInt(20);
+        if (buffer.capacity() != tamano(nodos, salida, entrada)) {
+            throw new IOException("El archivo " + archivo + " está incompleto");
+        }
+
+        int posicion = CABECERA;
+        LongBuffer ids = vista(buffer, posicion, 8L * nodos).asLongBuffer();
+        posicion += 8 * nodos;
+        DoubleBuffer pesoSalida = vista(buffer, posicion, 8L * salida).asDoubleBuffer();
+        posicion += 8 * salida;
+        DoubleBuffer pesoEntrada = vista(buffer, posicion, 8L * entrada).asDoubleBuffer();
+        posicion += 8 * entrada;
+        IntBuffer inicioSalida = vista(buffer, posicion, 4L * (nodos + 1)).asIntBuffer();
+        posicion += 4 * (nodos + 1);
+        IntBuffer destinoSalida = vista(buffer, posicion, 4L * salida).asIntBuffer();
+        posicion += 4 * salida;
+        IntBuffer inicioEntrada = vista(buffer, posicion, 4L * (nodos + 1)).asIntBuffer();
+        posicion += 4 * (nodos + 1);
+        IntBuffer origenEntrada = vista(buffer, posicion, 4L * entrada).asIntBuffer();
+
+        return new JerarquiaContraccion(ids, inicioSalida, destinoSalida, pesoSalida,
+                inicioEntrada, origenEntrada, pesoEntrada, atajos);
+    }
+
+    /**
+     * Busca el índice interno de un nodo.
+     *
+     * @param id id externo del nodo
+     * @return índice del nodo, o -1 si no está en la red
+     */
+    public int indice(long id) {
+        int bajo = 0;
+        int alto = ids.limit() - 1;
+        while (bajo <= alto) {
+            int medio = (bajo + alto) >>> 1;
+            long valor = ids.get(medio);
+            if (valor < id) {
+                bajo = medio + 1;
+            } else if (valor > id) {
+                alto = medio - 1;
+            } else {
+                return medio;
+            }
+        }
+        return -1;
+    }
+
+    public int inicioSalida(int u) {
+        return inicioSalida.get(u);
+    }
+
+    public int finSalida(int u) {
+        return inicioSalida.get(u + 1);
+    }
+
+    public int getDestinoSalida(int arista) {
+        return destinoSalida.get(arista);
+    }
+
+    public double getPesoSalida(int arista) {
+        return pesoSalida.get(arista);
+    }
+
+    public int inicioEntrada(int u) {
+        return inicioEntrada.get(u);
+    }
+
+    public int finEntrada(int u) {
+        return inicioEntrada.get(u + 1);
+    }
+
+    public int getOrigenEntrada(int arista) {
+        return origenEntrada.get(arista);
+    }
+
+    public double getPesoEntrada(int arista) {
+        return pesoEntrada.get(arista);
+    }
+
+    public int getNumNodos() {
+        return ids.limit();
+    }
+
+    public int getNumAristasSalida() {
+        return destinoSalida.limit();
+    }
+
+    public int getNumAristasEntrada() {
+        return origenEntrada.limit();
+    }
+
+    public int getAtajos() {
+        return atajos;
+    }
+
+    /**
+     * @return tamaño del índice en bytes (el del archivo)
+     */
+    public long estimarBytes() {
+        return tamano(getNumNodos(), getNumAristasSalida(), getNumAristasEntrada());
+    }
+
+    private static long tamano(int nodos, int salida, int entrada) {
+        return CABECERA + 8L * (nodos + salida + entrada) + 4L * (2L * (nodos + 1) + salida + entrada);
+    }
+
+    private static ByteBuffer vista(ByteBuffer buffer, int posicion, long bytes) {
+        return buffer.slice(posicion, (int) bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static int copiar(LongBuffer origen, ByteBuffer buffer, int posicion) {
+        vista(buffer, posicion, 8L * origen.limit()).asLongBuffer().put(origen.duplicate().rewind());
+        return posicion + 8 * origen.limit();
+    }
+
+    private static int copiar(DoubleBuffer origen, ByteBuffer buffer, int posicion) {
+        vista(buffer, posicion, 8L * origen.limit()).asDoubleBuffer().put(origen.duplicate().rewind());
+        return posicion + 8 * origen.limit();
+    }
+
+    private static int copiar(IntBuffer origen, ByteBuffer buffer, int posicion) {
+        vista(buffer, posicion, 4L * origen.limit()).asIntBuffer().put(origen.duplicate().rewind());
+        return posicion + 4 * origen.limit();
+    }
+}
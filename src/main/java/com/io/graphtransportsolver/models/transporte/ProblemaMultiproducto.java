@@ -0,0 +1,51 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Varios productos que se envían por los mismos carriles y comparten su capacidad.
+ * Cada producto es un problema de transporte propio (sus costos, ofertas y demandas)
+ * sobre los mismos orígenes y destinos.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProblemaMultiproducto {
+
+    /**
+     * Problema de cada producto, sin balancear y con las mismas dimensiones m×n.
+     */
+    private List<ProblemaTransporte> productos;
+
+    /**
+     * Nombres de los productos (opcional).
+     */
+    @Builder.Default
+    private String[] nombresProductos = null;
+
+    /**
+     * Capacidad conjunta de los carriles con límite: la suma de lo que envían
+     * todos los productos por el carril no puede superarla.
+     */
+    private CapacidadesCarril capacidades;
+
+    /**
+     * @return número de orígenes común a todos los productos
+     */
+    public int getNumOrigenes() {
+        return productos.get(0).getOfertas().length;
+    }
+
+    /**
+     * @return número de destinos común a todos los productos
+     */
+    public int getNumDestinos() {
+        return productos.get(0).getDemandas().length;
+    }
+}
@@ -0,0 +1,103 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Problema de transporte guardado en el servidor para actualizarlo con cambios pequeños
+ * sin volver a enviarlo completo.
+ *
+ * Los costos editados se guardan como cambios sobre la fuente original; un carril cerrado
+ * se guarda con costo Double.POSITIVE_INFINITY. De la última solución solo se conservan las
+ * celdas básicas y sus flujos (el resto de asignaciones es cero).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProblemaResidente {
+
+    /**
+     * Identificador público del problema.
+     */
+    private String id;
+
+    /**
+     * Número de cambios aplicados (0 al crearlo).
+     */
+    private long version;
+
+    /**
+     * Costos recibidos al crear el problema.
+     */
+    private FuenteCostos costosBase;
+
+    /**
+     * Costos editados por celda (i * n + j en un long), sin balancear.
+     */
+    @Builder.Default
+    private Map<Long, Double> cambiosCostos = new TreeMap<>();
+
+    /**
+     * Mayor costo finito en valor absoluto (base y cambios), para penalizar los carriles cerrados.
+     */
+    private double costoMaximoAbsoluto;
+
+    private double[] ofertas;
+
+    private double[] demandas;
+
+    private String[] nombresOrigenes;
+
+    private String[] nombresDestinos;
+
+    /**
+     * Método inicial para las resoluciones desde cero.
+     */
+    private MetodoSolucionInicial metodoInicial;
+
+    /**
+     * Celdas básicas de la última solución (i * columnasBalanceadas + j).
+     */
+    private int[] celdasBasicas;
+
+    /**
+     * Flujo de cada celda básica, en el mismo orden.
+     */
+    private double[] flujosBasicos;
+
+    /**
+     * Columnas del último problema balanceado (n o n + 1 con destino ficticio).
+     */
+    private int columnasBalanceadas;
+
+    /**
+     * Filas del último problema balanceado (m o m + 1 con origen ficticio).
+     */
+    private int filasBalanceadas;
+
+    /**
+     * Costo total de la última solución.
+     */
+    private double costoTotal;
+
+    /**
+     * Estima la memoria ocupada por el problema.
+     *
+     * @return bytes aproximados
+     */
+    public long estimarBytes() {
+        long cantidades = 8L * (ofertas.length + demandas.length);
+        long base = celdasBasicas != null ? 12L * celdasBasicas.length : 0L;
+        // Entrada de TreeMap con Long y Double en caja
+        long cambios = 64L * cambiosCostos.size();
+        return costosBase.estimarBytes() + cantidades + base + cambios;
+    }
+}
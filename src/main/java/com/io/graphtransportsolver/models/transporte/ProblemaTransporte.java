@@ -1,5 +1,7 @@
 package com.io.graphtransportsolver.models.transporte;
 
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import com.io.graphtransportsolver.models.transporte.costos.MatrizCostos;
 import com.io.graphtransportsolver.models.transporte.enums.TipoBalance;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -34,6 +36,15 @@ public class ProblemaTransporte {
      */
     private double[][] costos;
 
+    /**
+     * Fuente de costos alternativa a la matriz (opcional).
+     * Permite costos implícitos, p. ej. calculados a partir de coordenadas,
+     * sin materializar la matriz m×n, o una matriz comprimida en memoria.
+     * Solo se usa cuando costos es null.
+     */
+    @Builder.Default
+    private FuenteCostos fuenteCostos = null;
+
     /**
      * Nombres de los orígenes (opcional).
      */
@@ -52,6 +63,13 @@ public class ProblemaTransporte {
     @Builder.Default
     private boolean tieneFicticio = false;
 
+    /**
+     * Capacidades máximas de los carriles con límite (opcional).
+     * Los carriles sin entrada, y los del origen o destino ficticio, no tienen límite.
+     */
+    @Builder.Default
+    private CapacidadesCarril capacidades = null;
+
     /**
      * Calcula la oferta total disponible.
      *
@@ -87,7 +105,29 @@ public class ProblemaTransporte {
      * @return costo unitario de transporte
      */
     public double getCosto(int i, int j) {
-        return costos[i][j];
+        return costos != null ? costos[i][j] : fuenteCostos.costo(i, j);
+    }
+
+    /**
+     * Obtiene la fuente de costos del problema.
+     * Si hay matriz de costos se envuelve sin copiarla.
+     *
+     * @return fuente de costos, o null si el problema no tiene costos
+     */
+    public FuenteCostos getFuenteCostos() {
+        if (costos != null) {
+            return new MatrizCostos(costos);
+        }
+        return fuenteCostos;
+    }
+
+    /**
+     * Verifica si los costos del problema son implícitos (no hay matriz materializada).
+     *
+     * @return true si los costos se calculan bajo demanda
+     */
+    public boolean tieneCostosImplicitos() {
+        return costos == null && fuenteCostos != null;
     }
 
     /**
@@ -0,0 +1,81 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Red de transporte con nodos intermedios (transbordo) y arcos dirigidos.
+ *
+ * Los nodos se numeran de forma global: orígenes 0..m-1, transbordos m..m+k-1 y
+ * destinos m+k..m+k+n-1. Se guarda solo la lista de arcos, de modo que la memoria crece con
+ * el número de arcos y no con la matriz (m+k)×(n+k) del modelo de transbordo clásico.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RedTransbordo {
+
+    /**
+     * Ofertas de los orígenes.
+     */
+    private double[] ofertas;
+
+    /**
+     * Demandas de los destinos.
+     */
+    private double[] demandas;
+
+    /**
+     * Número de nodos de transbordo (sin oferta ni demanda propia).
+     */
+    private int numTransbordos;
+
+    /**
+     * Nodo de salida de cada arco (numeración global).
+     */
+    private int[] arcoDesde;
+
+    /**
+     * Nodo de llegada de cada arco (numeración global).
+     */
+    private int[] arcoHasta;
+
+    /**
+     * Costo unitario de cada arco.
+     */
+    private double[] arcoCosto;
+
+    /**
+     * Nombres de los nodos en numeración global.
+     */
+    private String[] nombres;
+
+    public int getNumOrigenes() {
+        return ofertas.length;
+    }
+
+    public int getNumDestinos() {
+        return demandas.length;
+    }
+
+    public int getNumNodos() {
+        return ofertas.length + numTransbordos + demandas.length;
+    }
+
+    public int getNumArcos() {
+        return arcoDesde.length;
+    }
+
+    /**
+     * Obtiene el nodo global de un destino.
+     *
+     * @param j índice del destino
+     * @return índice global del nodo
+     */
+    public int nodoDestino(int j) {
+        return ofertas.length + numTransbordos + j;
+    }
+}
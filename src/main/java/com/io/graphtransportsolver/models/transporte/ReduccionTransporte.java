@@ -0,0 +1,69 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Resultado del presolve de un problema de transporte balanceado.
+ * Contiene el problema reducido y la información necesaria para
+ * expandir su solución a los índices del problema original.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReduccionTransporte {
+
+    /**
+     * Problema reducido a resolver (null si el presolve fijó todas las asignaciones).
+     */
+    private ProblemaTransporte problemaReducido;
+
+    /**
+     * Orígenes originales agrupados en cada fila del problema reducido.
+     */
+    private int[][] filasPorGrupo;
+
+    /**
+     * Destinos originales agrupados en cada columna del problema reducido.
+     */
+    private int[][] columnasPorGrupo;
+
+    /**
+     * Oferta de cada origen original que queda tras las asignaciones forzadas.
+     */
+    private double[] ofertasResiduales;
+
+    /**
+     * Demanda de cada destino original que queda tras las asignaciones forzadas.
+     */
+    private double[] demandasResiduales;
+
+    /**
+     * Asignaciones forzadas, en índices del problema original.
+     */
+    private List<Celda> asignacionesFijas;
+
+    /**
+     * Número de orígenes del problema original.
+     */
+    private int numOrigenes;
+
+    /**
+     * Número de destinos del problema original.
+     */
+    private int numDestinos;
+
+    /**
+     * Verifica si el presolve resolvió el problema por completo.
+     *
+     * @return true si no queda problema reducido por resolver
+     */
+    public boolean estaResuelta() {
+        return problemaReducido == null;
+    }
+}
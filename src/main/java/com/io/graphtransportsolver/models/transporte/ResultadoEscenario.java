@@ -0,0 +1,62 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de un escenario de un lote.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResultadoEscenario {
+
+    /**
+     * Nombre del escenario.
+     */
+    private String nombre;
+
+    /**
+     * Costo total óptimo del escenario.
+     */
+    private double costoTotal;
+
+    /**
+     * Indica si el escenario se resolvió hasta el óptimo.
+     */
+    private boolean optima;
+
+    /**
+     * Pivotes realizados para resolver el escenario.
+     */
+    private int iteraciones;
+
+    /**
+     * Indica si se partió de la base de un escenario vecino ya resuelto.
+     */
+    private boolean arranqueEnCaliente;
+
+    /**
+     * Índice del escenario cuya base se usó (-1 para el problema base, null si se resolvió desde cero).
+     */
+    @Builder.Default
+    private Integer vecino = null;
+
+    /**
+     * Motivo por el que el escenario no se pudo resolver (null si se resolvió).
+     */
+    @Builder.Default
+    private String error = null;
+
+    /**
+     * Verifica si el escenario se resolvió.
+     *
+     * @return true si no hubo error
+     */
+    public boolean estaResuelto() {
+        return error == null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Distribución del costo óptimo sobre los escenarios resueltos de un lote.
+ * Los percentiles se calculan por rango más cercano.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ResumenEscenarios {
+
+    private int escenarios;
+
+    private int resueltos;
+
+    private double costoBase;
+
+    private double costoMinimo;
+
+    private double costoMaximo;
+
+    private double costoPromedio;
+
+    private double desviacionEstandar;
+
+    private double percentil5;
+
+    private double mediana;
+
+    private double percentil95;
+
+    /**
+     * Escenarios resueltos partiendo de la base de un vecino.
+     */
+    private int arranquesEnCaliente;
+
+    /**
+     * Pivotes totales de todos los escenarios.
+     */
+    private long iteracionesTotales;
+}
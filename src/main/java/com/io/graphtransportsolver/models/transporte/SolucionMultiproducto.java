@@ -0,0 +1,73 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Plan de envío de varios productos que comparten la capacidad de los carriles,
+ * con la cota inferior de la relajación lagrangiana que acota su distancia al óptimo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolucionMultiproducto {
+
+    /**
+     * Asignaciones de cada producto sobre los orígenes y destinos reales [orígenes][destinos].
+     */
+    private List<double[][]> planes;
+
+    /**
+     * Costo del plan de cada producto con sus costos originales.
+     */
+    private double[] costosProductos;
+
+    /**
+     * Costo total del plan.
+     */
+    private double costoTotal;
+
+    /**
+     * Mejor cota inferior del costo óptimo obtenida con los precios de los carriles; nunca supera
+     * costoTotal.
+     */
+    private double cotaInferior;
+
+    /**
+     * (costoTotal - cotaInferior) / |costoTotal|. Solo acota la distancia al óptimo si el plan es
+     * factible.
+     */
+    private double brechaOptimalidad;
+
+    /**
+     * Indica si el plan respeta todas las capacidades conjuntas. Si es false, el plan es el
+     * último de la relajación y supera la capacidad de algún carril.
+     */
+    private boolean factible;
+
+    /**
+     * Indica si se agotó el tiempo antes de terminar las iteraciones.
+     */
+    @Builder.Default
+    private boolean interrumpida = false;
+
+    /**
+     * Rondas de precios realizadas (en cada una se resuelven todos los productos en paralelo).
+     */
+    private int iteraciones;
+
+    /**
+     * Uso total de cada carril con límite en el plan (orden de las posiciones de las capacidades).
+     */
+    private double[] usoCarriles;
+
+    /**
+     * Precio final de cada carril con límite: costo por unidad que se cobró por usarlo.
+     */
+    private double[] preciosCarriles;
+}
@@ -0,0 +1,41 @@
+package com.io.graphtransportsolver.models.transporte;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flujo de costo mínimo sobre una red con transbordo.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolucionRed {
+
+    /**
+     * Flujo de cada arco (mismo orden que los arcos de la red).
+     */
+    private double[] flujos;
+
+    /**
+     * Costo total del flujo.
+     */
+    private double costoTotal;
+
+    /**
+     * Demanda que no se pudo cubrir (falta oferta o no hay camino).
+     */
+    private double demandaInsatisfecha;
+
+    /**
+     * Oferta que quedó en los orígenes.
+     */
+    private double ofertaSobrante;
+
+    /**
+     * Caminos de aumento utilizados.
+     */
+    private int iteraciones;
+}
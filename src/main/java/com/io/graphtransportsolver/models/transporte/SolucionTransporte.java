@@ -1,5 +1,6 @@
 package com.io.graphtransportsolver.models.transporte;
 
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
 import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -32,6 +33,71 @@ public class SolucionTransporte {
      */
     private MetodoSolucionInicial metodoUtilizado;
 
+    /**
+     * Potenciales u_i de los orígenes (variables duales del método MODI).
+     * Solo se informan cuando la solución fue optimizada.
+     */
+    @Builder.Default
+    private double[] potencialesFila = null;
+
+    /**
+     * Potenciales v_j de los destinos (variables duales del método MODI).
+     * Solo se informan cuando la solución fue optimizada.
+     */
+    @Builder.Default
+    private double[] potencialesColumna = null;
+
+    /**
+     * Celdas de la base final como índices planos (i * n + j), incluidas las degeneradas.
+     * Solo se informan cuando la solución fue optimizada.
+     */
+    @Builder.Default
+    private int[] celdasBasicas = null;
+
+    /**
+     * Celdas no básicas que usan toda la capacidad de su carril, como índices planos (i * n + j).
+     * Solo se informan en problemas con capacidades por carril.
+     */
+    @Builder.Default
+    private int[] celdasEnCotaSuperior = null;
+
+    /**
+     * Indica si se verificó que la solución es óptima (ningún costo reducido negativo).
+     */
+    @Builder.Default
+    private boolean optima = false;
+
+    /**
+     * Número de pivotes realizados durante la optimización.
+     */
+    @Builder.Default
+    private int iteracionesOptimizacion = 0;
+
+    /**
+     * Indica si la solución se obtuvo reanudando desde la base de una solución anterior.
+     */
+    @Builder.Default
+    private boolean arranqueEnCaliente = false;
+
+    /**
+     * Indica si la resolución se detuvo por plazo antes de confirmar el óptimo.
+     * La solución es factible: la mejor encontrada hasta ese momento.
+     */
+    @Builder.Default
+    private boolean interrumpida = false;
+
+    /**
+     * Cota inferior del costo óptimo (dual), si se calculó.
+     */
+    @Builder.Default
+    private Double cotaInferior = null;
+
+    /**
+     * Brecha de optimalidad relativa: (costoTotal - cotaInferior) / |costoTotal|, si hay cota.
+     */
+    @Builder.Default
+    private Double brechaOptimalidad = null;
+
     /**
      * Calcula el costo total de la solución.
      *
@@ -48,6 +114,35 @@ public class SolucionTransporte {
         this.costoTotal = total;
     }
 
+    /**
+     * Calcula el costo total de la solución a partir de una fuente de costos.
+     * Recorre la fuente por filas, sin materializar la matriz.
+     *
+     * @param costos fuente de costos unitarios
+     */
+    public void calcularCostoTotal(FuenteCostos costos) {
+        calcularCostoTotal(costos, new double[costos.getNumDestinos()]);
+    }
+
+    /**
+     * Calcula el costo total de la solución reutilizando un buffer de fila.
+     *
+     * @param costos fuente de costos unitarios
+     * @param buffer arreglo de al menos n posiciones para leer las filas de costos
+     */
+    public void calcularCostoTotal(FuenteCostos costos, double[] buffer) {
+        double total = 0.0;
+        for (int i = 0; i < asignaciones.length; i++) {
+            double[] filaCostos = costos.obtenerFila(i, buffer);
+            for (int j = 0; j < asignaciones[i].length; j++) {
+                if (asignaciones[i][j] != 0.0) {
+                    total += asignaciones[i][j] * filaCostos[j];
+                }
+            }
+        }
+        this.costoTotal = total;
+    }
+
     /**
      * Obtiene el número de celdas básicas (asignaciones > 0).
      *
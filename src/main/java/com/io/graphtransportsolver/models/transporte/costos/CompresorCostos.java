@@ -0,0 +1,149 @@
+package com.io.graphtransportsolver.models.transporte.costos;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Elige la representación en memoria más compacta y sin pérdida para una matriz de costos:
+ * <ul>
+ *   <li>{@link CostosDiccionario}: pocos niveles de tarifa distintos (hasta 65536).</li>
+ *   <li>{@link CostosDesplazados}: costos decimales con poca variación dentro de cada fila.</li>
+ *   <li>{@link MatrizCostos}: si ninguna de las anteriores ahorra memoria.</li>
+ * </ul>
+ */
+public final class CompresorCostos {
+
+    private static final int MAX_VALORES_BYTE = 1 << 8;
+    private static final int MAX_VALORES_CHAR = 1 << 16;
+
+    // Escalas decimales probadas para la codificación por desplazamiento
+    private static final double[] ESCALAS = {1, 10, 100, 1000};
+
+    // Mayor entero representable exactamente en un double
+    private static final double MAX_UNIDADES = 9007199254740992.0;
+
+    private CompresorCostos() {
+    }
+
+    /**
+     * Comprime una matriz de costos. La matriz original no se retiene.
+     *
+     * @param costos matriz de costos [orígenes][destinos], rectangular
+     * @return fuente equivalente celda a celda que ocupa menos memoria (o la matriz sin comprimir)
+     */
+    public static FuenteCostos comprimir(double[][] costos) {
+        int m = costos.length;
+        int n = m == 0 ? 0 : costos[0].length;
+        long celdas = (long) m * n;
+        if (celdas == 0 || celdas > Integer.MAX_VALUE - 8) {
+            return new MatrizCostos(costos);
+        }
+
+        FuenteCostos mejor = new MatrizCostos(costos);
+        long bytesMejor = mejor.estimarBytes() + 16L * m; // cabeceras de las filas
+
+        FuenteCostos diccionario = porDiccionario(costos, m, n);
+        if (diccionario != null && diccionario.estimarBytes() < bytesMejor) {
+            mejor = diccionario;
+            bytesMejor = diccionario.estimarBytes();
+        }
+
+        // La codificación por diccionario de 1 byte no se puede mejorar
+        if (bytesMejor > celdas + 8L * MAX_VALORES_BYTE) {
+            FuenteCostos desplazados = porDesplazamiento(costos, m, n);
+            if (desplazados != null && desplazados.estimarBytes() < bytesMejor) {
+                mejor = desplazados;
+            }
+        }
+        return mejor;
+    }
+
+    private static CostosDiccionario porDiccionario(double[][] costos, int m, int n) {
+        Map<Double, Integer> indices = new HashMap<>();
+        for (double[] fila : costos) {
+            for (int j = 0; j < n; j++) {
+                if (indices.putIfAbsent(fila[j], indices.size()) == null
+                        && indices.size() > MAX_VALORES_CHAR) {
+                    return null;
+                }
+            }
+        }
+
+        double[] valores = new double[indices.size()];
+        indices.forEach((valor, indice) -> valores[indice] = valor);
+
+        boolean unByte = valores.length <= MAX_VALORES_BYTE;
+        byte[] indicesByte = unByte ? new byte[m * n] : null;
+        char[] indicesChar = unByte ? null : new char[m * n];
+        int celda = 0;
+        for (double[] fila : costos) {
+            for (int j = 0; j < n; j++, celda++) {
+                int indice = indices.get(fila[j]);
+                if (unByte) {
+                    indicesByte[celda] = (byte) indice;
+                } else {
+                    indicesChar[celda] = (char) indice;
+                }
+            }
+        }
+        return new CostosDiccionario(m, n, valores, indicesByte, indicesChar);
+    }
+
+    private static CostosDesplazados porDesplazamiento(double[][] costos, int m, int n) {
+        for (double escala : ESCALAS) {
+            CostosDesplazados resultado = porDesplazamiento(costos, m, n, escala);
+            if (resultado != null) {
+                return resultado;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Intenta codificar con la escala dada.
+     *
+     * @return null si algún costo no es exacto en esa escala o el rango de una fila supera 2 bytes
+     */
+    private static CostosDesplazados porDesplazamiento(double[][] costos, int m, int n, double escala) {
+        long[] minimoFila = new long[m];
+        long rangoMaximo = 0;
+
+        for (int i = 0; i < m; i++) {
+            long minimo = Long.MAX_VALUE;
+            long maximo = Long.MIN_VALUE;
+            for (int j = 0; j < n; j++) {
+                double escalado = costos[i][j] * escala;
+                if (!(Math.abs(escalado) < MAX_UNIDADES)) {
+                    return null;
+                }
+                long unidades = Math.round(escalado);
+                if (unidades / escala != costos[i][j]) {
+                    return null;
+                }
+                minimo = Math.min(minimo, unidades);
+                maximo = Math.max(maximo, unidades);
+            }
+            if (maximo - minimo >= MAX_VALORES_CHAR) {
+                return null;
+            }
+            minimoFila[i] = minimo;
+            rangoMaximo = Math.max(rangoMaximo, maximo - minimo);
+        }
+
+        boolean unByte = rangoMaximo < MAX_VALORES_BYTE;
+        byte[] desplazamientosByte = unByte ? new byte[m * n] : null;
+        char[] desplazamientosChar = unByte ? null : new char[m * n];
+        int celda = 0;
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++, celda++) {
+                int k = (int) (Math.round(costos[i][j] * escala) - minimoFila[i]);
+                if (unByte) {
+                    desplazamientosByte[celda] = (byte) k;
+                } else {
+                    desplazamientosChar[celda] = (char) k;
+                }
+            }
+        }
+        return new CostosDesplazados(m, n, escala, minimoFila, desplazamientosByte, desplazamientosChar);
+    }
+}
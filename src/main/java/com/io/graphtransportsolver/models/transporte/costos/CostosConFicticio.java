@@ -0,0 +1,86 @@
+package com.io.graphtransportsolver.models.transporte.costos;
+
+import java.util.Arrays;
+
+/**
+ * Decorador que agrega un origen (fila) o un destino (columna) ficticio
+ * de costo constante a otra fuente de costos, sin materializarla.
+ * Lo usa el balanceo cuando el problema tiene costos implícitos.
+ */
+public class CostosConFicticio implements FuenteCostos {
+
+    private final FuenteCostos base;
+    private final boolean filaFicticia;
+    private final double costoFicticio;
+
+    private CostosConFicticio(FuenteCostos base, boolean filaFicticia, double costoFicticio) {
+        this.base = base;
+        this.filaFicticia = filaFicticia;
+        this.costoFicticio = costoFicticio;
+    }
+
+    /**
+     * Agrega un origen ficticio (nueva última fila).
+     *
+     * @param base          fuente original
+     * @param costoFicticio costo de las celdas del origen ficticio
+     * @return fuente con m + 1 orígenes
+     */
+    public static CostosConFicticio conOrigenFicticio(FuenteCostos base, double costoFicticio) {
+        return new CostosConFicticio(base, true, costoFicticio);
+    }
+
+    /**
+     * Agrega un destino ficticio (nueva última columna).
+     *
+     * @param base          fuente original
+     * @param costoFicticio costo de las celdas del destino ficticio
+     * @return fuente con n + 1 destinos
+     */
+    public static CostosConFicticio conDestinoFicticio(FuenteCostos base, double costoFicticio) {
+        return new CostosConFicticio(base, false, costoFicticio);
+    }
+
+    @Override
+    public int getNumOrigenes() {
+        return base.getNumOrigenes() + (filaFicticia ? 1 : 0);
+    }
+
+    @Override
+    public int getNumDestinos() {
+        return base.getNumDestinos() + (filaFicticia ? 0 : 1);
+    }
+
+    @Override
+    public double costo(int i, int j) {
+        if (filaFicticia ? i == base.getNumOrigenes() : j == base.getNumDestinos()) {
+            return costoFicticio;
+        }
+        return base.costo(i, j);
+    }
+
+    @Override
+    public double[] obtenerFila(int i, double[] buffer) {
+        int nBase = base.getNumDestinos();
+
+        if (filaFicticia) {
+            if (i == base.getNumOrigenes()) {
+                Arrays.fill(buffer, 0, nBase, costoFicticio);
+                return buffer;
+            }
+            return base.obtenerFila(i, buffer);
+        }
+
+        double[] fila = base.obtenerFila(i, buffer);
+        if (fila != buffer) {
+            System.arraycopy(fila, 0, buffer, 0, nBase);
+        }
+        buffer[nBase] = costoFicticio;
+        return buffer;
+    }
+
+    @Override
+    public long estimarBytes() {
+        return base.estimarBytes();
+    }
+}
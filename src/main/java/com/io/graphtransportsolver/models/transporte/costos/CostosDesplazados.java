@@ -0,0 +1,81 @@
+package com.io.graphtransportsolver.models.transporte.costos;
+
+/**
+ * Fuente de costos comprimida por desplazamiento por fila.
+ *
+ * Los costos se expresan en unidades enteras de una escala decimal común
+ * (1, 10, 100 o 1000, p. ej. centavos). Cada fila guarda su mínimo en unidades y,
+ * por celda, el desplazamiento respecto a ese mínimo en 1 o 2 bytes, de modo que
+ * costo = (minimoFila + desplazamiento) / escala. Sirve para costos suaves basados
+ * en distancia; solo se usa si todos los costos se reconstruyen exactamente.
+ */
+public class CostosDesplazados implements FuenteCostos {
+
+    private final int m;
+    private final int n;
+    private final double escala;
+    private final long[] minimoFila;
+
+    // Solo uno de los dos arreglos de desplazamientos está en uso (fila por fila, m * n celdas)
+    private final byte[] desplazamientosByte;
+    private final char[] desplazamientosChar;
+
+    /**
+     * @param m                   número de orígenes
+     * @param n                   número de destinos
+     * @param escala              unidades por unidad de costo
+     * @param minimoFila          costo mínimo de cada fila, en unidades
+     * @param desplazamientosByte desplazamientos de 1 byte por celda (o null)
+     * @param desplazamientosChar desplazamientos de 2 bytes por celda (o null)
+     */
+    CostosDesplazados(int m, int n, double escala, long[] minimoFila,
+                      byte[] desplazamientosByte, char[] desplazamientosChar) {
+        this.m = m;
+        this.n = n;
+        this.escala = escala;
+        this.minimoFila = minimoFila;
+        this.desplazamientosByte = desplazamientosByte;
+        this.desplazamientosChar = desplazamientosChar;
+    }
+
+    @Override
+    public int getNumOrigenes() {
+        return m;
+    }
+
+    @Override
+    public int getNumDestinos() {
+        return n;
+    }
+
+    @Override
+    public double costo(int i, int j) {
+        int celda = i * n + j;
+        int k = desplazamientosByte != null ? desplazamientosByte[celda] & 0xFF : desplazamientosChar[celda];
+        return (minimoFila[i] + k) / escala;
+    }
+
+    @Override
+    public double[] obtenerFila(int i, double[] buffer) {
+        int inicio = i * n;
+        long base = minimoFila[i];
+        if (desplazamientosByte != null) {
+            for (int j = 0; j < n; j++) {
+                buffer[j] = (base + (desplazamientosByte[inicio + j] & 0xFF)) / escala;
+            }
+        } else {
+            for (int j = 0; j < n; j++) {
+                buffer[j] = (base + desplazamientosChar[inicio + j]) / escala;
+            }
+        }
+        return buffer;
+    }
+
+    @Override
+    public long estimarBytes() {
+        long bytesDesplazamientos = desplazamientosByte != null
+                ? desplazamientosByte.length
+                : 2L * desplazamientosChar.length;
+        return bytesDesplazamientos + 8L * minimoFila.length;
+    }
+}
@@ -0,0 +1,71 @@
+package com.io.graphtransportsolver.models.transporte.costos;
+
+/**
+ * Fuente de costos comprimida por diccionario.
+ *
+ * Guarda la lista de costos distintos (niveles de tarifa) y, por celda, solo
+ * el índice dentro de esa lista: 1 byte si hay hasta 256 valores distintos
+ * o 2 bytes si hay hasta 65536. La compresión es sin pérdida.
+ */
+public class CostosDiccionario implements FuenteCostos {
+
+    private final int m;
+    private final int n;
+    private final double[] diccionario;
+
+    // Solo uno de los dos arreglos de índices está en uso (fila por fila, m * n celdas)
+    private final byte[] indicesByte;
+    private final char[] indicesChar;
+
+    /**
+     * @param m           número de orígenes
+     * @param n           número de destinos
+     * @param diccionario valores distintos de costo
+     * @param indicesByte índices de 1 byte por celda (o null)
+     * @param indicesChar índices de 2 bytes por celda (o null)
+     */
+    CostosDiccionario(int m, int n, double[] diccionario, byte[] indicesByte, char[] indicesChar) {
+        this.m = m;
+        this.n = n;
+        this.diccionario = diccionario;
+        this.indicesByte = indicesByte;
+        this.indicesChar = indicesChar;
+    }
+
+    @Override
+    public int getNumOrigenes() {
+        return m;
+    }
+
+    @Override
+    public int getNumDestinos() {
+        return n;
+    }
+
+    @Override
+    public double costo(int i, int j) {
+        int celda = i * n + j;
+        return diccionario[indicesByte != null ? indicesByte[celda] & 0xFF : indicesChar[celda]];
+    }
+
+    @Override
+    public double[] obtenerFila(int i, double[] buffer) {
+        int inicio = i * n;
+        if (indicesByte != null) {
+            for (int j = 0; j < n; j++) {
+                buffer[j] = diccionario[indicesByte[inicio + j] & 0xFF];
+            }
+        } else {
+            for (int j = 0; j < n; j++) {
+                buffer[j] = diccionario[indicesChar[inicio + j]];
+            }
+        }
+        return buffer;
+    }
+
+    @Override
+    public long estimarBytes() {
+        long bytesIndices = indicesByte != null ? indicesByte.length : 2L * indicesChar.length;
+        return bytesIndices + 8L * diccionario.length;
+    }
+}
@@ -0,0 +1,125 @@
+package com.io.graphtransportsolver.models.transporte.costos;
+
+import com.io.graphtransportsolver.models.transporte.Celda;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Costos de un escenario expresados como cambios sobre una fuente base, sin copiarla:
+ * todos los costos se multiplican por un factor (p. ej. precio del combustible) y
+ * algunas celdas se reemplazan por un costo absoluto.
+ */
+public class CostosEscenario implements FuenteCostos {
+
+    private final FuenteCostos base;
+    private final double factor;
+
+    // Celdas reemplazadas (índice plano i * n + j, ordenadas) y su costo
+    private final int[] celdas;
+    private final double[] valores;
+
+    /**
+     * @param base    fuente de costos base
+     * @param factor  multiplicador de todos los costos base
+     * @param cambios celdas con costo reemplazado (fila, columna, costo); el factor no se aplica a ellas
+     */
+    public CostosEscenario(FuenteCostos base, double factor, List<Celda> cambios) {
+        if (!(factor >= 0) || Double.isInfinite(factor)) {
+            throw new IllegalArgumentException("El factor de costos debe ser un número no negativo");
+        }
+        this.base = base;
+        this.factor = factor;
+
+        int m = base.getNumOrigenes();
+        int n = base.getNumDestinos();
+        long[] ordenados = new long[cambios.size()];
+        for (int k = 0; k < cambios.size(); k++) {
+            Celda cambio = cambios.get(k);
+            if (cambio.getFila() < 0 || cambio.getFila() >= m
+                    || cambio.getColumna() < 0 || cambio.getColumna() >= n) {
+                throw new IllegalArgumentException(
+                        "El cambio de costo (" + cambio.getFila() + ", " + cambio.getColumna() + ") está fuera de la matriz");
+            }
+            // Celda en los 32 bits altos y posición en los bajos: ante duplicados gana el último
+            ordenados[k] = ((long) (cambio.getFila() * n + cambio.getColumna()) << 32) | k;
+        }
+        Arrays.sort(ordenados);
+
+        int distintas = 0;
+        int[] celdasTmp = new int[ordenados.length];
+        double[] valoresTmp = new double[ordenados.length];
+        for (long clave : ordenados) {
+            int celda = (int) (clave >>> 32);
+            double costo = cambios.get((int) clave).getCosto();
+            if (distintas > 0 && celdasTmp[distintas - 1] == celda) {
+                valoresTmp[distintas - 1] = costo;
+            } else {
+                celdasTmp[distintas] = celda;
+                valoresTmp[distintas++] = costo;
+            }
+        }
+        this.celdas = Arrays.copyOf(celdasTmp, distintas);
+        this.valores = Arrays.copyOf(valoresTmp, distintas);
+    }
+
+    @Override
+    public int getNumOrigenes() {
+        return base.getNumOrigenes();
+    }
+
+    @Override
+    public int getNumDestinos() {
+        return base.getNumDestinos();
+    }
+
+    @Override
+    public double costo(int i, int j) {
+        int posicion = Arrays.binarySearch(celdas, i * getNumDestinos() + j);
+        return posicion >= 0 ? valores[posicion] : factor * base.costo(i, j);
+    }
+
+    @Override
+    public double[] obtenerFila(int i, double[] buffer) {
+        int n = getNumDestinos();
+        double[] fila = base.obtenerFila(i, buffer);
+        for (int j = 0; j < n; j++) {
+            buffer[j] = factor * fila[j];
+        }
+
+        // Cambios de la fila i: rango [i * n, (i + 1) * n)
+        int posicion = Arrays.binarySearch(celdas, i * n);
+        if (posicion < 0) posicion = -posicion - 1;
+        for (; posicion < celdas.length && celdas[posicion] < (i + 1) * n; posicion++) {
+            buffer[celdas[posicion] - i * n] = valores[posicion];
+        }
+        return buffer;
+    }
+
+    @Override
+    public long estimarBytes() {
+        return base.estimarBytes() + 12L * celdas.length;
+    }
+
+    public double getFactor() {
+        return factor;
+    }
+
+    /**
+     * Obtiene las celdas reemplazadas (índices planos ordenados).
+     *
+     * @return celdas con costo propio del escenario
+     */
+    public int[] getCeldas() {
+        return celdas;
+    }
+
+    /**
+     * Obtiene los costos de las celdas reemplazadas, en el orden de getCeldas().
+     *
+     * @return costos de las celdas reemplazadas
+     */
+    public double[] getValores() {
+        return valores;
+    }
+}
@@ -0,0 +1,187 @@
+package com.io.graphtransportsolver.models.transporte.costos;
+
+import com.io.graphtransportsolver.models.transporte.enums.FormulaCosto;
+
+/**
+ * Fuente de costos implícita: calcula cada costo como
+ * costoFijo + tarifa * distancia(origen, destino) a partir de las coordenadas.
+ *
+ * Solo se almacenan las coordenadas (O(m + n) memoria) y las filas se calculan
+ * por bloques sobre arreglos primitivos contiguos, de modo que el JIT pueda
+ * vectorizar los bucles de distancia.
+ */
+public class CostosPorCoordenadas implements FuenteCostos {
+
+    private static final double RADIO_TIERRA_KM = 6371.0;
+
+    private final FormulaCosto formula;
+    private final double tarifa;
+    private final double costoFijo;
+
+    // Coordenadas en estructura de arreglos (x/latitud, y/longitud)
+    private final double[] xOrigenes;
+    private final double[] yOrigenes;
+    private final double[] xDestinos;
+    private final double[] yDestinos;
+
+    // Precalculados para HAVERSINE: coseno de la latitud en radianes
+    private final double[] cosLatOrigenes;
+    private final double[] cosLatDestinos;
+
+    /**
+     * @param coordenadasOrigenes  coordenadas [x, y] (o [latitud, longitud]) de cada origen
+     * @param coordenadasDestinos  coordenadas [x, y] (o [latitud, longitud]) de cada destino
+     * @param formula              fórmula de distancia a utilizar
+     * @param tarifa               costo por unidad de distancia
+     * @param costoFijo            costo fijo por unidad transportada, independiente de la distancia
+     * @throws IllegalArgumentException si las coordenadas no son válidas
+     */
+    public CostosPorCoordenadas(
+            double[][] coordenadasOrigenes,
+            double[][] coordenadasDestinos,
+            FormulaCosto formula,
+            double tarifa,
+            double costoFijo) {
+
+        if (formula == null) {
+            throw new IllegalArgumentException("La fórmula de costo no puede ser nula");
+        }
+        if (!Double.isFinite(tarifa) || !Double.isFinite(costoFijo)) {
+            throw new IllegalArgumentException("La tarifa y el costo fijo deben ser valores finitos");
+        }
+
+        this.formula = formula;
+        this.tarifa = tarifa;
+        this.costoFijo = costoFijo;
+
+        int m = validarCoordenadas(coordenadasOrigenes, "orígenes", formula);
+        int n = validarCoordenadas(coordenadasDestinos, "destinos", formula);
+
+        this.xOrigenes = new double[m];
+        this.yOrigenes = new double[m];
+        this.xDestinos = new double[n];
+        this.yDestinos = new double[n];
+
+        boolean haversine = formula == FormulaCosto.HAVERSINE;
+        for (int i = 0; i < m; i++) {
+            xOrigenes[i] = haversine ? Math.toRadians(coordenadasOrigenes[i][0]) : coordenadasOrigenes[i][0];
+            yOrigenes[i] = haversine ? Math.toRadians(coordenadasOrigenes[i][1]) : coordenadasOrigenes[i][1];
+        }
+        for (int j = 0; j < n; j++) {
+            xDestinos[j] = haversine ? Math.toRadians(coordenadasDestinos[j][0]) : coordenadasDestinos[j][0];
+            yDestinos[j] = haversine ? Math.toRadians(coordenadasDestinos[j][1]) : coordenadasDestinos[j][1];
+        }
+
+        if (haversine) {
+            this.cosLatOrigenes = new double[m];
+            this.cosLatDestinos = new double[n];
+            for (int i = 0; i < m; i++) {
+                cosLatOrigenes[i] = Math.cos(xOrigenes[i]);
+            }
+            for (int j = 0; j < n; j++) {
+                cosLatDestinos[j] = Math.cos(xDestinos[j]);
+            }
+        } else {
+            this.cosLatOrigenes = null;
+            this.cosLatDestinos = null;
+        }
+    }
+
+    @Override
+    public int getNumOrigenes() {
+        return xOrigenes.length;
+    }
+
+    @Override
+    public int getNumDestinos() {
+        return xDestinos.length;
+    }
+
+    @Override
+    public double costo(int i, int j) {
+        double distancia = switch (formula) {
+            case EUCLIDIANA -> euclidiana(xOrigenes[i] - xDestinos[j], yOrigenes[i] - yDestinos[j]);
+            case MANHATTAN -> Math.abs(xOrigenes[i] - xDestinos[j]) + Math.abs(yOrigenes[i] - yDestinos[j]);
+            case HAVERSINE -> haversine(i, j);
+        };
+        return costoFijo + tarifa * distancia;
+    }
+
+    @Override
+    public double[] obtenerFila(int i, double[] buffer) {
+        int n = xDestinos.length;
+        double xi = xOrigenes[i];
+        double yi = yOrigenes[i];
+
+        switch (formula) {
+            case EUCLIDIANA -> {
+                for (int j = 0; j < n; j++) {
+                    buffer[j] = costoFijo + tarifa * euclidiana(xi - xDestinos[j], yi - yDestinos[j]);
+                }
+            }
+            case MANHATTAN -> {
+                for (int j = 0; j < n; j++) {
+                    buffer[j] = costoFijo + tarifa * (Math.abs(xi - xDestinos[j]) + Math.abs(yi - yDestinos[j]));
+                }
+            }
+            case HAVERSINE -> {
+                for (int j = 0; j < n; j++) {
+                    buffer[j] = costoFijo + tarifa * haversine(i, j);
+                }
+            }
+        }
+        return buffer;
+    }
+
+    /**
+     * Distancia euclidiana. {@link #costo} y {@link #obtenerFila} usan la misma expresión para que
+     * ambos caminos den exactamente el mismo costo (Math.hypot puede diferir en el último bit).
+     */
+    private static double euclidiana(double dx, double dy) {
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    /**
+     * Distancia ortodrómica en km entre el origen i y el destino j (coordenadas en radianes).
+     */
+    private double haversine(int i, int j) {
+        double senoLat = Math.sin((xDestinos[j] - xOrigenes[i]) / 2);
+        double senoLon = Math.sin((yDestinos[j] - yOrigenes[i]) / 2);
+        double a = senoLat * senoLat + cosLatOrigenes[i] * cosLatDestinos[j] * senoLon * senoLon;
+        return 2 * RADIO_TIERRA_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    /**
+     * Válida que cada coordenada tenga exactamente dos componentes finitas y, con HAVERSINE,
+     * que sean una latitud entre -90 y 90 y una longitud entre -180 y 180.
+     *
+     * @return número de puntos
+     */
+    private static int validarCoordenadas(double[][] coordenadas, String descripcion, FormulaCosto formula) {
+        if (coordenadas == null || coordenadas.length == 0) {
+            throw new IllegalArgumentException("Las coordenadas de los " + descripcion + " son obligatorias");
+        }
+        for (int k = 0; k < coordenadas.length; k++) {
+            double[] punto = coordenadas[k];
+            if (punto == null || punto.length != 2
+                    || !Double.isFinite(punto[0]) || !Double.isFinite(punto[1])) {
+                throw new IllegalArgumentException(
+                        "La coordenada " + k + " de los " + descripcion + " debe tener dos valores numéricos"
+                );
+            }
+            if (formula == FormulaCosto.HAVERSINE && (Math.abs(punto[0]) > 90 || Math.abs(punto[1]) > 180)) {
+                throw new IllegalArgumentException(
+                        "La coordenada " + k + " de los " + descripcion
+                                + " debe tener latitud entre -90 y 90 y longitud entre -180 y 180"
+                );
+            }
+        }
+        return coordenadas.length;
+    }
+
+    @Override
+    public long estimarBytes() {
+        long porPunto = cosLatOrigenes != null ? 3 : 2;
+        return 8L * porPunto * (xOrigenes.length + xDestinos.length);
+    }
+}
@@ -0,0 +1,43 @@
+package com.io.graphtransportsolver.models.transporte.costos;
+
+/**
+ * Vista sobre un subconjunto de filas y columnas de otra fuente de costos,
+ * sin copiarla. La usa el presolve para problemas con costos implícitos.
+ */
+public class CostosSubconjunto implements FuenteCostos {
+
+    private final FuenteCostos base;
+    private final int[] filas;
+    private final int[] columnas;
+
+    /**
+     * @param base     fuente original
+     * @param filas    índice original de cada fila de la vista
+     * @param columnas índice original de cada columna de la vista
+     */
+    public CostosSubconjunto(FuenteCostos base, int[] filas, int[] columnas) {
+        this.base = base;
+        this.filas = filas;
+        this.columnas = columnas;
+    }
+
+    @Override
+    public int getNumOrigenes() {
+        return filas.length;
+    }
+
+    @Override
+    public int getNumDestinos() {
+        return columnas.length;
+    }
+
+    @Override
+    public double costo(int i, int j) {
+        return base.costo(filas[i], columnas[j]);
+    }
+
+    @Override
+    public long estimarBytes() {
+        return base.estimarBytes() + 4L * (filas.length + columnas.length);
+    }
+}
@@ -0,0 +1,78 @@
+package com.io.graphtransportsolver.models.transporte.costos;
+
+/**
+ * Abstracción sobre el origen de los costos unitarios de un problema de transporte.
+ * Permite que los algoritmos trabajen igual con una matriz materializada
+ * o con costos que se calculan bajo demanda.
+ */
+public interface FuenteCostos {
+
+    /**
+     * Obtiene el número de orígenes (filas).
+     *
+     * @return número de orígenes
+     */
+    int getNumOrigenes();
+
+    /**
+     * Obtiene el número de destinos (columnas).
+     *
+     * @return número de destinos
+     */
+    int getNumDestinos();
+
+    /**
+     * Obtiene el costo unitario de una celda.
+     *
+     * @param i índice del origen
+     * @param j índice del destino
+     * @return costo de transportar del origen i al destino j
+     */
+    double costo(int i, int j);
+
+    /**
+     * Obtiene la fila completa de costos de un origen.
+     * Las implementaciones pueden devolver su propio arreglo interno (sin copia)
+     * o llenar el buffer recibido; el resultado es de solo lectura para quien llama.
+     *
+     * @param i      índice del origen
+     * @param buffer arreglo de al menos getNumDestinos() posiciones disponible para llenar
+     * @return arreglo con los costos de la fila i
+     */
+    default double[] obtenerFila(int i, double[] buffer) {
+        int n = getNumDestinos();
+        for (int j = 0; j < n; j++) {
+            buffer[j] = costo(i, j);
+        }
+        return buffer;
+    }
+
+    /**
+     * Obtiene todos los costos como matriz. Las fuentes ya materializadas
+     * devuelven su propia matriz; las implícitas construyen una nueva.
+     *
+     * @return matriz de costos [orígenes][destinos]
+     */
+    default double[][] materializar() {
+        int m = getNumOrigenes();
+        int n = getNumDestinos();
+        double[][] matriz = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            double[] fila = obtenerFila(i, matriz[i]);
+            if (fila != matriz[i]) {
+                System.arraycopy(fila, 0, matriz[i], 0, n);
+            }
+        }
+        return matriz;
+    }
+
+    /**
+     * Estima la memoria que ocupan los costos retenidos por esta fuente.
+     * Por defecto equivale a una matriz densa de doubles.
+     *
+     * @return bytes aproximados
+     */
+    default long estimarBytes() {
+        return 8L * getNumOrigenes() * getNumDestinos();
+    }
+}
@@ -0,0 +1,56 @@
+package com.io.graphtransportsolver.models.transporte.costos;
+
+import java.util.Arrays;
+
+/**
+ * Fuente de costos respaldada por una matriz materializada.
+ * Entrega las filas sin copiarlas.
+ */
+public class MatrizCostos implements FuenteCostos {
+
+    private final double[][] costos;
+
+    /**
+     * @param costos matriz de costos [orígenes][destinos]
+     */
+    public MatrizCostos(double[][] costos) {
+        this.costos = costos;
+    }
+
+    @Override
+    public int getNumOrigenes() {
+        return costos.length;
+    }
+
+    @Override
+    public int getNumDestinos() {
+        return costos.length > 0 ? costos[0].length : 0;
+    }
+
+    @Override
+    public double costo(int i, int j) {
+        return costos[i][j];
+    }
+
+    @Override
+    public double[] obtenerFila(int i, double[] buffer) {
+        return costos[i];
+    }
+
+    @Override
+    public double[][] materializar() {
+        return costos;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof MatrizCostos otra)) return false;
+        return Arrays.deepEquals(costos, otra.costos);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(costos);
+    }
+}
@@ -13,4 +13,10 @@ public enum EstadoCelda {
      * Celda no básica: no participa en la solución actual (asignación igual a cero).
      */
     NO_BASICA,
+
+    /**
+     * Celda no básica en su cota superior: el carril tiene capacidad y la usa completa.
+     * Solo aparece en problemas con capacidades por carril.
+     */
+    EN_COTA_SUPERIOR,
 }
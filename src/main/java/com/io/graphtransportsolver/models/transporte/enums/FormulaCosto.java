@@ -0,0 +1,25 @@
+package com.io.graphtransportsolver.models.transporte.enums;
+
+/**
+ * Enum que representa las fórmulas de distancia disponibles para calcular
+ * costos implícitos a partir de las coordenadas de orígenes y destinos.
+ * El costo final de cada celda es costoFijo + tarifa * distancia.
+ */
+public enum FormulaCosto {
+
+    /**
+     * Distancia euclidiana entre puntos del plano (x, y).
+     */
+    EUCLIDIANA,
+
+    /**
+     * Distancia Manhattan (suma de diferencias absolutas) entre puntos del plano (x, y).
+     */
+    MANHATTAN,
+
+    /**
+     * Distancia ortodrómica en kilómetros entre coordenadas geográficas
+     * (latitud, longitud) expresadas en grados.
+     */
+    HAVERSINE
+}
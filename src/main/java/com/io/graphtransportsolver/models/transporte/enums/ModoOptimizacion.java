@@ -0,0 +1,32 @@
+package com.io.graphtransportsolver.models.transporte.enums;
+
+/**
+ * Enum que representa el modo de optimización aplicado después
+ * de encontrar la solución inicial del problema de transporte.
+ */
+public enum ModoOptimizacion {
+
+    /**
+     * Sin optimización: se devuelve la solución inicial.
+     */
+    NINGUNA,
+
+    /**
+     * Método MODI (u-v) valorando todas las celdas en cada iteración.
+     */
+    MODI,
+
+    /**
+     * Método MODI sobre los k carriles más baratos por fila y columna,
+     * con reparación de optimalidad valorando la matriz completa con los duales.
+     * Pensado para matrices grandes y densas; el resultado sigue siendo óptimo.
+     */
+    CARRILES_CANDIDATOS,
+
+    /**
+     * Carriles candidatos con la matriz de costos repartida por bloques de orígenes entre
+     * trabajadores remotos (transporte.distribuido.trabajadores), que la valoran en cada ronda.
+     * Parte de la esquina noroeste y el resultado sigue siendo óptimo.
+     */
+    DISTRIBUIDO
+}
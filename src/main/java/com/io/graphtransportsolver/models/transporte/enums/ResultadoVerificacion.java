@@ -0,0 +1,29 @@
+package com.io.graphtransportsolver.models.transporte.enums;
+
+/**
+ * Enum que representa el veredicto de la verificación de un plan de transporte.
+ */
+public enum ResultadoVerificacion {
+
+    /**
+     * El plan es factible y unos potenciales duales factibles alcanzan su costo: es óptimo.
+     */
+    OPTIMA,
+
+    /**
+     * El plan es factible pero no es óptimo: ningún potencial cumple la holgura complementaria
+     * o se encontró una mejora concreta.
+     */
+    MEJORABLE,
+
+    /**
+     * El plan no respeta las ofertas o las demandas, o tiene asignaciones negativas.
+     */
+    NO_FACTIBLE,
+
+    /**
+     * El plan es factible pero no se pudo decidir (plan muy degenerado):
+     * la distancia al óptimo está acotada por la mejora máxima.
+     */
+    INDETERMINADA
+}
@@ -0,0 +1,17 @@
+package com.io.graphtransportsolver.models.transporte.enums;
+
+/**
+ * Enum que indica si una cantidad de un problema de transporte es una oferta o una demanda.
+ */
+public enum TipoCantidad {
+
+    /**
+     * Cantidad disponible en un origen.
+     */
+    OFERTA,
+
+    /**
+     * Cantidad requerida por un destino.
+     */
+    DEMANDA
+}
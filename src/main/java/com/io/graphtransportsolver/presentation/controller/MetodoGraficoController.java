@@ -3,13 +3,16 @@ package com.io.graphtransportsolver.presentation.controller;
 import com.io.graphtransportsolver.presentation.dto.grafico.ProblemaGraficoDTO;
 import com.io.graphtransportsolver.presentation.dto.grafico.SolucionGraficoDTO;
 import com.io.graphtransportsolver.presentation.dto.ApiResponseDTO;
+import com.io.graphtransportsolver.presentation.dto.EstadisticasCacheDTO;
 import com.io.graphtransportsolver.services.grafico.MetodoGraficoService;
 import com.io.graphtransportsolver.utils.Constants;
+import com.io.graphtransportsolver.utils.RespuestasEtiquetadas;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * Controlador REST para el método gráfico de programación lineal.
@@ -27,9 +30,11 @@ import org.springframework.web.bind.annotation.*;
 public class MetodoGraficoController {
 
     private final MetodoGraficoService metodoGraficoService;
+    private final RespuestasEtiquetadas<ProblemaGraficoDTO> respuestasGrafico;
 
     /**
      * Resuelve un problema de programación lineal usando el método gráfico.
+     * Las soluciones se envían con su ETag y con la ruta para volver a consultarlas por GET.
      *
      * @param problemaDTO problema a resolver
      * @return ResponseEntity con ApiResponseDTO conteniendo la solución
@@ -39,11 +44,59 @@ public class MetodoGraficoController {
         log.info("=== {} ===", Constants.Message.START_SERVICE);
         log.debug("{}{}", Constants.Message.REQUEST, problemaDTO);
 
+        // La misma solicitud ya respondida se envía sin resolver ni serializar
+        String huella = respuestasGrafico.huella(problemaDTO);
+        RespuestasEtiquetadas.Guardada guardada = respuestasGrafico.buscar(huella);
+        if (guardada != null) {
+            log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
+            return respuestasGrafico.responder(guardada);
+        }
+
         ApiResponseDTO<SolucionGraficoDTO> result = metodoGraficoService.resolverProblema(problemaDTO);
 
         log.debug("{}{}", Constants.Message.RESPONSE, result);
         log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
 
+        if (result.isSuccess()) {
+            return respuestasGrafico.responder(respuestasGrafico.guardar(huella, result));
+        }
+        return new ResponseEntity<>(result, HttpStatusCode.valueOf(result.getStatus()));
+    }
+
+    /**
+     * Consulta por su ETag una solución enviada por {@link #resolverProblema}. Si el cliente ya
+     * tiene esa versión (If-None-Match) se responde 304 sin buscarla;
+     * si ya no está guardada, 404.
+     *
+     * @param id      ETag de la solución, sin comillas
+     * @param request solicitud con los encabezados condicionales
+     * @return ResponseEntity con ApiResponseDTO conteniendo la solución
+     */
+    @GetMapping(Constants.Grafico.GRAFICO_SERVICE_PATH_SOLUTION)
+    public ResponseEntity<?> obtenerSolucion(@PathVariable String id, WebRequest request) {
+        if (request.checkNotModified(id)) {
+            return null;
+        }
+
+        byte[] guardada = respuestasGrafico.obtener(id);
+        if (guardada == null) {
+            ApiResponseDTO<Void> result = new ApiResponseDTO<>();
+            result.NotFoundOperation();
+            result.setMessage("La solución " + id + " ya no está guardada, vuelva a enviar el problema a "
+                    + Constants.Grafico.GRAFICO_SERVICE_PATH_RESOLVE);
+            return new ResponseEntity<>(result, HttpStatusCode.valueOf(result.getStatus()));
+        }
+        return respuestasGrafico.responder(new RespuestasEtiquetadas.Guardada(id, guardada));
+    }
+
+    /**
+     * Consulta los aciertos, fallos y ocupación de la caché de soluciones.
+     *
+     * @return ResponseEntity con ApiResponseDTO conteniendo las estadísticas de la caché
+     */
+    @GetMapping(Constants.Grafico.GRAFICO_SERVICE_PATH_CACHE)
+    public ResponseEntity<?> obtenerEstadisticasCache() {
+        ApiResponseDTO<EstadisticasCacheDTO> result = metodoGraficoService.obtenerEstadisticasCache();
         return new ResponseEntity<>(result, HttpStatusCode.valueOf(result.getStatus()));
     }
 
@@ -1,16 +1,52 @@
 package com.io.graphtransportsolver.presentation.controller;
 
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
 import com.io.graphtransportsolver.presentation.dto.ApiResponseDTO;
-import com.io.graphtransportsolver.presentation.dto.transporte.ComparacionMetodosDTO;
+import com.io.graphtransportsolver.presentation.dto.EstadisticasCacheDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ActualizacionProblemaDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.CambiosProblemaDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.CertificadoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.CotizacionDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.EstadisticasHistorialDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.EventosCantidadDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.EventosEncoladosDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.GrafoVialDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.IndiceRedDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.LoteEscenariosDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.MultiproductoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ProblemaResidenteDTO;
 import com.io.graphtransportsolver.presentation.dto.transporte.ProblemaTransporteDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.RedTransbordoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ResultadoLoteDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SolucionMultiproductoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SolucionRedDTO;
 import com.io.graphtransportsolver.presentation.dto.transporte.SolucionTransporteDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.VerificacionDTO;
+import com.io.graphtransportsolver.services.transporte.CotizacionApiService;
+import com.io.graphtransportsolver.services.transporte.EscenariosApiService;
 import com.io.graphtransportsolver.services.transporte.ModeloTransporteService;
+import com.io.graphtransportsolver.services.transporte.MultiproductoApiService;
+import com.io.graphtransportsolver.services.transporte.RedesApiService;
+import com.io.graphtransportsolver.services.transporte.ResidentesApiService;
+import com.io.graphtransportsolver.services.transporte.TransbordoApiService;
 import com.io.graphtransportsolver.utils.Constants;
+import com.io.graphtransportsolver.utils.RespuestasEtiquetadas;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
 
 /**
  * Controlador REST para el modelo de transporte.
@@ -26,24 +62,77 @@ import org.springframework.web.bind.annotation.*;
 public class ModeloTransporteController {
 
     private final ModeloTransporteService modeloTransporteService;
+    private final CotizacionApiService cotizacionApiService;
+    private final EscenariosApiService escenariosApiService;
+    private final TransbordoApiService transbordoApiService;
+    private final MultiproductoApiService multiproductoApiService;
+    private final ResidentesApiService residentesApiService;
+    private final RedesApiService redesApiService;
+    private final ExecutorService ejecutorSolicitudes;
+    private final RespuestasEtiquetadas<ProblemaTransporteDTO> respuestasTransporte;
+    private final ScheduledExecutorService planificadorSondas;
+
+    /**
+     * Milisegundos entre sondas de la conexión de una solicitud asíncrona (0 = sin sonda).
+     */
+    @Value("${transporte.sonda-conexion-ms:100}")
+    private long periodoSondaMs;
 
     /**
      * Resuelve un problema de transporte usando el método especificado.
+     * Las soluciones completas se envían con su ETag y con la ruta para volver a consultarlas por GET.
      *
      * @param problemaDTO datos del problema
      * @return ApiResponseDTO con la solución
      */
     @PostMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_RESOLVE)
-    public ResponseEntity<?> resolverProblema(@RequestBody ProblemaTransporteDTO problemaDTO) {
+    public DeferredResult<ResponseEntity<?>> resolverProblema(@RequestBody ProblemaTransporteDTO problemaDTO) {
         log.info("=== {} ===", Constants.Message.START_SERVICE);
         log.debug("{}{}", Constants.Message.REQUEST, problemaDTO);
 
-        ApiResponseDTO<SolucionTransporteDTO> result = modeloTransporteService.resolverProblema(problemaDTO);
+        return ejecutarCompartible(control -> {
+            // La misma solicitud ya respondida se envía sin resolver ni serializar
+            String huella = respuestasTransporte.huella(problemaDTO);
+            RespuestasEtiquetadas.Guardada guardada = respuestasTransporte.buscar(huella);
+            if (guardada != null) {
+                log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
+                return CompletableFuture.completedFuture(respuestasTransporte.responder(guardada));
+            }
 
-        log.debug("{}{}", Constants.Message.RESPONSE, result);
-        log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
+            return modeloTransporteService.solicitarResolucion(problemaDTO, control)
+                    .thenApply(result -> {
+                        log.debug("{}{}", Constants.Message.RESPONSE, result);
+                        log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
 
-        return new ResponseEntity<>(result, HttpStatusCode.valueOf(result.getStatus()));
+                        return responderResolucion(huella, result);
+                    });
+        });
+    }
+
+    /**
+     * Consulta por su ETag una solución enviada por {@link #resolverProblema}. Si el cliente ya
+     * tiene esa versión (If-None-Match) se responde 304 sin buscarla;
+     * si ya no está guardada, 404.
+     *
+     * @param id      ETag de la solución, sin comillas
+     * @param request solicitud con los encabezados condicionales
+     * @return ApiResponseDTO con la solución
+     */
+    @GetMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_SOLUTION)
+    public ResponseEntity<?> obtenerSolucion(@PathVariable String id, WebRequest request) {
+        if (request.checkNotModified(id)) {
+            return null;
+        }
+
+        byte[] guardada = respuestasTransporte.obtener(id);
+        if (guardada == null) {
+            ApiResponseDTO<Void> response = new ApiResponseDTO<>();
+            response.NotFoundOperation();
+            response.setMessage("La solución " + id + " ya no está guardada, vuelva a enviar el problema a "
+                    + Constants.Transporte.TRANSPORTE_SERVICE_PATH_RESOLVE);
+            return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+        }
+        return respuestasTransporte.responder(new RespuestasEtiquetadas.Guardada(id, guardada));
     }
 
     /**
@@ -53,15 +142,350 @@ public class ModeloTransporteController {
      * @return ApiResponseDTO con la comparación de los tres métodos
      */
     @PostMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_COMPARE)
-    public ResponseEntity<?> compararMetodos(@RequestBody ProblemaTransporteDTO problemaDTO) {
+    public DeferredResult<ResponseEntity<?>> compararMetodos(@RequestBody ProblemaTransporteDTO problemaDTO) {
+        log.info("=== {} ===", Constants.Message.START_SERVICE);
+        log.debug("{}{}", Constants.Message.REQUEST, problemaDTO);
+
+        return ejecutarCompartible(control -> modeloTransporteService.solicitarComparacion(problemaDTO, control)
+                .thenApply(response -> {
+                    log.debug("{}{}", Constants.Message.RESPONSE, response);
+                    log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
+
+                    return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+                }));
+    }
+
+    /**
+     * Acota el costo óptimo sin resolver el problema.
+     *
+     * @param problemaDTO problema a cotizar (el método de solución inicial no es necesario)
+     * @return ApiResponseDTO con la cota inferior y la superior del costo óptimo
+     */
+    @PostMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_QUOTE)
+    public ResponseEntity<?> cotizar(@RequestBody ProblemaTransporteDTO problemaDTO) {
         log.info("=== {} ===", Constants.Message.START_SERVICE);
         log.debug("{}{}", Constants.Message.REQUEST, problemaDTO);
 
-        ApiResponseDTO<ComparacionMetodosDTO> response = modeloTransporteService.compararMetodos(problemaDTO);
+        ApiResponseDTO<CotizacionDTO> response = cotizacionApiService.cotizar(problemaDTO);
 
         log.debug("{}{}", Constants.Message.RESPONSE, response);
         log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
 
         return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
     }
-}
\ No newline at end of file
+
+    /**
+     * Verifica si un plan recibido es factible y óptimo sin resolver el problema.
+     *
+     * @param verificacionDTO problema, plan y potenciales opcionales
+     * @return ApiResponseDTO con el veredicto, las cotas de mejora y los potenciales evaluados
+     */
+    @PostMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_VERIFY)
+    public ResponseEntity<?> verificar(@RequestBody VerificacionDTO verificacionDTO) {
+        log.info("=== {} ===", Constants.Message.START_SERVICE);
+        log.debug("{}{}", Constants.Message.REQUEST, verificacionDTO);
+
+        ApiResponseDTO<CertificadoDTO> response = cotizacionApiService.verificar(verificacionDTO);
+
+        log.debug("{}{}", Constants.Message.RESPONSE, response);
+        log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
+
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Resuelve una red con nodos de transbordo como flujo de costo mínimo sobre sus arcos.
+     *
+     * @param redDTO red con orígenes, transbordos, destinos y arcos
+     * @return ApiResponseDTO con el flujo de cada arco usado
+     */
+    @PostMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_TRANSSHIPMENT)
+    public ResponseEntity<?> resolverTransbordo(@RequestBody RedTransbordoDTO redDTO) {
+        log.info("=== {} ===", Constants.Message.START_SERVICE);
+        log.debug("{}{}", Constants.Message.REQUEST, redDTO);
+
+        ApiResponseDTO<SolucionRedDTO> response = transbordoApiService.resolverTransbordo(redDTO);
+
+        log.debug("{}{}", Constants.Message.RESPONSE, response);
+        log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
+
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Resuelve varios productos que comparten la capacidad de los carriles.
+     *
+     * @param multiproductoDTO productos, capacidades conjuntas y rondas máximas
+     * @return ApiResponseDTO con el plan de cada producto y la cota inferior del costo
+     */
+    @PostMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_MULTICOMMODITY)
+    public DeferredResult<ResponseEntity<?>> resolverMultiproducto(@RequestBody MultiproductoDTO multiproductoDTO) {
+        log.info("=== {} ===", Constants.Message.START_SERVICE);
+        log.debug("{}{}", Constants.Message.REQUEST, multiproductoDTO);
+
+        return ejecutarCancelable(control -> {
+            ApiResponseDTO<SolucionMultiproductoDTO> response =
+                    multiproductoApiService.resolverMultiproducto(multiproductoDTO, control);
+
+            log.debug("{}{}", Constants.Message.RESPONSE, response);
+            log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
+
+            return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+        });
+    }
+
+    /**
+     * Resuelve un lote de escenarios (costos o cantidades distintos) sobre la misma red.
+     *
+     * @param loteDTO problema base y cambios de cada escenario
+     * @return ApiResponseDTO con el costo de cada escenario y su distribución
+     */
+    @PostMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_SCENARIOS)
+    public ResponseEntity<?> resolverEscenarios(@RequestBody LoteEscenariosDTO loteDTO) {
+        log.info("=== {} ===", Constants.Message.START_SERVICE);
+        log.debug("{}{}", Constants.Message.REQUEST, loteDTO);
+
+        ApiResponseDTO<ResultadoLoteDTO> response = escenariosApiService.resolverEscenarios(loteDTO);
+
+        log.debug("{}{}", Constants.Message.RESPONSE, response);
+        log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
+
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Sube un problema, lo resuelve y lo deja guardado para enviarle cambios.
+     *
+     * @param problemaDTO datos del problema
+     * @return ApiResponseDTO con el identificador y la solución completa
+     */
+    @PostMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_PROBLEMS)
+    public ResponseEntity<?> crearProblemaResidente(@RequestBody ProblemaTransporteDTO problemaDTO) {
+        log.info("=== {} ===", Constants.Message.START_SERVICE);
+
+        ApiResponseDTO<ProblemaResidenteDTO> response = residentesApiService.crearProblemaResidente(problemaDTO);
+
+        log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
+
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Aplica cambios a un problema guardado y devuelve las asignaciones que cambiaron.
+     *
+     * @param id         identificador del problema
+     * @param cambiosDTO cambios de costos, cantidades o carriles
+     * @return ApiResponseDTO con la nueva versión y las asignaciones cambiadas
+     */
+    @PatchMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_PROBLEM)
+    public ResponseEntity<?> actualizarProblemaResidente(
+            @PathVariable String id,
+            @RequestBody CambiosProblemaDTO cambiosDTO) {
+        log.info("=== {} ===", Constants.Message.START_SERVICE);
+        log.debug("{}{}", Constants.Message.REQUEST, cambiosDTO);
+
+        ApiResponseDTO<ActualizacionProblemaDTO> response =
+                residentesApiService.actualizarProblemaResidente(id, cambiosDTO);
+
+        log.debug("{}{}", Constants.Message.RESPONSE, response);
+        log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
+
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Encola cambios de ofertas y demandas de un problema guardado. Se aplican en
+     * micro-lotes y el plan actualizado se publica en el canal de actualizaciones.
+     *
+     * @param id         identificador del problema
+     * @param eventosDTO nuevas ofertas y demandas
+     * @return ApiResponseDTO con los eventos aceptados
+     */
+    @PostMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_PROBLEM_EVENTS)
+    public ResponseEntity<?> encolarEventos(
+            @PathVariable String id,
+            @RequestBody EventosCantidadDTO eventosDTO) {
+        log.debug("{}{}", Constants.Message.REQUEST, eventosDTO);
+
+        ApiResponseDTO<EventosEncoladosDTO> response = residentesApiService.encolarEventos(id, eventosDTO);
+
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Abre un canal de eventos del servidor (SSE) con cada nueva versión del plan de un problema guardado.
+     *
+     * @param id identificador del problema
+     * @return emisor de eventos "actualizacion" y "rechazo"
+     */
+    @GetMapping(value = Constants.Transporte.TRANSPORTE_SERVICE_PATH_PROBLEM_UPDATES,
+            produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter suscribirActualizaciones(@PathVariable String id) {
+        log.info("Nueva suscripción a las actualizaciones del problema {}", id);
+        return residentesApiService.suscribirActualizaciones(id);
+    }
+
+    /**
+     * Elimina un problema guardado.
+     *
+     * @param id identificador del problema
+     * @return ApiResponseDTO sin datos
+     */
+    @DeleteMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_PROBLEM)
+    public ResponseEntity<?> eliminarProblemaResidente(@PathVariable String id) {
+        ApiResponseDTO<Void> response = residentesApiService.eliminarProblemaResidente(id);
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Registra una red vial estática: la preprocesa en una jerarquía de contracción guardada
+     * en disco, que luego se usa con redId para calcular las matrices de costos.
+     *
+     * @param grafoDTO aristas de la red
+     * @return ApiResponseDTO con el identificador y el tamaño del índice
+     */
+    @PostMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_NETWORKS)
+    public ResponseEntity<?> registrarRed(@RequestBody GrafoVialDTO grafoDTO) {
+        log.info("=== {} ===", Constants.Message.START_SERVICE);
+
+        ApiResponseDTO<IndiceRedDTO> response = redesApiService.registrarRed(grafoDTO);
+
+        log.info("=== {} ===", Constants.Message.FINISH_SERVICE);
+
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Consulta el índice de una red vial registrada.
+     *
+     * @param id identificador de la red
+     * @return ApiResponseDTO con el tamaño del índice
+     */
+    @GetMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_NETWORK)
+    public ResponseEntity<?> obtenerRed(@PathVariable String id) {
+        ApiResponseDTO<IndiceRedDTO> response = redesApiService.obtenerRed(id);
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Elimina una red vial registrada y su índice.
+     *
+     * @param id identificador de la red
+     * @return ApiResponseDTO sin datos
+     */
+    @DeleteMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_NETWORK)
+    public ResponseEntity<?> eliminarRed(@PathVariable String id) {
+        ApiResponseDTO<Void> response = redesApiService.eliminarRed(id);
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Consulta los aciertos, fallos y ocupación de la caché de soluciones.
+     *
+     * @return ApiResponseDTO con las estadísticas de la caché
+     */
+    @GetMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_CACHE)
+    public ResponseEntity<?> obtenerEstadisticasCache() {
+        ApiResponseDTO<EstadisticasCacheDTO> response = modeloTransporteService.obtenerEstadisticasCache();
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Consulta los registros y arranques del historial de soluciones.
+     *
+     * @return ApiResponseDTO con las estadísticas del historial
+     */
+    @GetMapping(Constants.Transporte.TRANSPORTE_SERVICE_PATH_HISTORY)
+    public ResponseEntity<?> obtenerEstadisticasHistorial() {
+        ApiResponseDTO<EstadisticasHistorialDTO> response = modeloTransporteService.obtenerEstadisticasHistorial();
+        return new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus()));
+    }
+
+    /**
+     * Solo se etiquetan las soluciones completas: las interrumpidas por plazo dependen del tiempo
+     * disponible y los errores no se guardan.
+     */
+    private ResponseEntity<?> responderResolucion(String huella, ApiResponseDTO<SolucionTransporteDTO> result) {
+        if (result.isSuccess() && !result.getData().interrumpida()) {
+            return respuestasTransporte.responder(respuestasTransporte.guardar(huella, result));
+        }
+        return new ResponseEntity<>(result, HttpStatusCode.valueOf(result.getStatus()));
+    }
+
+    /**
+     * Ejecuta una resolución fuera del hilo de Tomcat. Si la conexión se cierra o la
+     * solicitud asíncrona falla antes de terminar, se cancela el control y los algoritmos
+     * se detienen en su próxima consulta.
+     */
+    private DeferredResult<ResponseEntity<?>> ejecutarCancelable(
+            Function<ControlEjecucion, ResponseEntity<?>> resolucion) {
+        return ejecutarCompartible(control -> CompletableFuture.completedFuture(resolucion.apply(control)));
+    }
+
+    /**
+     * Igual que {@link #ejecutarCancelable}, para resoluciones que pueden esperar a otra solicitud
+     * idéntica en curso: la respuesta se envía cuando se completa el futuro, sin ocupar el hilo.
+     */
+    private DeferredResult<ResponseEntity<?>> ejecutarCompartible(
+            Function<ControlEjecucion, CompletableFuture<ResponseEntity<?>>> resolucion) {
+
+        // Se crea al aceptar la solicitud: el plazo de la resolución incluye la espera en la cola
+        ControlEjecucion control = ControlEjecucion.cancelable();
+        // Sin tiempo de espera propio: el plazo lo controla la resolución (transporte.tiempo-limite-ms)
+        DeferredResult<ResponseEntity<?>> resultado = new DeferredResult<>(0L);
+
+        // Tomcat no avisa el cierre de una conexión que espera sin E/S: la sonda lo comprueba
+        SondaConexion sonda = SondaConexion.registrar(planificadorSondas, periodoSondaMs, control);
+        resultado.onError(error -> {
+            log.info("Error en la conexión, se cancela la resolución: {}", error.getMessage());
+            control.cancelar();
+        });
+        resultado.onTimeout(control::cancelar);
+
+        try {
+            ejecutorSolicitudes.execute(() -> {
+                if (control.fueCancelado()) {
+                    entregar(resultado, sonda, null, null);
+                    return;
+                }
+                CompletableFuture<ResponseEntity<?>> respuesta;
+                try {
+                    respuesta = resolucion.apply(control);
+                } catch (RuntimeException e) {
+                    log.error("Error al iniciar la resolución", e);
+                    entregar(resultado, sonda, null, e);
+                    return;
+                }
+                respuesta.whenComplete((entidad, error) -> entregar(resultado, sonda, entidad, error));
+            });
+        } catch (RejectedExecutionException e) {
+            // Cola llena: se rechaza ya en lugar de esperar hasta que venza el plazo
+            log.warn("Solicitud rechazada: no hay lugar en la cola de resoluciones");
+            ApiResponseDTO<Void> response = new ApiResponseDTO<>();
+            response.UnavailableOperation();
+            response.setMessage("Hay demasiadas resoluciones en espera, intente de nuevo más tarde");
+            entregar(resultado, sonda, new ResponseEntity<>(response, HttpStatusCode.valueOf(response.getStatus())), null);
+        }
+        return resultado;
+    }
+
+    /**
+     * Detiene la sonda y completa la solicitud asíncrona; todas las salidas de
+     * {@link #ejecutarCompartible} pasan por aquí para que ninguna quede abierta.
+     * Si el cliente se fue o la resolución se canceló antes de empezar, se cierra sin cuerpo.
+     */
+    private static void entregar(
+            DeferredResult<ResponseEntity<?>> resultado,
+            SondaConexion sonda,
+            ResponseEntity<?> respuesta,
+            Throwable error) {
+        boolean desconectado = sonda.detener();
+        if (desconectado || (respuesta == null && error == null)) {
+            resultado.setResult(ResponseEntity.noContent().build());
+        } else if (error != null) {
+            resultado.setErrorResult(error);
+        } else {
+            resultado.setResult(respuesta);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.io.graphtransportsolver.presentation.controller;
+
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.io.IOException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Comprueba periódicamente si el cliente cerró la conexión de una solicitud asíncrona y, si es
+ * así, cancela su resolución.
+ *
+ * Mientras una solicitud asíncrona espera su resultado, Tomcat no lee del socket, así que no se
+ * entera del cierre hasta que intenta escribir la respuesta: los callbacks onError del
+ * {@link DeferredResult} no se disparan. La sonda pone la entrada en modo no bloqueante y consulta
+ * {@code available()}, que con el cuerpo ya leído intenta una lectura sin bloquear del socket: el
+ * fin de la conexión se informa como datos disponibles. Un cliente HTTP/1.1 no envía nada más
+ * mientras espera la respuesta, así que cualquier dato también se toma como abandono.
+ */
+@Slf4j
+final class SondaConexion implements DeferredResultProcessingInterceptor {
+
+    private final ScheduledExecutorService planificador;
+    private final long periodoMs;
+    private final ControlEjecucion control;
+
+    private ScheduledFuture<?> tarea;
+    private boolean detenida;
+    private boolean desconectado;
+
+    private SondaConexion(ScheduledExecutorService planificador, long periodoMs, ControlEjecucion control) {
+        this.planificador = planificador;
+        this.periodoMs = periodoMs;
+        this.control = control;
+    }
+
+    /**
+     * Registra una sonda para la solicitud en curso; empieza a sondear cuando la solicitud pasa a
+     * ser asíncrona.
+     *
+     * @param planificador hilo que ejecuta las sondas
+     * @param periodoMs    milisegundos entre consultas (0 deshabilita la sonda)
+     * @param control      control que se cancela si el cliente se desconecta
+     * @return sonda registrada
+     */
+    static SondaConexion registrar(ScheduledExecutorService planificador, long periodoMs, ControlEjecucion control) {
+        SondaConexion sonda = new SondaConexion(planificador, periodoMs, control);
+        if (periodoMs > 0 && RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos) {
+            WebAsyncUtils.getAsyncManager(atributos.getRequest())
+                    .registerDeferredResultInterceptor(SondaConexion.class.getName(), sonda);
+        }
+        return sonda;
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, DeferredResult<T> deferredResult) throws IOException {
+        ServletInputStream entrada = request.getNativeRequest(HttpServletRequest.class).getInputStream();
+        synchronized (this) {
+            // El resultado ya está listo, o el cuerpo no se leyó entero y una lectura lo consumiría
+            if (detenida || !entrada.isFinished()) {
+                return;
+            }
+            entrada.setReadListener(new ReadListener() {
+                @Override
+                public void onDataAvailable() {
+                }
+
+                @Override
+                public void onAllDataRead() {
+                }
+
+                @Override
+                public void onError(Throwable error) {
+                }
+            });
+            tarea = planificador.scheduleWithFixedDelay(() -> sondear(entrada), periodoMs, periodoMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public <T> void afterCompletion(NativeWebRequest request, DeferredResult<T> deferredResult) {
+        detener();
+    }
+
+    /**
+     * Deja de sondear. Se llama antes de entregar el resultado, para que la sonda no lea del
+     * socket mientras se escribe la respuesta.
+     *
+     * @return true si el cliente se desconectó mientras se resolvía
+     */
+    synchronized boolean detener() {
+        detenida = true;
+        if (tarea != null) {
+            tarea.cancel(false);
+        }
+        return desconectado;
+    }
+
+    private synchronized void sondear(ServletInputStream entrada) {
+        if (detenida) {
+            return;
+        }
+        try {
+            desconectado = entrada.available() > 0;
+        } catch (IOException | IllegalStateException e) {
+            desconectado = true;
+        }
+        if (desconectado) {
+            log.info("Conexión cerrada por el cliente, se cancela la resolución");
+            detenida = true;
+            tarea.cancel(false);
+            control.cancelar();
+        }
+    }
+}
@@ -124,4 +124,28 @@ public class ApiResponseDTO<T> {
         setTimestamp(LocalDateTime.now());
     }
 
+    /**
+     * Configura la respuesta para una consulta de un recurso que no existe o ya se descartó.
+     * Establece un error de recurso no encontrado (404).
+     */
+    public void NotFoundOperation(){
+        setData(null);
+        setMessage(Constants.Message.NOT_FOUND_OPERATION);
+        setSuccess(false);
+        setStatus(HttpStatus.NOT_FOUND.value());
+        setTimestamp(LocalDateTime.now());
+    }
+
+    /**
+     * Configura la respuesta para una operación que no se pudo completar a tiempo y puede
+     * reintentarse. Establece un error de servicio no disponible (503).
+     */
+    public void UnavailableOperation(){
+        setData(null);
+        setMessage(Constants.Message.UNAVAILABLE_OPERATION);
+        setSuccess(false);
+        setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        setTimestamp(LocalDateTime.now());
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.io.graphtransportsolver.presentation.dto;
+
+/**
+ * DTO con el estado de una caché de soluciones (Response).
+ *
+ * @param aciertos     solicitudes respondidas desde la caché
+ * @param fallos       solicitudes que no estaban en la caché
+ * @param tasaAciertos aciertos sobre solicitudes consultadas (0 si no hubo)
+ * @param descartes    soluciones descartadas por falta de espacio
+ * @param rechazos     soluciones no guardadas por exceder la caché
+ * @param entradas     soluciones guardadas
+ * @param bytes        memoria estimada ocupada
+ * @param bytesMaximos memoria estimada máxima
+ */
+public record EstadisticasCacheDTO(
+        long aciertos,
+        long fallos,
+        double tasaAciertos,
+        long descartes,
+        long rechazos,
+        int entradas,
+        long bytes,
+        long bytesMaximos
+) {
+}
@@ -0,0 +1,28 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de actualizar un problema residente (Response).
+ * Solo incluye las asignaciones de orígenes y destinos reales que cambiaron.
+ *
+ * @param id                    identificador del problema
+ * @param version               nueva versión del problema
+ * @param costoTotal            costo óptimo tras los cambios
+ * @param esOptima              indica si se alcanzó el óptimo
+ * @param iteraciones           pivotes realizados
+ * @param arranqueEnCaliente    indica si se partió de la base anterior
+ * @param factible              false si no se pudo evitar usar carriles cerrados
+ * @param asignacionesCambiadas asignaciones que cambiaron
+ */
+public record ActualizacionProblemaDTO(
+        String id,
+        long version,
+        double costoTotal,
+        boolean esOptima,
+        int iteraciones,
+        boolean arranqueEnCaliente,
+        boolean factible,
+        List<CambioAsignacionDTO> asignacionesCambiadas
+) {
+}
@@ -0,0 +1,16 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con un arco dirigido de una red con transbordo (Request).
+ * Los nodos usan la numeración global: orígenes, luego transbordos y luego destinos.
+ *
+ * @param desde nodo de salida
+ * @param hasta nodo de llegada
+ * @param costo costo unitario del arco
+ */
+public record ArcoDTO(
+        int desde,
+        int hasta,
+        double costo
+) {
+}
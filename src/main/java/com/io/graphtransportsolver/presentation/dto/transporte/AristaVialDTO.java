@@ -0,0 +1,15 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con una arista de una red vial (Request).
+ *
+ * @param desde id del nodo de salida
+ * @param hasta id del nodo de llegada
+ * @param peso  distancia, tiempo o costo de recorrer la arista (mayor o igual a cero)
+ */
+public record AristaVialDTO(
+        long desde,
+        long hasta,
+        double peso
+) {
+}
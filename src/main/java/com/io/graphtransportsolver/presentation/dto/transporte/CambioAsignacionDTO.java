@@ -0,0 +1,17 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con una asignación que cambió tras actualizar un problema residente (Response).
+ *
+ * @param origen   índice del origen
+ * @param destino  índice del destino
+ * @param anterior asignación en la versión anterior
+ * @param nueva    asignación en la nueva versión
+ */
+public record CambioAsignacionDTO(
+        int origen,
+        int destino,
+        double anterior,
+        double nueva
+) {
+}
@@ -0,0 +1,13 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con el nuevo valor de una oferta o demanda (Request).
+ *
+ * @param indice índice del origen o destino
+ * @param valor  nueva cantidad
+ */
+public record CambioCantidadDTO(
+        int indice,
+        double valor
+) {
+}
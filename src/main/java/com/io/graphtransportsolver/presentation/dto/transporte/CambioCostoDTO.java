@@ -0,0 +1,15 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con el nuevo costo de una celda en un escenario (Request).
+ *
+ * @param origen  índice del origen
+ * @param destino índice del destino
+ * @param costo   nuevo costo unitario (no se le aplica el factor del escenario)
+ */
+public record CambioCostoDTO(
+        int origen,
+        int destino,
+        double costo
+) {
+}
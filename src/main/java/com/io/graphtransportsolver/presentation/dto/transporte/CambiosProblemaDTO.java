@@ -0,0 +1,22 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO con los cambios a aplicar sobre un problema residente (Request).
+ * Todos los campos son opcionales; los cambios se aplican todos o ninguno.
+ *
+ * @param costos           celdas con nuevo costo (abre el carril si estaba cerrado)
+ * @param ofertas          nuevas ofertas por índice de origen
+ * @param demandas         nuevas demandas por índice de destino
+ * @param carrilesCerrados carriles que dejan de poder usarse
+ * @param carrilesAbiertos carriles que vuelven a su costo original
+ */
+public record CambiosProblemaDTO(
+        List<CambioCostoDTO> costos,
+        List<CambioCantidadDTO> ofertas,
+        List<CambioCantidadDTO> demandas,
+        List<CarrilDTO> carrilesCerrados,
+        List<CarrilDTO> carrilesAbiertos
+) {
+}
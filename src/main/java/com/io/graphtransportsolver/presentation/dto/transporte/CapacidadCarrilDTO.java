@@ -0,0 +1,15 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con la capacidad máxima de un carril origen-destino (Request).
+ *
+ * @param origen    índice del origen
+ * @param destino   índice del destino
+ * @param capacidad cantidad máxima que puede enviarse por el carril (p. ej. camiones × carga)
+ */
+public record CapacidadCarrilDTO(
+        int origen,
+        int destino,
+        double capacidad
+) {
+}
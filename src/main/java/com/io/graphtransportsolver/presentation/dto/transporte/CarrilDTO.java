@@ -0,0 +1,13 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO que identifica un carril origen-destino (Request).
+ *
+ * @param origen  índice del origen
+ * @param destino índice del destino
+ */
+public record CarrilDTO(
+        int origen,
+        int destino
+) {
+}
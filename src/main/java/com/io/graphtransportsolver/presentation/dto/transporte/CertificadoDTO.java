@@ -0,0 +1,37 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import com.io.graphtransportsolver.models.transporte.enums.ResultadoVerificacion;
+
+/**
+ * DTO con el resultado de verificar un plan de transporte (Response).
+ *
+ * @param resultado                          OPTIMA, MEJORABLE, NO_FACTIBLE o INDETERMINADA
+ * @param violacionMaxima                    mayor violación de ofertas, demandas o no negatividad
+ * @param costoTotal                         costo total del plan
+ * @param cotaInferior                       cota inferior del costo óptimo
+ * @param mejoraMinima                       mejora de costo comprobada (null si el plan no es factible)
+ * @param mejoraMaxima                       máxima mejora posible (null si el plan no es factible)
+ * @param costoReducidoMinimo                menor costo reducido con los potenciales evaluados
+ * @param celdasMejorables                   celdas con costo reducido negativo
+ * @param violacionesHolgura                 celdas con flujo y costo reducido distinto de cero
+ * @param certificadoPorPotencialesRecibidos true si los potenciales enviados certificaron el plan
+ * @param potencialesFila                    potenciales u evaluados (certificado si el plan es óptimo)
+ * @param potencialesColumna                 potenciales v evaluados
+ * @param tiempoMicrosegundos                tiempo de la verificación (sin contar la lectura del request)
+ */
+public record CertificadoDTO(
+        ResultadoVerificacion resultado,
+        double violacionMaxima,
+        double costoTotal,
+        double cotaInferior,
+        Double mejoraMinima,
+        Double mejoraMaxima,
+        double costoReducidoMinimo,
+        int celdasMejorables,
+        int violacionesHolgura,
+        boolean certificadoPorPotencialesRecibidos,
+        double[] potencialesFila,
+        double[] potencialesColumna,
+        long tiempoMicrosegundos
+) {
+}
@@ -0,0 +1,17 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con las cotas del costo óptimo calculadas sin resolver el problema (Response).
+ *
+ * @param cotaInferior         ningún plan factible cuesta menos que este valor
+ * @param cotaSuperior         costo de un plan factible heurístico
+ * @param brechaOptimalidad    distancia relativa entre las cotas respecto a la superior
+ * @param tiempoMicrosegundos  tiempo de cálculo de las cotas (sin contar la lectura del request)
+ */
+public record CotizacionDTO(
+        double cotaInferior,
+        double cotaSuperior,
+        double brechaOptimalidad,
+        long tiempoMicrosegundos
+) {
+}
@@ -0,0 +1,22 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO con los cambios de un escenario respecto al problema base (Request).
+ * Todos los campos son opcionales; un escenario vacío es igual al base.
+ *
+ * @param nombre        nombre del escenario
+ * @param factorCostos  multiplicador de todos los costos (por defecto 1)
+ * @param cambiosCostos celdas con un costo distinto
+ * @param deltaOfertas  variación de la oferta de cada origen
+ * @param deltaDemandas variación de la demanda de cada destino
+ */
+public record EscenarioDTO(
+        String nombre,
+        Double factorCostos,
+        List<CambioCostoDTO> cambiosCostos,
+        double[] deltaOfertas,
+        double[] deltaDemandas
+) {
+}
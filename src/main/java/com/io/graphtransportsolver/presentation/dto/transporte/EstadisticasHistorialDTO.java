@@ -0,0 +1,21 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con el estado del historial de soluciones para arrancar en caliente (Response).
+ *
+ * @param habilitado  si el historial está en uso
+ * @param registros   problemas resueltos guardados
+ * @param segmentos   segmentos en disco
+ * @param bytes       bytes ocupados por los registros
+ * @param arranques   resoluciones que arrancaron desde una base del historial
+ * @param sinParecido consultas sin un problema parecido
+ */
+public record EstadisticasHistorialDTO(
+        boolean habilitado,
+        int registros,
+        int segmentos,
+        long bytes,
+        long arranques,
+        long sinParecido
+) {
+}
@@ -0,0 +1,16 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO con eventos de cambio de ofertas y demandas para la cola de ingesta (Request).
+ * Cada valor es la nueva cantidad; si una cantidad se repite, gana la última.
+ *
+ * @param ofertas  nuevas ofertas por índice de origen
+ * @param demandas nuevas demandas por índice de destino
+ */
+public record EventosCantidadDTO(
+        List<CambioCantidadDTO> ofertas,
+        List<CambioCantidadDTO> demandas
+) {
+}
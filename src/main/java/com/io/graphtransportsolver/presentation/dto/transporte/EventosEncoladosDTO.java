@@ -0,0 +1,16 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con el resultado de encolar eventos de cambio de cantidades (Response).
+ * Las actualizaciones del plan se publican después por el canal de eventos del problema.
+ *
+ * @param id         identificador del problema
+ * @param aceptados  eventos encolados
+ * @param pendientes eventos en la cola sin procesar (de todos los problemas)
+ */
+public record EventosEncoladosDTO(
+        String id,
+        int aceptados,
+        int pendientes
+) {
+}
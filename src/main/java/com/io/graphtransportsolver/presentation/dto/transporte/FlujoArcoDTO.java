@@ -0,0 +1,21 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con el flujo de un arco de la red (Response).
+ *
+ * @param desde         nodo de salida (numeración global)
+ * @param hasta         nodo de llegada (numeración global)
+ * @param nombreDesde   nombre del nodo de salida (null si no se envió)
+ * @param nombreHasta   nombre del nodo de llegada (null si no se envió)
+ * @param cantidad      cantidad enviada por el arco
+ * @param costoUnitario costo unitario del arco
+ */
+public record FlujoArcoDTO(
+        int desde,
+        int hasta,
+        String nombreDesde,
+        String nombreHasta,
+        double cantidad,
+        double costoUnitario
+) {
+}
@@ -0,0 +1,15 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO con una red vial estática para registrar y preprocesar (Request).
+ *
+ * @param aristas  aristas de la red
+ * @param dirigida si las aristas solo se recorren en su sentido (por defecto false)
+ */
+public record GrafoVialDTO(
+        List<AristaVialDTO> aristas,
+        Boolean dirigida
+) {
+}
@@ -0,0 +1,21 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con el índice de una red vial registrada (Response).
+ *
+ * @param id                     identificador de la red, para usarlo como redId en los problemas
+ * @param nodos                  nodos de la red
+ * @param aristasAscendentes     aristas que suben de rango, contando los atajos
+ * @param atajos                 atajos agregados por la contracción
+ * @param bytes                  tamaño del archivo del índice
+ * @param milisegundosPreproceso duración de la contracción (0 si la red ya estaba registrada)
+ */
+public record IndiceRedDTO(
+        String id,
+        int nodos,
+        int aristasAscendentes,
+        int atajos,
+        long bytes,
+        long milisegundosPreproceso
+) {
+}
@@ -0,0 +1,15 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO para resolver muchos escenarios sobre una misma red (Request).
+ *
+ * @param problema   problema base (su metodoInicial se usa para los escenarios resueltos desde cero)
+ * @param escenarios cambios de cada escenario respecto al base
+ */
+public record LoteEscenariosDTO(
+        ProblemaTransporteDTO problema,
+        List<EscenarioDTO> escenarios
+) {
+}
@@ -0,0 +1,23 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO para recibir varios productos que comparten la capacidad de los carriles (Request).
+ *
+ * @param productos       costos y cantidades de cada producto, todos con los mismos orígenes y destinos
+ * @param nombresOrigenes nombres opcionales de los orígenes
+ * @param nombresDestinos nombres opcionales de los destinos
+ * @param capacidades     capacidad conjunta de los carriles con límite (para la suma de todos los productos)
+ * @param iteraciones     máximo de rondas de precios (por defecto 60)
+ * @param tiempoLimiteMs  presupuesto de tiempo en milisegundos (opcional)
+ */
+public record MultiproductoDTO(
+        List<ProductoDTO> productos,
+        String[] nombresOrigenes,
+        String[] nombresDestinos,
+        List<CapacidadCarrilDTO> capacidades,
+        Integer iteraciones,
+        Long tiempoLimiteMs
+) {
+}
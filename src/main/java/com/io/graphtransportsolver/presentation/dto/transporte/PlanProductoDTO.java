@@ -0,0 +1,15 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con el plan de envío de un producto (Response).
+ *
+ * @param nombre       nombre del producto
+ * @param asignaciones cantidades enviadas [orígenes][destinos], sin orígenes ni destinos ficticios
+ * @param costo        costo del plan del producto
+ */
+public record PlanProductoDTO(
+        String nombre,
+        double[][] asignaciones,
+        double costo
+) {
+}
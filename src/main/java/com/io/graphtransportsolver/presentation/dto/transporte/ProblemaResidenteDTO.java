@@ -0,0 +1,15 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con el identificador de un problema residente y su primera solución (Response).
+ *
+ * @param id       identificador para enviar los cambios
+ * @param version  versión del problema (0 al crearlo)
+ * @param solucion solución óptima completa
+ */
+public record ProblemaResidenteDTO(
+        String id,
+        long version,
+        SolucionTransporteDTO solucion
+) {
+}
@@ -1,17 +1,44 @@
 package com.io.graphtransportsolver.presentation.dto.transporte;
 
+import com.io.graphtransportsolver.models.transporte.enums.FormulaCosto;
 import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
+
+import java.util.List;
 
 /**
  * DTO para recibir un problema de transporte desde el frontend (Request).
  * Solo transporta datos. Las validaciones se realizan en el controlador o en el modelo de dominio.
  *
- * @param costos            matriz de costos unitarios de transporte
+ * Los costos pueden enviarse como matriz explícita o, en su lugar, como coordenadas
+ * de orígenes y destinos más una fórmula de distancia (costos implícitos) o como una
+ * red vial de la que se calculan los caminos mínimos.
+ *
+ * @param costos            matriz de costos unitarios de transporte (opcional si se envían coordenadas o red)
  * @param ofertas           array de ofertas (capacidades) de los orígenes
  * @param demandas          array de demandas (requerimientos) de los destinos
  * @param nombresOrigenes   nombres opcionales de los orígenes
  * @param nombresDestinos   nombres opcionales de los destinos
  * @param metodoInicial     método a utilizar para encontrar la solución inicial
+ * @param coordenadasOrigenes coordenadas [x, y] o [latitud, longitud] de cada origen (opcional)
+ * @param coordenadasDestinos coordenadas [x, y] o [latitud, longitud] de cada destino (opcional)
+ * @param formulaCosto      fórmula de distancia para los costos implícitos (por defecto EUCLIDIANA)
+ * @param tarifa            costo por unidad de distancia (por defecto 1)
+ * @param costoFijo         costo fijo por unidad transportada (por defecto 0)
+ * @param modoOptimizacion  optimización a aplicar tras la solución inicial (por defecto NINGUNA)
+ * @param carrilesCandidatos carriles más baratos por fila y columna para el modo CARRILES_CANDIDATOS
+ * @param comprimirCostos   guardar la matriz de costos comprimida sin pérdida (por defecto false)
+ * @param presolve          reducir el problema antes de resolverlo (por defecto false)
+ * @param costoProhibido    costo a partir del cual un carril se considera prohibido; si se indica,
+ *                          el problema se descompone en regiones independientes resueltas en paralelo
+ * @param baseInicial       celdasBasicas de una solución anterior del mismo problema (arranque en caliente, opcional)
+ * @param incluirSensibilidad incluir rangos de costos y precios sombra (requiere optimización)
+ * @param tiempoLimiteMs    presupuesto de tiempo en milisegundos; al vencer se devuelve la mejor solución
+ *                          factible encontrada con su brecha de optimalidad (opcional)
+ * @param capacidades       capacidad máxima de los carriles con límite (opcional); requiere modoOptimizacion
+ *                          MODI o CARRILES_CANDIDATOS y se resuelve con MODI de variables acotadas
+ * @param red               red vial de la que se derivan los costos (opcional; la matriz explícita
+ *                          tiene prioridad y la red sobre las coordenadas)
  */
 public record ProblemaTransporteDTO(
         double[][] costos,
@@ -19,7 +46,22 @@ public record ProblemaTransporteDTO(
         double[] demandas,
         String[] nombresOrigenes,
         String[] nombresDestinos,
-        MetodoSolucionInicial metodoInicial
+        MetodoSolucionInicial metodoInicial,
+        double[][] coordenadasOrigenes,
+        double[][] coordenadasDestinos,
+        FormulaCosto formulaCosto,
+        Double tarifa,
+        Double costoFijo,
+        ModoOptimizacion modoOptimizacion,
+        Integer carrilesCandidatos,
+        Boolean comprimirCostos,
+        Boolean presolve,
+        Double costoProhibido,
+        int[] baseInicial,
+        Boolean incluirSensibilidad,
+        Long tiempoLimiteMs,
+        List<CapacidadCarrilDTO> capacidades,
+        RedVialDTO red
 ) {
 }
 
@@ -0,0 +1,17 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con los datos de un producto de un problema multiproducto (Request).
+ *
+ * @param nombre   nombre opcional del producto
+ * @param costos   costos unitarios del producto [orígenes][destinos]
+ * @param ofertas  oferta del producto en cada origen
+ * @param demandas demanda del producto en cada destino
+ */
+public record ProductoDTO(
+        String nombre,
+        double[][] costos,
+        double[] ofertas,
+        double[] demandas
+) {
+}
@@ -0,0 +1,28 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO para recibir una red de transporte con nodos de transbordo (Request).
+ *
+ * Los nodos se numeran de forma global: orígenes 0..m-1, transbordos m..m+k-1 y destinos
+ * m+k..m+k+n-1. Solo se envían los arcos existentes.
+ *
+ * @param ofertas            ofertas de los orígenes
+ * @param demandas           demandas de los destinos
+ * @param transbordos        número de nodos de transbordo (opcional si se envían sus nombres)
+ * @param nombresOrigenes    nombres opcionales de los orígenes
+ * @param nombresTransbordos nombres opcionales de los transbordos
+ * @param nombresDestinos    nombres opcionales de los destinos
+ * @param arcos              arcos dirigidos con su costo unitario
+ */
+public record RedTransbordoDTO(
+        double[] ofertas,
+        double[] demandas,
+        Integer transbordos,
+        String[] nombresOrigenes,
+        String[] nombresTransbordos,
+        String[] nombresDestinos,
+        List<ArcoDTO> arcos
+) {
+}
@@ -0,0 +1,27 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO con la red vial de la que se derivan los costos de un problema de transporte (Request).
+ *
+ * El costo de cada carril es tarifa × distancia del camino mínimo entre el nodo del origen
+ * y el del destino, más el costo fijo. En lugar de las aristas puede indicarse una red
+ * registrada antes, cuyas distancias se consultan sobre su jerarquía de contracción.
+ *
+ * @param aristas           aristas de la red (opcional si se indica redId)
+ * @param origenes          id del nodo de cada origen
+ * @param destinos          id del nodo de cada destino
+ * @param dirigida          si las aristas solo se recorren en su sentido (por defecto false)
+ * @param costoInalcanzable costo de los carriles sin camino; si no se indica, se rechaza el problema
+ * @param redId             identificador de una red registrada (opcional; sustituye a aristas y dirigida)
+ */
+public record RedVialDTO(
+        List<AristaVialDTO> aristas,
+        long[] origenes,
+        long[] destinos,
+        Boolean dirigida,
+        Double costoInalcanzable,
+        String redId
+) {
+}
@@ -0,0 +1,23 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con el resultado de un escenario (Response).
+ *
+ * @param nombre             nombre del escenario
+ * @param costoTotal         costo óptimo del escenario
+ * @param esOptima           indica si se alcanzó el óptimo
+ * @param iteraciones        pivotes realizados
+ * @param arranqueEnCaliente indica si se partió de la base de un escenario vecino
+ * @param vecino             índice del escenario vecino (-1 para el base, null sin arranque en caliente)
+ * @param error              motivo por el que no se resolvió (null si se resolvió)
+ */
+public record ResultadoEscenarioDTO(
+        String nombre,
+        double costoTotal,
+        boolean esOptima,
+        int iteraciones,
+        boolean arranqueEnCaliente,
+        Integer vecino,
+        String error
+) {
+}
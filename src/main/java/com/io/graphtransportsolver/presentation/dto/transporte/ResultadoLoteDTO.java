@@ -0,0 +1,15 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de un lote de escenarios (Response).
+ *
+ * @param escenarios resultado de cada escenario, en el orden recibido
+ * @param resumen    distribución del costo
+ */
+public record ResultadoLoteDTO(
+        List<ResultadoEscenarioDTO> escenarios,
+        ResumenEscenariosDTO resumen
+) {
+}
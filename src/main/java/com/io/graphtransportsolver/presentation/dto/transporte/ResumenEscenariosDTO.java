@@ -0,0 +1,33 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con la distribución del costo óptimo sobre los escenarios resueltos (Response).
+ *
+ * @param escenarios          escenarios del lote
+ * @param resueltos           escenarios resueltos sin error
+ * @param costoBase           costo óptimo del problema base
+ * @param costoMinimo         menor costo
+ * @param costoMaximo         mayor costo
+ * @param costoPromedio       costo promedio
+ * @param desviacionEstandar  desviación estándar del costo
+ * @param percentil5          percentil 5 del costo
+ * @param mediana             mediana del costo
+ * @param percentil95         percentil 95 del costo
+ * @param arranquesEnCaliente escenarios que partieron de la base de un vecino
+ * @param iteracionesTotales  pivotes de todos los escenarios
+ */
+public record ResumenEscenariosDTO(
+        int escenarios,
+        int resueltos,
+        double costoBase,
+        double costoMinimo,
+        double costoMaximo,
+        double costoPromedio,
+        double desviacionEstandar,
+        double percentil5,
+        double mediana,
+        double percentil95,
+        int arranquesEnCaliente,
+        long iteracionesTotales
+) {
+}
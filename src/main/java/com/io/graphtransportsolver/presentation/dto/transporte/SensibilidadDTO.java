@@ -0,0 +1,21 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con el análisis de sensibilidad de una solución óptima (Response).
+ * Los rangos se refieren a variar el costo de una sola celda a la vez sin que cambie el plan;
+ * un límite null significa que no está acotado.
+ *
+ * @param preciosSombraOfertas  potenciales u_i de los orígenes (u_0 = 0 como referencia)
+ * @param preciosSombraDemandas potenciales v_j de los destinos
+ * @param costosReducidos       costos reducidos c_ij - u_i - v_j [orígenes][destinos]
+ * @param costoMinimo           menor costo de cada celda que conserva el plan
+ * @param costoMaximo           mayor costo de cada celda que conserva el plan
+ */
+public record SensibilidadDTO(
+        double[] preciosSombraOfertas,
+        double[] preciosSombraDemandas,
+        double[][] costosReducidos,
+        Double[][] costoMinimo,
+        Double[][] costoMaximo
+) {
+}
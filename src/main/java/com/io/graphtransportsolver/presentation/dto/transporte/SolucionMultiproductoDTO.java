@@ -0,0 +1,35 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO con el plan de varios productos que comparten la capacidad de los carriles (Response).
+ *
+ * @param costoTotal        costo total del plan
+ * @param cotaInferior      cota inferior del costo óptimo (relajación lagrangiana), nunca mayor que costoTotal
+ * @param brechaOptimalidad (costoTotal - cotaInferior) / |costoTotal|; solo acota la distancia al
+ *                          óptimo si el plan es factible
+ * @param factible          indica si el plan respeta todas las capacidades; si es false se devuelve
+ *                          el último plan de la relajación, que supera algún carril
+ * @param interrumpida      indica si se agotó el tiempo antes de terminar
+ * @param iteraciones       rondas de precios realizadas
+ * @param productos         plan de cada producto
+ * @param carriles          uso y precio de cada carril con límite
+ * @param nombresOrigenes   nombres de los orígenes (si se proporcionaron)
+ * @param nombresDestinos   nombres de los destinos (si se proporcionaron)
+ * @param tiempoMicrosegundos tiempo de cálculo en el servidor
+ */
+public record SolucionMultiproductoDTO(
+        double costoTotal,
+        double cotaInferior,
+        double brechaOptimalidad,
+        boolean factible,
+        boolean interrumpida,
+        int iteraciones,
+        List<PlanProductoDTO> productos,
+        List<UsoCarrilDTO> carriles,
+        String[] nombresOrigenes,
+        String[] nombresDestinos,
+        long tiempoMicrosegundos
+) {
+}
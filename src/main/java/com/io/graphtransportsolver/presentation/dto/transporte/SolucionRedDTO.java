@@ -0,0 +1,21 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+import java.util.List;
+
+/**
+ * DTO con el flujo de costo mínimo de una red con transbordo (Response).
+ *
+ * @param costoTotal          costo total del flujo
+ * @param flujos              arcos con flujo positivo
+ * @param demandaInsatisfecha demanda sin cubrir (falta de oferta o destinos sin camino)
+ * @param ofertaSobrante      oferta que quedó en los orígenes
+ * @param iteraciones         caminos de aumento utilizados
+ */
+public record SolucionRedDTO(
+        double costoTotal,
+        List<FlujoArcoDTO> flujos,
+        double demandaInsatisfecha,
+        double ofertaSobrante,
+        int iteraciones
+) {
+}
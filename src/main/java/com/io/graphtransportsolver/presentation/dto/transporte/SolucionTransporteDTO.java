@@ -1,6 +1,7 @@
 package com.io.graphtransportsolver.presentation.dto.transporte;
 
 import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
 import com.io.graphtransportsolver.models.transporte.enums.TipoBalance;
 
 /**
@@ -14,6 +15,20 @@ import com.io.graphtransportsolver.models.transporte.enums.TipoBalance;
  * @param tipoBalance        tipo de balance del problema (BALANCEADO, EXCESO_OFERTA, EXCESO_DEMANDA)
  * @param nombresOrigenes    nombres de los orígenes (si se proporcionaron)
  * @param nombresDestinos    nombres de los destinos (si se proporcionaron)
+ * @param modoOptimizacion   optimización aplicada después de la solución inicial
+ * @param esOptima           indica si se verificó que la solución es óptima
+ * @param iteracionesOptimizacion número de pivotes realizados al optimizar
+ * @param celdasBasicas      base final como índices planos (i * n + j) sobre la matriz de asignaciones;
+ *                           se puede reenviar como baseInicial para un arranque en caliente (null si no se optimizó
+ *                           o si el problema tiene capacidades por carril)
+ * @param celdasEnCotaSuperior celdas no básicas que usan toda la capacidad de su carril, como índices planos
+ *                           (solo con capacidades por carril)
+ * @param arranqueEnCaliente indica si se resolvió reanudando desde la base inicial recibida o desde la de un
+ *                           problema parecido del historial
+ * @param sensibilidad       rangos de costos y precios sombra (solo si se solicitó)
+ * @param interrumpida       indica si se agotó el tiempo antes de confirmar el óptimo (la solución es factible)
+ * @param cotaInferior       cota inferior dual del costo óptimo (solo si se interrumpió)
+ * @param brechaOptimalidad  (costoTotal - cotaInferior) / |costoTotal| (solo si se interrumpió)
  */
 public record SolucionTransporteDTO(
         double[][] asignaciones,
@@ -22,7 +37,17 @@ public record SolucionTransporteDTO(
         boolean seBalanceo,
         TipoBalance tipoBalance,
         String[] nombresOrigenes,
-        String[] nombresDestinos
+        String[] nombresDestinos,
+        ModoOptimizacion modoOptimizacion,
+        boolean esOptima,
+        int iteracionesOptimizacion,
+        int[] celdasBasicas,
+        int[] celdasEnCotaSuperior,
+        boolean arranqueEnCaliente,
+        SensibilidadDTO sensibilidad,
+        boolean interrumpida,
+        Double cotaInferior,
+        Double brechaOptimalidad
 ) {
 }
 
@@ -0,0 +1,20 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO con el uso de un carril con capacidad conjunta (Response).
+ *
+ * @param origen    índice del origen
+ * @param destino   índice del destino
+ * @param capacidad capacidad del carril
+ * @param uso       suma de lo que envían todos los productos por el carril
+ * @param precio    precio final por unidad del carril: cuánto bajaría el costo si tuviera una unidad más
+ *                  de capacidad (aproximado; cero si sobra capacidad)
+ */
+public record UsoCarrilDTO(
+        int origen,
+        int destino,
+        double capacidad,
+        double uso,
+        double precio
+) {
+}
@@ -0,0 +1,17 @@
+package com.io.graphtransportsolver.presentation.dto.transporte;
+
+/**
+ * DTO para verificar un plan de transporte obtenido en otro sistema (Request).
+ *
+ * @param problema           problema al que corresponde el plan (el método de solución inicial no es necesario)
+ * @param asignaciones       plan a verificar [orígenes][destinos], sin origen ni destino ficticio
+ * @param potencialesFila    potenciales duales u de los orígenes (opcional)
+ * @param potencialesColumna potenciales duales v de los destinos (opcional, junto con potencialesFila)
+ */
+public record VerificacionDTO(
+        ProblemaTransporteDTO problema,
+        double[][] asignaciones,
+        double[] potencialesFila,
+        double[] potencialesColumna
+) {
+}
@@ -4,14 +4,22 @@ import com.io.graphtransportsolver.algoritmos.grafico.CalculadorVertices;
 import com.io.graphtransportsolver.models.grafico.*;
 import com.io.graphtransportsolver.models.grafico.enums.TipoDesigualdad;
 import com.io.graphtransportsolver.presentation.dto.ApiResponseDTO;
+import com.io.graphtransportsolver.presentation.dto.EstadisticasCacheDTO;
 import com.io.graphtransportsolver.presentation.dto.grafico.ProblemaGraficoDTO;
 import com.io.graphtransportsolver.presentation.dto.grafico.SolucionGraficoDTO;
+import com.io.graphtransportsolver.utils.CacheLRUPonderada;
 import com.io.graphtransportsolver.utils.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -37,7 +45,11 @@ public class MetodoGraficoService {
 
     private static final double EPSILON = 1e-10;
 
+    // Prefijo de la huella: cambiarlo invalida las claves de versiones anteriores
+    private static final String VERSION_HUELLA = "grafico-v1";
+
     private final CalculadorVertices calculadorVertices;
+    private final CacheLRUPonderada<SolucionGraficoDTO> cacheSolucionesGrafico;
 
     /**
      * Resuelve un problema de programación lineal usando el método gráfico.
@@ -66,6 +78,22 @@ public class MetodoGraficoService {
                 return response;
             }
 
+            // 3.1 Reutilizar la solución si el mismo problema ya se resolvió, aunque sea en otro orden
+            String huella = calcularHuella(problema);
+            SolucionGraficoDTO guardada = cacheSolucionesGrafico.obtener(huella);
+            if (guardada != null) {
+                log.info("Solución tomada de la caché ({})", huella);
+                // Las restricciones se devuelven en el orden recibido, para que coincidan con las del cliente
+                response.SuccessOperation(new SolucionGraficoDTO(
+                        guardada.puntoOptimo(),
+                        guardada.vertices(),
+                        guardada.regionFactible(),
+                        convertirRestriccionesADTO(problema.getRestricciones()),
+                        guardada.tipoSolucion()));
+                log.info("{}", Constants.Message.FINISH_SERVICE);
+                return response;
+            }
+
             // 4. Resolver usando algoritmos
             ResultadoGrafico resultado = calculadorVertices.calcular(problema);
 
@@ -73,6 +101,7 @@ public class MetodoGraficoService {
 
             // 5. Convertir resultado a DTO (incluye restricciones para graficar)
             SolucionGraficoDTO solucionDTO = convertirResultadoADTO(resultado, problema);
+            cacheSolucionesGrafico.guardar(huella, solucionDTO, estimarBytes(solucionDTO));
 
             // 6. Configurar respuesta exitosa
             response.SuccessOperation(solucionDTO);
@@ -225,14 +254,7 @@ public class MetodoGraficoService {
                 .collect(Collectors.toList());
 
         // Convertir restricciones desde el modelo
-        List<SolucionGraficoDTO.RestriccionDTO> restriccionesDTO = resultado.getRestricciones().stream()
-                .map(r -> new SolucionGraficoDTO.RestriccionDTO(
-                        r.getCoeficienteX1(),
-                        r.getCoeficienteX2(),
-                        r.getLadoDerecho(),
-                        r.getTipo().name()
-                ))
-                .collect(Collectors.toList());
+        List<SolucionGraficoDTO.RestriccionDTO> restriccionesDTO = convertirRestriccionesADTO(resultado.getRestricciones());
 
 
         return new SolucionGraficoDTO(
@@ -244,6 +266,20 @@ public class MetodoGraficoService {
         );
     }
 
+    /**
+     * Convierte las restricciones del modelo a DTO para graficarlas.
+     */
+    private List<SolucionGraficoDTO.RestriccionDTO> convertirRestriccionesADTO(List<Restriccion> restricciones) {
+        return restricciones.stream()
+                .map(r -> new SolucionGraficoDTO.RestriccionDTO(
+                        r.getCoeficienteX1(),
+                        r.getCoeficienteX2(),
+                        r.getLadoDerecho(),
+                        r.getTipo().name()
+                ))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Convierte un punto del modelo a DTO.
      */
@@ -256,6 +292,69 @@ public class MetodoGraficoService {
         );
     }
 
+    /**
+     * Huella canónica del problema: SHA-256 de la función objetivo, la no negatividad y las
+     * restricciones ordenadas, así que no depende del orden en que se enviaron.
+     */
+    private String calcularHuella(ProblemaGrafico problema) {
+        List<Restriccion> ordenadas = new ArrayList<>(problema.getRestricciones());
+        ordenadas.sort(Comparator.comparingDouble(Restriccion::getCoeficienteX1)
+                .thenComparingDouble(Restriccion::getCoeficienteX2)
+                .thenComparing(Restriccion::getTipo)
+                .thenComparingDouble(Restriccion::getLadoDerecho));
+
+        FuncionObjetivo funcionObjetivo = problema.getFuncionObjetivo();
+        ByteBuffer datos = ByteBuffer.allocate(22 + 25 * ordenadas.size());
+        datos.putDouble(funcionObjetivo.getCoeficienteX1() + 0.0)
+                .putDouble(funcionObjetivo.getCoeficienteX2() + 0.0)
+                .put((byte) funcionObjetivo.getTipo().ordinal())
+                .put((byte) (problema.isRestriccionesNoNegatividad() ? 1 : 0))
+                .putInt(ordenadas.size());
+        for (Restriccion r : ordenadas) {
+            datos.putDouble(r.getCoeficienteX1() + 0.0)
+                    .putDouble(r.getCoeficienteX2() + 0.0)
+                    .put((byte) r.getTipo().ordinal())
+                    .putDouble(r.getLadoDerecho() + 0.0);
+        }
+
+        try {
+            MessageDigest resumen = MessageDigest.getInstance("SHA-256");
+            resumen.update(VERSION_HUELLA.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(resumen.digest(datos.array()));
+        } catch (NoSuchAlgorithmException e) {
+            // Toda JVM debe incluir SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Memoria aproximada de una solución: puntos y restricciones con sus objetos.
+     */
+    private long estimarBytes(SolucionGraficoDTO solucion) {
+        int puntos = solucion.vertices().size() + solucion.regionFactible().size() + 1;
+        return 128L + 48L * puntos + 64L * solucion.restricciones().size();
+    }
+
+    /**
+     * Consulta los aciertos, fallos y ocupación de la caché de soluciones.
+     *
+     * @return ApiResponseDTO con las estadísticas de la caché
+     */
+    public ApiResponseDTO<EstadisticasCacheDTO> obtenerEstadisticasCache() {
+        CacheLRUPonderada.Estadisticas estadisticas = cacheSolucionesGrafico.estadisticas();
+        ApiResponseDTO<EstadisticasCacheDTO> response = new ApiResponseDTO<>();
+        response.SuccessOperation(new EstadisticasCacheDTO(
+                estadisticas.aciertos(),
+                estadisticas.fallos(),
+                estadisticas.tasaAciertos(),
+                estadisticas.descartes(),
+                estadisticas.rechazos(),
+                estadisticas.entradas(),
+                estadisticas.bytes(),
+                estadisticas.bytesMaximos()));
+        return response;
+    }
+
     /**
      * Formatea valores numéricos para evitar problemas de precisión.
      */
@@ -0,0 +1,130 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.ProblemaResidente;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+/**
+ * Almacén en memoria de problemas residentes, acotado por cantidad y por memoria estimada.
+ * Al superar cualquiera de los límites se descartan los problemas usados hace más tiempo (LRU).
+ * Quien guarde recursos por problema (p. ej. suscripciones) se entera de cada problema que se
+ * elimina o se descarta con {@link #alDescartar}.
+ */
+@Service
+@Slf4j
+public class AlmacenProblemasService {
+
+    private final long memoriaMaxima;
+    private final int maximoProblemas;
+
+    // Orden de acceso: el primero es el menos usado recientemente
+    private final LinkedHashMap<String, Entrada> problemas = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoriaOcupada = 0L;
+
+    // Reciben el id de cada problema que sale del almacén y el motivo
+    private final List<BiConsumer<String, String>> oyentes = new CopyOnWriteArrayList<>();
+
+    public AlmacenProblemasService(
+            @Value("${transporte.residentes.memoria-mb:512}") long memoriaMb,
+            @Value("${transporte.residentes.maximo:64}") int maximoProblemas) {
+        this.memoriaMaxima = memoriaMb * 1024L * 1024L;
+        this.maximoProblemas = maximoProblemas;
+    }
+
+    /**
+     * Registra un oyente de los problemas que salen del almacén, eliminados o descartados por
+     * falta de espacio. Se invoca después de quitar el problema, fuera del candado del almacén.
+     *
+     * @param oyente recibe el id del problema y el motivo
+     */
+    public void alDescartar(BiConsumer<String, String> oyente) {
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Guarda o vuelve a contabilizar un problema y descarta los menos usados si hace falta.
+     *
+     * @param problema problema residente
+     */
+    public void guardar(ProblemaResidente problema) {
+        List<String> descartados = guardarYDescartar(problema);
+        descartados.forEach(id -> notificar(id, "se descartó por falta de espacio"));
+    }
+
+    private synchronized List<String> guardarYDescartar(ProblemaResidente problema) {
+        long bytes = problema.estimarBytes();
+        if (bytes > memoriaMaxima) {
+            throw new IllegalArgumentException("El problema excede la memoria disponible para problemas residentes");
+        }
+
+        Entrada anterior = problemas.put(problema.getId(), new Entrada(problema, bytes));
+        if (anterior != null) {
+            memoriaOcupada -= anterior.bytes();
+        }
+        memoriaOcupada += bytes;
+
+        List<String> descartados = new ArrayList<>();
+        Iterator<Map.Entry<String, Entrada>> menosUsados = problemas.entrySet().iterator();
+        while ((memoriaOcupada > memoriaMaxima || problemas.size() > maximoProblemas) && menosUsados.hasNext()) {
+            Map.Entry<String, Entrada> entrada = menosUsados.next();
+            if (entrada.getKey().equals(problema.getId())) {
+                continue;
+            }
+            memoriaOcupada -= entrada.getValue().bytes();
+            menosUsados.remove();
+            descartados.add(entrada.getKey());
+            log.info("Problema residente {} descartado por falta de espacio", entrada.getKey());
+        }
+        return descartados;
+    }
+
+    /**
+     * Obtiene un problema y lo marca como usado recientemente.
+     *
+     * @param id identificador del problema
+     * @return el problema residente
+     */
+    public synchronized ProblemaResidente obtener(String id) {
+        Entrada entrada = problemas.get(id);
+        if (entrada == null) {
+            throw new IllegalArgumentException("No existe el problema " + id + " (puede haber expirado)");
+        }
+        return entrada.problema();
+    }
+
+    /**
+     * Elimina un problema del almacén.
+     *
+     * @param id identificador del problema
+     */
+    public void eliminar(String id) {
+        quitar(id);
+        notificar(id, "se eliminó");
+    }
+
+    private synchronized void quitar(String id) {
+        Entrada entrada = problemas.remove(id);
+        if (entrada == null) {
+            throw new IllegalArgumentException("No existe el problema " + id + " (puede haber expirado)");
+        }
+        memoriaOcupada -= entrada.bytes();
+    }
+
+    private void notificar(String id, String motivo) {
+        for (BiConsumer<String, String> oyente : oyentes) {
+            oyente.accept(id, motivo);
+        }
+    }
+
+    private record Entrada(ProblemaResidente problema, long bytes) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.io.graphtransportsolver.services.transporte;
 
 import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.CostosConFicticio;
 import com.io.graphtransportsolver.models.transporte.enums.TipoBalance;
 import org.springframework.stereotype.Service;
 
@@ -59,20 +60,28 @@ public class BalanceadorService {
         }
 
         // Crear nueva matriz de costos con columna adicional
-        double[][] nuevosCostos = new double[m][n + 1];
-        for (int i = 0; i < m; i++) {
-            System.arraycopy(problema.getCostos()[i], 0, nuevosCostos[i], 0, n);
-            nuevosCostos[i][n] = COSTO_FICTICIO;
+        // (con costos implícitos solo se decora la fuente, sin materializarla)
+        double[][] nuevosCostos = null;
+        if (!problema.tieneCostosImplicitos()) {
+            nuevosCostos = new double[m][n + 1];
+            for (int i = 0; i < m; i++) {
+                System.arraycopy(problema.getCostos()[i], 0, nuevosCostos[i], 0, n);
+                nuevosCostos[i][n] = COSTO_FICTICIO;
+            }
         }
 
         return ProblemaTransporte.builder()
                 .ofertas(Arrays.copyOf(problema.getOfertas(), m))
                 .demandas(nuevasDemandas)
                 .costos(nuevosCostos)
+                .fuenteCostos(nuevosCostos == null
+                        ? CostosConFicticio.conDestinoFicticio(problema.getFuenteCostos(), COSTO_FICTICIO)
+                        : null)
                 .nombresOrigenes(problema.getNombresOrigenes() != null ?
                         Arrays.copyOf(problema.getNombresOrigenes(), m) : null)
                 .nombresDestinos(nuevosNombresDestinos)
                 .tieneFicticio(true)
+                .capacidades(problema.getCapacidades())
                 .build();
     }
 
@@ -96,21 +105,31 @@ public class BalanceadorService {
         }
 
         // Crear nueva matriz de costos con fila adicional
-        double[][] nuevosCostos = new double[m + 1][n];
-        for (int i = 0; i < m; i++) {
-            System.arraycopy(problema.getCostos()[i], 0, nuevosCostos[i], 0, n);
+        // (con costos implícitos solo se decora la fuente, sin materializarla)
+        double[][] nuevosCostos = null;
+        if (!problema.tieneCostosImplicitos()) {
+            nuevosCostos = new double[m + 1][n];
+            for (int i = 0; i < m; i++) {
+                System.arraycopy(problema.getCostos()[i], 0, nuevosCostos[i], 0, n);
+            }
+            // Llenar la fila ficticia con costo 0
+            Arrays.fill(nuevosCostos[m], COSTO_FICTICIO);
         }
-        // Llenar la fila ficticia con costo 0
-        Arrays.fill(nuevosCostos[m], COSTO_FICTICIO);
 
         return ProblemaTransporte.builder()
                 .ofertas(nuevasOfertas)
                 .demandas(Arrays.copyOf(problema.getDemandas(), n))
                 .costos(nuevosCostos)
+                .fuenteCostos(nuevosCostos == null
+                        ? CostosConFicticio.conOrigenFicticio(problema.getFuenteCostos(), COSTO_FICTICIO)
+                        : null)
                 .nombresOrigenes(nuevosNombresOrigenes)
                 .nombresDestinos(problema.getNombresDestinos() != null ?
                         Arrays.copyOf(problema.getNombresDestinos(), n) : null)
                 .tieneFicticio(true)
+                .capacidades(problema.getCapacidades() != null
+                        ? problema.getCapacidades().conOrigenes(m + 1)
+                        : null)
                 .build();
     }
 }
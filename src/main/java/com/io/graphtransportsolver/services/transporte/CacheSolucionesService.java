@@ -0,0 +1,296 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.HuellaCanonica;
+import com.io.graphtransportsolver.models.transporte.HuellaProblema;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
+import com.io.graphtransportsolver.presentation.dto.transporte.ProblemaTransporteDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SensibilidadDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SolucionTransporteDTO;
+import com.io.graphtransportsolver.utils.CacheLRUPonderada;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+
+/**
+ * Caché de soluciones de transporte indexada por la huella canónica del problema.
+ *
+ * Las soluciones se guardan en el orden canónico y sin nombres, así que un mismo problema con
+ * los orígenes y destinos en otro orden o con otros nombres reutiliza la solución: al entregarla
+ * se reordena al orden de quien la pide y se le ponen sus nombres. El origen o destino ficticio
+ * del balanceo va siempre al final y no se reordena.
+ *
+ * Las mismas huellas identifican las resoluciones en curso; el resultado de una se adapta al
+ * orden y a los nombres de cada solicitud que la esperaba ({@link #adaptar}).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheSolucionesService {
+
+    private static final String NOMBRE_FICTICIO = "Ficticio";
+
+    // Prefijo de las opciones: cambiarlo invalida las claves de versiones anteriores
+    private static final String VERSION_HUELLA = "transporte-v1";
+
+    private final CacheLRUPonderada<SolucionTransporteDTO> cacheSolucionesTransporte;
+
+    /**
+     * Calcula la huella de un problema con las opciones que cambian su solución. Sin optimización
+     * la solución inicial depende del orden de las filas y columnas, así que se conserva el recibido.
+     *
+     * @param problema         problema sin balancear
+     * @param problemaDTO      solicitud con las opciones de resolución
+     * @param modoOptimizacion modo efectivo
+     * @return huella del problema
+     */
+    public HuellaProblema calcularHuella(
+            ProblemaTransporte problema,
+            ProblemaTransporteDTO problemaDTO,
+            ModoOptimizacion modoOptimizacion) {
+        String opciones = String.join("|",
+                VERSION_HUELLA,
+                String.valueOf(problemaDTO.metodoInicial()),
+                modoOptimizacion.name(),
+                String.valueOf(problemaDTO.carrilesCandidatos()),
+                String.valueOf(Boolean.TRUE.equals(problemaDTO.presolve())),
+                String.valueOf(problemaDTO.costoProhibido()),
+                String.valueOf(Boolean.TRUE.equals(problemaDTO.incluirSensibilidad())));
+        return HuellaCanonica.calcular(problema, modoOptimizacion != ModoOptimizacion.NINGUNA, opciones);
+    }
+
+    /**
+     * Calcula la huella de un problema para la comparación de métodos iniciales, que dependen
+     * del orden de filas y columnas: solo identifica problemas iguales en el mismo orden.
+     *
+     * @param problema problema sin balancear
+     * @return huella del problema
+     */
+    public HuellaProblema calcularHuellaComparacion(ProblemaTransporte problema) {
+        return HuellaCanonica.calcular(problema, false, VERSION_HUELLA + "|comparar");
+    }
+
+    /**
+     * Busca la solución de un problema ya resuelto.
+     *
+     * @param huella      huella del problema
+     * @param problemaDTO solicitud, de la que se toman los nombres
+     * @return solución en el orden de la solicitud, o null si no está en la caché
+     */
+    public SolucionTransporteDTO buscar(HuellaProblema huella, ProblemaTransporteDTO problemaDTO) {
+        SolucionTransporteDTO canonica = cacheSolucionesTransporte.obtener(huella.getClave());
+        if (canonica == null) {
+            return null;
+        }
+        log.info("Solución tomada de la caché ({})", huella.getClave());
+        return desdeCanonica(canonica, huella, problemaDTO);
+    }
+
+    /**
+     * Adapta la solución de un problema a otra solicitud con la misma huella, que puede listar
+     * los orígenes y destinos en otro orden y con otros nombres.
+     *
+     * @param solucion    solución en el orden de la solicitud que la resolvió
+     * @param desde       huella de esa solicitud
+     * @param hacia       huella de la solicitud que la recibe
+     * @param problemaDTO solicitud que la recibe, de la que se toman los nombres
+     * @return copia de la solución en el orden de la solicitud que la recibe
+     */
+    public SolucionTransporteDTO adaptar(
+            SolucionTransporteDTO solucion,
+            HuellaProblema desde,
+            HuellaProblema hacia,
+            ProblemaTransporteDTO problemaDTO) {
+        SolucionTransporteDTO canonica = reordenar(
+                solucion, desde.getOrdenOrigenes(), desde.getOrdenDestinos(), null, null);
+        return desdeCanonica(canonica, hacia, problemaDTO);
+    }
+
+    /**
+     * Guarda una solución en el orden canónico. Las interrumpidas por plazo no se guardan:
+     * con más tiempo se habría llegado a una mejor.
+     *
+     * @param huella   huella del problema
+     * @param solucion solución en el orden de la solicitud
+     */
+    public void guardar(HuellaProblema huella, SolucionTransporteDTO solucion) {
+        if (solucion.interrumpida()) {
+            return;
+        }
+        SolucionTransporteDTO canonica = reordenar(
+                solucion, huella.getOrdenOrigenes(), huella.getOrdenDestinos(), null, null);
+        cacheSolucionesTransporte.guardar(huella.getClave(), canonica, estimarBytes(canonica));
+    }
+
+    /**
+     * @return contadores y ocupación de la caché
+     */
+    public CacheLRUPonderada.Estadisticas estadisticas() {
+        return cacheSolucionesTransporte.estadisticas();
+    }
+
+    private SolucionTransporteDTO desdeCanonica(
+            SolucionTransporteDTO canonica,
+            HuellaProblema huella,
+            ProblemaTransporteDTO problemaDTO) {
+        int filas = canonica.asignaciones().length;
+        int columnas = filas > 0 ? canonica.asignaciones()[0].length : 0;
+        return reordenar(
+                canonica,
+                inversa(huella.getOrdenOrigenes()),
+                inversa(huella.getOrdenDestinos()),
+                nombresConFicticio(problemaDTO.nombresOrigenes(), filas),
+                nombresConFicticio(problemaDTO.nombresDestinos(), columnas));
+    }
+
+    /**
+     * Copia la solución con las filas y columnas reordenadas: la fila k del resultado es la fila
+     * filas[k] de la recibida; las filas posteriores (el ficticio) quedan donde estaban. Los
+     * potenciales se vuelven a referir a u_0 = 0, lo que no cambia los costos reducidos.
+     */
+    private SolucionTransporteDTO reordenar(
+            SolucionTransporteDTO solucion,
+            int[] filas,
+            int[] columnas,
+            String[] nombresOrigenes,
+            String[] nombresDestinos) {
+        int m = solucion.asignaciones().length;
+        int n = m > 0 ? solucion.asignaciones()[0].length : 0;
+        int[] fuenteFila = completar(filas, m);
+        int[] fuenteColumna = completar(columnas, n);
+        int[] destinoFila = inversa(fuenteFila);
+        int[] destinoColumna = inversa(fuenteColumna);
+
+        SensibilidadDTO sensibilidad = solucion.sensibilidad();
+        if (sensibilidad != null) {
+            double[] u = new double[m];
+            double[] v = new double[n];
+            for (int k = 0; k < m; k++) {
+                u[k] = sensibilidad.preciosSombraOfertas()[fuenteFila[k]];
+            }
+            double referencia = m > 0 ? u[0] : 0.0;
+            for (int k = 0; k < m; k++) {
+                u[k] -= referencia;
+            }
+            for (int l = 0; l < n; l++) {
+                v[l] = sensibilidad.preciosSombraDemandas()[fuenteColumna[l]] + referencia;
+            }
+            sensibilidad = new SensibilidadDTO(
+                    u,
+                    v,
+                    permutar(sensibilidad.costosReducidos(), fuenteFila, fuenteColumna),
+                    permutar(sensibilidad.costoMinimo(), fuenteFila, fuenteColumna),
+                    permutar(sensibilidad.costoMaximo(), fuenteFila, fuenteColumna));
+        }
+
+        return new SolucionTransporteDTO(
+                permutar(solucion.asignaciones(), fuenteFila, fuenteColumna),
+                solucion.costoTotal(),
+                solucion.metodoUtilizado(),
+                solucion.seBalanceo(),
+                solucion.tipoBalance(),
+                nombresOrigenes,
+                nombresDestinos,
+                solucion.modoOptimizacion(),
+                solucion.esOptima(),
+                solucion.iteracionesOptimizacion(),
+                reubicarCeldas(solucion.celdasBasicas(), destinoFila, destinoColumna, n),
+                reubicarCeldas(solucion.celdasEnCotaSuperior(), destinoFila, destinoColumna, n),
+                solucion.arranqueEnCaliente(),
+                sensibilidad,
+                solucion.interrumpida(),
+                solucion.cotaInferior(),
+                solucion.brechaOptimalidad());
+    }
+
+    private double[][] permutar(double[][] matriz, int[] fuenteFila, int[] fuenteColumna) {
+        double[][] resultado = new double[fuenteFila.length][fuenteColumna.length];
+        for (int k = 0; k < fuenteFila.length; k++) {
+            double[] fila = matriz[fuenteFila[k]];
+            for (int l = 0; l < fuenteColumna.length; l++) {
+                resultado[k][l] = fila[fuenteColumna[l]];
+            }
+        }
+        return resultado;
+    }
+
+    private Double[][] permutar(Double[][] matriz, int[] fuenteFila, int[] fuenteColumna) {
+        Double[][] resultado = new Double[fuenteFila.length][fuenteColumna.length];
+        for (int k = 0; k < fuenteFila.length; k++) {
+            Double[] fila = matriz[fuenteFila[k]];
+            for (int l = 0; l < fuenteColumna.length; l++) {
+                resultado[k][l] = fila[fuenteColumna[l]];
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Traslada índices planos (i * n + j) a las nuevas posiciones de filas y columnas.
+     */
+    private int[] reubicarCeldas(int[] celdas, int[] destinoFila, int[] destinoColumna, int n) {
+        if (celdas == null) {
+            return null;
+        }
+        int[] resultado = new int[celdas.length];
+        for (int k = 0; k < celdas.length; k++) {
+            resultado[k] = destinoFila[celdas[k] / n] * n + destinoColumna[celdas[k] % n];
+        }
+        Arrays.sort(resultado);
+        return resultado;
+    }
+
+    /**
+     * Extiende un orden a la dimensión balanceada, dejando fijas las posiciones agregadas.
+     */
+    private int[] completar(int[] orden, int total) {
+        int[] resultado = Arrays.copyOf(orden, total);
+        for (int k = orden.length; k < total; k++) {
+            resultado[k] = k;
+        }
+        return resultado;
+    }
+
+    private int[] inversa(int[] orden) {
+        int[] resultado = new int[orden.length];
+        for (int k = 0; k < orden.length; k++) {
+            resultado[orden[k]] = k;
+        }
+        return resultado;
+    }
+
+    /**
+     * Nombres de la solicitud más el del ficticio si el balanceo agregó uno (null si no se enviaron).
+     */
+    private String[] nombresConFicticio(String[] nombres, int total) {
+        if (nombres == null || nombres.length >= total) {
+            return nombres;
+        }
+        String[] resultado = Arrays.copyOf(nombres, total);
+        Arrays.fill(resultado, nombres.length, total, NOMBRE_FICTICIO);
+        return resultado;
+    }
+
+    /**
+     * Memoria aproximada de una solución en orden canónico (sin nombres).
+     */
+    private long estimarBytes(SolucionTransporteDTO solucion) {
+        int m = solucion.asignaciones().length;
+        int n = m > 0 ? solucion.asignaciones()[0].length : 0;
+        long celdas = (long) m * n;
+        long bytes = 256L + 8L * celdas + 16L * m;
+        if (solucion.celdasBasicas() != null) {
+            bytes += 4L * solucion.celdasBasicas().length;
+        }
+        if (solucion.celdasEnCotaSuperior() != null) {
+            bytes += 4L * solucion.celdasEnCotaSuperior().length;
+        }
+        if (solucion.sensibilidad() != null) {
+            // Costos reducidos más dos matrices de Double (referencia y objeto por celda)
+            bytes += 8L * (m + n) + 8L * celdas + 2L * 24L * celdas;
+        }
+        return bytes;
+    }
+}
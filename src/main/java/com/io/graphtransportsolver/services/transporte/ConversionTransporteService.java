@@ -0,0 +1,405 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.AnalisisSensibilidad;
+import com.io.graphtransportsolver.models.transporte.GrafoVial;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.CompresorCostos;
+import com.io.graphtransportsolver.models.transporte.costos.CostosPorCoordenadas;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import com.io.graphtransportsolver.models.transporte.enums.FormulaCosto;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
+import com.io.graphtransportsolver.models.transporte.enums.TipoBalance;
+import com.io.graphtransportsolver.presentation.dto.transporte.AristaVialDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ProblemaTransporteDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.RedVialDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SensibilidadDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SolucionTransporteDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Validaciones y conversiones entre los DTO de la API y el modelo de dominio que comparten
+ * los servicios de cada funcionalidad del modelo de transporte.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConversionTransporteService {
+
+    private final MultiproductoService multiproductoService;
+    private final RedVialService redVialService;
+    private final IndiceRedesService indiceRedesService;
+
+    /**
+     * Tiempo máximo por resolución en milisegundos (0 = sin límite).
+     */
+    @Value("${transporte.tiempo-limite-ms:0}")
+    private long tiempoLimiteMs;
+
+    /**
+     * Válida la entrada básica del DTO.
+     */
+    public void validarEntradaBasica(ProblemaTransporteDTO dto) {
+        validarDatosProblema(dto);
+
+        if (dto.metodoInicial() == null) {
+            throw new IllegalArgumentException("Debe especificar el método de solución inicial");
+        }
+    }
+
+    /**
+     * Válida costos, cantidades y nombres del DTO (sin exigir método de solución inicial).
+     */
+    public void validarDatosProblema(ProblemaTransporteDTO dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("El problema no puede ser nulo");
+        }
+
+        boolean redVial = usaRedVial(dto);
+        boolean fuenteCostos = !redVial && usaCostosImplicitos(dto);
+
+        if (!redVial && !fuenteCostos && (dto.costos() == null || dto.costos().length == 0)) {
+            throw new IllegalArgumentException("La matriz de costos, las coordenadas o la red vial son obligatorias");
+        }
+
+        if (dto.ofertas() == null || dto.ofertas().length == 0) {
+            throw new IllegalArgumentException("Las ofertas son obligatorias");
+        }
+
+        if (dto.demandas() == null || dto.demandas().length == 0) {
+            throw new IllegalArgumentException("Las demandas son obligatorias");
+        }
+
+        // Validar dimensiones consistentes
+        int m = dto.ofertas().length;
+        int n = dto.demandas().length;
+
+        if (redVial) {
+            validarRedVial(dto.red(), m, n);
+        } else if (fuenteCostos) {
+            if (dto.coordenadasOrigenes().length != m) {
+                throw new IllegalArgumentException(
+                        String.format("Debe haber %d coordenadas de orígenes", m)
+                );
+            }
+
+            if (dto.coordenadasDestinos() == null || dto.coordenadasDestinos().length != n) {
+                throw new IllegalArgumentException(
+                        String.format("Debe haber %d coordenadas de destinos", n)
+                );
+            }
+        } else {
+            if (dto.costos().length != m) {
+                throw new IllegalArgumentException(
+                        String.format("La matriz de costos debe tener %d filas (orígenes)", m)
+                );
+            }
+
+            for (int i = 0; i < m; i++) {
+                if (dto.costos()[i] == null || dto.costos()[i].length != n) {
+                    throw new IllegalArgumentException(
+                            String.format("La fila %d de costos debe tener %d columnas (destinos)", i, n)
+                    );
+                }
+            }
+        }
+
+        // Validar nombres si se proporcionan
+        if (dto.nombresOrigenes() != null && dto.nombresOrigenes().length != m) {
+            throw new IllegalArgumentException(
+                    String.format("Debe haber %d nombres de orígenes o ninguno", m)
+            );
+        }
+
+        if (dto.nombresDestinos() != null && dto.nombresDestinos().length != n) {
+            throw new IllegalArgumentException(
+                    String.format("Debe haber %d nombres de destinos o ninguno", n)
+            );
+        }
+
+        log.debug("Validación básica completada exitosamente");
+    }
+
+    /**
+     * Válida las capacidades por carril de una resolución: requieren optimizar y no se combinan
+     * con presolve, descomposición, arranque en caliente ni análisis de sensibilidad, que
+     * suponen carriles sin límite.
+     */
+    public void validarCapacidades(ProblemaTransporteDTO dto) {
+        if (!tieneCapacidades(dto)) {
+            return;
+        }
+
+        if (dto.modoOptimizacion() == null || dto.modoOptimizacion() == ModoOptimizacion.NINGUNA
+                || dto.modoOptimizacion() == ModoOptimizacion.DISTRIBUIDO) {
+            throw new IllegalArgumentException(
+                    "Las capacidades por carril requieren modoOptimizacion MODI o CARRILES_CANDIDATOS");
+        }
+
+        if (Boolean.TRUE.equals(dto.presolve()) || dto.costoProhibido() != null
+                || dto.baseInicial() != null || Boolean.TRUE.equals(dto.incluirSensibilidad())) {
+            throw new IllegalArgumentException(
+                    "Las capacidades por carril no se pueden combinar con presolve, costoProhibido, "
+                            + "baseInicial ni incluirSensibilidad");
+        }
+    }
+
+    /**
+     * Rechaza las capacidades por carril en operaciones que no las consideran.
+     */
+    public void rechazarCapacidades(ProblemaTransporteDTO dto, String operacion) {
+        if (tieneCapacidades(dto)) {
+            throw new IllegalArgumentException("Las capacidades por carril no están disponibles para " + operacion);
+        }
+    }
+
+    public boolean tieneCapacidades(ProblemaTransporteDTO dto) {
+        return dto.capacidades() != null && !dto.capacidades().isEmpty();
+    }
+
+    /**
+     * Indica si el DTO define los costos por coordenadas en lugar de una matriz.
+     * La matriz explícita tiene prioridad si se envían ambas.
+     */
+    private boolean usaCostosImplicitos(ProblemaTransporteDTO dto) {
+        return dto.costos() == null && dto.coordenadasOrigenes() != null;
+    }
+
+    /**
+     * Indica si el DTO define los costos con una red vial en lugar de una matriz.
+     * La matriz explícita tiene prioridad y la red vial, sobre las coordenadas.
+     */
+    private boolean usaRedVial(ProblemaTransporteDTO dto) {
+        return dto.costos() == null && dto.red() != null;
+    }
+
+    /**
+     * Válida la red vial: aristas o red registrada y un nodo por cada origen y destino.
+     * La existencia de los nodos en la red se comprueba al calcular los caminos.
+     */
+    private void validarRedVial(RedVialDTO red, int m, int n) {
+        if (red.redId() == null && (red.aristas() == null || red.aristas().isEmpty())) {
+            throw new IllegalArgumentException("La red vial debe tener al menos una arista o el id de una red registrada");
+        }
+
+        if (red.origenes() == null || red.origenes().length != m) {
+            throw new IllegalArgumentException(
+                    String.format("Debe haber %d nodos de orígenes en la red vial", m)
+            );
+        }
+
+        if (red.destinos() == null || red.destinos().length != n) {
+            throw new IllegalArgumentException(
+                    String.format("Debe haber %d nodos de destinos en la red vial", n)
+            );
+        }
+
+        if (red.costoInalcanzable() != null && !Double.isFinite(red.costoInalcanzable())) {
+            throw new IllegalArgumentException("El costo de los carriles inalcanzables debe ser finito");
+        }
+    }
+
+    /**
+     * Calcula la matriz de costos de los caminos mínimos de la red vial del DTO.
+     */
+    private double[][] calcularCostosRedVial(ProblemaTransporteDTO dto) {
+        RedVialDTO red = dto.red();
+        double tarifa = dto.tarifa() != null ? dto.tarifa() : 1.0;
+        double costoFijo = dto.costoFijo() != null ? dto.costoFijo() : 0.0;
+
+        if (red.redId() != null) {
+            return redVialService.calcularCostos(
+                    indiceRedesService.obtener(red.redId()),
+                    red.origenes(),
+                    red.destinos(),
+                    tarifa,
+                    costoFijo,
+                    red.costoInalcanzable()
+            );
+        }
+
+        return redVialService.calcularCostos(
+                convertirGrafoVial(red.aristas(), red.dirigida()),
+                red.origenes(),
+                red.destinos(),
+                tarifa,
+                costoFijo,
+                red.costoInalcanzable()
+        );
+    }
+
+    /**
+     * Convierte las aristas recibidas en una red vial en formato CSR.
+     */
+    public GrafoVial convertirGrafoVial(List<AristaVialDTO> aristasDTO, Boolean dirigida) {
+        int aristas = aristasDTO.size();
+        long[] desde = new long[aristas];
+        long[] hasta = new long[aristas];
+        double[] pesos = new double[aristas];
+        for (int k = 0; k < aristas; k++) {
+            AristaVialDTO arista = aristasDTO.get(k);
+            if (arista == null) {
+                throw new IllegalArgumentException("Las aristas de la red vial no pueden ser nulas");
+            }
+            desde[k] = arista.desde();
+            hasta[k] = arista.hasta();
+            pesos[k] = arista.peso();
+        }
+
+        GrafoVial grafo = GrafoVial.desdeAristas(desde, hasta, pesos, Boolean.TRUE.equals(dirigida));
+        log.debug("Red vial de {} nodos y {} aristas: {} bytes",
+                grafo.getNumNodos(), grafo.getNumAristas(), grafo.estimarBytes());
+        return grafo;
+    }
+
+    /**
+     * Convierte el DTO recibido del frontend al modelo de dominio.
+     */
+    public ProblemaTransporte convertirDTOaModelo(ProblemaTransporteDTO dto) {
+        log.debug("Convirtiendo DTO a modelo de dominio");
+
+        // Copiar arrays para evitar modificaciones externas
+        double[] ofertas = Arrays.copyOf(dto.ofertas(), dto.ofertas().length);
+        double[] demandas = Arrays.copyOf(dto.demandas(), dto.demandas().length);
+
+        // Copiar matriz de costos (o construirla desde la red vial o desde coordenadas)
+        double[][] costos = null;
+        FuenteCostos fuenteCostos = null;
+        if (usaRedVial(dto)) {
+            // La matriz calculada es propia, no hace falta copiarla
+            costos = calcularCostosRedVial(dto);
+            if (Boolean.TRUE.equals(dto.comprimirCostos())) {
+                fuenteCostos = CompresorCostos.comprimir(costos);
+                costos = null;
+            }
+        } else if (usaCostosImplicitos(dto)) {
+            fuenteCostos = new CostosPorCoordenadas(
+                    dto.coordenadasOrigenes(),
+                    dto.coordenadasDestinos(),
+                    dto.formulaCosto() != null ? dto.formulaCosto() : FormulaCosto.EUCLIDIANA,
+                    dto.tarifa() != null ? dto.tarifa() : 1.0,
+                    dto.costoFijo() != null ? dto.costoFijo() : 0.0
+            );
+        } else if (Boolean.TRUE.equals(dto.comprimirCostos())) {
+            // La versión comprimida no retiene la matriz recibida, no hace falta copiarla
+            fuenteCostos = CompresorCostos.comprimir(dto.costos());
+            log.debug("Costos comprimidos con {}: {} bytes",
+                    fuenteCostos.getClass().getSimpleName(), fuenteCostos.estimarBytes());
+        } else {
+            costos = new double[dto.costos().length][];
+            for (int i = 0; i < dto.costos().length; i++) {
+                costos[i] = Arrays.copyOf(dto.costos()[i], dto.costos()[i].length);
+            }
+        }
+
+        // Copiar nombres si existen
+        String[] nombresOrigenes = dto.nombresOrigenes() != null ?
+                Arrays.copyOf(dto.nombresOrigenes(), dto.nombresOrigenes().length) : null;
+
+        String[] nombresDestinos = dto.nombresDestinos() != null ?
+                Arrays.copyOf(dto.nombresDestinos(), dto.nombresDestinos().length) : null;
+
+        ProblemaTransporte problema = ProblemaTransporte.builder()
+                .ofertas(ofertas)
+                .demandas(demandas)
+                .costos(costos)
+                .fuenteCostos(fuenteCostos)
+                .nombresOrigenes(nombresOrigenes)
+                .nombresDestinos(nombresDestinos)
+                .tieneFicticio(false)
+                .capacidades(tieneCapacidades(dto)
+                        ? multiproductoService.convertirCapacidades(dto.capacidades(), ofertas.length, demandas.length)
+                        : null)
+                .build();
+
+        log.debug("Problema convertido: {} orígenes, {} destinos",
+                problema.getOfertas().length, problema.getDemandas().length);
+        log.debug("Tipo de balance: {}", problema.getTipoBalance());
+
+        return problema;
+    }
+
+    /**
+     * Presupuesto efectivo en milisegundos: el menor entre el del request y el del servidor
+     * (0 = sin límite).
+     */
+    public long presupuestoMs(Long tiempoLimiteSolicitado) {
+        long solicitado = tiempoLimiteSolicitado != null ? tiempoLimiteSolicitado : 0L;
+        if (solicitado < 0) {
+            throw new IllegalArgumentException("El tiempo límite no puede ser negativo");
+        }
+        if (solicitado == 0) {
+            return tiempoLimiteMs;
+        }
+        return tiempoLimiteMs > 0 ? Math.min(solicitado, tiempoLimiteMs) : solicitado;
+    }
+
+    /**
+     * Convierte la solución del modelo de dominio a DTO para el frontend.
+     */
+    public SolucionTransporteDTO convertirSolucionADTO(
+            SolucionTransporte solucion,
+            ProblemaTransporte problemaBalanceado,
+            TipoBalance tipoBalanceOriginal,
+            ModoOptimizacion modoOptimizacion,
+            AnalisisSensibilidad analisis) {
+
+        log.debug("Convirtiendo solución a DTO");
+        log.debug("Tipo balance original: {}, tieneFicticio: {}",
+                tipoBalanceOriginal, problemaBalanceado.isTieneFicticio());
+
+        // El problema balanceado incluye el origen/destino ficticio con su nombre "Ficticio"
+        String[] nombresOrigenes = problemaBalanceado.getNombresOrigenes();
+        String[] nombresDestinos = problemaBalanceado.getNombresDestinos();
+
+        return new SolucionTransporteDTO(
+                solucion.getAsignaciones(),
+                solucion.getCostoTotal(),
+                solucion.getMetodoUtilizado(),
+                problemaBalanceado.isTieneFicticio(),
+                tipoBalanceOriginal,
+                nombresOrigenes,
+                nombresDestinos,
+                modoOptimizacion,
+                solucion.isOptima(),
+                solucion.getIteracionesOptimizacion(),
+                solucion.getCeldasBasicas(),
+                solucion.getCeldasEnCotaSuperior(),
+                solucion.isArranqueEnCaliente(),
+                analisis != null ? convertirSensibilidadADTO(analisis) : null,
+                solucion.isInterrumpida(),
+                solucion.getCotaInferior(),
+                solucion.getBrechaOptimalidad()
+        );
+    }
+
+    /**
+     * Convierte el análisis de sensibilidad a DTO; los límites infinitos se envían como null.
+     */
+    private SensibilidadDTO convertirSensibilidadADTO(AnalisisSensibilidad analisis) {
+        return new SensibilidadDTO(
+                analisis.getPreciosSombraOfertas(),
+                analisis.getPreciosSombraDemandas(),
+                analisis.getCostosReducidos(),
+                limitesADTO(analisis.getCostoMinimo()),
+                limitesADTO(analisis.getCostoMaximo())
+        );
+    }
+
+    private Double[][] limitesADTO(double[][] limites) {
+        Double[][] resultado = new Double[limites.length][];
+        for (int i = 0; i < limites.length; i++) {
+            resultado[i] = new Double[limites[i].length];
+            for (int j = 0; j < limites[i].length; j++) {
+                resultado[i][j] = Double.isInfinite(limites[i][j]) ? null : limites[i][j];
+            }
+        }
+        return resultado;
+    }
+}
@@ -0,0 +1,140 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.CotizadorTransporte;
+import com.io.graphtransportsolver.algoritmos.transporte.VerificadorSolucion;
+import com.io.graphtransportsolver.models.transporte.CertificadoSolucion;
+import com.io.graphtransportsolver.models.transporte.CotizacionTransporte;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.presentation.dto.ApiResponseDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.CertificadoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.CotizacionDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ProblemaTransporteDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.VerificacionDTO;
+import com.io.graphtransportsolver.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Operaciones que acotan el costo óptimo o certifican un plan sin resolver el problema.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CotizacionApiService {
+
+    private final ConversionTransporteService conversionService;
+    private final BalanceadorService balanceadorService;
+
+    /**
+     * Acota el costo óptimo sin resolver el problema: cota inferior dual y costo de un plan
+     * heurístico, en uno o pocos recorridos O(mn) y sin matriz de asignaciones.
+     *
+     * @param problemaDTO problema a cotizar
+     * @return ApiResponseDTO con las cotas
+     */
+    public ApiResponseDTO<CotizacionDTO> cotizar(ProblemaTransporteDTO problemaDTO) {
+        log.info("{} - Cotización", Constants.Message.START_SERVICE);
+
+        return RespuestasApi.ejecutar("cotizar el problema de transporte", () -> {
+            conversionService.validarDatosProblema(problemaDTO);
+            conversionService.rechazarCapacidades(problemaDTO, "la cotización");
+            ProblemaTransporte problemaBalanceado =
+                    balanceadorService.balancear(conversionService.convertirDTOaModelo(problemaDTO));
+
+            long inicio = System.nanoTime();
+            CotizacionTransporte cotizacion =
+                    CotizadorTransporte.cotizar(problemaBalanceado, CotizadorTransporte.BARRIDOS);
+            long microsegundos = (System.nanoTime() - inicio) / 1_000L;
+
+            log.info("Cotización: [{}, {}] en {} µs",
+                    cotizacion.getCotaInferior(), cotizacion.getCotaSuperior(), microsegundos);
+            log.info("{}", Constants.Message.FINISH_SERVICE);
+
+            return new CotizacionDTO(
+                    cotizacion.getCotaInferior(),
+                    cotizacion.getCotaSuperior(),
+                    cotizacion.getBrechaOptimalidad(),
+                    microsegundos
+            );
+        });
+    }
+
+    /**
+     * Verifica un plan recibido sin resolver el problema: factibilidad, holgura complementaria
+     * y signo de los costos reducidos, en recorridos O(mn).
+     *
+     * @param verificacionDTO problema, plan y potenciales opcionales
+     * @return ApiResponseDTO con el veredicto y las cotas de mejora
+     */
+    public ApiResponseDTO<CertificadoDTO> verificar(VerificacionDTO verificacionDTO) {
+        log.info("{} - Verificación", Constants.Message.START_SERVICE);
+
+        return RespuestasApi.ejecutar("verificar el plan de transporte", () -> {
+            if (verificacionDTO == null) {
+                throw new IllegalArgumentException("La verificación no puede ser nula");
+            }
+            conversionService.validarDatosProblema(verificacionDTO.problema());
+            validarPlan(verificacionDTO);
+            conversionService.rechazarCapacidades(verificacionDTO.problema(), "la verificación de planes");
+
+            ProblemaTransporte problemaBalanceado =
+                    balanceadorService.balancear(conversionService.convertirDTOaModelo(verificacionDTO.problema()));
+
+            long inicio = System.nanoTime();
+            CertificadoSolucion certificado = VerificadorSolucion.verificar(
+                    problemaBalanceado,
+                    verificacionDTO.asignaciones(),
+                    verificacionDTO.potencialesFila(),
+                    verificacionDTO.potencialesColumna()
+            );
+            long microsegundos = (System.nanoTime() - inicio) / 1_000L;
+
+            log.info("Verificación: {} (costo={}, cota inferior={}) en {} µs", certificado.getResultado(),
+                    certificado.getCostoTotal(), certificado.getCotaInferior(), microsegundos);
+            log.info("{}", Constants.Message.FINISH_SERVICE);
+
+            return new CertificadoDTO(
+                    certificado.getResultado(),
+                    certificado.getViolacionMaxima(),
+                    certificado.getCostoTotal(),
+                    certificado.getCotaInferior(),
+                    certificado.getMejoraMinima(),
+                    certificado.getMejoraMaxima(),
+                    certificado.getCostoReducidoMinimo(),
+                    certificado.getCeldasMejorables(),
+                    certificado.getViolacionesHolgura(),
+                    certificado.isCertificadoPorPotencialesRecibidos(),
+                    certificado.getPotencialesFila(),
+                    certificado.getPotencialesColumna(),
+                    microsegundos
+            );
+        });
+    }
+
+    /**
+     * Válida que el plan y los potenciales tengan las dimensiones del problema original.
+     */
+    private void validarPlan(VerificacionDTO dto) {
+        int m = dto.problema().ofertas().length;
+        int n = dto.problema().demandas().length;
+
+        if (dto.asignaciones() == null || dto.asignaciones().length != m) {
+            throw new IllegalArgumentException(
+                    String.format("Las asignaciones deben tener %d filas (orígenes)", m)
+            );
+        }
+
+        for (int i = 0; i < m; i++) {
+            if (dto.asignaciones()[i] == null || dto.asignaciones()[i].length != n) {
+                throw new IllegalArgumentException(
+                        String.format("La fila %d de asignaciones debe tener %d columnas (destinos)", i, n)
+                );
+            }
+        }
+
+        if ((dto.potencialesFila() == null) != (dto.potencialesColumna() == null)) {
+            throw new IllegalArgumentException("Debe enviar los potenciales de filas y de columnas, o ninguno");
+        }
+    }
+}
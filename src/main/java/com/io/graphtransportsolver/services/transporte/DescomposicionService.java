@@ -0,0 +1,348 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.ComponenteTransporte;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.CostosConFicticio;
+import com.io.graphtransportsolver.models.transporte.costos.CostosSubconjunto;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Servicio que descompone un problema de transporte en componentes conexas
+ * según los carriles permitidos, balancea y resuelve cada componente en paralelo
+ * y une los planes parciales en una sola solución.
+ *
+ * Un carril está prohibido si su costo es mayor o igual al umbral indicado
+ * (o es Double.POSITIVE_INFINITY).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DescomposicionService {
+
+    private static final String NOMBRE_FICTICIO = "Ficticio";
+
+    private final BalanceadorService balanceadorService;
+    private final ForkJoinPool poolTransporte;
+
+    /**
+     * Detecta las componentes conexas del grafo bipartito de carriles permitidos.
+     * Los orígenes y destinos sin carriles permitidos forman componentes propias.
+     *
+     * @param problema       problema sin balancear
+     * @param costoProhibido costo a partir del cual un carril se considera prohibido
+     * @return componentes ordenadas por su primer origen (o destino)
+     */
+    public List<ComponenteTransporte> detectarComponentes(ProblemaTransporte problema, double costoProhibido) {
+        FuenteCostos costos = problema.getFuenteCostos();
+        int m = costos.getNumOrigenes();
+        int n = costos.getNumDestinos();
+
+        // Union-find sobre nodos: orígenes 0..m-1, destinos m..m+n-1
+        int[] padre = new int[m + n];
+        for (int k = 0; k < padre.length; k++) {
+            padre[k] = k;
+        }
+
+        double[] buffer = new double[n];
+        for (int i = 0; i < m; i++) {
+            double[] fila = costos.obtenerFila(i, buffer);
+            for (int j = 0; j < n; j++) {
+                if (fila[j] < costoProhibido && fila[j] < Double.POSITIVE_INFINITY) {
+                    unir(padre, i, m + j);
+                }
+            }
+        }
+
+        // Numerar las componentes en orden de aparición
+        int[] componenteDeRaiz = new int[m + n];
+        Arrays.fill(componenteDeRaiz, -1);
+        int[] tamanoOrigenes = new int[m + n];
+        int[] tamanoDestinos = new int[m + n];
+        int total = 0;
+        for (int k = 0; k < m + n; k++) {
+            int raiz = buscar(padre, k);
+            if (componenteDeRaiz[raiz] == -1) {
+                componenteDeRaiz[raiz] = total++;
+            }
+            if (k < m) {
+                tamanoOrigenes[componenteDeRaiz[raiz]]++;
+            } else {
+                tamanoDestinos[componenteDeRaiz[raiz]]++;
+            }
+        }
+
+        int[][] origenes = new int[total][];
+        int[][] destinos = new int[total][];
+        for (int c = 0; c < total; c++) {
+            origenes[c] = new int[tamanoOrigenes[c]];
+            destinos[c] = new int[tamanoDestinos[c]];
+        }
+        int[] llenosOrigenes = new int[total];
+        int[] llenosDestinos = new int[total];
+        for (int k = 0; k < m + n; k++) {
+            int c = componenteDeRaiz[buscar(padre, k)];
+            if (k < m) {
+                origenes[c][llenosOrigenes[c]++] = k;
+            } else {
+                destinos[c][llenosDestinos[c]++] = k - m;
+            }
+        }
+
+        List<ComponenteTransporte> componentes = new ArrayList<>(total);
+        for (int c = 0; c < total; c++) {
+            componentes.add(ComponenteTransporte.builder()
+                    .origenes(origenes[c])
+                    .destinos(destinos[c])
+                    .build());
+        }
+        return componentes;
+    }
+
+    /**
+     * Balancea y resuelve cada componente por separado en el pool fork-join
+     * y une los planes en una sola solución.
+     *
+     * @param problema    problema sin balancear
+     * @param componentes componentes detectadas con {@link #detectarComponentes}
+     * @param resolutor   resuelve un subproblema ya balanceado
+     * @return solución unida y el problema balanceado que le corresponde
+     */
+    public ResultadoDescomposicion resolver(
+            ProblemaTransporte problema,
+            List<ComponenteTransporte> componentes,
+            Function<ProblemaTransporte, SolucionTransporte> resolutor) {
+
+        FuenteCostos costos = problema.getFuenteCostos();
+
+        // Las componentes más grandes se envían primero para equilibrar la carga
+        List<ComponenteTransporte> ordenadas = new ArrayList<>(componentes);
+        ordenadas.sort(Comparator.comparingLong(ComponenteTransporte::getNumCeldas).reversed());
+
+        List<ForkJoinTask<SolucionTransporte>> tareas = new ArrayList<>(ordenadas.size());
+        for (ComponenteTransporte componente : ordenadas) {
+            if (componente.getNumCeldas() == 0) {
+                tareas.add(null);
+                continue;
+            }
+            ProblemaTransporte subproblema = balanceadorService.balancear(
+                    construirSubproblema(problema, costos, componente));
+            tareas.add(poolTransporte.submit(() -> resolutor.apply(subproblema)));
+        }
+
+        List<SolucionTransporte> soluciones = new ArrayList<>(tareas.size());
+        for (ForkJoinTask<SolucionTransporte> tarea : tareas) {
+            soluciones.add(tarea != null ? tarea.join() : null);
+        }
+
+        log.debug("Resueltas {} componentes en paralelo", componentes.size());
+
+        return unir(problema, costos, ordenadas, soluciones);
+    }
+
+    private ProblemaTransporte construirSubproblema(
+            ProblemaTransporte problema,
+            FuenteCostos costos,
+            ComponenteTransporte componente) {
+
+        int[] origenes = componente.getOrigenes();
+        int[] destinos = componente.getDestinos();
+
+        double[] ofertas = new double[origenes.length];
+        for (int a = 0; a < origenes.length; a++) {
+            ofertas[a] = problema.getOferta(origenes[a]);
+        }
+        double[] demandas = new double[destinos.length];
+        for (int b = 0; b < destinos.length; b++) {
+            demandas[b] = problema.getDemanda(destinos[b]);
+        }
+
+        ProblemaTransporte.ProblemaTransporteBuilder subproblema = ProblemaTransporte.builder()
+                .ofertas(ofertas)
+                .demandas(demandas)
+                .tieneFicticio(false);
+
+        if (problema.tieneCostosImplicitos()) {
+            subproblema.fuenteCostos(new CostosSubconjunto(costos, origenes, destinos));
+        } else {
+            double[][] subcostos = new double[origenes.length][destinos.length];
+            double[] buffer = new double[costos.getNumDestinos()];
+            for (int a = 0; a < origenes.length; a++) {
+                double[] fila = costos.obtenerFila(origenes[a], buffer);
+                for (int b = 0; b < destinos.length; b++) {
+                    subcostos[a][b] = fila[destinos[b]];
+                }
+            }
+            subproblema.costos(subcostos);
+        }
+        return subproblema.build();
+    }
+
+    /**
+     * Une los planes de las componentes. Los ficticios de cada componente se
+     * acumulan en un único origen ficticio (última fila) y un único destino
+     * ficticio (última columna) del problema unido.
+     */
+    private ResultadoDescomposicion unir(
+            ProblemaTransporte problema,
+            FuenteCostos costos,
+            List<ComponenteTransporte> componentes,
+            List<SolucionTransporte> soluciones) {
+
+        int m = costos.getNumOrigenes();
+        int n = costos.getNumDestinos();
+
+        // Faltantes y excedentes por componente: cubiertos por los ficticios
+        double ofertaFicticia = 0.0;
+        double demandaFicticia = 0.0;
+        for (ComponenteTransporte componente : componentes) {
+            double oferta = 0.0;
+            for (int i : componente.getOrigenes()) oferta += problema.getOferta(i);
+            double demanda = 0.0;
+            for (int j : componente.getDestinos()) demanda += problema.getDemanda(j);
+            if (oferta > demanda + 1e-6) {
+                demandaFicticia += oferta - demanda;
+            } else if (demanda > oferta + 1e-6) {
+                ofertaFicticia += demanda - oferta;
+            }
+        }
+
+        boolean filaFicticia = ofertaFicticia > 0.0;
+        boolean columnaFicticia = demandaFicticia > 0.0;
+        int mTotal = m + (filaFicticia ? 1 : 0);
+        int nTotal = n + (columnaFicticia ? 1 : 0);
+
+        double[][] asignaciones = new double[mTotal][nTotal];
+        boolean optima = true;
+        int iteraciones = 0;
+        SolucionTransporte referencia = null;
+
+        for (int c = 0; c < componentes.size(); c++) {
+            ComponenteTransporte componente = componentes.get(c);
+            SolucionTransporte solucion = soluciones.get(c);
+
+            if (solucion == null) {
+                // Componente sin orígenes o sin destinos: todo va al ficticio
+                for (int i : componente.getOrigenes()) {
+                    if (columnaFicticia) asignaciones[i][n] = problema.getOferta(i);
+                }
+                for (int j : componente.getDestinos()) {
+                    if (filaFicticia) asignaciones[m][j] = problema.getDemanda(j);
+                }
+                continue;
+            }
+
+            referencia = solucion;
+            optima &= solucion.isOptima();
+            iteraciones += solucion.getIteracionesOptimizacion();
+
+            int[] origenes = componente.getOrigenes();
+            int[] destinos = componente.getDestinos();
+            double[][] parcial = solucion.getAsignaciones();
+            for (int a = 0; a < parcial.length; a++) {
+                int i = a < origenes.length ? origenes[a] : m;
+                for (int b = 0; b < parcial[a].length; b++) {
+                    if (parcial[a][b] != 0.0) {
+                        int j = b < destinos.length ? destinos[b] : n;
+                        asignaciones[i][j] += parcial[a][b];
+                    }
+                }
+            }
+        }
+
+        ProblemaTransporte unido = construirProblemaUnido(
+                problema, costos, filaFicticia, ofertaFicticia, columnaFicticia, demandaFicticia);
+
+        SolucionTransporte solucion = SolucionTransporte.builder()
+                .asignaciones(asignaciones)
+                .metodoUtilizado(referencia != null ? referencia.getMetodoUtilizado() : null)
+                .optima(optima)
+                .iteracionesOptimizacion(iteraciones)
+                .build();
+        solucion.calcularCostoTotal(unido.getFuenteCostos());
+
+        return new ResultadoDescomposicion(unido, solucion);
+    }
+
+    private ProblemaTransporte construirProblemaUnido(
+            ProblemaTransporte problema,
+            FuenteCostos costos,
+            boolean filaFicticia,
+            double ofertaFicticia,
+            boolean columnaFicticia,
+            double demandaFicticia) {
+
+        int m = costos.getNumOrigenes();
+        int n = costos.getNumDestinos();
+
+        FuenteCostos costosUnidos = costos;
+        double[] ofertas = problema.getOfertas();
+        double[] demandas = problema.getDemandas();
+        String[] nombresOrigenes = problema.getNombresOrigenes();
+        String[] nombresDestinos = problema.getNombresDestinos();
+
+        if (filaFicticia) {
+            costosUnidos = CostosConFicticio.conOrigenFicticio(costosUnidos, 0.0);
+            ofertas = Arrays.copyOf(ofertas, m + 1);
+            ofertas[m] = ofertaFicticia;
+            if (nombresOrigenes != null) {
+                nombresOrigenes = Arrays.copyOf(nombresOrigenes, m + 1);
+                nombresOrigenes[m] = NOMBRE_FICTICIO;
+            }
+        }
+        if (columnaFicticia) {
+            costosUnidos = CostosConFicticio.conDestinoFicticio(costosUnidos, 0.0);
+            demandas = Arrays.copyOf(demandas, n + 1);
+            demandas[n] = demandaFicticia;
+            if (nombresDestinos != null) {
+                nombresDestinos = Arrays.copyOf(nombresDestinos, n + 1);
+                nombresDestinos[n] = NOMBRE_FICTICIO;
+            }
+        }
+
+        return ProblemaTransporte.builder()
+                .ofertas(ofertas)
+                .demandas(demandas)
+                .fuenteCostos(costosUnidos)
+                .nombresOrigenes(nombresOrigenes)
+                .nombresDestinos(nombresDestinos)
+                .tieneFicticio(filaFicticia || columnaFicticia)
+                .build();
+    }
+
+    private static int buscar(int[] padre, int x) {
+        while (padre[x] != x) {
+            padre[x] = padre[padre[x]];
+            x = padre[x];
+        }
+        return x;
+    }
+
+    private static void unir(int[] padre, int a, int b) {
+        int raizA = buscar(padre, a);
+        int raizB = buscar(padre, b);
+        if (raizA != raizB) {
+            padre[raizB] = raizA;
+        }
+    }
+
+    /**
+     * Solución unida junto con el problema balanceado (con ficticios) al que corresponde.
+     *
+     * @param problemaUnido problema con los orígenes/destinos ficticios agregados
+     * @param solucion      plan unido en los índices de problemaUnido
+     */
+    public record ResultadoDescomposicion(ProblemaTransporte problemaUnido, SolucionTransporte solucion) {
+    }
+}
@@ -0,0 +1,57 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.EscenarioTransporte;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.presentation.dto.ApiResponseDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.LoteEscenariosDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ResultadoLoteDTO;
+import com.io.graphtransportsolver.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Punto de entrada de los lotes de escenarios: valida y convierte el lote y delega su
+ * resolución en {@link EscenariosService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EscenariosApiService {
+
+    private final ConversionTransporteService conversionService;
+    private final EscenariosService escenariosService;
+
+    /**
+     * Resuelve un lote de escenarios sobre la misma red, en paralelo y con arranque
+     * en caliente desde el escenario ya resuelto más parecido.
+     *
+     * @param loteDTO problema base y cambios de cada escenario
+     * @return ApiResponseDTO con el costo de cada escenario y su distribución
+     */
+    public ApiResponseDTO<ResultadoLoteDTO> resolverEscenarios(LoteEscenariosDTO loteDTO) {
+        log.info("{} - Lote de escenarios", Constants.Message.START_SERVICE);
+
+        return RespuestasApi.ejecutar("resolver el lote de escenarios", () -> {
+            // 1. Validar y convertir el problema base
+            if (loteDTO == null) {
+                throw new IllegalArgumentException("El lote no puede ser nulo");
+            }
+            conversionService.validarEntradaBasica(loteDTO.problema());
+            conversionService.rechazarCapacidades(loteDTO.problema(), "los lotes de escenarios");
+            ProblemaTransporte base = conversionService.convertirDTOaModelo(loteDTO.problema());
+
+            // 2. Convertir los escenarios
+            List<EscenarioTransporte> escenarios = escenariosService.convertir(loteDTO.escenarios());
+
+            // 3. Resolver el lote
+            EscenariosService.ResultadoLote lote = escenariosService.resolver(
+                    base, escenarios, loteDTO.problema().metodoInicial());
+
+            log.info("{}", Constants.Message.FINISH_SERVICE);
+            return escenariosService.convertirADTO(lote);
+        });
+    }
+}
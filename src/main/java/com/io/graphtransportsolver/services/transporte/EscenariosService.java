@@ -0,0 +1,417 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.Celda;
+import com.io.graphtransportsolver.models.transporte.EscenarioTransporte;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.ResultadoEscenario;
+import com.io.graphtransportsolver.models.transporte.ResumenEscenarios;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.CostosEscenario;
+import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
+import com.io.graphtransportsolver.presentation.dto.transporte.EscenarioDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ResultadoEscenarioDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ResultadoLoteDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ResumenEscenariosDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Servicio que resuelve lotes de escenarios sobre una misma red.
+ *
+ * Primero se resuelve el problema base. Los escenarios se ordenan por cercanía al base
+ * y se resuelven en oleadas del tamaño del pool fork-join: cada escenario de una oleada
+ * arranca en caliente desde la base del escenario ya resuelto más parecido, de modo que
+ * la mayoría solo necesita unos pocos pivotes.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EscenariosService {
+
+    public static final int MAX_ESCENARIOS = 10_000;
+
+    private final BalanceadorService balanceadorService;
+    private final SolucionInicialService solucionInicialService;
+    private final OptimizacionService optimizacionService;
+    private final ForkJoinPool poolTransporte;
+
+    /**
+     * Resuelve el problema base y todos los escenarios del lote.
+     *
+     * @param base       problema base sin balancear
+     * @param escenarios cambios de cada escenario respecto al base
+     * @param metodo     método inicial para los escenarios sin vecino aprovechable
+     * @return resultado del base y de cada escenario, en el orden recibido
+     */
+    public ResultadoLote resolver(
+            ProblemaTransporte base,
+            List<EscenarioTransporte> escenarios,
+            MetodoSolucionInicial metodo) {
+
+        if (escenarios == null || escenarios.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un escenario");
+        }
+        if (escenarios.size() > MAX_ESCENARIOS) {
+            throw new IllegalArgumentException(
+                    "Un lote admite como máximo " + MAX_ESCENARIOS + " escenarios");
+        }
+
+        // El base siempre se resuelve en frío y sirve de vecino para todos
+        Preparado preparadoBase = preparar(base, EscenarioTransporte.builder().build());
+        Intento intentoBase = resolverEscenario(preparadoBase, -1, "Base", null, metodo);
+        if (!intentoBase.resultado().estaResuelto()) {
+            throw new IllegalArgumentException(intentoBase.resultado().getError());
+        }
+
+        ResultadoEscenario[] resultados = new ResultadoEscenario[escenarios.size()];
+        Preparado[] preparados = new Preparado[escenarios.size()];
+        List<Integer> pendientes = new ArrayList<>(escenarios.size());
+        for (int e = 0; e < escenarios.size(); e++) {
+            EscenarioTransporte escenario = escenarios.get(e);
+            try {
+                preparados[e] = preparar(base, escenario);
+                pendientes.add(e);
+            } catch (IllegalArgumentException ex) {
+                resultados[e] = fallido(nombre(escenario, e), ex.getMessage());
+            }
+        }
+
+        // Los más parecidos al base primero: las oleadas siguientes encuentran vecinos más cercanos
+        double[] distanciaBase = new double[escenarios.size()];
+        for (int e : pendientes) {
+            distanciaBase[e] = distancia(preparadoBase, preparados[e]);
+        }
+        pendientes.sort(Comparator.comparingDouble(e -> distanciaBase[e]));
+
+        List<Resuelto> resueltos = new ArrayList<>();
+        resueltos.add(intentoBase.resuelto());
+
+        int tamanoOleada = Math.max(1, poolTransporte.getParallelism());
+        for (int inicio = 0; inicio < pendientes.size(); inicio += tamanoOleada) {
+            List<Integer> oleada = pendientes.subList(inicio, Math.min(inicio + tamanoOleada, pendientes.size()));
+
+            List<ForkJoinTask<Intento>> tareas = new ArrayList<>(oleada.size());
+            for (int e : oleada) {
+                Preparado preparado = preparados[e];
+                Resuelto vecino = masCercano(resueltos, preparado);
+                String nombre = nombre(escenarios.get(e), e);
+                tareas.add(poolTransporte.submit(() -> resolverEscenario(preparado, e, nombre, vecino, metodo)));
+            }
+
+            for (int k = 0; k < oleada.size(); k++) {
+                Intento intento = tareas.get(k).join();
+                resultados[oleada.get(k)] = intento.resultado();
+                if (intento.resuelto() != null) {
+                    resueltos.add(intento.resuelto());
+                }
+            }
+        }
+
+        List<ResultadoEscenario> lista = Arrays.asList(resultados);
+        ResumenEscenarios resumen = resumir(intentoBase.resultado(), lista);
+        log.info("Lote de {} escenarios resuelto: {} con arranque en caliente, {} pivotes en total",
+                escenarios.size(), resumen.getArranquesEnCaliente(), resumen.getIteracionesTotales());
+
+        return new ResultadoLote(intentoBase.resultado(), lista, resumen);
+    }
+
+    /**
+     * Convierte los cambios de cada escenario al modelo de dominio.
+     *
+     * @param dtos escenarios recibidos
+     * @return escenarios en el mismo orden
+     */
+    public List<EscenarioTransporte> convertir(List<EscenarioDTO> dtos) {
+        if (dtos == null) {
+            throw new IllegalArgumentException("Debe indicar al menos un escenario");
+        }
+        return dtos.stream()
+                .map(this::convertirEscenario)
+                .toList();
+    }
+
+    /**
+     * Convierte los cambios de un escenario al modelo de dominio.
+     */
+    private EscenarioTransporte convertirEscenario(EscenarioDTO dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("Los escenarios no pueden ser nulos");
+        }
+
+        List<Celda> cambiosCostos = dto.cambiosCostos() == null
+                ? new ArrayList<>()
+                : dto.cambiosCostos().stream()
+                        .map(cambio -> Celda.builder()
+                                .fila(cambio.origen())
+                                .columna(cambio.destino())
+                                .costo(cambio.costo())
+                                .build())
+                        .toList();
+
+        return EscenarioTransporte.builder()
+                .nombre(dto.nombre())
+                .factorCostos(dto.factorCostos() != null ? dto.factorCostos() : 1.0)
+                .cambiosCostos(cambiosCostos)
+                .deltaOfertas(dto.deltaOfertas())
+                .deltaDemandas(dto.deltaDemandas())
+                .build();
+    }
+
+    /**
+     * Convierte el resultado de un lote de escenarios a DTO.
+     *
+     * @param lote resultado de {@link #resolver}
+     * @return DTO con cada escenario y el resumen del lote
+     */
+    public ResultadoLoteDTO convertirADTO(ResultadoLote lote) {
+        List<ResultadoEscenarioDTO> escenarios = lote.escenarios().stream()
+                .map(resultado -> new ResultadoEscenarioDTO(
+                        resultado.getNombre(),
+                        resultado.getCostoTotal(),
+                        resultado.isOptima(),
+                        resultado.getIteraciones(),
+                        resultado.isArranqueEnCaliente(),
+                        resultado.getVecino(),
+                        resultado.getError()))
+                .toList();
+
+        ResumenEscenarios resumen = lote.resumen();
+        return new ResultadoLoteDTO(escenarios, new ResumenEscenariosDTO(
+                resumen.getEscenarios(),
+                resumen.getResueltos(),
+                resumen.getCostoBase(),
+                resumen.getCostoMinimo(),
+                resumen.getCostoMaximo(),
+                resumen.getCostoPromedio(),
+                resumen.getDesviacionEstandar(),
+                resumen.getPercentil5(),
+                resumen.getMediana(),
+                resumen.getPercentil95(),
+                resumen.getArranquesEnCaliente(),
+                resumen.getIteracionesTotales()));
+    }
+
+    /**
+     * Aplica los cambios de un escenario al problema base (sin copiar la matriz de costos).
+     */
+    private Preparado preparar(ProblemaTransporte base, EscenarioTransporte escenario) {
+        int m = base.getOfertas().length;
+        int n = base.getDemandas().length;
+
+        CostosEscenario costos = new CostosEscenario(
+                base.getFuenteCostos(), escenario.getFactorCostos(), escenario.getCambiosCostos());
+        double[] ofertas = aplicarDelta(base.getOfertas(), escenario.getDeltaOfertas(), "ofertas", m);
+        double[] demandas = aplicarDelta(base.getDemandas(), escenario.getDeltaDemandas(), "demandas", n);
+
+        ProblemaTransporte problema = ProblemaTransporte.builder()
+                .fuenteCostos(costos)
+                .ofertas(ofertas)
+                .demandas(demandas)
+                .nombresOrigenes(base.getNombresOrigenes())
+                .nombresDestinos(base.getNombresDestinos())
+                .build();
+        return new Preparado(problema, costos);
+    }
+
+    private double[] aplicarDelta(double[] valores, double[] delta, String etiqueta, int longitud) {
+        if (delta == null) {
+            return valores;
+        }
+        if (delta.length != longitud) {
+            throw new IllegalArgumentException(
+                    "La variación de " + etiqueta + " debe tener " + longitud + " elementos");
+        }
+        double[] resultado = new double[longitud];
+        for (int k = 0; k < longitud; k++) {
+            resultado[k] = valores[k] + delta[k];
+            if (!(resultado[k] >= 0) || Double.isInfinite(resultado[k])) {
+                throw new IllegalArgumentException(
+                        "La variación deja " + etiqueta + " con un valor inválido en la posición " + k);
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Balancea y resuelve un escenario, partiendo de la base del vecino cuando
+     * el problema balanceado tiene la misma forma.
+     */
+    private Intento resolverEscenario(
+            Preparado preparado,
+            int indice,
+            String nombre,
+            Resuelto vecino,
+            MetodoSolucionInicial metodo) {
+
+        try {
+            ProblemaTransporte balanceado = balanceadorService.balancear(preparado.problema());
+            int filas = balanceado.getOfertas().length;
+            int columnas = balanceado.getDemandas().length;
+
+            SolucionTransporte solucion = null;
+            if (vecino != null && vecino.filas() == filas && vecino.columnas() == columnas) {
+                solucion = optimizacionService.reanudar(balanceado, vecino.celdasBasicas());
+            }
+            if (solucion == null) {
+                SolucionTransporte inicial = solucionInicialService.encontrarSolucionInicial(balanceado, metodo);
+                solucion = optimizacionService.optimizar(balanceado, inicial, ModoOptimizacion.MODI, null);
+            }
+
+            ResultadoEscenario resultado = ResultadoEscenario.builder()
+                    .nombre(nombre)
+                    .costoTotal(solucion.getCostoTotal())
+                    .optima(solucion.isOptima())
+                    .iteraciones(solucion.getIteracionesOptimizacion())
+                    .arranqueEnCaliente(solucion.isArranqueEnCaliente())
+                    .vecino(solucion.isArranqueEnCaliente() ? vecino.indice() : null)
+                    .build();
+
+            Resuelto resuelto = solucion.getCeldasBasicas() != null
+                    ? new Resuelto(indice, preparado, filas, columnas, solucion.getCeldasBasicas())
+                    : null;
+            return new Intento(resultado, resuelto);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            log.warn("Escenario {} no resuelto: {}", nombre, e.getMessage());
+            return new Intento(fallido(nombre, e.getMessage()), null);
+        }
+    }
+
+    private Resuelto masCercano(List<Resuelto> resueltos, Preparado preparado) {
+        Resuelto mejor = null;
+        double mejorDistancia = Double.POSITIVE_INFINITY;
+        for (Resuelto resuelto : resueltos) {
+            double d = distancia(resuelto.preparado(), preparado);
+            if (d < mejorDistancia) {
+                mejorDistancia = d;
+                mejor = resuelto;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Distancia aproximada entre dos escenarios: diferencia de factores, diferencia relativa
+     * de cantidades y proporción de celdas con costo propio distinto.
+     */
+    private double distancia(Preparado a, Preparado b) {
+        ProblemaTransporte pa = a.problema();
+        ProblemaTransporte pb = b.problema();
+        double d = Math.abs(a.costos().getFactor() - b.costos().getFactor());
+        d += diferenciaRelativa(pa.getOfertas(), pb.getOfertas());
+        d += diferenciaRelativa(pa.getDemandas(), pb.getDemandas());
+
+        // Celdas reemplazadas en solo uno de los dos o con costos distintos
+        int[] ca = a.costos().getCeldas();
+        int[] cb = b.costos().getCeldas();
+        double[] va = a.costos().getValores();
+        double[] vb = b.costos().getValores();
+        int distintas = 0;
+        int x = 0;
+        int y = 0;
+        while (x < ca.length || y < cb.length) {
+            if (y == cb.length || (x < ca.length && ca[x] < cb[y])) {
+                distintas++;
+                x++;
+            } else if (x == ca.length || cb[y] < ca[x]) {
+                distintas++;
+                y++;
+            } else {
+                if (va[x] != vb[y]) distintas++;
+                x++;
+                y++;
+            }
+        }
+        return d + (double) distintas / (pa.getOfertas().length + pa.getDemandas().length);
+    }
+
+    private double diferenciaRelativa(double[] a, double[] b) {
+        if (a == b) {
+            return 0.0;
+        }
+        double diferencia = 0.0;
+        double total = 0.0;
+        for (int k = 0; k < a.length; k++) {
+            diferencia += Math.abs(a[k] - b[k]);
+            total += a[k];
+        }
+        return total > 0 ? diferencia / total : diferencia;
+    }
+
+    /**
+     * Calcula la distribución del costo sobre los escenarios resueltos.
+     */
+    private ResumenEscenarios resumir(ResultadoEscenario base, List<ResultadoEscenario> resultados) {
+        double[] costos = resultados.stream()
+                .filter(ResultadoEscenario::estaResuelto)
+                .mapToDouble(ResultadoEscenario::getCostoTotal)
+                .sorted()
+                .toArray();
+
+        ResumenEscenarios.ResumenEscenariosBuilder resumen = ResumenEscenarios.builder()
+                .escenarios(resultados.size())
+                .resueltos(costos.length)
+                .costoBase(base.getCostoTotal())
+                .arranquesEnCaliente((int) resultados.stream().filter(ResultadoEscenario::isArranqueEnCaliente).count())
+                .iteracionesTotales(resultados.stream().mapToLong(ResultadoEscenario::getIteraciones).sum());
+
+        if (costos.length == 0) {
+            return resumen.build();
+        }
+
+        double promedio = Arrays.stream(costos).average().orElse(0.0);
+        double varianza = Arrays.stream(costos).map(c -> (c - promedio) * (c - promedio)).sum() / costos.length;
+
+        return resumen
+                .costoMinimo(costos[0])
+                .costoMaximo(costos[costos.length - 1])
+                .costoPromedio(promedio)
+                .desviacionEstandar(Math.sqrt(varianza))
+                .percentil5(percentil(costos, 5))
+                .mediana(percentil(costos, 50))
+                .percentil95(percentil(costos, 95))
+                .build();
+    }
+
+    private double percentil(double[] ordenados, int p) {
+        int rango = (int) Math.ceil(p / 100.0 * ordenados.length);
+        return ordenados[Math.max(0, rango - 1)];
+    }
+
+    private ResultadoEscenario fallido(String nombre, String error) {
+        return ResultadoEscenario.builder()
+                .nombre(nombre)
+                .error(error)
+                .build();
+    }
+
+    private String nombre(EscenarioTransporte escenario, int indice) {
+        return escenario.getNombre() != null ? escenario.getNombre() : "Escenario " + (indice + 1);
+    }
+
+    /**
+     * Resultado de un lote: el problema base, cada escenario y la distribución del costo.
+     */
+    public record ResultadoLote(
+            ResultadoEscenario base,
+            List<ResultadoEscenario> escenarios,
+            ResumenEscenarios resumen) {
+    }
+
+    private record Preparado(ProblemaTransporte problema, CostosEscenario costos) {
+    }
+
+    private record Resuelto(int indice, Preparado preparado, int filas, int columnas, int[] celdasBasicas) {
+    }
+
+    private record Intento(ResultadoEscenario resultado, Resuelto resuelto) {
+    }
+}
@@ -0,0 +1,347 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.FirmaProblema;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Servicio que guarda en disco las bases óptimas de los problemas ya resueltos para arrancar en
+ * caliente los problemas parecidos, también después de reiniciar el servidor.
+ *
+ * Los registros se agregan al final de segmentos de tamaño fijo mapeados en memoria; cuando uno
+ * se llena se abre el siguiente y, pasado el máximo, se borra el más antiguo. Cada registro guarda
+ * la {@link FirmaProblema} del problema balanceado y sus celdas básicas. En memoria solo se mantiene
+ * el índice de firmas agrupado por dimensiones, que se reconstruye recorriendo los segmentos al
+ * iniciar.
+ *
+ * Formato del segmento (little-endian): cabecera de 32 bytes con mágico, versión y bytes usados,
+ * y luego los registros: largo, filas, columnas, cantidad de celdas, fecha, resumen de la firma
+ * (float) y celdas básicas (int). Los bytes usados se actualizan después de escribir el registro,
+ * así que un registro a medio escribir no se lee al reiniciar.
+ */
+@Service
+@Slf4j
+public class HistorialSolucionesService {
+
+    private static final int MAGICO = 0x48535631;
+    private static final int VERSION = 1;
+    private static final int CABECERA = 32;
+    private static final int CABECERA_REGISTRO = 24;
+    private static final Pattern NOMBRE_SEGMENTO = Pattern.compile("segmento-(\\d{6})\\.dat");
+
+    /**
+     * Firmas comparadas como máximo por búsqueda, empezando por las más recientes.
+     */
+    private static final int CANDIDATOS_MAXIMOS = 4096;
+
+    private final Path directorio;
+    private final long tamanoSegmento;
+    private final int maximoSegmentos;
+    private final double distanciaMaxima;
+
+    private final TreeMap<Integer, MappedByteBuffer> segmentos = new TreeMap<>();
+    // Registros por dimensiones (filas << 32 | columnas), del más antiguo al más reciente
+    private final Map<Long, List<Registro>> indice = new HashMap<>();
+    private volatile boolean habilitado;
+    private int registros;
+    private long arranques;
+    private long sinParecido;
+
+    public HistorialSolucionesService(
+            @Value("${transporte.historial.directorio:${java.io.tmpdir}/graphtransportsolver-historial}") String directorio,
+            @Value("${transporte.historial.segmento-mb:64}") long segmentoMb,
+            @Value("${transporte.historial.maximo-segmentos:16}") int maximoSegmentos,
+            @Value("${transporte.historial.distancia-maxima:0.2}") double distanciaMaxima) {
+        if (segmentoMb > 1024) {
+            throw new IllegalArgumentException("transporte.historial.segmento-mb no puede superar 1024");
+        }
+        this.directorio = Path.of(directorio);
+        this.tamanoSegmento = segmentoMb * 1024L * 1024L;
+        this.maximoSegmentos = Math.max(1, maximoSegmentos);
+        this.distanciaMaxima = distanciaMaxima;
+    }
+
+    /**
+     * Mapea los segmentos existentes y reconstruye el índice de firmas.
+     */
+    @PostConstruct
+    synchronized void iniciar() {
+        if (tamanoSegmento <= 0) {
+            return;
+        }
+        try {
+            Files.createDirectories(directorio);
+            TreeMap<Integer, Path> archivos = new TreeMap<>();
+            try (DirectoryStream<Path> contenido = Files.newDirectoryStream(directorio)) {
+                for (Path archivo : contenido) {
+                    Matcher nombre = NOMBRE_SEGMENTO.matcher(archivo.getFileName().toString());
+                    if (nombre.matches()) {
+                        archivos.put(Integer.parseInt(nombre.group(1)), archivo);
+                    }
+                }
+            }
+            for (Map.Entry<Integer, Path> archivo : archivos.entrySet()) {
+                cargarSegmento(archivo.getKey(), archivo.getValue());
+            }
+            if (segmentos.isEmpty()) {
+                abrirSegmento(archivos.isEmpty() ? 0 : archivos.lastKey() + 1);
+            }
+            descartarAntiguos();
+            habilitado = true;
+            log.info("Historial de soluciones en {}: {} registros en {} segmentos", directorio, registros, segmentos.size());
+        } catch (IOException e) {
+            log.warn("Historial de soluciones deshabilitado: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    synchronized void detener() {
+        if (habilitado) {
+            segmentos.lastEntry().getValue().force();
+        }
+    }
+
+    /**
+     * @param problema problema balanceado
+     * @return firma del problema, o null si el historial está deshabilitado
+     */
+    public FirmaProblema firmar(ProblemaTransporte problema) {
+        return habilitado ? FirmaProblema.de(problema) : null;
+    }
+
+    /**
+     * Busca el problema resuelto más parecido con las mismas dimensiones.
+     *
+     * @param firma firma del problema a resolver (null si no se consulta el historial)
+     * @return celdas básicas de ese problema, o null si ninguno está a menos de la distancia máxima
+     */
+    public synchronized int[] buscarBase(FirmaProblema firma) {
+        if (!habilitado || firma == null) {
+            return null;
+        }
+        List<Registro> candidatos = indice.getOrDefault(dimensiones(firma), List.of());
+        Registro elegido = null;
+        double mejor = distanciaMaxima;
+        int desde = Math.max(0, candidatos.size() - CANDIDATOS_MAXIMOS);
+        for (int k = candidatos.size() - 1; k >= desde; k--) {
+            double distancia = candidatos.get(k).firma().distancia(firma);
+            // A igual distancia queda el más reciente
+            if (distancia < mejor || (elegido == null && distancia == mejor)) {
+                mejor = distancia;
+                elegido = candidatos.get(k);
+            }
+        }
+        if (elegido == null) {
+            sinParecido++;
+            return null;
+        }
+
+        MappedByteBuffer segmento = segmentos.get(elegido.segmento());
+        int[] celdas = new int[elegido.numCeldas()];
+        int posicion = elegido.posicionCeldas();
+        for (int k = 0; k < celdas.length; k++) {
+            celdas[k] = segmento.getInt(posicion + 4 * k);
+        }
+        arranques++;
+        log.info("Historial: base de un problema {}x{} a distancia {}", firma.getFilas(), firma.getColumnas(), mejor);
+        return celdas;
+    }
+
+    /**
+     * Agrega la base óptima de un problema resuelto al historial.
+     *
+     * @param firma  firma del problema balanceado
+     * @param celdas celdas básicas de la solución (i * n + j)
+     */
+    public synchronized void registrar(FirmaProblema firma, int[] celdas) {
+        if (!habilitado || firma == null || celdas == null) {
+            return;
+        }
+        float[] resumen = firma.getResumen();
+        long largo = CABECERA_REGISTRO + 4L * resumen.length + 4L * celdas.length;
+        if (largo > tamanoSegmento - CABECERA) {
+            log.debug("Historial: la base de {} celdas no entra en un segmento", celdas.length);
+            return;
+        }
+
+        try {
+            int numero = segmentos.lastKey();
+            MappedByteBuffer segmento = segmentos.get(numero);
+            int usados = segmento.getInt(8);
+            if (usados + largo > segmento.capacity()) {
+                segmento.force();
+                numero++;
+                segmento = abrirSegmento(numero);
+                usados = CABECERA;
+                descartarAntiguos();
+            }
+
+            int posicion = usados;
+            segmento.putInt(posicion, (int) largo)
+                    .putInt(posicion + 4, firma.getFilas())
+                    .putInt(posicion + 8, firma.getColumnas())
+                    .putInt(posicion + 12, celdas.length)
+                    .putLong(posicion + 16, System.currentTimeMillis());
+            posicion += CABECERA_REGISTRO;
+            for (float valor : resumen) {
+                segmento.putFloat(posicion, valor);
+                posicion += 4;
+            }
+            int posicionCeldas = posicion;
+            for (int celda : celdas) {
+                segmento.putInt(posicion, celda);
+                posicion += 4;
+            }
+            // El registro cuenta recién cuando la cabecera lo incluye
+            segmento.putInt(8, posicion);
+            indexar(new Registro(firma, numero, posicionCeldas, celdas.length));
+        } catch (IOException e) {
+            habilitado = false;
+            log.warn("Historial de soluciones deshabilitado: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return registros, segmentos y consultas del historial
+     */
+    public synchronized Estadisticas estadisticas() {
+        long bytes = 0;
+        for (MappedByteBuffer segmento : segmentos.values()) {
+            bytes += segmento.getInt(8);
+        }
+        return new Estadisticas(habilitado, registros, segmentos.size(), bytes, arranques, sinParecido);
+    }
+
+    private void cargarSegmento(int numero, Path archivo) throws IOException {
+        MappedByteBuffer segmento;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (canal.size() < CABECERA || canal.size() > Integer.MAX_VALUE) {
+                log.warn("Historial: se ignora {}, no es un segmento válido", archivo);
+                return;
+            }
+            segmento = canal.map(FileChannel.MapMode.READ_WRITE, 0, canal.size());
+        }
+        segmento.order(ByteOrder.LITTLE_ENDIAN);
+        int usados = segmento.getInt(8);
+        if (segmento.getInt(0) != MAGICO || segmento.getInt(4) != VERSION
+                || usados < CABECERA || usados > segmento.capacity()) {
+            log.warn("Historial: se ignora {}, no es un segmento válido", archivo);
+            return;
+        }
+
+        int posicion = CABECERA;
+        while (posicion < usados) {
+            int largo = segmento.getInt(posicion);
+            int filas = segmento.getInt(posicion + 4);
+            int columnas = segmento.getInt(posicion + 8);
+            int numCeldas = segmento.getInt(posicion + 12);
+            if (filas <= 0 || columnas <= 0 || numCeldas < 0 || largo <= 0 || posicion + largo > usados
+                    || largo != CABECERA_REGISTRO + 4L * FirmaProblema.largoResumen(filas, columnas) + 4L * numCeldas) {
+                log.warn("Historial: {} tiene un registro inválido en {}, se ignora el resto", archivo, posicion);
+                break;
+            }
+            float[] resumen = new float[FirmaProblema.largoResumen(filas, columnas)];
+            int lectura = posicion + CABECERA_REGISTRO;
+            for (int k = 0; k < resumen.length; k++) {
+                resumen[k] = segmento.getFloat(lectura);
+                lectura += 4;
+            }
+            indexar(new Registro(new FirmaProblema(filas, columnas, resumen), numero, lectura, numCeldas));
+            posicion += largo;
+        }
+        // Lo que quedó después del último registro válido se sobrescribe con los siguientes
+        segmento.putInt(8, posicion);
+        segmentos.put(numero, segmento);
+    }
+
+    private MappedByteBuffer abrirSegmento(int numero) throws IOException {
+        Path archivo = directorio.resolve(String.format("segmento-%06d.dat", numero));
+        MappedByteBuffer segmento;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            segmento = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanoSegmento);
+        }
+        segmento.order(ByteOrder.LITTLE_ENDIAN);
+        segmento.putInt(0, MAGICO)
+                .putInt(4, VERSION)
+                .putInt(8, CABECERA);
+        segmentos.put(numero, segmento);
+        return segmento;
+    }
+
+    /**
+     * Borra los segmentos más antiguos que exceden el máximo, con sus registros del índice.
+     */
+    private void descartarAntiguos() throws IOException {
+        while (segmentos.size() > maximoSegmentos) {
+            int numero = segmentos.pollFirstEntry().getKey();
+            for (List<Registro> lista : indice.values()) {
+                int antes = lista.size();
+                lista.removeIf(registro -> registro.segmento() == numero);
+                registros -= antes - lista.size();
+            }
+            indice.values().removeIf(List::isEmpty);
+            Files.deleteIfExists(directorio.resolve(String.format("segmento-%06d.dat", numero)));
+            log.info("Historial: segmento {} descartado", numero);
+        }
+    }
+
+    private void indexar(Registro registro) {
+        indice.computeIfAbsent(dimensiones(registro.firma()), clave -> new ArrayList<>()).add(registro);
+        registros++;
+    }
+
+    private static long dimensiones(FirmaProblema firma) {
+        return ((long) firma.getFilas() << 32) | firma.getColumnas();
+    }
+
+    /**
+     * Problema resuelto guardado en un segmento.
+     *
+     * @param firma          firma del problema balanceado
+     * @param segmento       número del segmento
+     * @param posicionCeldas posición de las celdas básicas en el segmento
+     * @param numCeldas      cantidad de celdas básicas
+     */
+    private record Registro(FirmaProblema firma, int segmento, int posicionCeldas, int numCeldas) {
+    }
+
+    /**
+     * Estado del historial.
+     *
+     * @param habilitado  si el historial está en uso
+     * @param registros   problemas resueltos guardados
+     * @param segmentos   segmentos en disco
+     * @param bytes       bytes ocupados por los registros
+     * @param arranques   resoluciones que arrancaron desde una base del historial
+     * @param sinParecido consultas sin un problema parecido
+     */
+    public record Estadisticas(
+            boolean habilitado,
+            int registros,
+            int segmentos,
+            long bytes,
+            long arranques,
+            long sinParecido) {
+    }
+}
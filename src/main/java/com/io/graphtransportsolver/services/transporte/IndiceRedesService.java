@@ -0,0 +1,128 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.ContraccionJerarquica;
+import com.io.graphtransportsolver.models.transporte.GrafoVial;
+import com.io.graphtransportsolver.models.transporte.JerarquiaContraccion;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Servicio que preprocesa redes viales estáticas en jerarquías de contracción y las guarda
+ * en disco, una por archivo, para calcular matrices de costos sin repetir el Dijkstra completo
+ * en cada solicitud.
+ *
+ * Los índices se mapean en memoria al registrarlos o la primera vez que se consultan (también
+ * después de reiniciar el servidor), así que la memoria que ocupan la administra el sistema operativo.
+ */
+@Service
+@Slf4j
+public class IndiceRedesService {
+
+    private static final String EXTENSION = ".ch";
+
+    private final Path directorio;
+    private final Map<String, JerarquiaContraccion> mapeadas = new ConcurrentHashMap<>();
+
+    public IndiceRedesService(
+            @Value("${transporte.redes.directorio:${java.io.tmpdir}/graphtransportsolver-redes}") String directorio) {
+        this.directorio = Path.of(directorio);
+    }
+
+    /**
+     * Construye y guarda la jerarquía de contracción de una red.
+     *
+     * @param grafo red vial
+     * @return identificador y jerarquía de la red registrada
+     */
+    public Registro registrar(GrafoVial grafo) {
+        long inicio = System.nanoTime();
+        JerarquiaContraccion construida = ContraccionJerarquica.construir(grafo);
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+
+        String id = UUID.randomUUID().toString();
+        try {
+            Files.createDirectories(directorio);
+            Path archivo = archivo(id);
+            construida.escribir(archivo);
+            JerarquiaContraccion mapeada = JerarquiaContraccion.mapear(archivo);
+            mapeadas.put(id, mapeada);
+
+            log.info("Red {} registrada: {} nodos, {} atajos, {} bytes, preproceso en {} ms",
+                    id, mapeada.getNumNodos(), mapeada.getAtajos(), mapeada.estimarBytes(), milisegundos);
+            return new Registro(id, mapeada, milisegundos);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo guardar el índice de la red: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Obtiene la jerarquía de una red registrada, mapeándola desde disco si aún no lo estaba.
+     *
+     * @param id identificador de la red
+     * @return jerarquía de contracción
+     */
+    public JerarquiaContraccion obtener(String id) {
+        validarId(id);
+        return mapeadas.computeIfAbsent(id, clave -> {
+            Path archivo = archivo(clave);
+            if (!Files.exists(archivo)) {
+                throw new IllegalArgumentException("No existe la red " + clave);
+            }
+            try {
+                return JerarquiaContraccion.mapear(archivo);
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo leer el índice de la red " + clave + ": " + e.getMessage(), e);
+            }
+        });
+    }
+
+    /**
+     * Elimina una red registrada y su archivo.
+     *
+     * @param id identificador de la red
+     */
+    public void eliminar(String id) {
+        validarId(id);
+        mapeadas.remove(id);
+        try {
+            if (!Files.deleteIfExists(archivo(id))) {
+                throw new IllegalArgumentException("No existe la red " + id);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo eliminar el índice de la red " + id + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Los ids son UUID: así el id nunca sale del directorio de índices.
+     */
+    private void validarId(String id) {
+        try {
+            UUID.fromString(id);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("No existe la red " + id);
+        }
+    }
+
+    private Path archivo(String id) {
+        return directorio.resolve(id + EXTENSION);
+    }
+
+    /**
+     * Red recién registrada.
+     *
+     * @param id           identificador de la red
+     * @param jerarquia    jerarquía mapeada desde su archivo
+     * @param milisegundos duración de la contracción
+     */
+    public record Registro(String id, JerarquiaContraccion jerarquia, long milisegundos) {
+    }
+}
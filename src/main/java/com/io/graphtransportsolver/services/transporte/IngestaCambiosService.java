@@ -0,0 +1,297 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.ActualizacionResidente;
+import com.io.graphtransportsolver.models.transporte.CambiosProblema;
+import com.io.graphtransportsolver.models.transporte.EventoCantidad;
+import com.io.graphtransportsolver.models.transporte.ProblemaResidente;
+import com.io.graphtransportsolver.models.transporte.enums.TipoCantidad;
+import com.io.graphtransportsolver.presentation.dto.transporte.CambioCantidadDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.EventosCantidadDTO;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingesta continua de cambios de ofertas y demandas de problemas residentes.
+ *
+ * Los eventos entran a una cola en memoria y un único consumidor los agrupa en micro-lotes:
+ * espera el primer evento, junta los que lleguen durante la ventana configurada y aplica
+ * cada problema del lote como una sola actualización en caliente. Mientras se resuelve un
+ * lote, los eventos nuevos se acumulan para el siguiente, así que el tamaño del lote se
+ * adapta solo a la velocidad de llegada. Cada actualización se publica a los suscriptores
+ * del problema.
+ */
+@Service
+@Slf4j
+public class IngestaCambiosService {
+
+    private final ProblemasResidentesService problemasResidentesService;
+    private final AlmacenProblemasService almacenProblemasService;
+    private final ForkJoinPool poolTransporte;
+    private final ExecutorService ejecutorIngesta;
+
+    private final BlockingQueue<EventoCantidad> cola;
+    private final long ventanaMs;
+    private final int maximoLote;
+
+    private final Map<String, List<Suscriptor>> suscriptores = new ConcurrentHashMap<>();
+
+    public IngestaCambiosService(
+            ProblemasResidentesService problemasResidentesService,
+            AlmacenProblemasService almacenProblemasService,
+            ForkJoinPool poolTransporte,
+            @Qualifier("ejecutorIngesta") ExecutorService ejecutorIngesta,
+            @Value("${transporte.ingesta.capacidad-cola:100000}") int capacidadCola,
+            @Value("${transporte.ingesta.ventana-ms:200}") long ventanaMs,
+            @Value("${transporte.ingesta.maximo-lote:10000}") int maximoLote) {
+        this.problemasResidentesService = problemasResidentesService;
+        this.almacenProblemasService = almacenProblemasService;
+        this.poolTransporte = poolTransporte;
+        this.ejecutorIngesta = ejecutorIngesta;
+        this.cola = new ArrayBlockingQueue<>(capacidadCola);
+        this.ventanaMs = ventanaMs;
+        this.maximoLote = maximoLote;
+        almacenProblemasService.alDescartar(this::cerrarSuscripciones);
+    }
+
+    /**
+     * Arranca el consumidor de la cola. Se detiene al cerrar el ejecutor de ingesta.
+     */
+    @PostConstruct
+    void iniciar() {
+        ejecutorIngesta.execute(this::consumir);
+    }
+
+    /**
+     * Valida los eventos y los deja en la cola. Se encolan todos o ninguno.
+     *
+     * @param eventos cambios de cantidades, en orden de llegada
+     * @return eventos que quedan en la cola (incluidos los recién encolados)
+     */
+    public int encolar(List<EventoCantidad> eventos) {
+        if (eventos == null || eventos.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un evento");
+        }
+        for (EventoCantidad evento : eventos) {
+            validar(evento);
+        }
+
+        // Sincronizado para que los eventos de una solicitud no se intercalen con los de otra
+        synchronized (cola) {
+            if (cola.remainingCapacity() < eventos.size()) {
+                throw new IllegalStateException(
+                        "La cola de ingesta está llena (" + cola.size() + " eventos pendientes)");
+            }
+            cola.addAll(eventos);
+        }
+        return cola.size();
+    }
+
+    /**
+     * Registra un suscriptor a las actualizaciones de un problema.
+     *
+     * @param id         identificador del problema
+     * @param suscriptor receptor de las actualizaciones
+     * @return acción que cancela la suscripción
+     */
+    public Runnable suscribir(String id, Suscriptor suscriptor) {
+        almacenProblemasService.obtener(id);
+        suscriptores.computeIfAbsent(id, clave -> new CopyOnWriteArrayList<>()).add(suscriptor);
+        Runnable cancelar = () -> suscriptores.computeIfPresent(id, (clave, lista) -> {
+            lista.remove(suscriptor);
+            return lista.isEmpty() ? null : lista;
+        });
+        // Si el problema salió del almacén entre la consulta y el registro, nadie cerraría la suscripción
+        try {
+            almacenProblemasService.obtener(id);
+        } catch (IllegalArgumentException e) {
+            cancelar.run();
+            throw e;
+        }
+        return cancelar;
+    }
+
+    /**
+     * Cierra y olvida las suscripciones de un problema que salió del almacén.
+     *
+     * @param id     identificador del problema
+     * @param motivo por qué salió, p. ej. "se eliminó"
+     */
+    private void cerrarSuscripciones(String id, String motivo) {
+        List<Suscriptor> receptores = suscriptores.remove(id);
+        if (receptores == null) {
+            return;
+        }
+        String mensaje = "El problema " + id + " " + motivo;
+        log.info("Se cierran {} suscripciones: {}", receptores.size(), mensaje);
+        receptores.forEach(suscriptor -> suscriptor.cerrado(mensaje));
+    }
+
+    /**
+     * @return eventos en la cola sin procesar
+     */
+    public int getPendientes() {
+        return cola.size();
+    }
+
+    /**
+     * Convierte las cantidades recibidas en eventos de ingesta, primero las ofertas y luego las
+     * demandas.
+     *
+     * @param id  identificador del problema
+     * @param dto nuevas ofertas y demandas
+     * @return eventos en el orden en que se encolan
+     */
+    public List<EventoCantidad> convertir(String id, EventosCantidadDTO dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("Los eventos no pueden ser nulos");
+        }
+        List<EventoCantidad> eventos = new ArrayList<>();
+        agregarEventos(eventos, id, TipoCantidad.OFERTA, dto.ofertas());
+        agregarEventos(eventos, id, TipoCantidad.DEMANDA, dto.demandas());
+        return eventos;
+    }
+
+    private void agregarEventos(
+            List<EventoCantidad> eventos,
+            String id,
+            TipoCantidad tipo,
+            List<CambioCantidadDTO> cambios) {
+
+        if (cambios == null) {
+            return;
+        }
+        for (CambioCantidadDTO cambio : cambios) {
+            if (cambio == null) {
+                throw new IllegalArgumentException("Los eventos no pueden ser nulos");
+            }
+            eventos.add(EventoCantidad.builder()
+                    .problemaId(id)
+                    .tipo(tipo)
+                    .indice(cambio.indice())
+                    .valor(cambio.valor())
+                    .build());
+        }
+    }
+
+    private void validar(EventoCantidad evento) {
+        if (evento == null || evento.getProblemaId() == null || evento.getTipo() == null) {
+            throw new IllegalArgumentException("Cada evento debe indicar el problema y si es oferta o demanda");
+        }
+        ProblemaResidente residente = almacenProblemasService.obtener(evento.getProblemaId());
+        boolean esOferta = evento.getTipo() == TipoCantidad.OFERTA;
+        int limite = esOferta ? residente.getOfertas().length : residente.getDemandas().length;
+        String etiqueta = esOferta ? "oferta" : "demanda";
+        if (evento.getIndice() < 0 || evento.getIndice() >= limite) {
+            throw new IllegalArgumentException("No existe la " + etiqueta + " " + evento.getIndice());
+        }
+        if (!(evento.getValor() >= 0) || Double.isInfinite(evento.getValor())) {
+            throw new IllegalArgumentException(
+                    "La " + etiqueta + " " + evento.getIndice() + " debe ser un número no negativo");
+        }
+    }
+
+    /**
+     * Ciclo del consumidor: un micro-lote por vuelta hasta que se interrumpe el hilo.
+     */
+    private void consumir() {
+        List<EventoCantidad> lote = new ArrayList<>();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                lote.add(cola.take());
+                long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ventanaMs);
+                while (lote.size() < maximoLote) {
+                    long restante = limite - System.nanoTime();
+                    EventoCantidad evento = restante > 0 ? cola.poll(restante, TimeUnit.NANOSECONDS) : null;
+                    if (evento == null) {
+                        break;
+                    }
+                    lote.add(evento);
+                    cola.drainTo(lote, maximoLote - lote.size());
+                }
+
+                procesar(lote);
+                lote.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Consumidor de ingesta detenido con {} eventos pendientes", cola.size());
+    }
+
+    /**
+     * Agrupa el lote por problema (el último valor de cada cantidad gana) y aplica cada
+     * problema como una actualización. Los problemas distintos se resuelven en paralelo.
+     */
+    private void procesar(List<EventoCantidad> lote) {
+        Map<String, CambiosProblema> porProblema = new LinkedHashMap<>();
+        for (EventoCantidad evento : lote) {
+            CambiosProblema cambios = porProblema.computeIfAbsent(
+                    evento.getProblemaId(), id -> CambiosProblema.builder().build());
+            Map<Integer, Double> cantidades = evento.getTipo() == TipoCantidad.OFERTA
+                    ? cambios.getOfertas()
+                    : cambios.getDemandas();
+            cantidades.put(evento.getIndice(), evento.getValor());
+        }
+
+        List<ForkJoinTask<?>> tareas = new ArrayList<>(porProblema.size());
+        for (Map.Entry<String, CambiosProblema> entrada : porProblema.entrySet()) {
+            tareas.add(poolTransporte.submit(() -> aplicar(entrada.getKey(), entrada.getValue())));
+        }
+        tareas.forEach(ForkJoinTask::join);
+
+        log.debug("Micro-lote de {} eventos aplicado a {} problemas", lote.size(), porProblema.size());
+    }
+
+    private void aplicar(String id, CambiosProblema cambios) {
+        List<Suscriptor> receptores = suscriptores.getOrDefault(id, List.of());
+        try {
+            ActualizacionResidente actualizacion = problemasResidentesService.actualizar(id, cambios);
+            receptores.forEach(suscriptor -> suscriptor.actualizado(actualizacion));
+        } catch (IllegalArgumentException e) {
+            // El problema pudo expirar o eliminarse después de encolar los eventos
+            log.warn("No se pudo aplicar el micro-lote al problema {}: {}", id, e.getMessage());
+            receptores.forEach(suscriptor -> suscriptor.rechazado(e.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Error inesperado al aplicar el micro-lote al problema " + id, e);
+            receptores.forEach(suscriptor -> suscriptor.rechazado("Error inesperado al aplicar los cambios"));
+        }
+    }
+
+    /**
+     * Receptor de las actualizaciones de un problema. Se invoca desde los hilos del
+     * pool de transporte, por lo que no debe bloquearse.
+     */
+    public interface Suscriptor {
+
+        /**
+         * Se aplicó un micro-lote y el plan cambió de versión.
+         */
+        void actualizado(ActualizacionResidente actualizacion);
+
+        /**
+         * No se pudo aplicar un micro-lote; el plan sigue en la versión anterior.
+         */
+        void rechazado(String mensaje);
+
+        /**
+         * El problema se eliminó o se descartó del almacén; no habrá más actualizaciones.
+         */
+        void cerrado(String mensaje);
+    }
+}
@@ -1,18 +1,31 @@
 package com.io.graphtransportsolver.services.transporte;
 
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
+import com.io.graphtransportsolver.algoritmos.transporte.CotaInferiorDual;
+import com.io.graphtransportsolver.models.transporte.AnalisisSensibilidad;
+import com.io.graphtransportsolver.models.transporte.ComponenteTransporte;
+import com.io.graphtransportsolver.models.transporte.FirmaProblema;
+import com.io.graphtransportsolver.models.transporte.HuellaProblema;
 import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.ReduccionTransporte;
 import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
 import com.io.graphtransportsolver.models.transporte.enums.TipoBalance;
 import com.io.graphtransportsolver.presentation.dto.ApiResponseDTO;
+import com.io.graphtransportsolver.presentation.dto.EstadisticasCacheDTO;
 import com.io.graphtransportsolver.presentation.dto.transporte.ComparacionMetodosDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.EstadisticasHistorialDTO;
 import com.io.graphtransportsolver.presentation.dto.transporte.ProblemaTransporteDTO;
 import com.io.graphtransportsolver.presentation.dto.transporte.SolucionTransporteDTO;
+import com.io.graphtransportsolver.utils.CacheLRUPonderada;
 import com.io.graphtransportsolver.utils.Constants;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Servicio principal para resolver problemas de transporte.
@@ -26,8 +39,19 @@ import java.util.Arrays;
 @Slf4j
 public class ModeloTransporteService {
 
+    private final ConversionTransporteService conversionService;
     private final SolucionInicialService solucionInicialService;
     private final BalanceadorService balanceadorService;
+    private final OptimizacionService optimizacionService;
+    private final PresolveService presolveService;
+    private final DescomposicionService descomposicionService;
+    private final ResolucionDistribuidaService resolucionDistribuidaService;
+    private final CacheSolucionesService cacheSolucionesService;
+    private final HistorialSolucionesService historialSolucionesService;
+
+    // Resoluciones y comparaciones que se están calculando, para unir las solicitudes idénticas
+    private final ResolucionesEnCurso<ResolucionCompartida> resolucionesEnCurso = new ResolucionesEnCurso<>("resolución");
+    private final ResolucionesEnCurso<ComparacionCompartida> comparacionesEnCurso = new ResolucionesEnCurso<>("comparación");
 
     /**
      * Resuelve un problema de transporte usando el método especificado.
@@ -36,64 +60,185 @@ public class ModeloTransporteService {
      * @return ApiResponseDTO con la solución
      */
     public ApiResponseDTO<SolucionTransporteDTO> resolverProblema(ProblemaTransporteDTO problemaDTO) {
+        return resolverProblema(problemaDTO, ControlEjecucion.cancelable());
+    }
+
+    /**
+     * Resuelve un problema de transporte; se detiene en milisegundos si se cancela el control
+     * (p. ej. porque el cliente cerró la conexión).
+     *
+     * @param problemaDTO problema recibido desde el frontend
+     * @param cancelacion control que se cancela cuando la respuesta ya no se necesita
+     * @return ApiResponseDTO con la solución
+     */
+    public ApiResponseDTO<SolucionTransporteDTO> resolverProblema(
+            ProblemaTransporteDTO problemaDTO,
+            ControlEjecucion cancelacion) {
+        return solicitarResolucion(problemaDTO, cancelacion).join();
+    }
+
+    /**
+     * Resuelve un problema de transporte o, si otra solicitud ya está resolviendo el mismo problema
+     * (aunque liste los orígenes y destinos en otro orden), espera esa resolución sin ocupar el hilo.
+     *
+     * @param problemaDTO problema recibido desde el frontend
+     * @param cancelacion control que se cancela cuando la respuesta ya no se necesita
+     * @return futuro con el ApiResponseDTO de la solución (ya completo si se resolvió en este hilo)
+     */
+    public CompletableFuture<ApiResponseDTO<SolucionTransporteDTO>> solicitarResolucion(
+            ProblemaTransporteDTO problemaDTO,
+            ControlEjecucion cancelacion) {
         log.info("{}", Constants.Message.START_SERVICE);
         log.debug("{}{}", Constants.Message.REQUEST, problemaDTO);
 
-        ApiResponseDTO<SolucionTransporteDTO> response = new ApiResponseDTO<>();
-
-        try {
+        return RespuestasApi.ejecutarAsincrono("preparar el problema de transporte", () -> {
             // 1. Validar entrada básica
-            validarEntradaBasica(problemaDTO);
+            conversionService.validarEntradaBasica(problemaDTO);
+            conversionService.validarCapacidades(problemaDTO);
 
             // 2. Convertir DTO a modelo de dominio
-            ProblemaTransporte problemaOriginal = convertirDTOaModelo(problemaDTO);
+            ProblemaTransporte problemaOriginal = conversionService.convertirDTOaModelo(problemaDTO);
+
+            ModoOptimizacion modoOptimizacion = problemaDTO.modoOptimizacion() != null
+                    ? problemaDTO.modoOptimizacion()
+                    : ModoOptimizacion.NINGUNA;
+
+            // Presupuesto de tiempo de toda la resolución
+            long presupuesto = conversionService.presupuestoMs(problemaDTO.tiempoLimiteMs());
+
+            // 3. Reutilizar la solución si el mismo problema ya se resolvió, aunque sea en otro orden
+            HuellaProblema huella = problemaDTO.baseInicial() == null && !conversionService.tieneCapacidades(problemaDTO)
+                    ? cacheSolucionesService.calcularHuella(problemaOriginal, problemaDTO, modoOptimizacion)
+                    : null;
+            if (huella == null) {
+                return CompletableFuture.completedFuture(
+                        resolverModelo(problemaOriginal, problemaDTO, modoOptimizacion, presupuesto, null, cancelacion));
+            }
+            SolucionTransporteDTO guardada = cacheSolucionesService.buscar(huella, problemaDTO);
+            if (guardada != null) {
+                ApiResponseDTO<SolucionTransporteDTO> response = new ApiResponseDTO<>();
+                response.SuccessOperation(guardada);
+                log.info("{}", Constants.Message.FINISH_SERVICE);
+                return CompletableFuture.completedFuture(response);
+            }
 
+            // 3.1 Unirse a la resolución en curso del mismo problema con el mismo presupuesto, si la hay
+            return resolucionesEnCurso.unirse(
+                    huella.getClave() + "|" + presupuesto,
+                    cancelacion,
+                    compartido -> new ResolucionCompartida(huella, resolverModelo(
+                            problemaOriginal, problemaDTO, modoOptimizacion, presupuesto, huella, compartido))
+            ).thenApply(compartida -> adaptarResolucion(compartida, huella, problemaDTO));
+        });
+    }
+
+    /**
+     * Balancea, resuelve y optimiza un problema ya validado y guarda la solución en la caché.
+     *
+     * @param huella      huella del problema (null si no se guarda en la caché)
+     * @param cancelacion control de la solicitud, o el compartido si la esperan varias
+     */
+    private ApiResponseDTO<SolucionTransporteDTO> resolverModelo(
+            ProblemaTransporte problemaOriginal,
+            ProblemaTransporteDTO problemaDTO,
+            ModoOptimizacion modoOptimizacion,
+            long presupuesto,
+            HuellaProblema huella,
+            ControlEjecucion cancelacion) {
+        return RespuestasApi.ejecutar("resolver el problema de transporte", () -> {
             // 3. Guardar el tipo de balance ORIGINAL (antes de balancear)
             TipoBalance tipoBalanceOriginal = problemaOriginal.getTipoBalance();
 
-            // 4. Balancear el problema
-            ProblemaTransporte problemaBalanceado = balanceadorService.balancear(problemaOriginal);
-
-            log.debug("Problema original: tipoBalance={}", tipoBalanceOriginal);
-            log.debug("Problema balanceado: tieneFicticio={}, tipoBalance={}",
-                    problemaBalanceado.isTieneFicticio(),
-                    problemaBalanceado.getTipoBalance());
+            // El plazo corre desde que se aceptó la solicitud: si se agotó esperando un hilo, no se empieza
+            ControlEjecucion control = cancelacion.conPlazo(presupuesto);
+            control.verificarInicio();
+
+            // 4. Descomponer por carriles permitidos si se indicó un costo prohibido
+            List<ComponenteTransporte> componentes = problemaDTO.costoProhibido() != null
+                    ? descomposicionService.detectarComponentes(problemaOriginal, problemaDTO.costoProhibido())
+                    : List.of();
+
+            ProblemaTransporte problemaBalanceado;
+            SolucionTransporte solucion;
+            if (componentes.size() > 1) {
+                log.info("Problema descompuesto en {} componentes", componentes.size());
+
+                // 4.1 - 5.2 Balancear y resolver cada componente en paralelo
+                DescomposicionService.ResultadoDescomposicion resultado = descomposicionService.resolver(
+                        problemaOriginal,
+                        componentes,
+                        subproblema -> resolverBalanceado(subproblema, problemaDTO, modoOptimizacion, null, control)
+                );
+                problemaBalanceado = resultado.problemaUnido();
+                solucion = resultado.solucion();
+                if (solucion.getMetodoUtilizado() == null) {
+                    solucion.setMetodoUtilizado(problemaDTO.metodoInicial());
+                }
+            } else {
+                // 4. Balancear el problema
+                problemaBalanceado = balanceadorService.balancear(problemaOriginal);
+
+                log.debug("Problema original: tipoBalance={}", tipoBalanceOriginal);
+                log.debug("Problema balanceado: tieneFicticio={}, tipoBalance={}",
+                        problemaBalanceado.isTieneFicticio(),
+                        problemaBalanceado.getTipoBalance());
+
+                // 4.1 Sin base inicial, arrancar desde la del problema parecido más cercano ya resuelto
+                FirmaProblema firma = usaHistorial(problemaDTO, modoOptimizacion)
+                        ? historialSolucionesService.firmar(problemaBalanceado)
+                        : null;
+                int[] baseInicial = problemaDTO.baseInicial() != null
+                        ? problemaDTO.baseInicial()
+                        : historialSolucionesService.buscarBase(firma);
+
+                // 4.1 - 5.2 Reducir, resolver y optimizar el problema balanceado
+                solucion = resolverBalanceado(
+                        problemaBalanceado,
+                        problemaDTO,
+                        modoOptimizacion,
+                        baseInicial,
+                        control
+                );
+                if (firma != null && solucion.isOptima() && !solucion.isInterrumpida()) {
+                    historialSolucionesService.registrar(firma, solucion.getCeldasBasicas());
+                }
+            }
+            control.verificarCancelacion();
+            log.info("Costo total: {}", solucion.getCostoTotal());
 
-            // 5. Resolver usando el método especificado CON EL PROBLEMA BALANCEADO
-            SolucionTransporte solucion = solucionInicialService.encontrarSolucionInicial(
-                    problemaBalanceado,
-                    problemaDTO.metodoInicial()
-            );
+            // 5.3 Si venció el plazo, acotar la distancia al óptimo
+            if (control.fueInterrumpido() && !solucion.isOptima()) {
+                registrarInterrupcion(solucion, problemaBalanceado);
+            }
 
-            log.info("Problema resuelto con método: {}", problemaDTO.metodoInicial());
-            log.info("Costo total: {}", solucion.getCostoTotal());
+            // 5.4 Análisis de sensibilidad sobre la base final si se solicitó
+            AnalisisSensibilidad analisis = null;
+            if (Boolean.TRUE.equals(problemaDTO.incluirSensibilidad()) && solucion.isInterrumpida()) {
+                log.warn("Se omite el análisis de sensibilidad: la resolución se interrumpió por plazo");
+            } else if (Boolean.TRUE.equals(problemaDTO.incluirSensibilidad())) {
+                OptimizacionService.ResultadoSensibilidad sensibilidad =
+                        optimizacionService.analizarSensibilidad(problemaBalanceado, solucion);
+                solucion = sensibilidad.solucion();
+                analisis = sensibilidad.analisis();
+            }
 
             // 6. Convertir resultado a DTO usando el tipo de balance ORIGINAL
-            SolucionTransporteDTO solucionDTO = convertirSolucionADTO(
+            SolucionTransporteDTO solucionDTO = conversionService.convertirSolucionADTO(
                     solucion,
                     problemaBalanceado,
-                    tipoBalanceOriginal
+                    tipoBalanceOriginal,
+                    modoOptimizacion,
+                    analisis
             );
+            if (huella != null) {
+                cacheSolucionesService.guardar(huella, solucionDTO);
+            }
 
-            // 5. Configurar respuesta exitosa
-            response.SuccessOperation(solucionDTO);
-
-            log.debug("{}{}", Constants.Message.RESPONSE, response);
+            log.debug("{}{}", Constants.Message.RESPONSE, solucionDTO);
             log.info("{}", Constants.Message.FINISH_SERVICE);
 
-            return response;
-
-        } catch (IllegalArgumentException e) {
-            log.warn("Error de validación: {}", e.getMessage());
-            response.BadOperation();
-            response.setMessage(e.getMessage());
-            return response;
-
-        } catch (Exception e) {
-            log.error("Error inesperado al resolver problema de transporte", e);
-            response.FailedOperation();
-            return response;
-        }
+            return solucionDTO;
+        });
     }
 
     /**
@@ -103,18 +248,63 @@ public class ModeloTransporteService {
      * @return ApiResponseDTO con la comparación
      */
     public ApiResponseDTO<ComparacionMetodosDTO> compararMetodos(ProblemaTransporteDTO problemaDTO) {
+        return compararMetodos(problemaDTO, ControlEjecucion.cancelable());
+    }
+
+    /**
+     * Compara los tres métodos de solución inicial; se detiene si se cancela el control.
+     *
+     * @param problemaDTO problema recibido desde el frontend
+     * @param cancelacion control que se cancela cuando la respuesta ya no se necesita
+     * @return ApiResponseDTO con la comparación
+     */
+    public ApiResponseDTO<ComparacionMetodosDTO> compararMetodos(
+            ProblemaTransporteDTO problemaDTO,
+            ControlEjecucion cancelacion) {
+        return solicitarComparacion(problemaDTO, cancelacion).join();
+    }
+
+    /**
+     * Compara los tres métodos de solución inicial o, si otra solicitud ya está comparando el mismo
+     * problema en el mismo orden, espera esa comparación sin ocupar el hilo.
+     *
+     * @param problemaDTO problema recibido desde el frontend
+     * @param cancelacion control que se cancela cuando la respuesta ya no se necesita
+     * @return futuro con el ApiResponseDTO de la comparación (ya completo si se resolvió en este hilo)
+     */
+    public CompletableFuture<ApiResponseDTO<ComparacionMetodosDTO>> solicitarComparacion(
+            ProblemaTransporteDTO problemaDTO,
+            ControlEjecucion cancelacion) {
         log.info("{} - Comparación de métodos", Constants.Message.START_SERVICE);
         log.debug("{}{}", Constants.Message.REQUEST, problemaDTO);
 
-        ApiResponseDTO<ComparacionMetodosDTO> response = new ApiResponseDTO<>();
-
-        try {
+        return RespuestasApi.ejecutarAsincrono("preparar la comparación de métodos", () -> {
             // 1. Validar entrada básica
-            validarEntradaBasica(problemaDTO);
+            conversionService.validarEntradaBasica(problemaDTO);
+            conversionService.rechazarCapacidades(problemaDTO, "la comparación de métodos");
 
             // 2. Convertir DTO a modelo de dominio
-            ProblemaTransporte problemaOriginal = convertirDTOaModelo(problemaDTO);
+            ProblemaTransporte problemaOriginal = conversionService.convertirDTOaModelo(problemaDTO);
+
+            // 2.1 Unirse a la comparación en curso del mismo problema, si la hay
+            HuellaProblema huella = cacheSolucionesService.calcularHuellaComparacion(problemaOriginal);
+            return comparacionesEnCurso.unirse(
+                    huella.getClave(),
+                    cancelacion,
+                    compartido -> new ComparacionCompartida(huella, compararModelo(problemaOriginal, compartido))
+            ).thenApply(compartida -> adaptarComparacion(compartida, huella, problemaDTO));
+        });
+    }
 
+    /**
+     * Balancea un problema ya validado y lo resuelve con los tres métodos iniciales.
+     *
+     * @param cancelacion control de la solicitud, o el compartido si la esperan varias
+     */
+    private ApiResponseDTO<ComparacionMetodosDTO> compararModelo(
+            ProblemaTransporte problemaOriginal,
+            ControlEjecucion cancelacion) {
+        return RespuestasApi.ejecutar("comparar los métodos", () -> {
             // 3. Guardar el tipo de balance ORIGINAL (antes de balancear)
             TipoBalance tipoBalanceOriginal = problemaOriginal.getTipoBalance();
 
@@ -126,7 +316,7 @@ public class ModeloTransporteService {
                     problemaBalanceado.isTieneFicticio());
 
             // 5. Resolver con los tres métodos
-            SolucionTransporte[] soluciones = solucionInicialService.compararMetodos(problemaBalanceado);
+            SolucionTransporte[] soluciones = solucionInicialService.compararMetodos(problemaBalanceado, cancelacion);
 
             log.info("Comparación completada:");
             log.info("  - Esquina Noroeste: Costo = {}", soluciones[0].getCostoTotal());
@@ -135,153 +325,213 @@ public class ModeloTransporteService {
 
             // 6. Convertir resultados a DTOs usando el problema balanceado y tipo original
             ComparacionMetodosDTO comparacionDTO = new ComparacionMetodosDTO(
-                    convertirSolucionADTO(soluciones[0], problemaBalanceado, tipoBalanceOriginal),
-                    convertirSolucionADTO(soluciones[1], problemaBalanceado, tipoBalanceOriginal),
-                    convertirSolucionADTO(soluciones[2], problemaBalanceado, tipoBalanceOriginal)
+                    conversionService.convertirSolucionADTO(soluciones[0], problemaBalanceado, tipoBalanceOriginal, ModoOptimizacion.NINGUNA, null),
+                    conversionService.convertirSolucionADTO(soluciones[1], problemaBalanceado, tipoBalanceOriginal, ModoOptimizacion.NINGUNA, null),
+                    conversionService.convertirSolucionADTO(soluciones[2], problemaBalanceado, tipoBalanceOriginal, ModoOptimizacion.NINGUNA, null)
             );
 
-            // 5. Configurar respuesta exitosa
-            response.SuccessOperation(comparacionDTO);
-
-            log.debug("{}{}", Constants.Message.RESPONSE, response);
+            log.debug("{}{}", Constants.Message.RESPONSE, comparacionDTO);
             log.info("{}", Constants.Message.FINISH_SERVICE);
 
-            return response;
+            return comparacionDTO;
+        });
+    }
 
-        } catch (IllegalArgumentException e) {
-            log.warn("Error de validación: {}", e.getMessage());
-            response.BadOperation();
-            response.setMessage(e.getMessage());
-            return response;
+    /**
+     * Consulta los aciertos, fallos y ocupación de la caché de soluciones.
+     *
+     * @return ApiResponseDTO con las estadísticas de la caché
+     */
+    public ApiResponseDTO<EstadisticasCacheDTO> obtenerEstadisticasCache() {
+        ApiResponseDTO<EstadisticasCacheDTO> response = new ApiResponseDTO<>();
+        response.SuccessOperation(convertirEstadisticasADTO(cacheSolucionesService.estadisticas()));
+        return response;
+    }
 
-        } catch (Exception e) {
-            log.error("Error inesperado al comparar métodos", e);
-            response.FailedOperation();
-            return response;
-        }
+    /**
+     * Consulta el historial de soluciones usado para arrancar en caliente.
+     *
+     * @return ApiResponseDTO con las estadísticas del historial
+     */
+    public ApiResponseDTO<EstadisticasHistorialDTO> obtenerEstadisticasHistorial() {
+        HistorialSolucionesService.Estadisticas estadisticas = historialSolucionesService.estadisticas();
+        ApiResponseDTO<EstadisticasHistorialDTO> response = new ApiResponseDTO<>();
+        response.SuccessOperation(new EstadisticasHistorialDTO(
+                estadisticas.habilitado(),
+                estadisticas.registros(),
+                estadisticas.segmentos(),
+                estadisticas.bytes(),
+                estadisticas.arranques(),
+                estadisticas.sinParecido()));
+        return response;
+    }
+
+    private EstadisticasCacheDTO convertirEstadisticasADTO(CacheLRUPonderada.Estadisticas estadisticas) {
+        return new EstadisticasCacheDTO(
+                estadisticas.aciertos(),
+                estadisticas.fallos(),
+                estadisticas.tasaAciertos(),
+                estadisticas.descartes(),
+                estadisticas.rechazos(),
+                estadisticas.entradas(),
+                estadisticas.bytes(),
+                estadisticas.bytesMaximos());
     }
 
     /**
-     * Válida la entrada básica del DTO.
+     * El historial solo siembra resoluciones locales que optimizan, sin base inicial ni capacidades.
      */
-    private void validarEntradaBasica(ProblemaTransporteDTO dto) {
-        if (dto == null) {
-            throw new IllegalArgumentException("El problema no puede ser nulo");
-        }
+    private boolean usaHistorial(ProblemaTransporteDTO dto, ModoOptimizacion modo) {
+        return (modo == ModoOptimizacion.MODI || modo == ModoOptimizacion.CARRILES_CANDIDATOS)
+                && dto.baseInicial() == null
+                && !conversionService.tieneCapacidades(dto);
+    }
 
-        if (dto.costos() == null || dto.costos().length == 0) {
-            throw new IllegalArgumentException("La matriz de costos es obligatoria");
+    /**
+     * Resuelve un problema ya balanceado: arranque en caliente si hay base inicial;
+     * si no, presolve opcional, solución inicial, optimización opcional y
+     * expansión de la solución reducida.
+     */
+    private SolucionTransporte resolverBalanceado(
+            ProblemaTransporte problemaBalanceado,
+            ProblemaTransporteDTO problemaDTO,
+            ModoOptimizacion modoOptimizacion,
+            int[] baseInicial,
+            ControlEjecucion control) {
+
+        // 4.1 Reanudar desde la base de una solución anterior si se envió
+        if (baseInicial != null) {
+            SolucionTransporte solucion = optimizacionService.reanudar(problemaBalanceado, baseInicial, control);
+            if (solucion != null) {
+                solucion.setMetodoUtilizado(problemaDTO.metodoInicial());
+                log.info("Arranque en caliente: {} pivotes", solucion.getIteracionesOptimizacion());
+                return solucion;
+            }
+            log.warn("La base inicial no se pudo reparar, se resuelve desde cero");
         }
 
-        if (dto.ofertas() == null || dto.ofertas().length == 0) {
-            throw new IllegalArgumentException("Las ofertas son obligatorias");
+        // 4.2 Reducir el problema (presolve) si se solicitó
+        ReduccionTransporte reduccion = null;
+        ProblemaTransporte problemaAResolver = problemaBalanceado;
+        if (Boolean.TRUE.equals(problemaDTO.presolve())) {
+            reduccion = presolveService.reducir(problemaBalanceado);
+            problemaAResolver = reduccion.getProblemaReducido();
         }
 
-        if (dto.demandas() == null || dto.demandas().length == 0) {
-            throw new IllegalArgumentException("Las demandas son obligatorias");
-        }
+        SolucionTransporte solucion = null;
+        if (problemaAResolver != null && modoOptimizacion == ModoOptimizacion.DISTRIBUIDO) {
+            // 5. Resolver con los trabajadores: la matriz se reparte y no se calcula solución inicial local
+            solucion = resolucionDistribuidaService.resolver(
+                    problemaAResolver, problemaDTO.carrilesCandidatos(), control);
+            log.info("Solución distribuida: {} iteraciones", solucion.getIteracionesOptimizacion());
 
-        if (dto.metodoInicial() == null) {
-            throw new IllegalArgumentException("Debe especificar el método de solución inicial");
-        }
+        } else if (problemaAResolver != null) {
+            // 5. Resolver usando el método especificado CON EL PROBLEMA BALANCEADO
+            // Si se va a optimizar, la solución inicial usa a lo sumo la mitad del tiempo restante
+            solucion = solucionInicialService.encontrarSolucionInicial(
+                    problemaAResolver,
+                    problemaDTO.metodoInicial(),
+                    modoOptimizacion != ModoOptimizacion.NINGUNA ? control.subpresupuesto(0.5) : control
+            );
 
-        // Validar dimensiones consistentes
-        int m = dto.ofertas().length;
-        int n = dto.demandas().length;
+            control.verificarCancelacion();
+            log.info("Problema resuelto con método: {}", problemaDTO.metodoInicial());
 
-        if (dto.costos().length != m) {
-            throw new IllegalArgumentException(
-                    String.format("La matriz de costos debe tener %d filas (orígenes)", m)
+            // 5.1 Optimizar la solución inicial si se solicitó
+            solucion = optimizacionService.optimizar(
+                    problemaAResolver,
+                    solucion,
+                    modoOptimizacion,
+                    problemaDTO.carrilesCandidatos(),
+                    control
             );
-        }
 
-        for (int i = 0; i < m; i++) {
-            if (dto.costos()[i] == null || dto.costos()[i].length != n) {
-                throw new IllegalArgumentException(
-                        String.format("La fila %d de costos debe tener %d columnas (destinos)", i, n)
-                );
+            if (modoOptimizacion != ModoOptimizacion.NINGUNA) {
+                log.info("Solución optimizada ({}): {} iteraciones", modoOptimizacion,
+                        solucion.getIteracionesOptimizacion());
             }
         }
 
-        // Validar nombres si se proporcionan
-        if (dto.nombresOrigenes() != null && dto.nombresOrigenes().length != m) {
-            throw new IllegalArgumentException(
-                    String.format("Debe haber %d nombres de orígenes o ninguno", m)
-            );
+        // 5.2 Expandir la solución reducida a los índices originales
+        if (reduccion != null) {
+            solucion = presolveService.expandir(reduccion, solucion, problemaBalanceado.getFuenteCostos());
+            if (solucion.getMetodoUtilizado() == null) {
+                solucion.setMetodoUtilizado(problemaDTO.metodoInicial());
+            }
         }
+        return solucion;
+    }
 
-        if (dto.nombresDestinos() != null && dto.nombresDestinos().length != n) {
-            throw new IllegalArgumentException(
-                    String.format("Debe haber %d nombres de destinos o ninguno", n)
-            );
+    /**
+     * Entrega el resultado de una resolución compartida en el orden y con los nombres de la solicitud.
+     */
+    private ApiResponseDTO<SolucionTransporteDTO> adaptarResolucion(
+            ResolucionCompartida compartida,
+            HuellaProblema huella,
+            ProblemaTransporteDTO problemaDTO) {
+        ApiResponseDTO<SolucionTransporteDTO> respuesta = compartida.respuesta();
+        if (compartida.huella() == huella || respuesta.getData() == null) {
+            return respuesta;
         }
-
-        log.debug("Validación básica completada exitosamente");
+        ApiResponseDTO<SolucionTransporteDTO> response = new ApiResponseDTO<>();
+        response.SuccessOperation(
+                cacheSolucionesService.adaptar(respuesta.getData(), compartida.huella(), huella, problemaDTO));
+        return response;
     }
 
     /**
-     * Convierte el DTO recibido del frontend al modelo de dominio.
+     * Entrega el resultado de una comparación compartida con los nombres de la solicitud.
      */
-    private ProblemaTransporte convertirDTOaModelo(ProblemaTransporteDTO dto) {
-        log.debug("Convirtiendo DTO a modelo de dominio");
-
-        // Copiar arrays para evitar modificaciones externas
-        double[] ofertas = Arrays.copyOf(dto.ofertas(), dto.ofertas().length);
-        double[] demandas = Arrays.copyOf(dto.demandas(), dto.demandas().length);
-
-        // Copiar matriz de costos
-        double[][] costos = new double[dto.costos().length][];
-        for (int i = 0; i < dto.costos().length; i++) {
-            costos[i] = Arrays.copyOf(dto.costos()[i], dto.costos()[i].length);
+    private ApiResponseDTO<ComparacionMetodosDTO> adaptarComparacion(
+            ComparacionCompartida compartida,
+            HuellaProblema huella,
+            ProblemaTransporteDTO problemaDTO) {
+        ApiResponseDTO<ComparacionMetodosDTO> respuesta = compartida.respuesta();
+        if (compartida.huella() == huella || respuesta.getData() == null) {
+            return respuesta;
         }
+        ComparacionMetodosDTO comparacion = respuesta.getData();
+        ApiResponseDTO<ComparacionMetodosDTO> response = new ApiResponseDTO<>();
+        response.SuccessOperation(new ComparacionMetodosDTO(
+                cacheSolucionesService.adaptar(comparacion.esquinaNoroeste(), compartida.huella(), huella, problemaDTO),
+                cacheSolucionesService.adaptar(comparacion.costoMinimo(), compartida.huella(), huella, problemaDTO),
+                cacheSolucionesService.adaptar(comparacion.vogel(), compartida.huella(), huella, problemaDTO)));
+        return response;
+    }
 
-        // Copiar nombres si existen
-        String[] nombresOrigenes = dto.nombresOrigenes() != null ?
-                Arrays.copyOf(dto.nombresOrigenes(), dto.nombresOrigenes().length) : null;
-
-        String[] nombresDestinos = dto.nombresDestinos() != null ?
-                Arrays.copyOf(dto.nombresDestinos(), dto.nombresDestinos().length) : null;
-
-        ProblemaTransporte problema = ProblemaTransporte.builder()
-                .ofertas(ofertas)
-                .demandas(demandas)
-                .costos(costos)
-                .nombresOrigenes(nombresOrigenes)
-                .nombresDestinos(nombresDestinos)
-                .tieneFicticio(false)
-                .build();
+    /**
+     * Marca la solución como interrumpida y le agrega una cota inferior dual y la brecha.
+     * La cota es la mejor entre partir de cero y partir de los potenciales de la solución
+     * (si los tiene); cada una cuesta un par de recorridos O(mn).
+     */
+    private void registrarInterrupcion(SolucionTransporte solucion, ProblemaTransporte problemaBalanceado) {
+        FuenteCostos costos = problemaBalanceado.getFuenteCostos();
+        double[] ofertas = problemaBalanceado.getOfertas();
+        double[] demandas = problemaBalanceado.getDemandas();
+
+        double cota = CotaInferiorDual.calcular(costos, ofertas, demandas, null, 1);
+        double[] potenciales = solucion.getPotencialesFila();
+        if (potenciales != null && potenciales.length == ofertas.length) {
+            cota = Math.max(cota, CotaInferiorDual.calcular(costos, ofertas, demandas, potenciales, 1));
+        }
+        double costo = solucion.getCostoTotal();
+        double brecha = costo != 0.0 ? Math.max(0.0, (costo - cota) / Math.abs(costo)) : 0.0;
 
-        log.debug("Problema convertido: {} orígenes, {} destinos",
-                problema.getOfertas().length, problema.getDemandas().length);
-        log.debug("Tipo de balance: {}", problema.getTipoBalance());
+        solucion.setInterrumpida(true);
+        solucion.setCotaInferior(cota);
+        solucion.setBrechaOptimalidad(brecha);
+        log.warn("Resolución interrumpida por plazo: costo={}, cota inferior={}, brecha={}", costo, cota, brecha);
+    }
 
-        return problema;
+    /**
+     * Respuesta de una resolución compartida y huella de la solicitud que la resolvió.
+     */
+    private record ResolucionCompartida(HuellaProblema huella, ApiResponseDTO<SolucionTransporteDTO> respuesta) {
     }
 
     /**
-     * Convierte la solución del modelo de dominio a DTO para el frontend.
+     * Respuesta de una comparación compartida y huella de la solicitud que la resolvió.
      */
-    private SolucionTransporteDTO convertirSolucionADTO(
-            SolucionTransporte solucion,
-            ProblemaTransporte problemaBalanceado,
-            TipoBalance tipoBalanceOriginal) {
-
-        log.debug("Convirtiendo solución a DTO");
-        log.debug("Tipo balance original: {}, tieneFicticio: {}",
-                tipoBalanceOriginal, problemaBalanceado.isTieneFicticio());
-
-        // El problema balanceado incluye el origen/destino ficticio con su nombre "Ficticio"
-        String[] nombresOrigenes = problemaBalanceado.getNombresOrigenes();
-        String[] nombresDestinos = problemaBalanceado.getNombresDestinos();
-
-        return new SolucionTransporteDTO(
-                solucion.getAsignaciones(),
-                solucion.getCostoTotal(),
-                solucion.getMetodoUtilizado(),
-                problemaBalanceado.isTieneFicticio(),
-                tipoBalanceOriginal,
-                nombresOrigenes,
-                nombresDestinos
-        );
+    private record ComparacionCompartida(HuellaProblema huella, ApiResponseDTO<ComparacionMetodosDTO> respuesta) {
     }
 }
@@ -0,0 +1,54 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
+import com.io.graphtransportsolver.models.transporte.ProblemaMultiproducto;
+import com.io.graphtransportsolver.models.transporte.SolucionMultiproducto;
+import com.io.graphtransportsolver.presentation.dto.ApiResponseDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.MultiproductoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SolucionMultiproductoDTO;
+import com.io.graphtransportsolver.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Punto de entrada de los problemas multiproducto: convierte el problema, fija su plazo y
+ * delega la coordinación de los productos en {@link MultiproductoService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MultiproductoApiService {
+
+    private final ConversionTransporteService conversionService;
+    private final MultiproductoService multiproductoService;
+
+    /**
+     * Resuelve varios productos que comparten la capacidad de los carriles coordinándolos
+     * con precios por carril; los productos se resuelven en paralelo en cada ronda.
+     *
+     * @param multiproductoDTO productos, capacidades conjuntas y rondas máximas
+     * @param cancelacion      control que se cancela cuando la respuesta ya no se necesita
+     * @return ApiResponseDTO con el plan de cada producto, la cota inferior y el uso de los carriles
+     */
+    public ApiResponseDTO<SolucionMultiproductoDTO> resolverMultiproducto(
+            MultiproductoDTO multiproductoDTO,
+            ControlEjecucion cancelacion) {
+        log.info("{} - Multiproducto", Constants.Message.START_SERVICE);
+
+        return RespuestasApi.ejecutar("resolver el problema multiproducto", () -> {
+            ProblemaMultiproducto problema = multiproductoService.convertir(multiproductoDTO);
+            int iteraciones = multiproductoService.iteraciones(multiproductoDTO);
+            ControlEjecucion control = cancelacion.conPlazo(
+                    conversionService.presupuestoMs(multiproductoDTO.tiempoLimiteMs()));
+            control.verificarInicio();
+
+            long inicio = System.nanoTime();
+            SolucionMultiproducto solucion = multiproductoService.resolver(problema, iteraciones, control);
+            long microsegundos = (System.nanoTime() - inicio) / 1_000L;
+
+            log.info("{}", Constants.Message.FINISH_SERVICE);
+            return multiproductoService.convertirADTO(multiproductoDTO, problema, solucion, microsegundos);
+        });
+    }
+}
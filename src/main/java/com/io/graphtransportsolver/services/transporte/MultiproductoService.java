@@ -0,0 +1,678 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
+import com.io.graphtransportsolver.models.transporte.CapacidadesCarril;
+import com.io.graphtransportsolver.models.transporte.ProblemaMultiproducto;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionMultiproducto;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
+import com.io.graphtransportsolver.presentation.dto.transporte.CapacidadCarrilDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.MultiproductoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.PlanProductoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ProductoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SolucionMultiproductoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.UsoCarrilDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Servicio que resuelve varios productos que comparten la capacidad de los carriles
+ * con relajación lagrangiana (coordinación por precios).
+ *
+ * En cada ronda se cobra un precio por unidad en cada carril con límite y cada producto se
+ * resuelve como un problema de transporte independiente con esos costos; los productos se
+ * resuelven en paralelo en el pool fork-join y cada uno reanuda desde su base de la ronda
+ * anterior. Los precios suben en los carriles sobrecargados y bajan en los holgados
+ * (subgradiente con paso de Polyak). El valor de la relajación es una cota inferior del óptimo.
+ *
+ * Para obtener un plan factible, cada pocas rondas se reparte la capacidad entre los productos
+ * en secuencia, resolviendo cada uno con MODI acotado sobre la capacidad que dejaron los
+ * anteriores. El mejor plan factible y la mejor cota dan la brecha de optimalidad.
+ *
+ * Si la capacidad de los carriles no alcanza para algún producto o para la suma de todos, la
+ * relajación no tiene óptimo y los precios crecen sin límite; por eso antes de iterar se
+ * comprueba que cada producto y el problema agregado tengan un plan que respete las capacidades.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MultiproductoService {
+
+    /**
+     * Rondas de precios usadas si no se indican.
+     */
+    public static final int ITERACIONES_DEFECTO = 60;
+
+    private static final double TOLERANCIA_BRECHA = 1e-4;
+    private static final double TOLERANCIA_CAPACIDAD = 1e-7;
+    private static final int FRECUENCIA_REPARTO = 5;
+    private static final int RONDAS_SIN_MEJORA = 5;
+    private static final double PASO_MINIMO = 1e-4;
+
+    private final BalanceadorService balanceadorService;
+    private final SolucionInicialService solucionInicialService;
+    private final OptimizacionService optimizacionService;
+    private final ForkJoinPool poolTransporte;
+
+    /**
+     * Resuelve el problema multiproducto.
+     *
+     * @param problema       productos y capacidades conjuntas
+     * @param maxIteraciones máximo de rondas de precios
+     * @param control        presupuesto de tiempo y cancelación
+     * @return mejor plan encontrado con su cota inferior
+     * @throws IllegalArgumentException si las capacidades no alcanzan para algún producto o para todos juntos
+     */
+    public SolucionMultiproducto resolver(ProblemaMultiproducto problema, int maxIteraciones, ControlEjecucion control) {
+        CapacidadesCarril capacidades = problema.getCapacidades();
+        int m = problema.getNumOrigenes();
+        int n = problema.getNumDestinos();
+        int numCarriles = capacidades.getCantidad();
+
+        int[] filaCarril = new int[numCarriles];
+        for (int i = 0; i < m; i++) {
+            Arrays.fill(filaCarril, capacidades.inicio(i), capacidades.fin(i), i);
+        }
+
+        List<Producto> productos = new ArrayList<>(problema.getProductos().size());
+        for (ProblemaTransporte original : problema.getProductos()) {
+            productos.add(new Producto(balanceadorService.balancear(original)));
+        }
+        verificarCapacidades(productos, capacidades, m, n, control);
+
+        double[] precios = new double[numCarriles];
+        double[] uso = new double[numCarriles];
+        double[] subgradiente = new double[numCarriles];
+
+        double cotaInferior = Double.NEGATIVE_INFINITY;
+        Plan mejor = null;
+        double paso = 2.0;
+        int sinMejora = 0;
+        int iteraciones = 0;
+
+        while (iteraciones < maxIteraciones && !control.debeDetenerse()) {
+            iteraciones++;
+
+            // Cobrar el precio de cada carril en los costos de todos los productos
+            for (Producto producto : productos) {
+                producto.aplicarPrecios(capacidades, filaCarril, precios);
+            }
+
+            // Resolver los productos en paralelo
+            List<ForkJoinTask<SolucionTransporte>> tareas = new ArrayList<>(productos.size());
+            for (Producto producto : productos) {
+                tareas.add(poolTransporte.submit(() -> resolverProducto(producto, control)));
+            }
+            boolean optimas = true;
+            for (int p = 0; p < productos.size(); p++) {
+                productos.get(p).solucion = tareas.get(p).join();
+                optimas &= productos.get(p).solucion.isOptima();
+            }
+            control.verificarCancelacion();
+
+            // Valor de la relajación: costo con precios menos el precio de toda la capacidad
+            double valor = 0.0;
+            for (Producto producto : productos) {
+                valor += producto.solucion.getCostoTotal();
+            }
+            Arrays.fill(uso, 0.0);
+            for (Producto producto : productos) {
+                producto.acumularUso(capacidades, filaCarril, uso);
+            }
+            boolean respetaCapacidades = true;
+            for (int l = 0; l < numCarriles; l++) {
+                valor -= precios[l] * capacidades.getLimite(l);
+                subgradiente[l] = uso[l] - capacidades.getLimite(l);
+                respetaCapacidades &= subgradiente[l] <= TOLERANCIA_CAPACIDAD * Math.max(1.0, capacidades.getLimite(l));
+            }
+
+            if (!optimas) {
+                // Con subproblemas sin terminar el valor no es una cota válida
+                log.debug("Multiproducto: ronda {} interrumpida antes del óptimo de los productos", iteraciones);
+                break;
+            }
+            if (valor > cotaInferior + TOLERANCIA_BRECHA * Math.abs(valor)) {
+                cotaInferior = valor;
+                sinMejora = 0;
+            } else if (++sinMejora >= RONDAS_SIN_MEJORA) {
+                paso /= 2.0;
+                sinMejora = 0;
+            }
+
+            // Plan factible: el de la relajación si respeta las capacidades, o un reparto secuencial
+            Plan candidato = respetaCapacidades
+                    ? planRelajacion(productos, capacidades, filaCarril, precios, uso)
+                    : null;
+            if (candidato == null && (iteraciones - 1) % FRECUENCIA_REPARTO == 0) {
+                candidato = repartirCapacidad(productos, capacidades, filaCarril, control);
+            }
+            if (candidato != null && (mejor == null || candidato.costo < mejor.costo)) {
+                mejor = candidato;
+            }
+
+            log.debug("Multiproducto ronda {}: relajación={}, cota={}, mejor plan={}, paso={}",
+                    iteraciones, valor, cotaInferior, mejor != null ? mejor.costo : null, paso);
+
+            if (mejor != null && mejor.costo - cotaInferior <= TOLERANCIA_BRECHA * Math.max(1.0, Math.abs(mejor.costo))) {
+                break;
+            }
+
+            // Subgradiente proyectado: los carriles sin precio y con holgura no cuentan
+            double norma = 0.0;
+            for (int l = 0; l < numCarriles; l++) {
+                if (precios[l] <= 0.0 && subgradiente[l] < 0.0) {
+                    subgradiente[l] = 0.0;
+                }
+                norma += subgradiente[l] * subgradiente[l];
+            }
+            if (norma <= TOLERANCIA_CAPACIDAD || paso < PASO_MINIMO) {
+                break;
+            }
+
+            double objetivo = mejor != null ? mejor.costo : valor + Math.abs(valor) * 0.1 + 1.0;
+            double t = paso * Math.max(objetivo - valor, TOLERANCIA_BRECHA * Math.max(1.0, Math.abs(valor))) / norma;
+            for (int l = 0; l < numCarriles; l++) {
+                precios[l] = Math.max(0.0, precios[l] + t * subgradiente[l]);
+            }
+        }
+
+        // Último intento de reparto si ningún plan fue factible
+        if (mejor == null && !control.debeDetenerse() && iteraciones > 0) {
+            mejor = repartirCapacidad(productos, capacidades, filaCarril, control);
+        }
+
+        return construirSolucion(productos, mejor, capacidades, filaCarril, precios, cotaInferior,
+                iteraciones, control.fueInterrumpido(), m, n);
+    }
+
+    /**
+     * Válida y convierte un problema multiproducto: todos los productos deben tener los mismos
+     * orígenes y destinos.
+     *
+     * @param dto productos, capacidades conjuntas y nombres
+     * @return problema con las capacidades en forma dispersa
+     */
+    public ProblemaMultiproducto convertir(MultiproductoDTO dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("El problema multiproducto no puede ser nulo");
+        }
+        if (dto.productos() == null || dto.productos().isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un producto");
+        }
+        if (dto.capacidades() == null || dto.capacidades().isEmpty()) {
+            throw new IllegalArgumentException(
+                    "Debe indicar las capacidades conjuntas; sin ellas cada producto se resuelve por separado");
+        }
+
+        ProductoDTO primero = dto.productos().get(0);
+        if (primero == null || primero.ofertas() == null || primero.demandas() == null
+                || primero.ofertas().length == 0 || primero.demandas().length == 0) {
+            throw new IllegalArgumentException("El producto 0 debe tener ofertas y demandas");
+        }
+        int m = primero.ofertas().length;
+        int n = primero.demandas().length;
+
+        List<ProblemaTransporte> productos = new ArrayList<>(dto.productos().size());
+        String[] nombres = new String[dto.productos().size()];
+        for (int k = 0; k < dto.productos().size(); k++) {
+            ProductoDTO producto = dto.productos().get(k);
+            if (producto == null || producto.costos() == null || producto.ofertas() == null
+                    || producto.demandas() == null) {
+                throw new IllegalArgumentException(
+                        String.format("El producto %d debe tener costos, ofertas y demandas", k));
+            }
+            if (producto.ofertas().length != m || producto.demandas().length != n) {
+                throw new IllegalArgumentException(String.format(
+                        "El producto %d debe tener %d ofertas y %d demandas, como el producto 0", k, m, n));
+            }
+            if (producto.costos().length != m) {
+                throw new IllegalArgumentException(
+                        String.format("La matriz de costos del producto %d debe tener %d filas", k, m));
+            }
+
+            double[][] costos = new double[m][];
+            for (int i = 0; i < m; i++) {
+                if (producto.costos()[i] == null || producto.costos()[i].length != n) {
+                    throw new IllegalArgumentException(String.format(
+                            "La fila %d de costos del producto %d debe tener %d columnas", i, k, n));
+                }
+                costos[i] = Arrays.copyOf(producto.costos()[i], n);
+            }
+
+            productos.add(ProblemaTransporte.builder()
+                    .ofertas(Arrays.copyOf(producto.ofertas(), m))
+                    .demandas(Arrays.copyOf(producto.demandas(), n))
+                    .costos(costos)
+                    .nombresOrigenes(dto.nombresOrigenes())
+                    .nombresDestinos(dto.nombresDestinos())
+                    .build());
+            nombres[k] = producto.nombre() != null ? producto.nombre() : "Producto " + (k + 1);
+        }
+
+        if (dto.nombresOrigenes() != null && dto.nombresOrigenes().length != m) {
+            throw new IllegalArgumentException(String.format("Debe haber %d nombres de orígenes o ninguno", m));
+        }
+        if (dto.nombresDestinos() != null && dto.nombresDestinos().length != n) {
+            throw new IllegalArgumentException(String.format("Debe haber %d nombres de destinos o ninguno", n));
+        }
+
+        return ProblemaMultiproducto.builder()
+                .productos(productos)
+                .nombresProductos(nombres)
+                .capacidades(convertirCapacidades(dto.capacidades(), m, n))
+                .build();
+    }
+
+    /**
+     * Convierte la solución multiproducto a DTO, con el uso y el precio de cada carril con límite.
+     *
+     * @param dto           problema recibido, del que se toman los nombres de orígenes y destinos
+     * @param problema      problema convertido
+     * @param solucion      mejor plan encontrado
+     * @param microsegundos tiempo de resolución
+     * @return DTO de la solución
+     */
+    public SolucionMultiproductoDTO convertirADTO(
+            MultiproductoDTO dto,
+            ProblemaMultiproducto problema,
+            SolucionMultiproducto solucion,
+            long microsegundos) {
+        List<PlanProductoDTO> planes = new ArrayList<>(solucion.getPlanes().size());
+        for (int k = 0; k < solucion.getPlanes().size(); k++) {
+            planes.add(new PlanProductoDTO(
+                    problema.getNombresProductos()[k],
+                    solucion.getPlanes().get(k),
+                    solucion.getCostosProductos()[k]
+            ));
+        }
+
+        CapacidadesCarril capacidades = problema.getCapacidades();
+        List<UsoCarrilDTO> carriles = new ArrayList<>(capacidades.getCantidad());
+        for (int i = 0; i < problema.getNumOrigenes(); i++) {
+            for (int l = capacidades.inicio(i); l < capacidades.fin(i); l++) {
+                carriles.add(new UsoCarrilDTO(
+                        i,
+                        capacidades.getColumna(l),
+                        capacidades.getLimite(l),
+                        solucion.getUsoCarriles()[l],
+                        solucion.getPreciosCarriles()[l]
+                ));
+            }
+        }
+
+        return new SolucionMultiproductoDTO(
+                solucion.getCostoTotal(),
+                solucion.getCotaInferior(),
+                solucion.getBrechaOptimalidad(),
+                solucion.isFactible(),
+                solucion.isInterrumpida(),
+                solucion.getIteraciones(),
+                planes,
+                carriles,
+                dto.nombresOrigenes(),
+                dto.nombresDestinos(),
+                microsegundos
+        );
+    }
+
+    /**
+     * Valida las rondas de precios pedidas.
+     *
+     * @param dto problema recibido
+     * @return rondas pedidas, o {@link #ITERACIONES_DEFECTO} si no se indican
+     */
+    public int iteraciones(MultiproductoDTO dto) {
+        int iteraciones = dto.iteraciones() != null ? dto.iteraciones() : ITERACIONES_DEFECTO;
+        if (iteraciones < 1) {
+            throw new IllegalArgumentException("El número de iteraciones debe ser mayor a cero");
+        }
+        return iteraciones;
+    }
+
+    /**
+     * Convierte la lista de capacidades por carril a su forma dispersa ordenada. También la usa
+     * el problema de transporte de un solo producto con carriles acotados.
+     *
+     * @param dtos capacidades recibidas
+     * @param m    número de orígenes
+     * @param n    número de destinos
+     * @return capacidades ordenadas por origen y destino
+     */
+    public CapacidadesCarril convertirCapacidades(List<CapacidadCarrilDTO> dtos, int m, int n) {
+        int total = dtos.size();
+        int[] filas = new int[total];
+        int[] columnas = new int[total];
+        double[] limites = new double[total];
+        for (int k = 0; k < total; k++) {
+            CapacidadCarrilDTO carril = dtos.get(k);
+            if (carril == null) {
+                throw new IllegalArgumentException("Las capacidades no pueden contener carriles nulos");
+            }
+            filas[k] = carril.origen();
+            columnas[k] = carril.destino();
+            limites[k] = carril.capacidad();
+        }
+        return CapacidadesCarril.desdeCarriles(m, n, filas, columnas, limites);
+    }
+
+    /**
+     * Comprueba que las capacidades alcancen para cada producto por separado y para todos juntos:
+     * el problema agregado suma las ofertas y demandas balanceadas de cada origen y destino (los
+     * ficticios se suman en una fila y una columna ficticias sin límite). Son condiciones
+     * necesarias: si alguna falla, ningún reparto entre los productos respeta las capacidades.
+     */
+    private void verificarCapacidades(
+            List<Producto> productos,
+            CapacidadesCarril capacidades,
+            int m,
+            int n,
+            ControlEjecucion control) {
+        int filas = m;
+        int columnas = n;
+        for (Producto producto : productos) {
+            filas = Math.max(filas, producto.balanceado.getOfertas().length);
+            columnas = Math.max(columnas, producto.balanceado.getDemandas().length);
+        }
+        double[] ofertas = new double[filas];
+        double[] demandas = new double[columnas];
+        for (int p = 0; p < productos.size(); p++) {
+            double[] ofertasProducto = productos.get(p).balanceado.getOfertas();
+            double[] demandasProducto = productos.get(p).balanceado.getDemandas();
+            verificarCapacidad(ofertasProducto, demandasProducto, capacidades, m, n,
+                    "El producto " + p + " no cabe en la capacidad de los carriles", control);
+            for (int i = 0; i < ofertasProducto.length; i++) {
+                ofertas[i] += ofertasProducto[i];
+            }
+            for (int j = 0; j < demandasProducto.length; j++) {
+                demandas[j] += demandasProducto[j];
+            }
+        }
+        if (productos.size() > 1) {
+            verificarCapacidad(ofertas, demandas, capacidades, m, n,
+                    "Los productos juntos no caben en la capacidad de los carriles", control);
+        }
+    }
+
+    /**
+     * Resuelve con MODI acotado y costos nulos un problema balanceado con las capacidades de los
+     * carriles, que falla si no hay un plan que las respete.
+     */
+    private void verificarCapacidad(
+            double[] ofertas,
+            double[] demandas,
+            CapacidadesCarril capacidades,
+            int m,
+            int n,
+            String mensaje,
+            ControlEjecucion control) {
+        ProblemaTransporte problema = ProblemaTransporte.builder()
+                .ofertas(ofertas)
+                .demandas(demandas)
+                .costos(new double[ofertas.length][demandas.length])
+                .tieneFicticio(ofertas.length > m || demandas.length > n)
+                .capacidades(capacidades.conOrigenes(ofertas.length))
+                .build();
+        SolucionTransporte inicial = solucionInicialService.encontrarSolucionInicial(
+                problema, MetodoSolucionInicial.ESQUINA_NOROESTE, control);
+        try {
+            optimizacionService.optimizar(problema, inicial, ModoOptimizacion.MODI, null, control);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(mensaje + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Resuelve un producto con los costos con precios, reanudando desde su base anterior.
+     */
+    private SolucionTransporte resolverProducto(Producto producto, ControlEjecucion control) {
+        SolucionTransporte solucion = null;
+        if (producto.base != null) {
+            solucion = optimizacionService.reanudar(producto.conPrecios, producto.base, control);
+        }
+        if (solucion == null) {
+            SolucionTransporte inicial = solucionInicialService.encontrarSolucionInicial(
+                    producto.conPrecios, MetodoSolucionInicial.VOGEL, control);
+            solucion = optimizacionService.optimizar(
+                    producto.conPrecios, inicial, ModoOptimizacion.MODI, null, control);
+        }
+        producto.base = solucion.getCeldasBasicas();
+        return solucion;
+    }
+
+    /**
+     * Plan de la relajación cuando ya respeta las capacidades, valorado con los costos originales.
+     */
+    private Plan planRelajacion(
+            List<Producto> productos,
+            CapacidadesCarril capacidades,
+            int[] filaCarril,
+            double[] precios,
+            double[] uso) {
+        double[] costos = new double[productos.size()];
+        List<double[][]> asignaciones = new ArrayList<>(productos.size());
+        double total = 0.0;
+        for (int p = 0; p < productos.size(); p++) {
+            double[][] x = productos.get(p).solucion.getAsignaciones();
+            costos[p] = productos.get(p).solucion.getCostoTotal();
+            for (int l = 0; l < precios.length; l++) {
+                costos[p] -= precios[l] * x[filaCarril[l]][capacidades.getColumna(l)];
+            }
+            asignaciones.add(x);
+            total += costos[p];
+        }
+        return new Plan(asignaciones, costos, total, uso.clone());
+    }
+
+    /**
+     * Reparte la capacidad entre los productos en secuencia: cada uno se resuelve con MODI acotado
+     * sobre la capacidad que dejaron libre los anteriores, con los costos con precios para que
+     * evite los carriles disputados. Empiezan los productos que más usan los carriles con límite
+     * en la relajación.
+     *
+     * @return plan factible, o null si algún producto no cupo en la capacidad restante
+     */
+    private Plan repartirCapacidad(
+            List<Producto> productos,
+            CapacidadesCarril capacidades,
+            int[] filaCarril,
+            ControlEjecucion control) {
+        int numCarriles = capacidades.getCantidad();
+        double[] libre = new double[numCarriles];
+        for (int l = 0; l < numCarriles; l++) {
+            libre[l] = capacidades.getLimite(l);
+        }
+
+        Integer[] orden = new Integer[productos.size()];
+        double[] usoProducto = new double[productos.size()];
+        for (int p = 0; p < orden.length; p++) {
+            orden[p] = p;
+            double[][] x = productos.get(p).solucion.getAsignaciones();
+            for (int l = 0; l < numCarriles; l++) {
+                usoProducto[p] += x[filaCarril[l]][capacidades.getColumna(l)];
+            }
+        }
+        Arrays.sort(orden, Comparator.comparingDouble(p -> -usoProducto[p]));
+
+        List<double[][]> asignaciones = new ArrayList<>(productos.size());
+        double[] costos = new double[productos.size()];
+        for (int p = 0; p < productos.size(); p++) {
+            asignaciones.add(null);
+        }
+
+        double total = 0.0;
+        for (int p : orden) {
+            Producto producto = productos.get(p);
+            int filas = producto.balanceado.getOfertas().length;
+            ProblemaTransporte acotado = ProblemaTransporte.builder()
+                    .ofertas(producto.balanceado.getOfertas())
+                    .demandas(producto.balanceado.getDemandas())
+                    .costos(producto.costosConPrecios)
+                    .tieneFicticio(producto.balanceado.isTieneFicticio())
+                    .capacidades(capacidades.conLimites(libre.clone()).conOrigenes(filas))
+                    .build();
+
+            SolucionTransporte solucion;
+            try {
+                solucion = optimizacionService.optimizar(
+                        acotado, producto.solucion, ModoOptimizacion.MODI, null, control);
+            } catch (IllegalArgumentException e) {
+                log.debug("Reparto de capacidad: el producto {} no cabe en la capacidad libre", p);
+                return null;
+            }
+
+            double[][] x = solucion.getAsignaciones();
+            costos[p] = producto.costoOriginal(x);
+            total += costos[p];
+            asignaciones.set(p, x);
+            for (int l = 0; l < numCarriles; l++) {
+                libre[l] = Math.max(0.0, libre[l] - x[filaCarril[l]][capacidades.getColumna(l)]);
+            }
+        }
+
+        double[] uso = new double[numCarriles];
+        for (int l = 0; l < numCarriles; l++) {
+            uso[l] = capacidades.getLimite(l) - libre[l];
+        }
+        return new Plan(asignaciones, costos, total, uso);
+    }
+
+    /**
+     * Construye la solución con el mejor plan factible o, si no hubo, con el último de la relajación.
+     */
+    private SolucionMultiproducto construirSolucion(
+            List<Producto> productos,
+            Plan mejor,
+            CapacidadesCarril capacidades,
+            int[] filaCarril,
+            double[] precios,
+            double cotaInferior,
+            int iteraciones,
+            boolean interrumpida,
+            int m,
+            int n) {
+        Plan plan = mejor;
+        if (plan == null) {
+            double[] costos = new double[productos.size()];
+            List<double[][]> asignaciones = new ArrayList<>(productos.size());
+            double[] uso = new double[capacidades.getCantidad()];
+            double total = 0.0;
+            for (int p = 0; p < productos.size(); p++) {
+                Producto producto = productos.get(p);
+                double[][] x = producto.solucion != null
+                        ? producto.solucion.getAsignaciones()
+                        : new double[producto.balanceado.getOfertas().length][producto.balanceado.getDemandas().length];
+                costos[p] = producto.costoOriginal(x);
+                total += costos[p];
+                asignaciones.add(x);
+                for (int l = 0; l < uso.length; l++) {
+                    uso[l] += x[filaCarril[l]][capacidades.getColumna(l)];
+                }
+            }
+            plan = new Plan(asignaciones, costos, total, uso);
+        }
+
+        // Quitar los orígenes y destinos ficticios de cada producto
+        List<double[][]> planes = new ArrayList<>(plan.asignaciones.size());
+        for (double[][] x : plan.asignaciones) {
+            double[][] real = new double[m][];
+            for (int i = 0; i < m; i++) {
+                real[i] = Arrays.copyOf(x[i], n);
+            }
+            planes.add(real);
+        }
+
+        // La cota nunca supera el costo informado: si no hubo plan factible, la relajación puede
+        // haber subido por encima del costo del plan que se devuelve
+        double cota = Double.isFinite(cotaInferior) ? Math.min(cotaInferior, plan.costo) : 0.0;
+        double brecha = plan.costo != 0.0
+                ? Math.max(0.0, (plan.costo - cota) / Math.abs(plan.costo))
+                : 0.0;
+
+        log.info("Multiproducto: {} productos, {} rondas, costo={}, cota inferior={}, factible={}",
+                productos.size(), iteraciones, plan.costo, cota, mejor != null);
+
+        return SolucionMultiproducto.builder()
+                .planes(planes)
+                .costosProductos(plan.costos)
+                .costoTotal(plan.costo)
+                .cotaInferior(cota)
+                .brechaOptimalidad(brecha)
+                .factible(mejor != null)
+                .interrumpida(interrumpida)
+                .iteraciones(iteraciones)
+                .usoCarriles(plan.uso)
+                .preciosCarriles(precios.clone())
+                .build();
+    }
+
+    /**
+     * Estado de un producto entre rondas: su problema balanceado, los costos con precios
+     * (se actualizan solo en los carriles con límite) y la base de su última solución.
+     */
+    private static final class Producto {
+        final ProblemaTransporte balanceado;
+        final double[][] costosOriginales;
+        final double[][] costosConPrecios;
+        final ProblemaTransporte conPrecios;
+        int[] base;
+        SolucionTransporte solucion;
+
+        Producto(ProblemaTransporte balanceado) {
+            this.balanceado = balanceado;
+            this.costosOriginales = balanceado.getFuenteCostos().materializar();
+            this.costosConPrecios = new double[costosOriginales.length][];
+            for (int i = 0; i < costosOriginales.length; i++) {
+                costosConPrecios[i] = costosOriginales[i].clone();
+            }
+            this.conPrecios = ProblemaTransporte.builder()
+                    .ofertas(balanceado.getOfertas())
+                    .demandas(balanceado.getDemandas())
+                    .costos(costosConPrecios)
+                    .tieneFicticio(balanceado.isTieneFicticio())
+                    .build();
+        }
+
+        void aplicarPrecios(CapacidadesCarril capacidades, int[] filaCarril, double[] precios) {
+            for (int l = 0; l < precios.length; l++) {
+                int i = filaCarril[l];
+                int j = capacidades.getColumna(l);
+                costosConPrecios[i][j] = costosOriginales[i][j] + precios[l];
+            }
+        }
+
+        void acumularUso(CapacidadesCarril capacidades, int[] filaCarril, double[] uso) {
+            double[][] x = solucion.getAsignaciones();
+            for (int l = 0; l < uso.length; l++) {
+                uso[l] += x[filaCarril[l]][capacidades.getColumna(l)];
+            }
+        }
+
+        double costoOriginal(double[][] x) {
+            double total = 0.0;
+            for (int i = 0; i < x.length; i++) {
+                for (int j = 0; j < x[i].length; j++) {
+                    if (x[i][j] != 0.0) {
+                        total += costosOriginales[i][j] * x[i][j];
+                    }
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Plan completo (asignaciones balanceadas de cada producto) con su costo original.
+     */
+    private record Plan(List<double[][]> asignaciones, double[] costos, double costo, double[] uso) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.AnalizadorSensibilidad;
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
+import com.io.graphtransportsolver.algoritmos.transporte.OptimizadorModi;
+import com.io.graphtransportsolver.models.transporte.AnalisisSensibilidad;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Servicio que lleva una solución inicial hasta la solución óptima
+ * según el modo de optimización solicitado.
+ */
+@Service
+@RequiredArgsConstructor
+public class OptimizacionService {
+
+    /**
+     * Carriles por fila y columna usados si no se especifica k.
+     */
+    public static final int CARRILES_CANDIDATOS_DEFECTO = 5;
+
+    private final OptimizadorModi optimizadorModi;
+    private final AnalizadorSensibilidad analizadorSensibilidad;
+
+    /**
+     * Optimiza una solución inicial del problema balanceado.
+     *
+     * @param problema           problema balanceado
+     * @param inicial            solución básica factible inicial
+     * @param modo               modo de optimización (null equivale a NINGUNA)
+     * @param carrilesCandidatos k para el modo CARRILES_CANDIDATOS (null usa el valor por defecto)
+     * @return la solución optimizada, o la inicial si no se pidió optimización
+     */
+    public SolucionTransporte optimizar(
+            ProblemaTransporte problema,
+            SolucionTransporte inicial,
+            ModoOptimizacion modo,
+            Integer carrilesCandidatos) {
+        return optimizar(problema, inicial, modo, carrilesCandidatos, ControlEjecucion.SIN_LIMITE);
+    }
+
+    /**
+     * Optimiza una solución inicial respetando un presupuesto de tiempo.
+     * Si el plazo vence se devuelve la última base factible, marcada como no óptima.
+     * Si el problema tiene capacidades por carril se usa el MODI de variables acotadas
+     * en cualquiera de los modos de optimización.
+     *
+     * @param problema           problema balanceado
+     * @param inicial            solución básica factible inicial
+     * @param modo               modo de optimización (null equivale a NINGUNA)
+     * @param carrilesCandidatos k para el modo CARRILES_CANDIDATOS (null usa el valor por defecto)
+     * @param control            presupuesto de tiempo
+     * @return la solución optimizada, o la inicial si no se pidió optimización
+     */
+    public SolucionTransporte optimizar(
+            ProblemaTransporte problema,
+            SolucionTransporte inicial,
+            ModoOptimizacion modo,
+            Integer carrilesCandidatos,
+            ControlEjecucion control) {
+
+        if (modo == null || modo == ModoOptimizacion.NINGUNA) {
+            return inicial;
+        }
+
+        if (!problema.esBalanceado()) {
+            throw new IllegalArgumentException("El problema debe estar balanceado para optimizarse");
+        }
+
+        // Con capacidades por carril siempre se valora la matriz completa con el MODI acotado
+        if (problema.getCapacidades() != null) {
+            return optimizadorModi.optimizarConCapacidades(problema, inicial, control);
+        }
+
+        return switch (modo) {
+            case MODI -> optimizadorModi.optimizar(problema, inicial, control);
+            case CARRILES_CANDIDATOS -> {
+                int k = carrilesCandidatos != null ? carrilesCandidatos : CARRILES_CANDIDATOS_DEFECTO;
+                if (k < 1) {
+                    throw new IllegalArgumentException("El número de carriles candidatos debe ser mayor a cero");
+                }
+                yield optimizadorModi.optimizarConCandidatos(problema, inicial, k, control);
+            }
+            case DISTRIBUIDO -> throw new IllegalArgumentException(
+                    "El modo DISTRIBUIDO no parte de una solución inicial; se resuelve con ResolucionDistribuidaService");
+            case NINGUNA -> inicial;
+        };
+    }
+
+    /**
+     * Reanuda la optimización desde la base de una solución anterior (arranque en caliente).
+     *
+     * @param problema      problema balanceado con los datos actuales
+     * @param celdasBasicas celdas básicas devueltas por una resolución anterior (i * n + j)
+     * @return la solución óptima, o null si la base no sirve y hay que resolver desde cero
+     */
+    public SolucionTransporte reanudar(ProblemaTransporte problema, int[] celdasBasicas) {
+        return reanudar(problema, celdasBasicas, ControlEjecucion.SIN_LIMITE);
+    }
+
+    /**
+     * Reanuda la optimización desde una base anterior respetando un presupuesto de tiempo.
+     *
+     * @param problema      problema balanceado con los datos actuales
+     * @param celdasBasicas celdas básicas devueltas por una resolución anterior (i * n + j)
+     * @param control       presupuesto de tiempo
+     * @return la solución (óptima salvo que venza el plazo), o null si la base no sirve
+     */
+    public SolucionTransporte reanudar(ProblemaTransporte problema, int[] celdasBasicas, ControlEjecucion control) {
+        if (!problema.esBalanceado()) {
+            throw new IllegalArgumentException("El problema debe estar balanceado para optimizarse");
+        }
+        if (celdasBasicas.length == 0) {
+            return null;
+        }
+
+        SolucionTransporte solucion = optimizadorModi.reanudar(problema, celdasBasicas, control);
+        if (solucion != null) {
+            solucion.setArranqueEnCaliente(true);
+        }
+        return solucion;
+    }
+
+    /**
+     * Calcula el análisis de sensibilidad de una solución óptima.
+     * Si la solución no trae base (p. ej. tras presolve o descomposición) se obtiene
+     * con MODI desde su plan, sin cambiar el costo.
+     *
+     * @param problema problema balanceado
+     * @param solucion solución óptima del problema
+     * @return solución con base (la misma si ya la tenía) y su análisis
+     */
+    public ResultadoSensibilidad analizarSensibilidad(ProblemaTransporte problema, SolucionTransporte solucion) {
+        if (!solucion.isOptima()) {
+            throw new IllegalArgumentException(
+                    "El análisis de sensibilidad requiere una solución óptima (modoOptimizacion MODI o CARRILES_CANDIDATOS)");
+        }
+
+        SolucionTransporte conBase = solucion;
+        if (solucion.getCeldasBasicas() == null) {
+            conBase = optimizadorModi.optimizar(problema, solucion);
+            conBase.setIteracionesOptimizacion(solucion.getIteracionesOptimizacion() + conBase.getIteracionesOptimizacion());
+            conBase.setArranqueEnCaliente(solucion.isArranqueEnCaliente());
+        }
+
+        return new ResultadoSensibilidad(conBase, analizadorSensibilidad.analizar(problema, conBase));
+    }
+
+    /**
+     * Solución con base junto con su análisis de sensibilidad.
+     *
+     * @param solucion solución usada para el análisis
+     * @param analisis rangos de costos y precios sombra
+     */
+    public record ResultadoSensibilidad(SolucionTransporte solucion, AnalisisSensibilidad analisis) {
+    }
+}
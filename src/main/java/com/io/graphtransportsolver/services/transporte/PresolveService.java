@@ -0,0 +1,457 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.Celda;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.ReduccionTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.CostosSubconjunto;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Servicio de presolve: reduce un problema balanceado antes de aplicar
+ * las estrategias de solución inicial y la optimización, y expande
+ * la solución reducida a los índices originales.
+ *
+ * Reducciones aplicadas (todas exactas, no cambian el costo óptimo):
+ * <ul>
+ *   <li>Elimina orígenes con oferta cero y destinos con demanda cero.</li>
+ *   <li>Fija asignaciones forzadas: un origen o destino con un único carril utilizable
+ *       (costo finito) debe enviar o recibir todo por ese carril. Se repite hasta
+ *       que no haya más, lo que también resuelve los casos con un solo origen o destino.</li>
+ *   <li>Fusiona orígenes con filas de costos idénticas (sumando ofertas) y
+ *       destinos con columnas idénticas (sumando demandas).</li>
+ * </ul>
+ *
+ * Un costo Double.POSITIVE_INFINITY marca un carril no utilizable.
+ */
+@Service
+@Slf4j
+public class PresolveService {
+
+    private static final double EPSILON = 1e-6;
+
+    /**
+     * Reduce un problema balanceado.
+     *
+     * @param problema problema balanceado
+     * @return reducción con el problema reducido y los datos para expandir la solución
+     */
+    public ReduccionTransporte reducir(ProblemaTransporte problema) {
+        if (problema == null) {
+            throw new IllegalArgumentException("El problema no puede ser nulo");
+        }
+        if (!problema.esBalanceado()) {
+            throw new IllegalArgumentException("El problema debe estar balanceado para el presolve");
+        }
+
+        Reductor reductor = new Reductor(problema);
+        reductor.fijarAsignacionesForzadas();
+        ReduccionTransporte reduccion = reductor.fusionarYConstruir(problema.tieneCostosImplicitos());
+
+        log.debug("Presolve: {}x{} -> {}x{}, {} asignaciones forzadas",
+                reductor.m, reductor.n,
+                reduccion.getFilasPorGrupo().length, reduccion.getColumnasPorGrupo().length,
+                reduccion.getAsignacionesFijas().size());
+
+        return reduccion;
+    }
+
+    /**
+     * Expande la solución del problema reducido al problema original.
+     * Las cantidades de una fila (columna) fusionada se reparten entre sus orígenes
+     * (destinos) en orden, al estilo de la esquina noroeste. Los potenciales y la base
+     * de la solución reducida no se trasladan.
+     *
+     * @param reduccion       reducción producida por {@link #reducir}
+     * @param solucionReducida solución del problema reducido (null si la reducción está resuelta)
+     * @param costos          fuente de costos del problema original
+     * @return solución en los índices del problema original
+     */
+    public SolucionTransporte expandir(
+            ReduccionTransporte reduccion,
+            SolucionTransporte solucionReducida,
+            FuenteCostos costos) {
+
+        double[][] asignaciones = new double[reduccion.getNumOrigenes()][reduccion.getNumDestinos()];
+
+        for (Celda celda : reduccion.getAsignacionesFijas()) {
+            asignaciones[celda.getFila()][celda.getColumna()] += celda.getAsignacion();
+        }
+
+        if (solucionReducida != null) {
+            repartir(reduccion, solucionReducida.getAsignaciones(), asignaciones);
+        }
+
+        SolucionTransporte solucion = SolucionTransporte.builder()
+                .asignaciones(asignaciones)
+                .metodoUtilizado(solucionReducida != null ? solucionReducida.getMetodoUtilizado() : null)
+                .optima(solucionReducida == null || solucionReducida.isOptima())
+                .iteracionesOptimizacion(solucionReducida != null ? solucionReducida.getIteracionesOptimizacion() : 0)
+                .build();
+        solucion.calcularCostoTotal(costos);
+
+        return solucion;
+    }
+
+    /**
+     * Reparte cada celda reducida entre los orígenes y destinos originales de sus grupos.
+     */
+    private void repartir(ReduccionTransporte reduccion, double[][] reducidas, double[][] asignaciones) {
+        int[][] filasPorGrupo = reduccion.getFilasPorGrupo();
+        int[][] columnasPorGrupo = reduccion.getColumnasPorGrupo();
+        double[] ofertaRestante = reduccion.getOfertasResiduales().clone();
+        double[] demandaRestante = reduccion.getDemandasResiduales().clone();
+        int[] punteroFila = new int[filasPorGrupo.length];
+        int[] punteroColumna = new int[columnasPorGrupo.length];
+
+        for (int g = 0; g < reducidas.length; g++) {
+            int[] filas = filasPorGrupo[g];
+            for (int h = 0; h < reducidas[g].length; h++) {
+                double cantidad = reducidas[g][h];
+                if (cantidad <= 0.0) continue;
+
+                int[] columnas = columnasPorGrupo[h];
+                while (cantidad > EPSILON) {
+                    boolean ultimaFila = punteroFila[g] == filas.length - 1;
+                    boolean ultimaColumna = punteroColumna[h] == columnas.length - 1;
+                    int i = filas[punteroFila[g]];
+                    int j = columnas[punteroColumna[h]];
+
+                    // El último miembro de cada grupo absorbe las diferencias de redondeo
+                    double t = cantidad;
+                    if (!ultimaFila) t = Math.min(t, ofertaRestante[i]);
+                    if (!ultimaColumna) t = Math.min(t, demandaRestante[j]);
+
+                    asignaciones[i][j] += t;
+                    cantidad -= t;
+                    ofertaRestante[i] -= t;
+                    demandaRestante[j] -= t;
+
+                    if (!ultimaFila && ofertaRestante[i] <= EPSILON) punteroFila[g]++;
+                    if (!ultimaColumna && demandaRestante[j] <= EPSILON) punteroColumna[h]++;
+                }
+                if (cantidad > 0.0) {
+                    asignaciones[filas[punteroFila[g]]][columnas[punteroColumna[h]]] += cantidad;
+                }
+            }
+        }
+    }
+
+    /**
+     * Estado de trabajo de una reducción.
+     */
+    private static final class Reductor {
+
+        private final FuenteCostos costos;
+        private final int m;
+        private final int n;
+        private final double[] ofertas;
+        private final double[] demandas;
+        private final boolean[] filaActiva;
+        private final boolean[] columnaActiva;
+        private final int[] carrilesFila;
+        private final int[] carrilesColumna;
+        private final double[] buffer;
+        private final List<Celda> asignacionesFijas = new ArrayList<>();
+
+        // Pendientes de revisar: filas como i, columnas como m + j
+        private final ArrayDeque<Integer> pendientes = new ArrayDeque<>();
+
+        Reductor(ProblemaTransporte problema) {
+            this.costos = problema.getFuenteCostos();
+            this.m = costos.getNumOrigenes();
+            this.n = costos.getNumDestinos();
+            this.ofertas = problema.getOfertas().clone();
+            this.demandas = problema.getDemandas().clone();
+            this.filaActiva = new boolean[m];
+            this.columnaActiva = new boolean[n];
+            this.carrilesFila = new int[m];
+            this.carrilesColumna = new int[n];
+            this.buffer = new double[n];
+
+            // Orígenes y destinos sin cantidad quedan fuera desde el inicio
+            for (int i = 0; i < m; i++) {
+                filaActiva[i] = ofertas[i] > EPSILON;
+                if (!filaActiva[i]) ofertas[i] = 0.0;
+            }
+            for (int j = 0; j < n; j++) {
+                columnaActiva[j] = demandas[j] > EPSILON;
+                if (!columnaActiva[j]) demandas[j] = 0.0;
+            }
+
+            // Carriles utilizables entre filas y columnas activas
+            for (int i = 0; i < m; i++) {
+                if (!filaActiva[i]) continue;
+                double[] fila = costos.obtenerFila(i, buffer);
+                for (int j = 0; j < n; j++) {
+                    if (columnaActiva[j] && esUtilizable(fila[j])) {
+                        carrilesFila[i]++;
+                        carrilesColumna[j]++;
+                    }
+                }
+            }
+        }
+
+        private static boolean esUtilizable(double costo) {
+            return costo < Double.POSITIVE_INFINITY;
+        }
+
+        void fijarAsignacionesForzadas() {
+            for (int i = 0; i < m; i++) {
+                if (filaActiva[i] && carrilesFila[i] <= 1) pendientes.add(i);
+            }
+            for (int j = 0; j < n; j++) {
+                if (columnaActiva[j] && carrilesColumna[j] <= 1) pendientes.add(m + j);
+            }
+
+            while (!pendientes.isEmpty()) {
+                int nodo = pendientes.poll();
+                if (nodo < m) {
+                    fijarFila(nodo);
+                } else {
+                    fijarColumna(nodo - m);
+                }
+            }
+        }
+
+        private void fijarFila(int i) {
+            if (!filaActiva[i] || carrilesFila[i] > 1) return;
+            if (carrilesFila[i] == 0) {
+                throw new IllegalArgumentException(
+                        "El origen " + (i + 1) + " no tiene carriles disponibles para su oferta");
+            }
+
+            double[] fila = costos.obtenerFila(i, buffer);
+            int j = 0;
+            while (!columnaActiva[j] || !esUtilizable(fila[j])) j++;
+
+            if (ofertas[i] > demandas[j] + EPSILON) {
+                throw new IllegalArgumentException(
+                        "La oferta del origen " + (i + 1) + " excede la demanda de su único destino posible");
+            }
+            asignar(i, j, ofertas[i], fila[j]);
+        }
+
+        private void fijarColumna(int j) {
+            if (!columnaActiva[j] || carrilesColumna[j] > 1) return;
+            if (carrilesColumna[j] == 0) {
+                throw new IllegalArgumentException(
+                        "El destino " + (j + 1) + " no tiene carriles disponibles para su demanda");
+            }
+
+            int i = 0;
+            while (!filaActiva[i] || !esUtilizable(costos.costo(i, j))) i++;
+
+            if (demandas[j] > ofertas[i] + EPSILON) {
+                throw new IllegalArgumentException(
+                        "La demanda del destino " + (j + 1) + " excede la oferta de su único origen posible");
+            }
+            asignar(i, j, demandas[j], costos.costo(i, j));
+        }
+
+        private void asignar(int i, int j, double cantidad, double costo) {
+            asignacionesFijas.add(Celda.builder()
+                    .fila(i)
+                    .columna(j)
+                    .costo(costo)
+                    .asignacion(cantidad)
+                    .build());
+
+            ofertas[i] -= cantidad;
+            demandas[j] -= cantidad;
+
+            if (ofertas[i] <= EPSILON) desactivarFila(i);
+            if (demandas[j] <= EPSILON) desactivarColumna(j);
+        }
+
+        private void desactivarFila(int i) {
+            filaActiva[i] = false;
+            ofertas[i] = 0.0;
+            double[] fila = costos.obtenerFila(i, buffer);
+            for (int j = 0; j < n; j++) {
+                if (columnaActiva[j] && esUtilizable(fila[j]) && --carrilesColumna[j] <= 1) {
+                    pendientes.add(m + j);
+                }
+            }
+        }
+
+        private void desactivarColumna(int j) {
+            columnaActiva[j] = false;
+            demandas[j] = 0.0;
+            for (int i = 0; i < m; i++) {
+                if (filaActiva[i] && esUtilizable(costos.costo(i, j)) && --carrilesFila[i] <= 1) {
+                    pendientes.add(i);
+                }
+            }
+        }
+
+        ReduccionTransporte fusionarYConstruir(boolean costosImplicitos) {
+            int[] columnasActivas = indicesActivos(columnaActiva);
+            int[][] filasPorGrupo = agruparFilas(indicesActivos(filaActiva), columnasActivas);
+
+            int[] representantesFila = new int[filasPorGrupo.length];
+            for (int g = 0; g < filasPorGrupo.length; g++) {
+                representantesFila[g] = filasPorGrupo[g][0];
+            }
+            int[][] columnasPorGrupo = agruparColumnas(representantesFila, columnasActivas);
+
+            ReduccionTransporte.ReduccionTransporteBuilder reduccion = ReduccionTransporte.builder()
+                    .filasPorGrupo(filasPorGrupo)
+                    .columnasPorGrupo(columnasPorGrupo)
+                    .ofertasResiduales(ofertas)
+                    .demandasResiduales(demandas)
+                    .asignacionesFijas(asignacionesFijas)
+                    .numOrigenes(m)
+                    .numDestinos(n);
+
+            if (filasPorGrupo.length == 0 || columnasPorGrupo.length == 0) {
+                return reduccion.build();
+            }
+
+            int[] representantesColumna = new int[columnasPorGrupo.length];
+            for (int h = 0; h < columnasPorGrupo.length; h++) {
+                representantesColumna[h] = columnasPorGrupo[h][0];
+            }
+
+            double[] ofertasReducidas = sumarPorGrupo(filasPorGrupo, ofertas);
+            double[] demandasReducidas = sumarPorGrupo(columnasPorGrupo, demandas);
+
+            ProblemaTransporte.ProblemaTransporteBuilder reducido = ProblemaTransporte.builder()
+                    .ofertas(ofertasReducidas)
+                    .demandas(demandasReducidas)
+                    .tieneFicticio(false);
+
+            if (costosImplicitos) {
+                reducido.fuenteCostos(new CostosSubconjunto(costos, representantesFila, representantesColumna));
+            } else {
+                double[][] costosReducidos = new double[representantesFila.length][representantesColumna.length];
+                for (int g = 0; g < representantesFila.length; g++) {
+                    double[] fila = costos.obtenerFila(representantesFila[g], buffer);
+                    for (int h = 0; h < representantesColumna.length; h++) {
+                        costosReducidos[g][h] = fila[representantesColumna[h]];
+                    }
+                }
+                reducido.costos(costosReducidos);
+            }
+
+            return reduccion.problemaReducido(reducido.build()).build();
+        }
+
+        /**
+         * Agrupa las filas activas con costos idénticos sobre las columnas activas.
+         */
+        private int[][] agruparFilas(int[] filas, int[] columnas) {
+            int[] hashes = new int[filas.length];
+            for (int k = 0; k < filas.length; k++) {
+                double[] fila = costos.obtenerFila(filas[k], buffer);
+                int hash = 1;
+                for (int j : columnas) {
+                    hash = 31 * hash + Double.hashCode(fila[j]);
+                }
+                hashes[k] = hash;
+            }
+
+            return agrupar(filas, hashes, (a, b) -> {
+                for (int j : columnas) {
+                    if (Double.compare(costos.costo(a, j), costos.costo(b, j)) != 0) return false;
+                }
+                return true;
+            });
+        }
+
+        /**
+         * Agrupa las columnas activas con costos idénticos sobre las filas representantes.
+         * Los hashes se acumulan recorriendo por filas.
+         */
+        private int[][] agruparColumnas(int[] filas, int[] columnas) {
+            int[] hashesColumna = new int[n];
+            Arrays.fill(hashesColumna, 1);
+            for (int i : filas) {
+                double[] fila = costos.obtenerFila(i, buffer);
+                for (int j : columnas) {
+                    hashesColumna[j] = 31 * hashesColumna[j] + Double.hashCode(fila[j]);
+                }
+            }
+
+            int[] hashes = new int[columnas.length];
+            for (int k = 0; k < columnas.length; k++) {
+                hashes[k] = hashesColumna[columnas[k]];
+            }
+
+            return agrupar(columnas, hashes, (a, b) -> {
+                for (int i : filas) {
+                    if (Double.compare(costos.costo(i, a), costos.costo(i, b)) != 0) return false;
+                }
+                return true;
+            });
+        }
+
+        private interface Comparador {
+            boolean iguales(int a, int b);
+        }
+
+        /**
+         * Agrupa índices con igual hash que además son iguales según el comparador,
+         * conservando el orden de primera aparición.
+         */
+        private static int[][] agrupar(int[] indices, int[] hashes, Comparador comparador) {
+            Map<Integer, List<Integer>> gruposPorHash = new HashMap<>();
+            List<List<Integer>> grupos = new ArrayList<>();
+
+            for (int k = 0; k < indices.length; k++) {
+                List<Integer> candidatos = gruposPorHash.computeIfAbsent(hashes[k], h -> new ArrayList<>());
+                List<Integer> grupo = null;
+                for (int g : candidatos) {
+                    if (comparador.iguales(grupos.get(g).get(0), indices[k])) {
+                        grupo = grupos.get(g);
+                        break;
+                    }
+                }
+                if (grupo == null) {
+                    grupo = new ArrayList<>();
+                    candidatos.add(grupos.size());
+                    grupos.add(grupo);
+                }
+                grupo.add(indices[k]);
+            }
+
+            int[][] resultado = new int[grupos.size()][];
+            for (int g = 0; g < grupos.size(); g++) {
+                resultado[g] = grupos.get(g).stream().mapToInt(Integer::intValue).toArray();
+            }
+            return resultado;
+        }
+
+        private static int[] indicesActivos(boolean[] activos) {
+            int total = 0;
+            for (boolean activo : activos) {
+                if (activo) total++;
+            }
+            int[] indices = new int[total];
+            int k = 0;
+            for (int i = 0; i < activos.length; i++) {
+                if (activos[i]) indices[k++] = i;
+            }
+            return indices;
+        }
+
+        private static double[] sumarPorGrupo(int[][] grupos, double[] cantidades) {
+            double[] sumas = new double[grupos.length];
+            for (int g = 0; g < grupos.length; g++) {
+                for (int indice : grupos[g]) {
+                    sumas[g] += cantidades[indice];
+                }
+            }
+            return sumas;
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.ActualizacionResidente;
+import com.io.graphtransportsolver.models.transporte.CambioAsignacion;
+import com.io.graphtransportsolver.models.transporte.CambiosProblema;
+import com.io.graphtransportsolver.models.transporte.Celda;
+import com.io.graphtransportsolver.models.transporte.ProblemaResidente;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.CostosEscenario;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
+import com.io.graphtransportsolver.presentation.dto.transporte.ActualizacionProblemaDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.CambioAsignacionDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.CambiosProblemaDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+/**
+ * Servicio de problemas residentes: el problema se sube una vez y luego se actualiza
+ * con cambios pequeños (costos, ofertas, demandas, carriles cerrados o abiertos).
+ *
+ * Cada actualización se resuelve en caliente desde la base anterior y devuelve solo
+ * las asignaciones que cambiaron. Los carriles cerrados se penalizan con un costo mayor
+ * que cualquier plan que no los use, de modo que solo se usan si no hay otra opción.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProblemasResidentesService {
+
+    private static final double EPSILON = 1e-9;
+
+    private final AlmacenProblemasService almacenProblemasService;
+    private final BalanceadorService balanceadorService;
+    private final SolucionInicialService solucionInicialService;
+    private final OptimizacionService optimizacionService;
+
+    /**
+     * Resuelve un problema hasta el óptimo y lo guarda como residente.
+     *
+     * @param problema problema sin balancear
+     * @param metodo   método inicial para las resoluciones desde cero
+     * @return identificador, problema balanceado y solución inicial completa
+     */
+    public ResultadoCreacion crear(ProblemaTransporte problema, MetodoSolucionInicial metodo) {
+        FuenteCostos costos = problema.getFuenteCostos();
+
+        ProblemaResidente residente = ProblemaResidente.builder()
+                .id(UUID.randomUUID().toString())
+                .version(0L)
+                .costosBase(costos)
+                .cambiosCostos(new TreeMap<>())
+                .costoMaximoAbsoluto(costoMaximoAbsoluto(costos))
+                .ofertas(problema.getOfertas())
+                .demandas(problema.getDemandas())
+                .nombresOrigenes(problema.getNombresOrigenes())
+                .nombresDestinos(problema.getNombresDestinos())
+                .metodoInicial(metodo)
+                .build();
+
+        ProblemaTransporte balanceado = balanceadorService.balancear(construirProblema(residente, estadoActual(residente)));
+        SolucionTransporte solucion = resolver(balanceado, null, metodo);
+        guardarSolucion(residente, balanceado, solucion);
+
+        almacenProblemasService.guardar(residente);
+        log.info("Problema residente {} creado ({} bytes estimados)", residente.getId(), residente.estimarBytes());
+
+        return new ResultadoCreacion(residente.getId(), balanceado, solucion);
+    }
+
+    /**
+     * Aplica cambios a un problema residente y lo vuelve a resolver desde su última base.
+     * El problema guardado solo cambia si la resolución termina: si falla, queda como estaba.
+     *
+     * @param id      identificador del problema
+     * @param cambios cambios a aplicar (todos o ninguno)
+     * @return nueva versión y asignaciones que cambiaron
+     */
+    public ActualizacionResidente actualizar(String id, CambiosProblema cambios) {
+        ProblemaResidente residente = almacenProblemasService.obtener(id);
+
+        // Las actualizaciones de un mismo problema se aplican de a una
+        synchronized (residente) {
+            EstadoResidente estado = aplicarCambios(residente, cambios);
+
+            ProblemaTransporte balanceado = balanceadorService.balancear(construirProblema(residente, estado));
+            boolean mismaForma = balanceado.getOfertas().length == residente.getFilasBalanceadas()
+                    && balanceado.getDemandas().length == residente.getColumnasBalanceadas();
+            SolucionTransporte solucion = resolver(
+                    balanceado, mismaForma ? residente.getCeldasBasicas() : null, residente.getMetodoInicial());
+
+            // Resuelto: recién ahora el problema guardado pasa al nuevo estado
+            Map<Long, Double> anteriores = flujosReales(residente);
+            residente.setCambiosCostos(estado.cambiosCostos());
+            residente.setCostoMaximoAbsoluto(estado.costoMaximoAbsoluto());
+            residente.setOfertas(estado.ofertas());
+            residente.setDemandas(estado.demandas());
+            guardarSolucion(residente, balanceado, solucion);
+            residente.setVersion(residente.getVersion() + 1);
+            almacenProblemasService.guardar(residente);
+
+            List<CambioAsignacion> cambiadas = compararFlujos(anteriores, flujosReales(residente), residente);
+            log.info("Problema residente {} actualizado a la versión {}: {} asignaciones cambiaron",
+                    id, residente.getVersion(), cambiadas.size());
+
+            return ActualizacionResidente.builder()
+                    .id(id)
+                    .version(residente.getVersion())
+                    .costoTotal(solucion.getCostoTotal())
+                    .optima(solucion.isOptima())
+                    .iteraciones(solucion.getIteracionesOptimizacion())
+                    .arranqueEnCaliente(solucion.isArranqueEnCaliente())
+                    .factible(!usaCarrilesCerrados(residente))
+                    .asignacionesCambiadas(cambiadas)
+                    .build();
+        }
+    }
+
+    /**
+     * Elimina un problema residente.
+     *
+     * @param id identificador del problema
+     */
+    public void eliminar(String id) {
+        almacenProblemasService.eliminar(id);
+    }
+
+    /**
+     * Convierte los cambios de un problema residente al modelo de dominio.
+     *
+     * @param dto cambios recibidos
+     * @return cambios sin validar; se validan al aplicarlos con {@link #actualizar}
+     */
+    public CambiosProblema convertirCambios(CambiosProblemaDTO dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("Los cambios no pueden ser nulos");
+        }
+        CambiosProblema cambios = CambiosProblema.builder().build();
+
+        if (dto.costos() != null) {
+            dto.costos().forEach(cambio -> cambios.getCostos().add(Celda.builder()
+                    .fila(cambio.origen())
+                    .columna(cambio.destino())
+                    .costo(cambio.costo())
+                    .build()));
+        }
+        if (dto.ofertas() != null) {
+            dto.ofertas().forEach(cambio -> cambios.getOfertas().put(cambio.indice(), cambio.valor()));
+        }
+        if (dto.demandas() != null) {
+            dto.demandas().forEach(cambio -> cambios.getDemandas().put(cambio.indice(), cambio.valor()));
+        }
+        if (dto.carrilesCerrados() != null) {
+            dto.carrilesCerrados().forEach(carril -> cambios.getCarrilesCerrados().add(
+                    Celda.builder().fila(carril.origen()).columna(carril.destino()).build()));
+        }
+        if (dto.carrilesAbiertos() != null) {
+            dto.carrilesAbiertos().forEach(carril -> cambios.getCarrilesAbiertos().add(
+                    Celda.builder().fila(carril.origen()).columna(carril.destino()).build()));
+        }
+        return cambios;
+    }
+
+    /**
+     * Convierte una actualización de un problema residente a DTO. También la usan las
+     * suscripciones a las actualizaciones de la ingesta de cambios.
+     *
+     * @param actualizacion nueva versión y asignaciones cambiadas
+     * @return DTO de la actualización
+     */
+    public ActualizacionProblemaDTO convertirActualizacionADTO(ActualizacionResidente actualizacion) {
+        return new ActualizacionProblemaDTO(
+                actualizacion.getId(),
+                actualizacion.getVersion(),
+                actualizacion.getCostoTotal(),
+                actualizacion.isOptima(),
+                actualizacion.getIteraciones(),
+                actualizacion.isArranqueEnCaliente(),
+                actualizacion.isFactible(),
+                actualizacion.getAsignacionesCambiadas().stream()
+                        .map(cambio -> new CambioAsignacionDTO(
+                                cambio.getFila(),
+                                cambio.getColumna(),
+                                cambio.getAnterior(),
+                                cambio.getNueva()))
+                        .toList()
+        );
+    }
+
+    /**
+     * Valida todos los cambios y arma con ellos el nuevo estado, sin modificar el residente.
+     */
+    private EstadoResidente aplicarCambios(ProblemaResidente residente, CambiosProblema cambios) {
+        if (cambios == null) {
+            throw new IllegalArgumentException("Los cambios no pueden ser nulos");
+        }
+        int m = residente.getOfertas().length;
+        int n = residente.getDemandas().length;
+
+        for (Celda celda : cambios.getCostos()) {
+            validarCarril(celda, m, n);
+            if (!Double.isFinite(celda.getCosto())) {
+                throw new IllegalArgumentException("Los costos deben ser números finitos; use carrilesCerrados para quitar un carril");
+            }
+        }
+        cambios.getCarrilesCerrados().forEach(celda -> validarCarril(celda, m, n));
+        cambios.getCarrilesAbiertos().forEach(celda -> validarCarril(celda, m, n));
+        double[] ofertas = aplicarCantidades(residente.getOfertas(), cambios.getOfertas(), "oferta");
+        double[] demandas = aplicarCantidades(residente.getDemandas(), cambios.getDemandas(), "demanda");
+
+        // Primero se abren, luego se fijan costos y al final se cierran carriles
+        Map<Long, Double> costos = residente.getCambiosCostos();
+        if (!cambios.getCarrilesAbiertos().isEmpty() || !cambios.getCostos().isEmpty()
+                || !cambios.getCarrilesCerrados().isEmpty()) {
+            costos = new TreeMap<>(costos);
+        }
+        for (Celda celda : cambios.getCarrilesAbiertos()) {
+            costos.remove(clave(celda, n));
+        }
+        double maximo = residente.getCostoMaximoAbsoluto();
+        for (Celda celda : cambios.getCostos()) {
+            costos.put(clave(celda, n), celda.getCosto());
+            maximo = Math.max(maximo, Math.abs(celda.getCosto()));
+        }
+        for (Celda celda : cambios.getCarrilesCerrados()) {
+            costos.put(clave(celda, n), Double.POSITIVE_INFINITY);
+        }
+
+        return new EstadoResidente(costos, maximo, ofertas, demandas);
+    }
+
+    /**
+     * Celda i * n + j en un long: con costos implícitos m * n puede pasar de 2^31.
+     */
+    private static long clave(Celda celda, int n) {
+        return (long) celda.getFila() * n + celda.getColumna();
+    }
+
+    private static EstadoResidente estadoActual(ProblemaResidente residente) {
+        return new EstadoResidente(residente.getCambiosCostos(), residente.getCostoMaximoAbsoluto(),
+                residente.getOfertas(), residente.getDemandas());
+    }
+
+    private void validarCarril(Celda celda, int m, int n) {
+        if (celda.getFila() < 0 || celda.getFila() >= m || celda.getColumna() < 0 || celda.getColumna() >= n) {
+            throw new IllegalArgumentException(
+                    "El carril (" + celda.getFila() + ", " + celda.getColumna() + ") está fuera de la matriz");
+        }
+    }
+
+    private double[] aplicarCantidades(double[] actuales, Map<Integer, Double> cambios, String etiqueta) {
+        if (cambios.isEmpty()) {
+            return actuales;
+        }
+        double[] resultado = actuales.clone();
+        for (Map.Entry<Integer, Double> cambio : cambios.entrySet()) {
+            int k = cambio.getKey();
+            double valor = cambio.getValue();
+            if (k < 0 || k >= resultado.length) {
+                throw new IllegalArgumentException("No existe la " + etiqueta + " " + k);
+            }
+            if (!(valor >= 0) || Double.isInfinite(valor)) {
+                throw new IllegalArgumentException("La " + etiqueta + " " + k + " debe ser un número no negativo");
+            }
+            resultado[k] = valor;
+        }
+        return resultado;
+    }
+
+    /**
+     * Construye el problema actual sin balancear. Los carriles cerrados reciben un costo
+     * mayor que el de cualquier plan que solo use carriles abiertos.
+     */
+    private ProblemaTransporte construirProblema(ProblemaResidente residente, EstadoResidente estado) {
+        FuenteCostos costos = residente.getCostosBase();
+        Map<Long, Double> cambiosCostos = estado.cambiosCostos();
+
+        if (!cambiosCostos.isEmpty()) {
+            int n = estado.demandas().length;
+            double cerrado = costoCerrado(estado);
+            List<Celda> cambios = new ArrayList<>(cambiosCostos.size());
+            for (Map.Entry<Long, Double> cambio : cambiosCostos.entrySet()) {
+                double costo = cambio.getValue();
+                cambios.add(Celda.builder()
+                        .fila((int) (cambio.getKey() / n))
+                        .columna((int) (cambio.getKey() % n))
+                        .costo(Double.isInfinite(costo) ? cerrado : costo)
+                        .build());
+            }
+            costos = new CostosEscenario(costos, 1.0, cambios);
+        }
+
+        return ProblemaTransporte.builder()
+                .fuenteCostos(costos)
+                .ofertas(estado.ofertas())
+                .demandas(estado.demandas())
+                .nombresOrigenes(residente.getNombresOrigenes())
+                .nombresDestinos(residente.getNombresDestinos())
+                .build();
+    }
+
+    private double costoCerrado(EstadoResidente estado) {
+        double cantidad = 0.0;
+        for (double oferta : estado.ofertas()) cantidad += oferta;
+        for (double demanda : estado.demandas()) cantidad += demanda;
+        return 1.0 + 2.0 * Math.max(1.0, estado.costoMaximoAbsoluto()) * Math.max(1.0, cantidad);
+    }
+
+    private double costoMaximoAbsoluto(FuenteCostos costos) {
+        double maximo = 0.0;
+        double[] buffer = new double[costos.getNumDestinos()];
+        for (int i = 0; i < costos.getNumOrigenes(); i++) {
+            for (double costo : costos.obtenerFila(i, buffer)) {
+                if (Double.isFinite(costo)) maximo = Math.max(maximo, Math.abs(costo));
+            }
+        }
+        return maximo;
+    }
+
+    /**
+     * Resuelve hasta el óptimo, en caliente si hay una base anterior utilizable.
+     */
+    private SolucionTransporte resolver(ProblemaTransporte balanceado, int[] base, MetodoSolucionInicial metodo) {
+        SolucionTransporte solucion = base != null ? optimizacionService.reanudar(balanceado, base) : null;
+        if (solucion == null) {
+            SolucionTransporte inicial = solucionInicialService.encontrarSolucionInicial(balanceado, metodo);
+            solucion = optimizacionService.optimizar(balanceado, inicial, ModoOptimizacion.MODI, null);
+        }
+        return solucion;
+    }
+
+    /**
+     * Conserva de la solución solo la base y sus flujos.
+     */
+    private void guardarSolucion(ProblemaResidente residente, ProblemaTransporte balanceado, SolucionTransporte solucion) {
+        int columnas = balanceado.getDemandas().length;
+        int[] celdas = solucion.getCeldasBasicas();
+        double[] flujos = new double[celdas.length];
+        for (int k = 0; k < celdas.length; k++) {
+            flujos[k] = solucion.getAsignaciones()[celdas[k] / columnas][celdas[k] % columnas];
+        }
+        residente.setCeldasBasicas(celdas);
+        residente.setFlujosBasicos(flujos);
+        residente.setFilasBalanceadas(balanceado.getOfertas().length);
+        residente.setColumnasBalanceadas(columnas);
+        residente.setCostoTotal(solucion.getCostoTotal());
+    }
+
+    /**
+     * Flujos positivos de la última solución en celdas reales (sin ficticios), por i * n + j en un long.
+     */
+    private Map<Long, Double> flujosReales(ProblemaResidente residente) {
+        int m = residente.getOfertas().length;
+        int n = residente.getDemandas().length;
+        int columnas = residente.getColumnasBalanceadas();
+        int[] celdas = residente.getCeldasBasicas();
+
+        Map<Long, Double> flujos = new HashMap<>();
+        for (int k = 0; k < celdas.length; k++) {
+            int i = celdas[k] / columnas;
+            int j = celdas[k] % columnas;
+            if (i < m && j < n && residente.getFlujosBasicos()[k] > EPSILON) {
+                flujos.put((long) i * n + j, residente.getFlujosBasicos()[k]);
+            }
+        }
+        return flujos;
+    }
+
+    private List<CambioAsignacion> compararFlujos(
+            Map<Long, Double> anteriores,
+            Map<Long, Double> nuevos,
+            ProblemaResidente residente) {
+
+        int n = residente.getDemandas().length;
+        Map<Long, CambioAsignacion> cambios = new TreeMap<>();
+        for (Map.Entry<Long, Double> nuevo : nuevos.entrySet()) {
+            double anterior = anteriores.getOrDefault(nuevo.getKey(), 0.0);
+            if (Math.abs(anterior - nuevo.getValue()) > EPSILON) {
+                cambios.put(nuevo.getKey(), cambio(nuevo.getKey(), n, anterior, nuevo.getValue()));
+            }
+        }
+        for (Map.Entry<Long, Double> anterior : anteriores.entrySet()) {
+            if (!nuevos.containsKey(anterior.getKey())) {
+                cambios.put(anterior.getKey(), cambio(anterior.getKey(), n, anterior.getValue(), 0.0));
+            }
+        }
+        return new ArrayList<>(cambios.values());
+    }
+
+    private CambioAsignacion cambio(long celda, int n, double anterior, double nueva) {
+        return CambioAsignacion.builder()
+                .fila((int) (celda / n))
+                .columna((int) (celda % n))
+                .anterior(anterior)
+                .nueva(nueva)
+                .build();
+    }
+
+    private boolean usaCarrilesCerrados(ProblemaResidente residente) {
+        Map<Long, Double> costos = residente.getCambiosCostos();
+        for (Map.Entry<Long, Double> flujo : flujosReales(residente).entrySet()) {
+            Double costo = costos.get(flujo.getKey());
+            if (costo != null && Double.isInfinite(costo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Costos editados, cantidades y mayor costo de un problema residente, antes de guardarlos en él.
+     */
+    private record EstadoResidente(
+            Map<Long, Double> cambiosCostos,
+            double costoMaximoAbsoluto,
+            double[] ofertas,
+            double[] demandas) {
+    }
+
+    /**
+     * Resultado de crear un problema residente.
+     */
+    public record ResultadoCreacion(String id, ProblemaTransporte problemaBalanceado, SolucionTransporte solucion) {
+    }
+}
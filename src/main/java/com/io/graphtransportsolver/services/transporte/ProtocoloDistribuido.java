@@ -0,0 +1,58 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+
+/**
+ * Mensajes binarios entre el coordinador y los trabajadores de la resolución distribuida.
+ *
+ * Cada mensaje del coordinador empieza con un byte de operación y cada respuesta con un
+ * byte de estado ({@link #OK} o {@link #ERROR} seguido del mensaje en UTF). Los carriles
+ * viajan como (fila global, columna, costo).
+ */
+final class ProtocoloDistribuido {
+
+    /**
+     * Filas de costos del bloque: fila inicial, cantidad de filas, destinos y los costos fila por fila.
+     */
+    static final byte CARGAR = 1;
+
+    /**
+     * Carriles candidatos iniciales del bloque: k más baratos por fila y por columna.
+     */
+    static final byte CANDIDATOS = 2;
+
+    /**
+     * Costos de celdas puntuales del bloque.
+     */
+    static final byte COSTOS = 3;
+
+    /**
+     * Potenciales que cambiaron desde la última valoración y carriles que violan la optimalidad.
+     */
+    static final byte VALORAR = 4;
+
+    /**
+     * Fin de la sesión: el trabajador libera el bloque.
+     */
+    static final byte FIN = 5;
+
+    static final byte OK = 0;
+    static final byte ERROR = 1;
+
+    private ProtocoloDistribuido() {
+    }
+
+    /**
+     * Lee el estado de una respuesta y falla con el mensaje del trabajador si es un error.
+     */
+    static void leerEstado(DataInputStream entrada) throws IOException {
+        byte estado = entrada.readByte();
+        if (estado == ERROR) {
+            throw new IOException(entrada.readUTF());
+        }
+        if (estado != OK) {
+            throw new IOException("Respuesta desconocida del trabajador: " + estado);
+        }
+    }
+}
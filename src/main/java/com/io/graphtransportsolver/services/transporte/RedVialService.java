@@ -0,0 +1,222 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.BusquedaAscendente;
+import com.io.graphtransportsolver.algoritmos.transporte.CaminosMinimos;
+import com.io.graphtransportsolver.models.transporte.GrafoVial;
+import com.io.graphtransportsolver.models.transporte.JerarquiaContraccion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.LongToIntFunction;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Servicio que calcula la matriz de costos de un problema de transporte a partir de una red vial:
+ * el costo de cada carril es la distancia del camino mínimo entre el nodo del origen y el del destino.
+ *
+ * Sobre la red recibida se ejecuta un Dijkstra por origen. Sobre una red registrada con su
+ * {@link JerarquiaContraccion} se usan cubetas: una búsqueda ascendente hacia atrás por destino
+ * deja en cada nodo alcanzado la distancia a ese destino, y la búsqueda ascendente hacia adelante
+ * de cada origen cruza sus nodos con esas cubetas. En ambos casos las búsquedas se reparten en
+ * bloques entre los hilos del pool de transporte y cada bloque reutiliza un único espacio de trabajo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RedVialService {
+
+    // Orígenes por tarea: suficientes para amortizar el espacio de trabajo de cada bloque
+    private static final int ORIGENES_POR_TAREA = 8;
+
+    // Las búsquedas ascendentes son mucho más cortas que un Dijkstra completo
+    private static final int BUSQUEDAS_POR_TAREA = 64;
+
+    private final ForkJoinPool poolTransporte;
+
+    /**
+     * Calcula la matriz de costos origen × destino con un Dijkstra por origen.
+     *
+     * @param grafo             red vial
+     * @param origenes          id del nodo de cada origen
+     * @param destinos          id del nodo de cada destino
+     * @param tarifa            costo por unidad de distancia
+     * @param costoFijo         costo fijo por unidad transportada
+     * @param costoInalcanzable costo para los pares sin camino (null para rechazarlos)
+     * @return matriz de costos [orígenes][destinos]
+     */
+    public double[][] calcularCostos(
+            GrafoVial grafo,
+            long[] origenes,
+            long[] destinos,
+            double tarifa,
+            double costoFijo,
+            Double costoInalcanzable) {
+
+        int[] nodosOrigen = indices(grafo::indice, origenes, "origen");
+        int[] nodosDestino = indices(grafo::indice, destinos, "destino");
+
+        long inicio = System.nanoTime();
+        double[][] distancias = new double[nodosOrigen.length][];
+        enBloques(nodosOrigen.length, ORIGENES_POR_TAREA,
+                () -> new CaminosMinimos(grafo, nodosDestino),
+                (caminos, i) -> distancias[i] =
+                        caminos.distancias(nodosOrigen[i], nodosDestino, new double[nodosDestino.length]));
+
+        log.info("Matriz de costos {}x{} calculada sobre una red de {} nodos y {} aristas en {} ms",
+                nodosOrigen.length, nodosDestino.length, grafo.getNumNodos(), grafo.getNumAristas(),
+                (System.nanoTime() - inicio) / 1_000_000);
+        return aplicarTarifa(distancias, origenes, destinos, tarifa, costoFijo, costoInalcanzable);
+    }
+
+    /**
+     * Calcula la matriz de costos origen × destino con consultas por cubetas sobre una jerarquía de contracción.
+     *
+     * @param jerarquia         índice de la red vial
+     * @param origenes          id del nodo de cada origen
+     * @param destinos          id del nodo de cada destino
+     * @param tarifa            costo por unidad de distancia
+     * @param costoFijo         costo fijo por unidad transportada
+     * @param costoInalcanzable costo para los pares sin camino (null para rechazarlos)
+     * @return matriz de costos [orígenes][destinos]
+     */
+    public double[][] calcularCostos(
+            JerarquiaContraccion jerarquia,
+            long[] origenes,
+            long[] destinos,
+            double tarifa,
+            double costoFijo,
+            Double costoInalcanzable) {
+
+        int[] nodosOrigen = indices(jerarquia::indice, origenes, "origen");
+        int[] nodosDestino = indices(jerarquia::indice, destinos, "destino");
+        int m = nodosOrigen.length;
+        int n = nodosDestino.length;
+
+        long inicio = System.nanoTime();
+
+        // Espacio ascendente hacia atrás de cada destino
+        int[][] nodosAtras = new int[n][];
+        double[][] distanciasAtras = new double[n][];
+        enBloques(n, BUSQUEDAS_POR_TAREA, () -> new BusquedaAscendente(jerarquia), (busqueda, j) -> {
+            int asentados = busqueda.buscar(nodosDestino[j], false);
+            nodosAtras[j] = new int[asentados];
+            distanciasAtras[j] = new double[asentados];
+            for (int k = 0; k < asentados; k++) {
+                nodosAtras[j][k] = busqueda.getAsentado(k);
+                distanciasAtras[j][k] = busqueda.getDistancia(k);
+            }
+        });
+
+        // Cubetas por nodo: inicioCubeta[v]..inicioCubeta[v + 1] son los (destino, distancia) que llegan a v
+        int nodos = jerarquia.getNumNodos();
+        int[] inicioCubeta = new int[nodos + 1];
+        for (int[] espacio : nodosAtras) {
+            for (int v : espacio) {
+                inicioCubeta[v + 1]++;
+            }
+        }
+        for (int v = 0; v < nodos; v++) {
+            inicioCubeta[v + 1] += inicioCubeta[v];
+        }
+        int[] siguiente = Arrays.copyOf(inicioCubeta, nodos);
+        int[] destinoCubeta = new int[inicioCubeta[nodos]];
+        double[] distanciaCubeta = new double[inicioCubeta[nodos]];
+        for (int j = 0; j < n; j++) {
+            for (int k = 0; k < nodosAtras[j].length; k++) {
+                int p = siguiente[nodosAtras[j][k]]++;
+                destinoCubeta[p] = j;
+                distanciaCubeta[p] = distanciasAtras[j][k];
+            }
+        }
+
+        // Espacio ascendente hacia adelante de cada origen cruzado con las cubetas
+        double[][] distancias = new double[m][];
+        enBloques(m, BUSQUEDAS_POR_TAREA, () -> new BusquedaAscendente(jerarquia), (busqueda, i) -> {
+            double[] fila = new double[n];
+            Arrays.fill(fila, Double.POSITIVE_INFINITY);
+            int asentados = busqueda.buscar(nodosOrigen[i], true);
+            for (int k = 0; k < asentados; k++) {
+                int v = busqueda.getAsentado(k);
+                double base = busqueda.getDistancia(k);
+                for (int p = inicioCubeta[v]; p < inicioCubeta[v + 1]; p++) {
+                    double candidata = base + distanciaCubeta[p];
+                    if (candidata < fila[destinoCubeta[p]]) {
+                        fila[destinoCubeta[p]] = candidata;
+                    }
+                }
+            }
+            distancias[i] = fila;
+        });
+
+        log.info("Matriz de costos {}x{} calculada por cubetas sobre una jerarquía de {} nodos en {} ms",
+                m, n, nodos, (System.nanoTime() - inicio) / 1_000_000);
+        return aplicarTarifa(distancias, origenes, destinos, tarifa, costoFijo, costoInalcanzable);
+    }
+
+    /**
+     * Reparte las posiciones 0..total-1 en bloques entre los hilos del pool; cada bloque
+     * crea su propio espacio de trabajo y lo reutiliza para todas sus posiciones.
+     */
+    private <T> void enBloques(int total, int porTarea, Supplier<T> espacio, ObjIntConsumer<T> tarea) {
+        List<ForkJoinTask<?>> tareas = new ArrayList<>();
+        for (int desde = 0; desde < total; desde += porTarea) {
+            int primero = desde;
+            int ultimo = Math.min(total, desde + porTarea);
+            tareas.add(poolTransporte.submit(() -> {
+                T trabajo = espacio.get();
+                for (int k = primero; k < ultimo; k++) {
+                    tarea.accept(trabajo, k);
+                }
+            }));
+        }
+        tareas.forEach(ForkJoinTask::join);
+    }
+
+    /**
+     * Convierte las distancias en costos (en el mismo arreglo) y resuelve los pares sin camino.
+     */
+    private double[][] aplicarTarifa(
+            double[][] distancias,
+            long[] origenes,
+            long[] destinos,
+            double tarifa,
+            double costoFijo,
+            Double costoInalcanzable) {
+
+        for (int i = 0; i < distancias.length; i++) {
+            double[] fila = distancias[i];
+            for (int j = 0; j < fila.length; j++) {
+                if (fila[j] == Double.POSITIVE_INFINITY) {
+                    if (costoInalcanzable == null) {
+                        throw new IllegalArgumentException(String.format(
+                                "El destino %d (nodo %d) no es alcanzable desde el origen %d (nodo %d); "
+                                        + "indique costoInalcanzable para permitirlo", j, destinos[j], i, origenes[i]));
+                    }
+                    fila[j] = costoInalcanzable;
+                } else {
+                    fila[j] = tarifa * fila[j] + costoFijo;
+                }
+            }
+        }
+        return distancias;
+    }
+
+    private int[] indices(LongToIntFunction indice, long[] ids, String etiqueta) {
+        int[] indices = new int[ids.length];
+        for (int k = 0; k < ids.length; k++) {
+            indices[k] = indice.applyAsInt(ids[k]);
+            if (indices[k] < 0) {
+                throw new IllegalArgumentException(String.format(
+                        "El nodo %d del %s %d no aparece en la red", ids[k], etiqueta, k));
+            }
+        }
+        return indices;
+    }
+}
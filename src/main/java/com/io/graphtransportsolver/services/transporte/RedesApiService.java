@@ -0,0 +1,76 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.JerarquiaContraccion;
+import com.io.graphtransportsolver.presentation.dto.ApiResponseDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.GrafoVialDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.IndiceRedDTO;
+import com.io.graphtransportsolver.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Punto de entrada de las redes viales registradas: alta, consulta y baja de sus índices
+ * en {@link IndiceRedesService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RedesApiService {
+
+    private final ConversionTransporteService conversionService;
+    private final IndiceRedesService indiceRedesService;
+
+    /**
+     * Registra una red vial estática: construye su jerarquía de contracción y la guarda en disco
+     * para calcular matrices de costos de muchos problemas sobre la misma red.
+     *
+     * @param grafoDTO aristas de la red
+     * @return ApiResponseDTO con el identificador y el tamaño del índice
+     */
+    public ApiResponseDTO<IndiceRedDTO> registrarRed(GrafoVialDTO grafoDTO) {
+        log.info("{} - Registrar red vial", Constants.Message.START_SERVICE);
+
+        return RespuestasApi.ejecutar("registrar la red vial", () -> {
+            if (grafoDTO == null || grafoDTO.aristas() == null || grafoDTO.aristas().isEmpty()) {
+                throw new IllegalArgumentException("La red vial debe tener al menos una arista");
+            }
+            IndiceRedesService.Registro registro = indiceRedesService.registrar(
+                    conversionService.convertirGrafoVial(grafoDTO.aristas(), grafoDTO.dirigida()));
+
+            log.info("{}", Constants.Message.FINISH_SERVICE);
+            return convertirIndiceADTO(registro.id(), registro.jerarquia(), registro.milisegundos());
+        });
+    }
+
+    /**
+     * Consulta el índice de una red vial registrada.
+     *
+     * @param id identificador de la red
+     * @return ApiResponseDTO con el tamaño del índice
+     */
+    public ApiResponseDTO<IndiceRedDTO> obtenerRed(String id) {
+        return RespuestasApi.ejecutar("leer el índice de la red",
+                () -> convertirIndiceADTO(id, indiceRedesService.obtener(id), 0L));
+    }
+
+    /**
+     * Elimina una red vial registrada y su índice en disco.
+     *
+     * @param id identificador de la red
+     * @return ApiResponseDTO sin datos
+     */
+    public ApiResponseDTO<Void> eliminarRed(String id) {
+        return RespuestasApi.ejecutarSinDatos("eliminar el índice de la red", () -> indiceRedesService.eliminar(id));
+    }
+
+    private IndiceRedDTO convertirIndiceADTO(String id, JerarquiaContraccion jerarquia, long milisegundos) {
+        return new IndiceRedDTO(
+                id,
+                jerarquia.getNumNodos(),
+                jerarquia.getNumAristasSalida() + jerarquia.getNumAristasEntrada(),
+                jerarquia.getAtajos(),
+                jerarquia.estimarBytes(),
+                milisegundos);
+    }
+}
@@ -0,0 +1,203 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.ActualizacionResidente;
+import com.io.graphtransportsolver.models.transporte.EventoCantidad;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
+import com.io.graphtransportsolver.models.transporte.enums.TipoBalance;
+import com.io.graphtransportsolver.presentation.dto.ApiResponseDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ActualizacionProblemaDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.CambiosProblemaDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.EventosCantidadDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.EventosEncoladosDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ProblemaResidenteDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.ProblemaTransporteDTO;
+import com.io.graphtransportsolver.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Punto de entrada de los problemas residentes: creación, cambios, eventos de cantidades
+ * y suscripciones a sus actualizaciones. Delega en {@link ProblemasResidentesService} y en
+ * {@link IngestaCambiosService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ResidentesApiService {
+
+    private final ConversionTransporteService conversionService;
+    private final ProblemasResidentesService problemasResidentesService;
+    private final IngestaCambiosService ingestaCambiosService;
+    private final ScheduledExecutorService planificadorSondas;
+
+    @Value("${transporte.ingesta.latido-ms:15000}")
+    private long periodoLatidoMs;
+
+    /**
+     * Resuelve un problema hasta el óptimo y lo deja guardado en el servidor para
+     * actualizarlo luego con cambios pequeños.
+     *
+     * @param problemaDTO problema completo
+     * @return ApiResponseDTO con el identificador y la solución completa
+     */
+    public ApiResponseDTO<ProblemaResidenteDTO> crearProblemaResidente(ProblemaTransporteDTO problemaDTO) {
+        log.info("{} - Crear problema residente", Constants.Message.START_SERVICE);
+
+        return RespuestasApi.ejecutar("crear el problema residente", () -> {
+            conversionService.validarEntradaBasica(problemaDTO);
+            conversionService.rechazarCapacidades(problemaDTO, "los problemas residentes");
+            ProblemaTransporte problemaOriginal = conversionService.convertirDTOaModelo(problemaDTO);
+            TipoBalance tipoBalanceOriginal = problemaOriginal.getTipoBalance();
+
+            ProblemasResidentesService.ResultadoCreacion creacion =
+                    problemasResidentesService.crear(problemaOriginal, problemaDTO.metodoInicial());
+
+            SolucionTransporte solucion = creacion.solucion();
+            solucion.setMetodoUtilizado(problemaDTO.metodoInicial());
+
+            log.info("{}", Constants.Message.FINISH_SERVICE);
+            return new ProblemaResidenteDTO(
+                    creacion.id(),
+                    0L,
+                    conversionService.convertirSolucionADTO(
+                            solucion,
+                            creacion.problemaBalanceado(),
+                            tipoBalanceOriginal,
+                            ModoOptimizacion.MODI,
+                            null)
+            );
+        });
+    }
+
+    /**
+     * Aplica cambios a un problema residente y devuelve solo las asignaciones que cambiaron.
+     *
+     * @param id         identificador del problema
+     * @param cambiosDTO cambios de costos, cantidades o carriles
+     * @return ApiResponseDTO con la nueva versión y las asignaciones cambiadas
+     */
+    public ApiResponseDTO<ActualizacionProblemaDTO> actualizarProblemaResidente(String id, CambiosProblemaDTO cambiosDTO) {
+        log.info("{} - Actualizar problema residente {}", Constants.Message.START_SERVICE, id);
+
+        return RespuestasApi.ejecutar("actualizar el problema residente", () -> {
+            ActualizacionResidente actualizacion = problemasResidentesService.actualizar(
+                    id, problemasResidentesService.convertirCambios(cambiosDTO));
+
+            log.info("{}", Constants.Message.FINISH_SERVICE);
+            return problemasResidentesService.convertirActualizacionADTO(actualizacion);
+        });
+    }
+
+    /**
+     * Encola cambios de ofertas y demandas de un problema residente. Se aplican en
+     * micro-lotes y cada nueva versión del plan se publica a los suscriptores del problema.
+     *
+     * @param id         identificador del problema
+     * @param eventosDTO nuevas ofertas y demandas
+     * @return ApiResponseDTO con los eventos aceptados y los pendientes en la cola
+     */
+    public ApiResponseDTO<EventosEncoladosDTO> encolarEventos(String id, EventosCantidadDTO eventosDTO) {
+        return RespuestasApi.ejecutar("encolar los eventos", () -> {
+            List<EventoCantidad> eventos = ingestaCambiosService.convertir(id, eventosDTO);
+
+            int pendientes = ingestaCambiosService.encolar(eventos);
+            return new EventosEncoladosDTO(id, eventos.size(), pendientes);
+        });
+    }
+
+    /**
+     * Abre un canal de eventos del servidor (SSE) con las actualizaciones de un problema
+     * residente. Cada micro-lote aplicado envía un evento "actualizacion" con las asignaciones
+     * que cambiaron; si un micro-lote no se pudo aplicar se envía un evento "rechazo". Si el
+     * problema se elimina o se descarta del almacén se envía un evento "cierre" y se cierra el canal.
+     * Un comentario periódico de latido mantiene viva la conexión y, al fallar, detecta al cliente
+     * que se fue sin cerrarla.
+     *
+     * @param id identificador del problema
+     * @return emisor abierto hasta que el cliente se desconecte o el problema deje de existir
+     */
+    public SseEmitter suscribirActualizaciones(String id) {
+        // Sin tiempo de espera: la suscripción dura lo que dure la conexión o el problema
+        SseEmitter emisor = new SseEmitter(0L);
+
+        try {
+            Runnable cancelar = ingestaCambiosService.suscribir(id, new IngestaCambiosService.Suscriptor() {
+                @Override
+                public void actualizado(ActualizacionResidente actualizacion) {
+                    enviar(emisor, "actualizacion", problemasResidentesService.convertirActualizacionADTO(actualizacion));
+                }
+
+                @Override
+                public void rechazado(String mensaje) {
+                    enviar(emisor, "rechazo", mensaje);
+                }
+
+                @Override
+                public void cerrado(String mensaje) {
+                    enviar(emisor, "cierre", mensaje);
+                    emisor.complete();
+                }
+            });
+            ScheduledFuture<?> latido = periodoLatidoMs > 0
+                    ? planificadorSondas.scheduleAtFixedRate(
+                            () -> enviarLatido(emisor), periodoLatidoMs, periodoLatidoMs, TimeUnit.MILLISECONDS)
+                    : null;
+            Runnable terminar = () -> {
+                cancelar.run();
+                if (latido != null) {
+                    latido.cancel(false);
+                }
+            };
+            emisor.onCompletion(terminar);
+            emisor.onError(error -> terminar.run());
+            emisor.onTimeout(terminar);
+
+        } catch (IllegalArgumentException e) {
+            log.warn("Error de validación: {}", e.getMessage());
+            enviar(emisor, "rechazo", e.getMessage());
+            emisor.complete();
+        }
+        return emisor;
+    }
+
+    private void enviar(SseEmitter emisor, String nombre, Object datos) {
+        try {
+            emisor.send(SseEmitter.event().name(nombre).data(datos));
+        } catch (IOException | IllegalStateException e) {
+            // El cliente se desconectó: al completar con error se cancela la suscripción
+            log.debug("No se pudo enviar el evento {}: {}", nombre, e.getMessage());
+            emisor.completeWithError(e);
+        }
+    }
+
+    private void enviarLatido(SseEmitter emisor) {
+        try {
+            emisor.send(SseEmitter.event().comment("latido"));
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Suscripción sin cliente: {}", e.getMessage());
+            emisor.completeWithError(e);
+        }
+    }
+
+    /**
+     * Elimina un problema residente y libera su memoria.
+     *
+     * @param id identificador del problema
+     * @return ApiResponseDTO sin datos
+     */
+    public ApiResponseDTO<Void> eliminarProblemaResidente(String id) {
+        return RespuestasApi.ejecutarSinDatos("eliminar el problema residente",
+                () -> problemasResidentesService.eliminar(id));
+    }
+}
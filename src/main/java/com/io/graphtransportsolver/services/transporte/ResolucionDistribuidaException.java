@@ -0,0 +1,12 @@
+package com.io.graphtransportsolver.services.transporte;
+
+/**
+ * Falla de la resolución distribuida ajena al problema: un trabajador no responde, cerró la
+ * conexión o informó un error del protocolo.
+ */
+public class ResolucionDistribuidaException extends RuntimeException {
+
+    public ResolucionDistribuidaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
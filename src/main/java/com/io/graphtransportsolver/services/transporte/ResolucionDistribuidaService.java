@@ -0,0 +1,373 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.BaseTransporte;
+import com.io.graphtransportsolver.algoritmos.transporte.CarrilesCandidatos;
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
+import com.io.graphtransportsolver.algoritmos.transporte.OptimizadorModi;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Coordinador de la resolución distribuida de un problema de transporte.
+ *
+ * Reparte las filas (orígenes) en bloques contiguos, uno por trabajador configurado, y se
+ * queda solo con los carriles candidatos y la base. Cada ronda resuelve MODI sobre los
+ * candidatos en el coordinador, envía a los trabajadores los potenciales que cambiaron y
+ * recibe de cada bloque los carriles que violan la optimalidad. Termina cuando ningún
+ * trabajador encuentra violaciones, así que el plan es el óptimo de la matriz completa.
+ */
+@Service
+@Slf4j
+public class ResolucionDistribuidaService {
+
+    private final OptimizadorModi optimizadorModi;
+    private final List<InetSocketAddress> trabajadores;
+    private final int tiempoEsperaMs;
+
+    public ResolucionDistribuidaService(
+            OptimizadorModi optimizadorModi,
+            @Value("${transporte.distribuido.trabajadores:}") String trabajadores,
+            @Value("${transporte.distribuido.tiempo-espera-ms:60000}") int tiempoEsperaMs) {
+        this.optimizadorModi = optimizadorModi;
+        this.trabajadores = leerDirecciones(trabajadores);
+        this.tiempoEsperaMs = tiempoEsperaMs;
+    }
+
+    /**
+     * Resuelve un problema balanceado con los trabajadores configurados.
+     *
+     * @param problema           problema balanceado
+     * @param carrilesCandidatos k por fila y columna de cada bloque (null usa el valor por defecto)
+     * @param control            presupuesto de tiempo
+     * @return solución óptima, o la mejor encontrada si venció el plazo
+     * @throws ResolucionDistribuidaException si falla la comunicación con algún trabajador
+     */
+    public SolucionTransporte resolver(ProblemaTransporte problema, Integer carrilesCandidatos, ControlEjecucion control) {
+        if (trabajadores.isEmpty()) {
+            throw new IllegalArgumentException(
+                    "No hay trabajadores configurados para el modo DISTRIBUIDO (transporte.distribuido.trabajadores)");
+        }
+        if (!problema.esBalanceado()) {
+            throw new IllegalArgumentException("El problema debe estar balanceado para optimizarse");
+        }
+        int k = carrilesCandidatos != null ? carrilesCandidatos : OptimizacionService.CARRILES_CANDIDATOS_DEFECTO;
+        if (k < 1) {
+            throw new IllegalArgumentException("El número de carriles candidatos debe ser mayor a cero");
+        }
+
+        double[] ofertas = problema.getOfertas();
+        double[] demandas = problema.getDemandas();
+        int m = ofertas.length;
+        int n = demandas.length;
+
+        List<Conexion> conexiones = new ArrayList<>();
+        try {
+            conectar(conexiones, m);
+            cargar(conexiones, problema.getFuenteCostos());
+
+            CarrilesCandidatos candidatos = CarrilesCandidatos.vacio(m);
+            pedirCandidatos(conexiones, candidatos, k);
+
+            int[] celdas = escalera(ofertas, demandas);
+            pedirCostos(conexiones, candidatos, celdas, n);
+            BaseTransporte base = BaseTransporte.desdeBase(candidatos.comoFuente(n), ofertas, demandas, celdas);
+            log.info("Resolución distribuida en {} bloques: {} carriles candidatos iniciales de {} celdas",
+                    conexiones.size(), candidatos.getTotal(), (long) m * n);
+
+            Valoracion valoracion = new Valoracion(conexiones, m, n);
+            SolucionTransporte solucion = optimizadorModi.optimizarConValorador(
+                    base, candidatos, valoracion::agregarViolaciones, k, control);
+            solucion.setMetodoUtilizado(MetodoSolucionInicial.ESQUINA_NOROESTE);
+
+            log.info("Resolución distribuida: {} rondas de valoración, {} iteraciones, {} carriles candidatos",
+                    valoracion.rondas, solucion.getIteracionesOptimizacion(), candidatos.getTotal());
+            return solucion;
+
+        } catch (IOException | UncheckedIOException e) {
+            throw new ResolucionDistribuidaException("Falló la comunicación con los trabajadores: " + e.getMessage(), e);
+        } finally {
+            cerrar(conexiones);
+        }
+    }
+
+    /**
+     * Abre una conexión por bloque de filas contiguas (a lo sumo una fila por trabajador).
+     */
+    private void conectar(List<Conexion> conexiones, int m) throws IOException {
+        int bloques = Math.min(trabajadores.size(), m);
+        for (int b = 0; b < bloques; b++) {
+            int filaInicio = (int) ((long) m * b / bloques);
+            int filaFin = (int) ((long) m * (b + 1) / bloques);
+            InetSocketAddress direccion = trabajadores.get(b);
+
+            Socket socket = new Socket();
+            try {
+                socket.connect(new InetSocketAddress(direccion.getHostString(), direccion.getPort()), tiempoEsperaMs);
+                socket.setSoTimeout(tiempoEsperaMs);
+                socket.setTcpNoDelay(true);
+            } catch (IOException e) {
+                socket.close();
+                throw new IOException("no se pudo conectar con " + direccion + " (" + e.getMessage() + ")", e);
+            }
+            conexiones.add(new Conexion(
+                    direccion,
+                    socket,
+                    new DataInputStream(new BufferedInputStream(socket.getInputStream())),
+                    new DataOutputStream(new BufferedOutputStream(socket.getOutputStream())),
+                    filaInicio,
+                    filaFin));
+        }
+    }
+
+    /**
+     * Envía a cada trabajador las filas de su bloque, una por una, sin materializar la matriz.
+     */
+    private void cargar(List<Conexion> conexiones, FuenteCostos costos) throws IOException {
+        int n = costos.getNumDestinos();
+        double[] buffer = new double[n];
+        for (Conexion conexion : conexiones) {
+            DataOutputStream salida = conexion.salida();
+            salida.writeByte(ProtocoloDistribuido.CARGAR);
+            salida.writeInt(conexion.filaInicio());
+            salida.writeInt(conexion.filaFin() - conexion.filaInicio());
+            salida.writeInt(n);
+            for (int i = conexion.filaInicio(); i < conexion.filaFin(); i++) {
+                for (double costo : costos.obtenerFila(i, buffer)) {
+                    salida.writeDouble(costo);
+                }
+            }
+            salida.flush();
+        }
+        for (Conexion conexion : conexiones) {
+            ProtocoloDistribuido.leerEstado(conexion.entrada());
+        }
+    }
+
+    /**
+     * Une los k carriles más baratos por fila y por columna de cada bloque.
+     */
+    private void pedirCandidatos(List<Conexion> conexiones, CarrilesCandidatos candidatos, int k) throws IOException {
+        for (Conexion conexion : conexiones) {
+            conexion.salida().writeByte(ProtocoloDistribuido.CANDIDATOS);
+            conexion.salida().writeInt(k);
+            conexion.salida().flush();
+        }
+        for (Conexion conexion : conexiones) {
+            leerCarriles(conexion.entrada(), candidatos);
+        }
+    }
+
+    /**
+     * Pide los costos de las celdas que todavía no son candidatas.
+     */
+    private void pedirCostos(List<Conexion> conexiones, CarrilesCandidatos candidatos, int[] celdas, int n)
+            throws IOException {
+        List<List<Integer>> porBloque = new ArrayList<>();
+        for (Conexion conexion : conexiones) {
+            List<Integer> faltantes = new ArrayList<>();
+            for (int celda : celdas) {
+                int i = celda / n;
+                if (i >= conexion.filaInicio() && i < conexion.filaFin()
+                        && Double.isNaN(candidatos.buscarCosto(i, celda % n))) {
+                    faltantes.add(celda);
+                }
+            }
+            porBloque.add(faltantes);
+
+            DataOutputStream salida = conexion.salida();
+            salida.writeByte(ProtocoloDistribuido.COSTOS);
+            salida.writeInt(faltantes.size());
+            for (int celda : faltantes) {
+                salida.writeInt(celda / n);
+                salida.writeInt(celda % n);
+            }
+            salida.flush();
+        }
+
+        for (int b = 0; b < conexiones.size(); b++) {
+            DataInputStream entrada = conexiones.get(b).entrada();
+            ProtocoloDistribuido.leerEstado(entrada);
+            for (int celda : porBloque.get(b)) {
+                candidatos.agregarSiFalta(celda / n, celda % n, entrada.readDouble());
+            }
+        }
+    }
+
+    /**
+     * Lee una respuesta con carriles y los agrega a los candidatos.
+     *
+     * @return carriles agregados
+     */
+    private static int leerCarriles(DataInputStream entrada, CarrilesCandidatos candidatos) throws IOException {
+        ProtocoloDistribuido.leerEstado(entrada);
+        int agregados = 0;
+        for (int total = entrada.readInt(); total > 0; total--) {
+            int i = entrada.readInt();
+            int j = entrada.readInt();
+            if (candidatos.agregarSiFalta(i, j, entrada.readDouble())) {
+                agregados++;
+            }
+        }
+        return agregados;
+    }
+
+    /**
+     * Celdas de la esquina noroeste como escalera de m + n - 1 celdas: cada paso agota una
+     * fila o una columna (nunca ambas), así que forman un árbol aun con degeneración.
+     * Solo usa ofertas y demandas, no costos.
+     */
+    private static int[] escalera(double[] ofertas, double[] demandas) {
+        int m = ofertas.length;
+        int n = demandas.length;
+        double[] oferta = ofertas.clone();
+        double[] demanda = demandas.clone();
+        int[] celdas = new int[m + n - 1];
+
+        int i = 0;
+        int j = 0;
+        for (int p = 0; p < celdas.length; p++) {
+            celdas[p] = i * n + j;
+            double asignacion = Math.min(oferta[i], demanda[j]);
+            oferta[i] -= asignacion;
+            demanda[j] -= asignacion;
+            if (j == n - 1 || (i < m - 1 && oferta[i] <= demanda[j])) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return celdas;
+    }
+
+    private void cerrar(List<Conexion> conexiones) {
+        for (Conexion conexion : conexiones) {
+            try {
+                conexion.salida().writeByte(ProtocoloDistribuido.FIN);
+                conexion.salida().flush();
+            } catch (IOException e) {
+                log.debug("No se pudo cerrar la sesión con {}: {}", conexion.direccion(), e.getMessage());
+            } finally {
+                try {
+                    conexion.socket().close();
+                } catch (IOException e) {
+                    log.debug("No se pudo cerrar la conexión con {}: {}", conexion.direccion(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static List<InetSocketAddress> leerDirecciones(String lista) {
+        List<InetSocketAddress> direcciones = new ArrayList<>();
+        for (String direccion : lista.split(",")) {
+            String limpia = direccion.trim();
+            if (limpia.isEmpty()) {
+                continue;
+            }
+            int separador = limpia.lastIndexOf(':');
+            if (separador <= 0) {
+                throw new IllegalArgumentException("Dirección de trabajador inválida (se espera host:puerto): " + limpia);
+            }
+            direcciones.add(InetSocketAddress.createUnresolved(
+                    limpia.substring(0, separador), Integer.parseInt(limpia.substring(separador + 1))));
+        }
+        return direcciones;
+    }
+
+    /**
+     * Valoración repartida entre los trabajadores. Solo envía los potenciales que cambiaron
+     * desde la ronda anterior; cada trabajador valora su bloque mientras los demás valoran el suyo.
+     */
+    private static class Valoracion {
+
+        private final List<Conexion> conexiones;
+        private final double[] uEnviado;
+        private final double[] vEnviado;
+        int rondas;
+
+        Valoracion(List<Conexion> conexiones, int m, int n) {
+            this.conexiones = conexiones;
+            this.uEnviado = new double[m];
+            this.vEnviado = new double[n];
+            // NaN fuerza el envío completo en la primera ronda
+            Arrays.fill(uEnviado, Double.NaN);
+            Arrays.fill(vEnviado, Double.NaN);
+        }
+
+        int agregarViolaciones(CarrilesCandidatos candidatos, double[] u, double[] v, int maxPorFila, double tolerancia) {
+            rondas++;
+            try {
+                int[] columnasCambiadas = cambiados(v, vEnviado, 0, v.length);
+                for (Conexion conexion : conexiones) {
+                    int[] filasCambiadas = cambiados(u, uEnviado, conexion.filaInicio(), conexion.filaFin());
+
+                    DataOutputStream salida = conexion.salida();
+                    salida.writeByte(ProtocoloDistribuido.VALORAR);
+                    salida.writeInt(filasCambiadas.length);
+                    for (int i : filasCambiadas) {
+                        salida.writeInt(i);
+                        salida.writeDouble(u[i]);
+                    }
+                    salida.writeInt(columnasCambiadas.length);
+                    for (int j : columnasCambiadas) {
+                        salida.writeInt(j);
+                        salida.writeDouble(v[j]);
+                    }
+                    salida.writeInt(maxPorFila);
+                    salida.writeDouble(tolerancia);
+                    salida.flush();
+                }
+
+                int agregados = 0;
+                for (Conexion conexion : conexiones) {
+                    agregados += leerCarriles(conexion.entrada(), candidatos);
+                }
+                System.arraycopy(u, 0, uEnviado, 0, u.length);
+                System.arraycopy(v, 0, vEnviado, 0, v.length);
+                return agregados;
+
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private static int[] cambiados(double[] actual, double[] enviado, int desde, int hasta) {
+            int[] indices = new int[hasta - desde];
+            int total = 0;
+            for (int k = desde; k < hasta; k++) {
+                if (Double.compare(actual[k], enviado[k]) != 0) {
+                    indices[total++] = k;
+                }
+            }
+            return Arrays.copyOf(indices, total);
+        }
+    }
+
+    /**
+     * Sesión con un trabajador y el rango de filas [filaInicio, filaFin) que tiene cargado.
+     */
+    private record Conexion(
+            InetSocketAddress direccion,
+            Socket socket,
+            DataInputStream entrada,
+            DataOutputStream salida,
+            int filaInicio,
+            int filaFin) {
+    }
+}
@@ -0,0 +1,86 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Resoluciones en curso indexadas por la huella del problema: una solicitud idéntica a otra que
+ * todavía se está resolviendo se une a esa resolución en lugar de repetirla, y todas reciben el
+ * mismo resultado.
+ *
+ * La primera solicitud resuelve en su propio hilo; las que se unen reciben un futuro y no ocupan
+ * hilo mientras esperan. La resolución usa un control compartido que se cancela solo cuando se
+ * cancelaron todas las solicitudes que la esperan. Al terminar deja de estar en curso: las
+ * solicitudes posteriores se atienden con la caché de soluciones, si corresponde.
+ *
+ * @param <V> tipo del resultado compartido; no debe modificarse después de entregarlo
+ */
+@Slf4j
+public final class ResolucionesEnCurso<V> {
+
+    private final String nombre;
+    private final ConcurrentHashMap<String, EnCurso<V>> enCurso = new ConcurrentHashMap<>();
+    private final AtomicLong unidas = new AtomicLong();
+
+    /**
+     * @param nombre nombre de la operación para el registro
+     */
+    public ResolucionesEnCurso(String nombre) {
+        this.nombre = nombre;
+    }
+
+    /**
+     * Se une a la resolución en curso de la clave o, si no hay ninguna, la ejecuta en este hilo.
+     *
+     * @param clave       huella del problema y opciones que cambian el resultado
+     * @param cancelacion control de la solicitud; se suma a los interesados de la resolución
+     * @param resolucion  cálculo del resultado con el control compartido
+     * @return futuro del resultado (ya completo si lo resolvió este hilo)
+     */
+    public CompletableFuture<V> unirse(
+            String clave,
+            ControlEjecucion cancelacion,
+            Function<ControlEjecucion, V> resolucion) {
+        while (true) {
+            EnCurso<V> nueva = new EnCurso<>(ControlEjecucion.compartido(cancelacion), new CompletableFuture<>());
+            nueva.control().agregarInteresado(cancelacion);
+
+            EnCurso<V> existente = enCurso.putIfAbsent(clave, nueva);
+            if (existente == null) {
+                return ejecutar(clave, nueva, resolucion);
+            }
+            if (existente.control().agregarInteresado(cancelacion)) {
+                log.info("Solicitud de {} unida a una resolución en curso ({} en total)", nombre, unidas.incrementAndGet());
+                return existente.resultado();
+            }
+            // Todos los que la esperaban se fueron y la resolución se está abandonando: se reemplaza
+            enCurso.remove(clave, existente);
+        }
+    }
+
+    /**
+     * @return cantidad de solicitudes que se unieron a una resolución en curso desde el inicio
+     */
+    public long getUnidas() {
+        return unidas.get();
+    }
+
+    private CompletableFuture<V> ejecutar(String clave, EnCurso<V> propia, Function<ControlEjecucion, V> resolucion) {
+        try {
+            propia.resultado().complete(resolucion.apply(propia.control()));
+        } catch (RuntimeException e) {
+            propia.resultado().completeExceptionally(e);
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+        return propia.resultado();
+    }
+
+    private record EnCurso<V>(ControlEjecucion control, CompletableFuture<V> resultado) {
+    }
+}
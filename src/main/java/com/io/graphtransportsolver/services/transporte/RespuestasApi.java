@@ -0,0 +1,116 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.PlazoVencidoException;
+import com.io.graphtransportsolver.presentation.dto.ApiResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Traduce el resultado de una operación del modelo de transporte a un {@link ApiResponseDTO}.
+ * Es el único lugar donde las excepciones se convierten en estados HTTP:
+ * <ul>
+ *     <li>{@link IllegalArgumentException}: 400 con el mensaje de validación.</li>
+ *     <li>{@link PlazoVencidoException}: 503 con su mensaje; la solicitud puede repetirse con más tiempo.</li>
+ *     <li>{@link IllegalStateException}, {@link CancellationException} y
+ *     {@link ResolucionDistribuidaException}: 500 con su mensaje.</li>
+ *     <li>Cualquier otra excepción: 500 sin detalles, que solo quedan en el registro.</li>
+ * </ul>
+ * <p>
+ * Esta clase no debe ser instanciada.
+ * </p>
+ */
+@Slf4j
+public final class RespuestasApi {
+
+    private RespuestasApi() {
+    }
+
+    /**
+     * Ejecuta una operación y envuelve su resultado o su error.
+     *
+     * @param operacion descripción de la operación para el registro, p. ej. "cotizar el problema"
+     * @param accion    operación que devuelve los datos de la respuesta
+     * @return respuesta exitosa con los datos, o la respuesta de error que corresponda
+     */
+    public static <T> ApiResponseDTO<T> ejecutar(String operacion, Supplier<T> accion) {
+        try {
+            ApiResponseDTO<T> response = new ApiResponseDTO<>();
+            response.SuccessOperation(accion.get());
+            return response;
+        } catch (RuntimeException e) {
+            return error(operacion, e);
+        }
+    }
+
+    /**
+     * Ejecuta una operación sin datos de respuesta y envuelve su error, si lo hay.
+     *
+     * @param operacion descripción de la operación para el registro
+     * @param accion    operación a ejecutar
+     * @return respuesta exitosa sin datos, o la respuesta de error que corresponda
+     */
+    public static ApiResponseDTO<Void> ejecutarSinDatos(String operacion, Runnable accion) {
+        return ejecutar(operacion, () -> {
+            accion.run();
+            return null;
+        });
+    }
+
+    /**
+     * Ejecuta una operación que entrega su respuesta en un futuro (p. ej. porque se une a otra
+     * resolución en curso). Un error al prepararla se entrega como un futuro ya completo.
+     *
+     * @param operacion descripción de la operación para el registro
+     * @param accion    operación que devuelve el futuro de la respuesta
+     * @return el futuro de la operación, o uno completo con la respuesta de error
+     */
+    public static <T> CompletableFuture<ApiResponseDTO<T>> ejecutarAsincrono(
+            String operacion,
+            Supplier<CompletableFuture<ApiResponseDTO<T>>> accion) {
+        try {
+            return accion.get();
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(error(operacion, e));
+        }
+    }
+
+    /**
+     * Construye la respuesta de error de una excepción.
+     *
+     * @param operacion descripción de la operación para el registro
+     * @param e         excepción lanzada por la operación
+     * @return respuesta con el estado que corresponde a la excepción
+     */
+    public static <T> ApiResponseDTO<T> error(String operacion, Throwable e) {
+        ApiResponseDTO<T> response = new ApiResponseDTO<>();
+
+        if (e instanceof IllegalArgumentException) {
+            log.warn("Error de validación: {}", e.getMessage());
+            response.BadOperation();
+            response.setMessage(e.getMessage());
+
+        } else if (e instanceof PlazoVencidoException) {
+            log.warn("No se pudo {} a tiempo: {}", operacion, e.getMessage());
+            response.UnavailableOperation();
+            response.setMessage(e.getMessage());
+
+        } else if (e instanceof CancellationException) {
+            log.info("Se dejó de {}: el cliente ya no espera la respuesta", operacion);
+            response.FailedOperation();
+            response.setMessage(e.getMessage());
+
+        } else if (e instanceof IllegalStateException || e instanceof ResolucionDistribuidaException) {
+            log.error("Error al {}: {}", operacion, e.getMessage());
+            response.FailedOperation();
+            response.setMessage(e.getMessage());
+
+        } else {
+            log.error("Error inesperado al {}", operacion, e);
+            response.FailedOperation();
+        }
+        return response;
+    }
+}
@@ -1,5 +1,6 @@
 package com.io.graphtransportsolver.services.transporte;
 
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
 import com.io.graphtransportsolver.algoritmos.transporte.CostoMinimoStrategy;
 import com.io.graphtransportsolver.algoritmos.transporte.EsquinaNoroesteStrategy;
 import com.io.graphtransportsolver.algoritmos.transporte.SolucionInicialStrategy;
@@ -33,6 +34,22 @@ public class SolucionInicialService {
     public SolucionTransporte encontrarSolucionInicial(
             ProblemaTransporte problema,
             MetodoSolucionInicial metodo) {
+        return encontrarSolucionInicial(problema, metodo, ControlEjecucion.SIN_LIMITE);
+    }
+
+    /**
+     * Encuentra una solución inicial respetando un presupuesto de tiempo.
+     * Si el plazo vence, la solución se completa con Esquina Noroeste y sigue siendo factible.
+     *
+     * @param problema el problema de transporte a resolver
+     * @param metodo   el método a utilizar
+     * @param control  presupuesto de tiempo
+     * @return la solución inicial encontrada
+     */
+    public SolucionTransporte encontrarSolucionInicial(
+            ProblemaTransporte problema,
+            MetodoSolucionInicial metodo,
+            ControlEjecucion control) {
 
         // Validaciones de lógica de negocio
         validarProblema(problema);
@@ -51,7 +68,7 @@ public class SolucionInicialService {
         SolucionInicialStrategy strategy = obtenerEstrategia(metodo);
 
         // Resolver usando la estrategia seleccionada
-        return strategy.encontrarSolucionInicial(problemaBalanceado);
+        return strategy.encontrarSolucionInicial(problemaBalanceado, control);
     }
 
     /**
@@ -72,6 +89,17 @@ public class SolucionInicialService {
      * @return array con las tres soluciones (Esquina Noroeste, Costo Mínimo, Vogel)
      */
     public SolucionTransporte[] compararMetodos(ProblemaTransporte problema) {
+        return compararMetodos(problema, ControlEjecucion.SIN_LIMITE);
+    }
+
+    /**
+     * Compara los tres métodos de solución inicial, deteniéndose si se cancela la resolución.
+     *
+     * @param problema el problema a resolver
+     * @param control  control de cancelación (y plazo) de la comparación
+     * @return array con las tres soluciones (Esquina Noroeste, Costo Mínimo, Vogel)
+     */
+    public SolucionTransporte[] compararMetodos(ProblemaTransporte problema, ControlEjecucion control) {
         // Validaciones de lógica de negocio
         validarProblema(problema);
 
@@ -82,8 +110,11 @@ public class SolucionInicialService {
 
         SolucionTransporte[] soluciones = new SolucionTransporte[3];
         soluciones[0] = esquinaNoroesteStrategy.encontrarSolucionInicial(problemaBalanceado);
-        soluciones[1] = costoMinimoStrategy.encontrarSolucionInicial(problemaBalanceado);
-        soluciones[2] = vogelStrategy.encontrarSolucionInicial(problemaBalanceado);
+        control.verificarCancelacion();
+        soluciones[1] = costoMinimoStrategy.encontrarSolucionInicial(problemaBalanceado, control);
+        control.verificarCancelacion();
+        soluciones[2] = vogelStrategy.encontrarSolucionInicial(problemaBalanceado, control);
+        control.verificarCancelacion();
 
         return soluciones;
     }
@@ -107,26 +138,36 @@ public class SolucionInicialService {
             throw new IllegalArgumentException("El problema debe tener al menos un destino");
         }
 
-        if (problema.getCostos() == null || problema.getCostos().length == 0) {
-            throw new IllegalArgumentException("La matriz de costos no puede ser nula o vacía");
-        }
-
         int m = problema.getOfertas().length;
         int n = problema.getDemandas().length;
 
-        // Validar dimensiones de la matriz de costos
-        if (problema.getCostos().length != m) {
-            throw new IllegalArgumentException(
-                "La matriz de costos debe tener " + m + " filas (orígenes)"
-            );
-        }
+        if (problema.tieneCostosImplicitos()) {
+            // Costos implícitos: solo se validan las dimensiones de la fuente
+            if (problema.getFuenteCostos().getNumOrigenes() != m
+                    || problema.getFuenteCostos().getNumDestinos() != n) {
+                throw new IllegalArgumentException(
+                    "La fuente de costos debe tener " + m + " orígenes y " + n + " destinos"
+                );
+            }
+        } else {
+            if (problema.getCostos() == null || problema.getCostos().length == 0) {
+                throw new IllegalArgumentException("La matriz de costos no puede ser nula o vacía");
+            }
 
-        for (int i = 0; i < m; i++) {
-            if (problema.getCostos()[i] == null || problema.getCostos()[i].length != n) {
+            // Validar dimensiones de la matriz de costos
+            if (problema.getCostos().length != m) {
                 throw new IllegalArgumentException(
-                    "La fila " + i + " de la matriz de costos debe tener " + n + " columnas (destinos)"
+                    "La matriz de costos debe tener " + m + " filas (orígenes)"
                 );
             }
+
+            for (int i = 0; i < m; i++) {
+                if (problema.getCostos()[i] == null || problema.getCostos()[i].length != n) {
+                    throw new IllegalArgumentException(
+                        "La fila " + i + " de la matriz de costos debe tener " + n + " columnas (destinos)"
+                    );
+                }
+            }
         }
 
         // Validar que ofertas y demandas sean positivas
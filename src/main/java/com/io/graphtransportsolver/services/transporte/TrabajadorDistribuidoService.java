@@ -0,0 +1,303 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.CarrilesCandidatos;
+import com.io.graphtransportsolver.models.transporte.costos.CompresorCostos;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Trabajador de la resolución distribuida: guarda un bloque de filas de la matriz de costos
+ * y lo valora con los potenciales que envía el coordinador.
+ *
+ * Solo se activa si se configura transporte.distribuido.puerto; cada conexión es una sesión
+ * con su propio bloque, por lo que un mismo trabajador puede atender varias resoluciones.
+ * El protocolo no se autentica: por defecto solo escucha en la interfaz local, y el tamaño de
+ * los bloques que acepta está acotado por transporte.distribuido.maximo-celdas.
+ */
+@Service
+@Slf4j
+public class TrabajadorDistribuidoService {
+
+    // Filas por tarea al valorar el bloque en el pool
+    private static final int FILAS_POR_TAREA = 64;
+
+    private final int puerto;
+    private final String direccion;
+    private final long maximoCeldas;
+    private final ForkJoinPool poolTransporte;
+
+    private ServerSocket servidor;
+    private ExecutorService sesiones;
+
+    public TrabajadorDistribuidoService(
+            @Value("${transporte.distribuido.puerto:0}") int puerto,
+            @Value("${transporte.distribuido.direccion:127.0.0.1}") String direccion,
+            @Value("${transporte.distribuido.maximo-celdas:100000000}") long maximoCeldas,
+            ForkJoinPool poolTransporte) {
+        this.puerto = puerto;
+        this.direccion = direccion;
+        this.maximoCeldas = maximoCeldas;
+        this.poolTransporte = poolTransporte;
+    }
+
+    /**
+     * Abre el puerto del trabajador si está configurado.
+     */
+    @PostConstruct
+    void iniciar() throws IOException {
+        if (puerto <= 0) {
+            return;
+        }
+        servidor = new ServerSocket(puerto, 0, InetAddress.getByName(direccion));
+        sesiones = Executors.newCachedThreadPool();
+        sesiones.execute(this::aceptar);
+        log.info("Trabajador de transporte distribuido escuchando en {}:{}", direccion, servidor.getLocalPort());
+    }
+
+    @PreDestroy
+    void detener() throws IOException {
+        if (servidor != null) {
+            servidor.close();
+            sesiones.shutdownNow();
+        }
+    }
+
+    private void aceptar() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket conexion = servidor.accept();
+                conexion.setTcpNoDelay(true);
+                sesiones.execute(() -> atender(conexion));
+            } catch (IOException e) {
+                if (!servidor.isClosed()) {
+                    log.warn("Error al aceptar una conexión del coordinador: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Atiende una sesión hasta recibir FIN o hasta que el coordinador cierre la conexión.
+     */
+    private void atender(Socket conexion) {
+        try (conexion;
+             DataInputStream entrada = new DataInputStream(new BufferedInputStream(conexion.getInputStream()));
+             DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(conexion.getOutputStream()))) {
+
+            Bloque bloque = null;
+            while (true) {
+                byte operacion = entrada.readByte();
+                if (operacion == ProtocoloDistribuido.FIN) {
+                    return;
+                }
+                try {
+                    if (operacion == ProtocoloDistribuido.CARGAR) {
+                        bloque = cargar(entrada);
+                        salida.writeByte(ProtocoloDistribuido.OK);
+                    } else if (bloque == null) {
+                        throw new IllegalStateException("La sesión no tiene un bloque cargado");
+                    } else if (operacion == ProtocoloDistribuido.CANDIDATOS) {
+                        candidatos(bloque, entrada.readInt(), salida);
+                    } else if (operacion == ProtocoloDistribuido.COSTOS) {
+                        costos(bloque, entrada, salida);
+                    } else if (operacion == ProtocoloDistribuido.VALORAR) {
+                        valorar(bloque, entrada, salida);
+                    } else {
+                        throw new IllegalStateException("Operación desconocida: " + operacion);
+                    }
+                } catch (IllegalArgumentException | IllegalStateException e) {
+                    salida.writeByte(ProtocoloDistribuido.ERROR);
+                    salida.writeUTF(e.getMessage());
+                }
+                salida.flush();
+            }
+        } catch (EOFException e) {
+            log.debug("El coordinador cerró la sesión");
+        } catch (IOException e) {
+            log.warn("Sesión con el coordinador interrumpida: {}", e.getMessage());
+        }
+    }
+
+    private Bloque cargar(DataInputStream entrada) throws IOException {
+        int filaInicio = entrada.readInt();
+        int filas = entrada.readInt();
+        int n = entrada.readInt();
+        if (filaInicio < 0 || filas < 1 || n < 1) {
+            throw new IllegalArgumentException("Bloque inválido: " + filas + " filas de " + n + " destinos");
+        }
+        if ((long) filas * n > maximoCeldas) {
+            throw new IllegalArgumentException("El bloque de " + filas + " filas de " + n
+                    + " destinos supera el máximo de " + maximoCeldas + " celdas");
+        }
+
+        double[][] costos = new double[filas][n];
+        for (double[] fila : costos) {
+            for (int j = 0; j < n; j++) {
+                fila[j] = entrada.readDouble();
+            }
+        }
+        Bloque bloque = new Bloque(filaInicio, CompresorCostos.comprimir(costos), new double[filas], new double[n]);
+        log.info("Bloque cargado: filas {} a {} de {} destinos ({} bytes)",
+                filaInicio, filaInicio + filas - 1, n, bloque.costos().estimarBytes());
+        return bloque;
+    }
+
+    private void candidatos(Bloque bloque, int k, DataOutputStream salida) throws IOException {
+        if (k < 1) {
+            throw new IllegalArgumentException("El número de carriles candidatos debe ser mayor a cero");
+        }
+        CarrilesCandidatos candidatos = CarrilesCandidatos.seleccionar(bloque.costos(), k, null);
+
+        int filas = bloque.costos().getNumOrigenes();
+        salida.writeByte(ProtocoloDistribuido.OK);
+        salida.writeInt((int) candidatos.getTotal());
+        for (int i = 0; i < filas; i++) {
+            for (int p = 0; p < candidatos.getCantidad(i); p++) {
+                salida.writeInt(bloque.filaInicio() + i);
+                salida.writeInt(candidatos.getColumna(i, p));
+                salida.writeDouble(candidatos.getCosto(i, p));
+            }
+        }
+    }
+
+    private void costos(Bloque bloque, DataInputStream entrada, DataOutputStream salida) throws IOException {
+        int cantidad = entrada.readInt();
+        double[] resultado = new double[cantidad];
+        for (int p = 0; p < cantidad; p++) {
+            int i = entrada.readInt() - bloque.filaInicio();
+            int j = entrada.readInt();
+            if (i < 0 || i >= bloque.costos().getNumOrigenes() || j < 0 || j >= bloque.costos().getNumDestinos()) {
+                throw new IllegalArgumentException("La celda pedida no pertenece al bloque");
+            }
+            resultado[p] = bloque.costos().costo(i, j);
+        }
+
+        salida.writeByte(ProtocoloDistribuido.OK);
+        for (double costo : resultado) {
+            salida.writeDouble(costo);
+        }
+    }
+
+    /**
+     * Actualiza los potenciales recibidos y devuelve, por fila, las violaciones más negativas.
+     * Las filas se valoran en paralelo en el pool de transporte.
+     */
+    private void valorar(Bloque bloque, DataInputStream entrada, DataOutputStream salida) throws IOException {
+        for (int cambios = entrada.readInt(); cambios > 0; cambios--) {
+            int i = entrada.readInt() - bloque.filaInicio();
+            double u = entrada.readDouble();
+            if (i < 0 || i >= bloque.u().length) {
+                throw new IllegalArgumentException("El potencial pedido no pertenece al bloque");
+            }
+            bloque.u()[i] = u;
+        }
+        for (int cambios = entrada.readInt(); cambios > 0; cambios--) {
+            int j = entrada.readInt();
+            double v = entrada.readDouble();
+            if (j < 0 || j >= bloque.v().length) {
+                throw new IllegalArgumentException("El potencial pedido no pertenece al bloque");
+            }
+            bloque.v()[j] = v;
+        }
+        int pedidasPorFila = entrada.readInt();
+        double tolerancia = entrada.readDouble();
+        if (pedidasPorFila < 1) {
+            throw new IllegalArgumentException("Cantidad de violaciones por fila inválida: " + pedidasPorFila);
+        }
+        // Una fila no puede tener más violaciones que destinos
+        int maxPorFila = Math.min(pedidasPorFila, bloque.v().length);
+
+        int filas = bloque.costos().getNumOrigenes();
+        List<ForkJoinTask<Violaciones>> tareas = new ArrayList<>();
+        for (int desde = 0; desde < filas; desde += FILAS_POR_TAREA) {
+            int inicio = desde;
+            int fin = Math.min(filas, desde + FILAS_POR_TAREA);
+            tareas.add(poolTransporte.submit(() -> valorarFilas(bloque, inicio, fin, maxPorFila, tolerancia)));
+        }
+
+        List<Violaciones> resultados = new ArrayList<>(tareas.size());
+        int total = 0;
+        for (ForkJoinTask<Violaciones> tarea : tareas) {
+            Violaciones violaciones = tarea.join();
+            resultados.add(violaciones);
+            total += violaciones.total;
+        }
+
+        salida.writeByte(ProtocoloDistribuido.OK);
+        salida.writeInt(total);
+        for (Violaciones violaciones : resultados) {
+            for (int p = 0; p < violaciones.total; p++) {
+                salida.writeInt(violaciones.filas[p]);
+                salida.writeInt(violaciones.columnas[p]);
+                salida.writeDouble(violaciones.costos[p]);
+            }
+        }
+    }
+
+    private Violaciones valorarFilas(Bloque bloque, int inicio, int fin, int maxPorFila, double tolerancia) {
+        FuenteCostos costos = bloque.costos();
+        double[] buffer = new double[costos.getNumDestinos()];
+        double[] peoresReducido = new double[maxPorFila];
+        int[] peoresColumna = new int[maxPorFila];
+
+        Violaciones violaciones = new Violaciones(maxPorFila * (fin - inicio));
+        for (int i = inicio; i < fin; i++) {
+            double[] fila = costos.obtenerFila(i, buffer);
+            int llenos = CarrilesCandidatos.violacionesFila(
+                    fila, bloque.u()[i], bloque.v(), tolerancia, peoresReducido, peoresColumna);
+            for (int p = 0; p < llenos; p++) {
+                violaciones.agregar(bloque.filaInicio() + i, peoresColumna[p], fila[peoresColumna[p]]);
+            }
+        }
+        return violaciones;
+    }
+
+    /**
+     * Filas de costos de una sesión y los últimos potenciales recibidos.
+     */
+    private record Bloque(int filaInicio, FuenteCostos costos, double[] u, double[] v) {
+    }
+
+    /**
+     * Carriles que violan la optimalidad en un rango de filas.
+     */
+    private static class Violaciones {
+        final int[] filas;
+        final int[] columnas;
+        final double[] costos;
+        int total;
+
+        Violaciones(int capacidad) {
+            filas = new int[capacidad];
+            columnas = new int[capacidad];
+            costos = new double[capacidad];
+        }
+
+        void agregar(int i, int j, double costo) {
+            filas[total] = i;
+            columnas[total] = j;
+            costos[total] = costo;
+            total++;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.models.transporte.RedTransbordo;
+import com.io.graphtransportsolver.models.transporte.SolucionRed;
+import com.io.graphtransportsolver.presentation.dto.ApiResponseDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.RedTransbordoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SolucionRedDTO;
+import com.io.graphtransportsolver.utils.Constants;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Punto de entrada de las redes con transbordo: convierte la red y delega su resolución
+ * en {@link TransbordoService}.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransbordoApiService {
+
+    private final TransbordoService transbordoService;
+
+    /**
+     * Resuelve una red con nodos de transbordo como flujo de costo mínimo sobre sus arcos.
+     *
+     * @param redDTO red con orígenes, transbordos, destinos y arcos
+     * @return ApiResponseDTO con el flujo de cada arco usado
+     */
+    public ApiResponseDTO<SolucionRedDTO> resolverTransbordo(RedTransbordoDTO redDTO) {
+        log.info("{} - Transbordo", Constants.Message.START_SERVICE);
+
+        return RespuestasApi.ejecutar("resolver la red con transbordo", () -> {
+            RedTransbordo red = transbordoService.convertir(redDTO);
+            SolucionRed solucion = transbordoService.resolver(red);
+
+            log.info("{}", Constants.Message.FINISH_SERVICE);
+            return transbordoService.convertirADTO(red, solucion);
+        });
+    }
+}
@@ -0,0 +1,175 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.FlujoCostoMinimo;
+import com.io.graphtransportsolver.models.transporte.RedTransbordo;
+import com.io.graphtransportsolver.models.transporte.SolucionRed;
+import com.io.graphtransportsolver.presentation.dto.transporte.ArcoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.FlujoArcoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.RedTransbordoDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SolucionRedDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Servicio que resuelve redes con nodos de transbordo como flujo de costo mínimo
+ * sobre el grafo real, sin expandirlas a una matriz de transporte (m+k)×(n+k).
+ * También valida la red recibida y convierte el flujo resultante a DTO.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransbordoService {
+
+    private final FlujoCostoMinimo flujoCostoMinimo;
+
+    /**
+     * Resuelve la red.
+     *
+     * @param red red con orígenes, transbordos, destinos y arcos
+     * @return flujo por arco y costo total
+     */
+    public SolucionRed resolver(RedTransbordo red) {
+        log.debug("Resolviendo red: {} nodos, {} arcos", red.getNumNodos(), red.getNumArcos());
+
+        SolucionRed solucion = flujoCostoMinimo.resolver(red);
+
+        log.info("Red resuelta: costo={}, caminos={}, demanda insatisfecha={}",
+                solucion.getCostoTotal(), solucion.getIteraciones(), solucion.getDemandaInsatisfecha());
+        if (solucion.getDemandaInsatisfecha() > 0.0) {
+            log.warn("No se pudo cubrir toda la demanda: faltan {} unidades", solucion.getDemandaInsatisfecha());
+        }
+        return solucion;
+    }
+
+    /**
+     * Válida y convierte una red con transbordo al modelo de dominio.
+     *
+     * @param dto red recibida
+     * @return red con los arcos en arreglos paralelos
+     */
+    public RedTransbordo convertir(RedTransbordoDTO dto) {
+        if (dto == null) {
+            throw new IllegalArgumentException("La red no puede ser nula");
+        }
+        if (dto.ofertas() == null || dto.ofertas().length == 0) {
+            throw new IllegalArgumentException("Las ofertas son obligatorias");
+        }
+        if (dto.demandas() == null || dto.demandas().length == 0) {
+            throw new IllegalArgumentException("Las demandas son obligatorias");
+        }
+        if (dto.arcos() == null || dto.arcos().isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un arco");
+        }
+
+        int m = dto.ofertas().length;
+        int n = dto.demandas().length;
+        int k = dto.transbordos() != null
+                ? dto.transbordos()
+                : dto.nombresTransbordos() != null ? dto.nombresTransbordos().length : 0;
+        if (k < 0) {
+            throw new IllegalArgumentException("El número de transbordos no puede ser negativo");
+        }
+        for (double oferta : dto.ofertas()) {
+            if (!(oferta >= 0.0) || Double.isInfinite(oferta)) {
+                throw new IllegalArgumentException("Las ofertas deben ser finitas y no negativas");
+            }
+        }
+        for (double demanda : dto.demandas()) {
+            if (!(demanda >= 0.0) || Double.isInfinite(demanda)) {
+                throw new IllegalArgumentException("Las demandas deben ser finitas y no negativas");
+            }
+        }
+
+        int nodos = m + k + n;
+        int numArcos = dto.arcos().size();
+        int[] desde = new int[numArcos];
+        int[] hasta = new int[numArcos];
+        double[] costos = new double[numArcos];
+        for (int a = 0; a < numArcos; a++) {
+            ArcoDTO arco = dto.arcos().get(a);
+            if (arco == null) {
+                throw new IllegalArgumentException("Los arcos no pueden ser nulos");
+            }
+            if (arco.desde() < 0 || arco.desde() >= nodos || arco.hasta() < 0 || arco.hasta() >= nodos) {
+                throw new IllegalArgumentException(String.format(
+                        "El arco %d une nodos fuera de rango (0 a %d)", a, nodos - 1));
+            }
+            if (arco.desde() == arco.hasta()) {
+                throw new IllegalArgumentException(String.format("El arco %d sale y llega al mismo nodo", a));
+            }
+            if (!Double.isFinite(arco.costo())) {
+                throw new IllegalArgumentException(String.format("El costo del arco %d debe ser finito", a));
+            }
+            desde[a] = arco.desde();
+            hasta[a] = arco.hasta();
+            costos[a] = arco.costo();
+        }
+
+        String[] nombres = null;
+        if (dto.nombresOrigenes() != null || dto.nombresTransbordos() != null || dto.nombresDestinos() != null) {
+            nombres = new String[nodos];
+            copiarNombres(dto.nombresOrigenes(), nombres, 0, m, "orígenes");
+            copiarNombres(dto.nombresTransbordos(), nombres, m, k, "transbordos");
+            copiarNombres(dto.nombresDestinos(), nombres, m + k, n, "destinos");
+        }
+
+        return RedTransbordo.builder()
+                .ofertas(Arrays.copyOf(dto.ofertas(), m))
+                .demandas(Arrays.copyOf(dto.demandas(), n))
+                .numTransbordos(k)
+                .arcoDesde(desde)
+                .arcoHasta(hasta)
+                .arcoCosto(costos)
+                .nombres(nombres)
+                .build();
+    }
+
+    private void copiarNombres(String[] origen, String[] destino, int desde, int cantidad, String tipo) {
+        if (origen == null) {
+            return;
+        }
+        if (origen.length != cantidad) {
+            throw new IllegalArgumentException(String.format("Debe haber %d nombres de %s o ninguno", cantidad, tipo));
+        }
+        System.arraycopy(origen, 0, destino, desde, cantidad);
+    }
+
+    /**
+     * Convierte el flujo de la red a DTO (solo los arcos con flujo).
+     *
+     * @param red      red resuelta
+     * @param solucion flujo de cada arco
+     * @return DTO con los arcos usados
+     */
+    public SolucionRedDTO convertirADTO(RedTransbordo red, SolucionRed solucion) {
+        String[] nombres = red.getNombres();
+        List<FlujoArcoDTO> flujos = new ArrayList<>();
+        for (int a = 0; a < red.getNumArcos(); a++) {
+            double cantidad = solucion.getFlujos()[a];
+            if (cantidad <= 0.0) continue;
+            int desde = red.getArcoDesde()[a];
+            int hasta = red.getArcoHasta()[a];
+            flujos.add(new FlujoArcoDTO(
+                    desde,
+                    hasta,
+                    nombres != null ? nombres[desde] : null,
+                    nombres != null ? nombres[hasta] : null,
+                    cantidad,
+                    red.getArcoCosto()[a]
+            ));
+        }
+
+        return new SolucionRedDTO(
+                solucion.getCostoTotal(),
+                flujos,
+                solucion.getDemandaInsatisfecha(),
+                solucion.getOfertaSobrante(),
+                solucion.getIteraciones()
+        );
+    }
+}
@@ -0,0 +1,133 @@
+package com.io.graphtransportsolver.utils;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caché en memoria acotada por cantidad de entradas y por memoria estimada. Cada entrada
+ * pesa los bytes que se indiquen al guardarla; al superar cualquiera de los límites se
+ * descartan las usadas hace más tiempo (LRU).
+ *
+ * Es segura entre hilos y lleva contadores de aciertos, fallos y descartes.
+ *
+ * @param <V> tipo de los valores guardados; se comparten entre quienes los consultan,
+ *            así que no deben modificarse
+ */
+@Slf4j
+public class CacheLRUPonderada<V> {
+
+    private final String nombre;
+    private final long memoriaMaxima;
+    private final int maximoEntradas;
+
+    // Orden de acceso: la primera es la menos usada recientemente
+    private final LinkedHashMap<String, Entrada<V>> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoriaOcupada = 0L;
+
+    private long aciertos = 0L;
+    private long fallos = 0L;
+    private long descartes = 0L;
+    private long rechazos = 0L;
+
+    /**
+     * @param nombre         nombre de la caché para el registro
+     * @param memoriaMaxima  bytes estimados máximos (0 deshabilita la caché)
+     * @param maximoEntradas cantidad máxima de entradas
+     */
+    public CacheLRUPonderada(String nombre, long memoriaMaxima, int maximoEntradas) {
+        this.nombre = nombre;
+        this.memoriaMaxima = memoriaMaxima;
+        this.maximoEntradas = maximoEntradas;
+    }
+
+    /**
+     * Busca un valor y lo marca como usado recientemente.
+     *
+     * @param clave clave del valor
+     * @return el valor, o null si no está
+     */
+    public synchronized V obtener(String clave) {
+        Entrada<V> entrada = entradas.get(clave);
+        if (entrada == null) {
+            fallos++;
+            return null;
+        }
+        aciertos++;
+        return entrada.valor();
+    }
+
+    /**
+     * Guarda un valor y descarta los menos usados si hace falta. Un valor más pesado que
+     * toda la caché no se guarda.
+     *
+     * @param clave clave del valor
+     * @param valor valor a guardar
+     * @param bytes memoria estimada del valor
+     */
+    public synchronized void guardar(String clave, V valor, long bytes) {
+        if (bytes > memoriaMaxima || maximoEntradas <= 0) {
+            rechazos++;
+            return;
+        }
+
+        Entrada<V> anterior = entradas.put(clave, new Entrada<>(valor, bytes));
+        if (anterior != null) {
+            memoriaOcupada -= anterior.bytes();
+        }
+        memoriaOcupada += bytes;
+
+        Iterator<Map.Entry<String, Entrada<V>>> menosUsadas = entradas.entrySet().iterator();
+        while ((memoriaOcupada > memoriaMaxima || entradas.size() > maximoEntradas) && menosUsadas.hasNext()) {
+            Map.Entry<String, Entrada<V>> entrada = menosUsadas.next();
+            if (entrada.getKey().equals(clave)) {
+                continue;
+            }
+            memoriaOcupada -= entrada.getValue().bytes();
+            menosUsadas.remove();
+            descartes++;
+        }
+        log.debug("Caché {}: {} entradas, {} bytes", nombre, entradas.size(), memoriaOcupada);
+    }
+
+    /**
+     * @return contadores y ocupación actuales
+     */
+    public synchronized Estadisticas estadisticas() {
+        return new Estadisticas(aciertos, fallos, descartes, rechazos, entradas.size(), memoriaOcupada, memoriaMaxima);
+    }
+
+    private record Entrada<V>(V valor, long bytes) {
+    }
+
+    /**
+     * Estado de la caché.
+     *
+     * @param aciertos       consultas que encontraron el valor
+     * @param fallos         consultas que no lo encontraron
+     * @param descartes      entradas descartadas por falta de espacio
+     * @param rechazos       valores no guardados por exceder la caché
+     * @param entradas       entradas guardadas
+     * @param bytes          memoria estimada ocupada
+     * @param bytesMaximos   memoria estimada máxima
+     */
+    public record Estadisticas(
+            long aciertos,
+            long fallos,
+            long descartes,
+            long rechazos,
+            int entradas,
+            long bytes,
+            long bytesMaximos) {
+
+        /**
+         * @return aciertos sobre consultas (0 si no hubo consultas)
+         */
+        public double tasaAciertos() {
+            long consultas = aciertos + fallos;
+            return consultas == 0 ? 0.0 : (double) aciertos / consultas;
+        }
+    }
+}
@@ -25,6 +25,8 @@ public final class Constants {
         public static final String SUCCESS_OPERATION= "OPERACION EXITOSA";
         public static final String ERROR_OPERATION = "ERROR EN LA OPERACION";
         public static final String BAD_OPERATION = "OPERACION INVALIDA";
+        public static final String NOT_FOUND_OPERATION = "RECURSO NO ENCONTRADO";
+        public static final String UNAVAILABLE_OPERATION = "SERVICIO NO DISPONIBLE, INTENTE DE NUEVO";
 
         public static final String JSON_ERROR = "ERROR EN LA CONVERSION A JSON";
 
@@ -54,6 +56,9 @@ public final class Constants {
     public static class Grafico {
         public static final String GRAFICO_SERVICE_PATH = "/grafico";
         public static final String GRAFICO_SERVICE_PATH_RESOLVE = "/resolver";
+        public static final String GRAFICO_SERVICE_PATH_CACHE = "/cache";
+        public static final String GRAFICO_SERVICE_PATH_SOLUTIONS = "/soluciones";
+        public static final String GRAFICO_SERVICE_PATH_SOLUTION = "/soluciones/{id}";
 
         private Grafico(){}
     }
@@ -65,6 +70,21 @@ public final class Constants {
         public static final String TRANSPORTE_SERVICE_PATH = "/transporte";
         public static final String TRANSPORTE_SERVICE_PATH_RESOLVE = "/resolver";
         public static final String TRANSPORTE_SERVICE_PATH_COMPARE = "/comparar";
+        public static final String TRANSPORTE_SERVICE_PATH_QUOTE = "/cotizar";
+        public static final String TRANSPORTE_SERVICE_PATH_VERIFY = "/verificar";
+        public static final String TRANSPORTE_SERVICE_PATH_TRANSSHIPMENT = "/transbordo";
+        public static final String TRANSPORTE_SERVICE_PATH_MULTICOMMODITY = "/multiproducto";
+        public static final String TRANSPORTE_SERVICE_PATH_SCENARIOS = "/escenarios";
+        public static final String TRANSPORTE_SERVICE_PATH_PROBLEMS = "/problemas";
+        public static final String TRANSPORTE_SERVICE_PATH_PROBLEM = "/problemas/{id}";
+        public static final String TRANSPORTE_SERVICE_PATH_PROBLEM_EVENTS = "/problemas/{id}/eventos";
+        public static final String TRANSPORTE_SERVICE_PATH_PROBLEM_UPDATES = "/problemas/{id}/actualizaciones";
+        public static final String TRANSPORTE_SERVICE_PATH_NETWORKS = "/redes";
+        public static final String TRANSPORTE_SERVICE_PATH_NETWORK = "/redes/{id}";
+        public static final String TRANSPORTE_SERVICE_PATH_CACHE = "/cache";
+        public static final String TRANSPORTE_SERVICE_PATH_HISTORY = "/historial";
+        public static final String TRANSPORTE_SERVICE_PATH_SOLUTIONS = "/soluciones";
+        public static final String TRANSPORTE_SERVICE_PATH_SOLUTION = "/soluciones/{id}";
 
         private Transporte(){}
     }
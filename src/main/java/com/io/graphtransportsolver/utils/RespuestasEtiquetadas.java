@@ -0,0 +1,149 @@
+package com.io.graphtransportsolver.utils;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+
+/**
+ * Respuestas de resolución ya serializadas, identificadas por una etiqueta fuerte (ETag): el
+ * SHA-256 de los bytes del cuerpo. Dos respuestas comparten etiqueta solo si son idénticas byte a
+ * byte, aunque la resolución dependa del historial, del arranque o de la versión del servidor.
+ *
+ * Además se recuerda qué etiqueta se envió para cada solicitud, identificada por el SHA-256 de su
+ * JSON tal como lo reescribe el servidor (sin depender del orden de los campos ni de los espacios
+ * que envió el cliente), para contestar la misma solicitud repetida sin resolverla. Las respuestas
+ * guardadas se sirven tal cual, sin volver a serializarlas.
+ *
+ * @param <S> tipo de la solicitud
+ */
+public class RespuestasEtiquetadas<S> {
+
+    // Memoria estimada de una entrada del índice de solicitudes: dos hashes hexadecimales
+    private static final long BYTES_INDICE = 256;
+
+    private final String rutaSoluciones;
+    private final JsonMapper jsonMapper;
+    private final CacheLRUPonderada<byte[]> respuestas;
+    private final CacheLRUPonderada<String> etiquetasPorSolicitud;
+    private final CacheControl cacheControl;
+
+    /**
+     * @param rutaSoluciones ruta de la consulta por etiqueta, terminada en "/"
+     * @param jsonMapper     serializador de la API
+     * @param respuestas     caché de las respuestas serializadas, por etiqueta
+     * @param maxAgeS        segundos que un cliente puede reutilizar la respuesta sin revalidarla
+     */
+    public RespuestasEtiquetadas(
+            String rutaSoluciones,
+            JsonMapper jsonMapper,
+            CacheLRUPonderada<byte[]> respuestas,
+            long maxAgeS) {
+        this.rutaSoluciones = rutaSoluciones;
+        this.jsonMapper = jsonMapper;
+        this.respuestas = respuestas;
+        // El índice usa una fracción de la memoria de las respuestas: sus entradas son mucho más livianas
+        CacheLRUPonderada.Estadisticas limites = respuestas.estadisticas();
+        this.etiquetasPorSolicitud = new CacheLRUPonderada<>(
+                "etiquetas por solicitud", limites.bytesMaximos() > 0 ? limites.bytesMaximos() / 16 : 0, Integer.MAX_VALUE);
+        this.cacheControl = maxAgeS > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(maxAgeS)).cachePublic()
+                : CacheControl.noCache().cachePublic();
+    }
+
+    /**
+     * Calcula la huella de una solicitud sin copiar su JSON en memoria.
+     *
+     * @param solicitud solicitud recibida
+     * @return huella en hexadecimal
+     */
+    public String huella(S solicitud) {
+        MessageDigest digest = nuevoDigest();
+        try (DigestOutputStream salida = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            jsonMapper.writeValue(salida, solicitud);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo calcular la huella de la solicitud", e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Busca la respuesta ya enviada a una solicitud.
+     *
+     * @param huella huella de la solicitud
+     * @return respuesta guardada, o null si no se resolvió o ya se descartó
+     */
+    public Guardada buscar(String huella) {
+        String etiqueta = etiquetasPorSolicitud.obtener(huella);
+        if (etiqueta == null) {
+            return null;
+        }
+        byte[] cuerpo = respuestas.obtener(etiqueta);
+        return cuerpo != null ? new Guardada(etiqueta, cuerpo) : null;
+    }
+
+    /**
+     * @param etiqueta etiqueta de la respuesta
+     * @return respuesta serializada, o null si no está guardada
+     */
+    public byte[] obtener(String etiqueta) {
+        return respuestas.obtener(etiqueta);
+    }
+
+    /**
+     * Serializa una respuesta exitosa una sola vez, la etiqueta con el hash de sus bytes y la
+     * guarda junto con la solicitud que la produjo.
+     *
+     * @param huella    huella de la solicitud
+     * @param respuesta respuesta a serializar
+     * @return respuesta serializada y su etiqueta
+     */
+    public Guardada guardar(String huella, Object respuesta) {
+        byte[] cuerpo = jsonMapper.writeValueAsBytes(respuesta);
+        String etiqueta = HexFormat.of().formatHex(nuevoDigest().digest(cuerpo));
+        respuestas.guardar(etiqueta, cuerpo, cuerpo.length);
+        etiquetasPorSolicitud.guardar(huella, etiqueta, BYTES_INDICE);
+        return new Guardada(etiqueta, cuerpo);
+    }
+
+    /**
+     * Respuesta 200 con el cuerpo ya serializado, la etiqueta y la ruta para consultarla por GET.
+     *
+     * @param guardada respuesta serializada y su etiqueta
+     * @return ResponseEntity lista para enviar
+     */
+    public ResponseEntity<byte[]> responder(Guardada guardada) {
+        return ResponseEntity.ok()
+                .eTag(guardada.etiqueta())
+                .cacheControl(cacheControl)
+                .header(HttpHeaders.CONTENT_LOCATION, rutaSoluciones + guardada.etiqueta())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(guardada.cuerpo());
+    }
+
+    private static MessageDigest nuevoDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no está disponible", e);
+        }
+    }
+
+    /**
+     * Respuesta serializada.
+     *
+     * @param etiqueta SHA-256 del cuerpo en hexadecimal (sin comillas)
+     * @param cuerpo   JSON de la respuesta
+     */
+    public record Guardada(String etiqueta, byte[] cuerpo) {
+    }
+}
@@ -13,12 +13,50 @@ const TransporteApiService = (() => {
     const SERVICE_PATH = '/transporte';
     const BASE_URL = `${CONTEXT_PATH}${API_BASE}${API_VERSION}${SERVICE_PATH}`;
 
+    // Petición de resolución en curso; al abortarla el servidor cancela la resolución
+    let controladorActual = null;
+
+    /**
+     * Aborta la petición anterior (si sigue en curso) y crea un controlador para la nueva
+     * @returns {AbortSignal} - Señal para asociar a fetch
+     */
+    const nuevaSenal = () => {
+        cancelarPeticion();
+        controladorActual = new AbortController();
+        return controladorActual.signal;
+    };
+
+    /**
+     * Cancela la petición de resolución en curso, si la hay
+     * @returns {boolean} - true si había una petición que cancelar
+     */
+    const cancelarPeticion = () => {
+        if (!controladorActual) {
+            return false;
+        }
+        console.log('🛑 Cancelando petición en curso');
+        controladorActual.abort();
+        controladorActual = null;
+        return true;
+    };
+
+    /**
+     * Libera el controlador si sigue siendo el de la petición que terminó
+     * @param {AbortSignal} signal - Señal de la petición terminada
+     */
+    const finalizarPeticion = (signal) => {
+        if (controladorActual && controladorActual.signal === signal) {
+            controladorActual = null;
+        }
+    };
+
     /**
      * Resuelve un problema de transporte con el método especificado
      * @param {Object} problemaData - Datos del problema
      * @returns {Promise<Object>} - ApiResponseDTO con la solución
      */
     const resolverProblema = async (problemaData) => {
+        const signal = nuevaSenal();
         try {
             console.log('🚀 Enviando petición a:', `${BASE_URL}/resolver`);
             console.log('📦 Datos del problema:', JSON.stringify(problemaData, null, 2));
@@ -29,7 +67,8 @@ const TransporteApiService = (() => {
                     'Content-Type': 'application/json',
                     'Accept': 'application/json'
                 },
-                body: JSON.stringify(problemaData)
+                body: JSON.stringify(problemaData),
+                signal
             });
 
             console.log('📡 Status HTTP:', response.status, response.statusText);
@@ -66,6 +105,11 @@ const TransporteApiService = (() => {
             return apiResponse;
 
         } catch (error) {
+            // Petición abortada: se relanza tal cual para que el llamador la ignore
+            if (error.name === 'AbortError') {
+                throw error;
+            }
+
             console.error('❌ Error en la petición:', error);
 
             // Relanzar error con mensaje más descriptivo
@@ -74,6 +118,8 @@ const TransporteApiService = (() => {
             }
 
             throw error;
+        } finally {
+            finalizarPeticion(signal);
         }
     };
 
@@ -83,6 +129,7 @@ const TransporteApiService = (() => {
      * @returns {Promise<Object>} - ApiResponseDTO con la comparación
      */
     const compararMetodos = async (problemaData) => {
+        const signal = nuevaSenal();
         try {
             console.log('🚀 Enviando petición de comparación a:', `${BASE_URL}/comparar`);
             console.log('📦 Datos del problema:', JSON.stringify(problemaData, null, 2));
@@ -93,7 +140,8 @@ const TransporteApiService = (() => {
                     'Content-Type': 'application/json',
                     'Accept': 'application/json'
                 },
-                body: JSON.stringify(problemaData)
+                body: JSON.stringify(problemaData),
+                signal
             });
 
             console.log('📡 Status HTTP:', response.status, response.statusText);
@@ -125,6 +173,10 @@ const TransporteApiService = (() => {
             return apiResponse;
 
         } catch (error) {
+            if (error.name === 'AbortError') {
+                throw error;
+            }
+
             console.error('❌ Error en la petición de comparación:', error);
 
             if (error.message.includes('Failed to fetch')) {
@@ -132,13 +184,16 @@ const TransporteApiService = (() => {
             }
 
             throw error;
+        } finally {
+            finalizarPeticion(signal);
         }
     };
 
     // API Pública
     return {
         resolverProblema,
-        compararMetodos
+        compararMetodos,
+        cancelarPeticion
     };
 })();
 
@@ -48,6 +48,13 @@ const TransporteMainApp = (() => {
                 resolverProblema();
             }
         });
+
+        // Editar el problema invalida la resolución en curso: se aborta y el servidor la cancela
+        document.addEventListener('input', (e) => {
+            if (e.target.type === 'number' && TransporteApiService.cancelarPeticion()) {
+                showLoading(false);
+            }
+        });
     };
 
     /**
@@ -109,6 +116,12 @@ const TransporteMainApp = (() => {
             console.log('╚═══════════════════════════════════════╝');
 
         } catch (error) {
+            // Reemplazada por otra petición o cancelada al editar el problema
+            if (error.name === 'AbortError') {
+                console.log('🛑 Resolución cancelada');
+                return;
+            }
+
             showLoading(false);
             console.error('╔═══════════════════════════════════════╗');
             console.error('❌ ERROR EN RESOLUCIÓN');
@@ -198,6 +211,11 @@ const TransporteMainApp = (() => {
             console.log('╚═══════════════════════════════════════╝');
 
         } catch (error) {
+            if (error.name === 'AbortError') {
+                console.log('🛑 Comparación cancelada');
+                return;
+            }
+
             showLoading(false);
             console.error('╔═══════════════════════════════════════╗');
             console.error('❌ ERROR EN COMPARACIÓN');
@@ -0,0 +1,171 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.AnalisisSensibilidad;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AnalizadorSensibilidadTest {
+
+    private static final double PASO = 1e-3;
+
+    private final OptimizadorModi optimizador = new OptimizadorModi();
+    private final AnalizadorSensibilidad analizador = new AnalizadorSensibilidad();
+
+    @Test
+    void dentroDelRangoElPlanSigueSiendoOptimo() {
+        for (int semilla = 0; semilla < 60; semilla++) {
+            Random random = new Random(semilla);
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(semilla, 2 + random.nextInt(5), 2 + random.nextInt(5), true);
+            SolucionTransporte solucion = resolver(problema);
+            AnalisisSensibilidad analisis = analizador.analizar(problema, solucion);
+
+            int m = problema.getOfertas().length;
+            int n = problema.getDemandas().length;
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    double costo = problema.getCosto(i, j);
+                    double minimo = analisis.getCostoMinimo()[i][j];
+                    double maximo = analisis.getCostoMaximo()[i][j];
+                    assertTrue(minimo <= costo + 1e-9 && costo - 1e-9 <= maximo);
+
+                    // En los extremos del rango el plan empata con el óptimo recalculado
+                    for (double extremo : new double[]{minimo, maximo}) {
+                        double nuevo = Double.isFinite(extremo) ? extremo : costo + Math.copySign(100, extremo);
+                        double[][] costos = conCosto(problema, i, j, nuevo);
+                        double optimo = ProblemasPrueba.costoOptimo(costos, problema.getOfertas(), problema.getDemandas(), null);
+                        assertEquals(optimo, costoDelPlan(costos, solucion.getAsignaciones()), 1e-6,
+                                "semilla " + semilla + ", celda (" + i + ", " + j + ")");
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void fueraDelRangoLaBaseDejaDeSerOptima() {
+        int verificados = 0;
+        for (int semilla = 0; semilla < 60; semilla++) {
+            Random random = new Random(semilla);
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(semilla, 2 + random.nextInt(8), 2 + random.nextInt(8), true);
+            SolucionTransporte solucion = resolver(problema);
+            AnalisisSensibilidad analisis = analizador.analizar(problema, solucion);
+            int[] basicas = solucion.getCeldasBasicas();
+
+            for (int i = 0; i < problema.getOfertas().length; i++) {
+                for (int j = 0; j < problema.getDemandas().length; j++) {
+                    double minimo = analisis.getCostoMinimo()[i][j];
+                    double maximo = analisis.getCostoMaximo()[i][j];
+                    if (Double.isFinite(minimo)) {
+                        assertTrue(menorCostoReducido(conCosto(problema, i, j, minimo - PASO), basicas) < -1e-6);
+                        verificados++;
+                    }
+                    if (Double.isFinite(maximo)) {
+                        assertTrue(menorCostoReducido(conCosto(problema, i, j, maximo + PASO), basicas) < -1e-6);
+                        verificados++;
+                    }
+                }
+            }
+        }
+        assertTrue(verificados > 1_000);
+    }
+
+    @Test
+    void losPreciosSombraAcotanElCostoDeUnaUnidadMas() {
+        for (int semilla = 0; semilla < 60; semilla++) {
+            Random random = new Random(semilla);
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(semilla, 2 + random.nextInt(5), 2 + random.nextInt(5), true);
+            SolucionTransporte solucion = resolver(problema);
+            AnalisisSensibilidad analisis = analizador.analizar(problema, solucion);
+            double optimo = solucion.getCostoTotal();
+
+            int i = random.nextInt(problema.getOfertas().length);
+            int j = random.nextInt(problema.getDemandas().length);
+            double[] ofertas = problema.getOfertas().clone();
+            double[] demandas = problema.getDemandas().clone();
+            ofertas[i]++;
+            demandas[j]++;
+            double optimoNuevo = ProblemasPrueba.costoOptimo(problema.getCostos(), ofertas, demandas, null);
+
+            // Los potenciales siguen siendo duales factibles, así que acotan el nuevo óptimo por abajo
+            double precio = analisis.getPreciosSombraOfertas()[i] + analisis.getPreciosSombraDemandas()[j];
+            assertTrue(optimoNuevo >= optimo + precio - 1e-6, "semilla " + semilla);
+            for (int k = 0; k < ofertas.length; k++) {
+                for (int l = 0; l < demandas.length; l++) {
+                    assertEquals(problema.getCosto(k, l) - analisis.getPreciosSombraOfertas()[k]
+                            - analisis.getPreciosSombraDemandas()[l], analisis.getCostosReducidos()[k][l], 1e-6);
+                }
+            }
+        }
+    }
+
+    private SolucionTransporte resolver(ProblemaTransporte problema) {
+        return optimizador.optimizar(problema, new VogelStrategy().encontrarSolucionInicial(problema));
+    }
+
+    private static double[][] conCosto(ProblemaTransporte problema, int i, int j, double costo) {
+        double[][] costos = new double[problema.getOfertas().length][];
+        for (int k = 0; k < costos.length; k++) {
+            costos[k] = problema.getCostos()[k].clone();
+        }
+        costos[i][j] = costo;
+        return costos;
+    }
+
+    private static double costoDelPlan(double[][] costos, double[][] plan) {
+        double total = 0;
+        for (int i = 0; i < plan.length; i++) {
+            for (int j = 0; j < plan[i].length; j++) {
+                total += plan[i][j] * costos[i][j];
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Menor costo reducido con los potenciales de la base, calculados recorriendo el árbol de
+     * celdas básicas desde u_0 = 0.
+     */
+    private static double menorCostoReducido(double[][] costos, int[] basicas) {
+        int m = costos.length;
+        int n = costos[0].length;
+        double[] potencial = new double[m + n];
+        boolean[] visitado = new boolean[m + n];
+        ArrayDeque<Integer> pendientes = new ArrayDeque<>();
+        visitado[0] = true;
+        pendientes.add(0);
+        while (!pendientes.isEmpty()) {
+            int nodo = pendientes.poll();
+            for (int celda : basicas) {
+                int i = celda / n;
+                int j = celda % n;
+                if (nodo == i && !visitado[m + j]) {
+                    potencial[m + j] = costos[i][j] - potencial[i];
+                    visitado[m + j] = true;
+                    pendientes.add(m + j);
+                } else if (nodo == m + j && !visitado[i]) {
+                    potencial[i] = costos[i][j] - potencial[m + j];
+                    visitado[i] = true;
+                    pendientes.add(i);
+                }
+            }
+        }
+        for (boolean alcanzado : visitado) {
+            assertTrue(alcanzado, "La base no es un árbol generador");
+        }
+
+        double menor = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                menor = Math.min(menor, costos[i][j] - potencial[i] - potencial[m + j]);
+            }
+        }
+        return menor;
+    }
+}
@@ -0,0 +1,167 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.RedTransbordo;
+import com.io.graphtransportsolver.models.transporte.SolucionRed;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FlujoCostoMinimoTest {
+
+    private final FlujoCostoMinimo flujo = new FlujoCostoMinimo();
+
+    /**
+     * Sin capacidades en los arcos, el óptimo de la red es el del problema de transporte con el
+     * costo del camino más corto entre cada origen y cada destino (Floyd-Warshall).
+     */
+    @Test
+    void coincideConElTransporteSobreCaminosMasCortos() {
+        for (int semilla = 0; semilla < 150; semilla++) {
+            Random random = new Random(semilla);
+            int m = 1 + random.nextInt(6);
+            int n = 1 + random.nextInt(6);
+            int k = random.nextInt(5);
+            double[] ofertas = new double[m];
+            double[] demandas = new double[n];
+            for (int i = 0; i < m; i++) {
+                ofertas[i] = 1 + random.nextInt(20);
+            }
+            for (int j = 0; j < n; j++) {
+                demandas[j] = 1 + random.nextInt(20);
+            }
+            double diferencia = Arrays.stream(ofertas).sum() - Arrays.stream(demandas).sum();
+            if (diferencia > 0) {
+                demandas[n - 1] += diferencia;
+            } else {
+                ofertas[m - 1] -= diferencia;
+            }
+            RedTransbordo red = redAleatoria(random, ofertas, demandas, k);
+
+            SolucionRed solucion = flujo.resolver(red);
+
+            verificarConservacion(red, solucion);
+            assertEquals(0.0, solucion.getDemandaInsatisfecha(), 1e-9);
+            assertEquals(costoDeReferencia(red), solucion.getCostoTotal(), 1e-6, "semilla " + semilla);
+        }
+    }
+
+    @Test
+    void informaLaDemandaSinCaminoComoInsatisfecha() {
+        // Orígenes 0 y 1, transbordo 2, destinos 3 y 4; el destino 4 no tiene arcos de entrada
+        RedTransbordo red = RedTransbordo.builder()
+                .ofertas(new double[]{10, 5})
+                .demandas(new double[]{8, 6})
+                .numTransbordos(1)
+                .arcoDesde(new int[]{0, 1, 2, 0})
+                .arcoHasta(new int[]{2, 2, 3, 3})
+                .arcoCosto(new double[]{1, 1, 2, 9})
+                .build();
+
+        SolucionRed solucion = flujo.resolver(red);
+
+        assertEquals(6.0, solucion.getDemandaInsatisfecha(), 1e-9);
+        assertEquals(7.0, solucion.getOfertaSobrante(), 1e-9);
+        assertEquals(8 * 3.0, solucion.getCostoTotal(), 1e-9);
+    }
+
+    /**
+     * Arcos de origen a transbordo o destino y de transbordo a transbordo o destino; cada par
+     * origen-destino tiene además un arco directo caro para que toda la demanda sea alcanzable.
+     */
+    private static RedTransbordo redAleatoria(Random random, double[] ofertas, double[] demandas, int k) {
+        int m = ofertas.length;
+        int n = demandas.length;
+        int nodos = m + k + n;
+        List<int[]> arcos = new ArrayList<>();
+        List<Double> costos = new ArrayList<>();
+        boolean[][] existe = new boolean[nodos][nodos];
+        for (int desde = 0; desde < m + k; desde++) {
+            for (int hasta = m; hasta < nodos; hasta++) {
+                if (desde != hasta && random.nextInt(3) > 0) {
+                    arcos.add(new int[]{desde, hasta});
+                    costos.add(1.0 + random.nextInt(40));
+                    existe[desde][hasta] = true;
+                }
+            }
+        }
+        for (int i = 0; i < m; i++) {
+            for (int j = m + k; j < nodos; j++) {
+                if (!existe[i][j]) {
+                    arcos.add(new int[]{i, j});
+                    costos.add(500.0);
+                }
+            }
+        }
+        return RedTransbordo.builder()
+                .ofertas(ofertas)
+                .demandas(demandas)
+                .numTransbordos(k)
+                .arcoDesde(arcos.stream().mapToInt(arco -> arco[0]).toArray())
+                .arcoHasta(arcos.stream().mapToInt(arco -> arco[1]).toArray())
+                .arcoCosto(costos.stream().mapToDouble(Double::doubleValue).toArray())
+                .build();
+    }
+
+    private static double costoDeReferencia(RedTransbordo red) {
+        int m = red.getNumOrigenes();
+        int n = red.getNumDestinos();
+        int nodos = red.getNumNodos();
+        double[][] distancia = new double[nodos][nodos];
+        for (double[] fila : distancia) {
+            Arrays.fill(fila, Double.POSITIVE_INFINITY);
+        }
+        for (int v = 0; v < nodos; v++) {
+            distancia[v][v] = 0;
+        }
+        for (int a = 0; a < red.getNumArcos(); a++) {
+            int desde = red.getArcoDesde()[a];
+            int hasta = red.getArcoHasta()[a];
+            distancia[desde][hasta] = Math.min(distancia[desde][hasta], red.getArcoCosto()[a]);
+        }
+        for (int intermedio = 0; intermedio < nodos; intermedio++) {
+            for (int desde = 0; desde < nodos; desde++) {
+                for (int hasta = 0; hasta < nodos; hasta++) {
+                    distancia[desde][hasta] = Math.min(distancia[desde][hasta],
+                            distancia[desde][intermedio] + distancia[intermedio][hasta]);
+                }
+            }
+        }
+
+        double[][] costos = new double[m][n];
+        int primerDestino = nodos - n;
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                costos[i][j] = distancia[i][primerDestino + j];
+            }
+        }
+        return ProblemasPrueba.costoOptimo(costos, red.getOfertas(), red.getDemandas(), null);
+    }
+
+    private static void verificarConservacion(RedTransbordo red, SolucionRed solucion) {
+        int m = red.getNumOrigenes();
+        int nodos = red.getNumNodos();
+        double[] saldo = new double[nodos];
+        for (int a = 0; a < red.getNumArcos(); a++) {
+            double cantidad = solucion.getFlujos()[a];
+            assertEquals(Math.max(cantidad, 0.0), cantidad, 1e-9, "Flujo negativo en el arco " + a);
+            saldo[red.getArcoDesde()[a]] -= cantidad;
+            saldo[red.getArcoHasta()[a]] += cantidad;
+        }
+        for (int v = 0; v < nodos; v++) {
+            double esperado;
+            if (v < m) {
+                esperado = -red.getOfertas()[v];
+            } else if (v < nodos - red.getNumDestinos()) {
+                esperado = 0.0;
+            } else {
+                esperado = red.getDemandas()[v - (nodos - red.getNumDestinos())];
+            }
+            assertEquals(esperado, saldo[v], 1e-6, "Balance del nodo " + v);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.HuellaProblema;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+class HuellaCanonicaTest {
+
+    @Test
+    void unProblemaReordenadoTieneLaMismaClaveYElMismoOrdenCanonico() {
+        Random random = new Random(3);
+        for (int semilla = 0; semilla < 100; semilla++) {
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(semilla, 1 + random.nextInt(9), 1 + random.nextInt(9), false);
+            int[] filas = permutacion(random, problema.getOfertas().length);
+            int[] columnas = permutacion(random, problema.getDemandas().length);
+            ProblemaTransporte reordenado = reordenar(problema, filas, columnas);
+
+            HuellaProblema original = HuellaCanonica.calcular(problema, true, "modi");
+            HuellaProblema permutada = HuellaCanonica.calcular(reordenado, true, "modi");
+
+            assertEquals(original.getClave(), permutada.getClave(), "semilla " + semilla);
+            // Ambos órdenes canónicos llevan al mismo problema
+            assertEquals(canonico(problema, original), canonico(reordenado, permutada), "semilla " + semilla);
+        }
+    }
+
+    @Test
+    void distingueProblemasDistintosYOpcionesDistintas() {
+        ProblemaTransporte problema = ProblemasPrueba.aleatorio(7, 4, 5, true);
+        String clave = HuellaCanonica.calcular(problema, true, "modi").getClave();
+
+        ProblemaTransporte otroCosto = reordenar(problema, new int[]{0, 1, 2, 3}, new int[]{0, 1, 2, 3, 4});
+        otroCosto.getCostos()[2][3] += 1;
+        ProblemaTransporte otraOferta = reordenar(problema, new int[]{0, 1, 2, 3}, new int[]{0, 1, 2, 3, 4});
+        otraOferta.getOfertas()[1] += 1;
+
+        assertNotEquals(clave, HuellaCanonica.calcular(otroCosto, true, "modi").getClave());
+        assertNotEquals(clave, HuellaCanonica.calcular(otraOferta, true, "modi").getClave());
+        assertNotEquals(clave, HuellaCanonica.calcular(problema, true, "ninguna").getClave());
+    }
+
+    @Test
+    void sinPermutarConservaElOrdenRecibido() {
+        ProblemaTransporte problema = ProblemasPrueba.aleatorio(8, 4, 5, true);
+        ProblemaTransporte reordenado = reordenar(problema, new int[]{3, 2, 1, 0}, new int[]{0, 1, 2, 3, 4});
+
+        HuellaProblema huella = HuellaCanonica.calcular(problema, false, "");
+
+        assertArrayEquals(new int[]{0, 1, 2, 3}, huella.getOrdenOrigenes());
+        assertArrayEquals(new int[]{0, 1, 2, 3, 4}, huella.getOrdenDestinos());
+        assertNotEquals(huella.getClave(), HuellaCanonica.calcular(reordenado, false, "").getClave());
+    }
+
+    private static int[] permutacion(Random random, int tamano) {
+        List<Integer> indices = new ArrayList<>();
+        for (int k = 0; k < tamano; k++) {
+            indices.add(k);
+        }
+        Collections.shuffle(indices, random);
+        return indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Problema cuya fila i es la fila filas[i] del original y cuya columna j es la columna columnas[j].
+     */
+    private static ProblemaTransporte reordenar(ProblemaTransporte problema, int[] filas, int[] columnas) {
+        double[][] costos = new double[filas.length][columnas.length];
+        double[] ofertas = new double[filas.length];
+        double[] demandas = new double[columnas.length];
+        for (int i = 0; i < filas.length; i++) {
+            ofertas[i] = problema.getOferta(filas[i]);
+            for (int j = 0; j < columnas.length; j++) {
+                costos[i][j] = problema.getCosto(filas[i], columnas[j]);
+            }
+        }
+        for (int j = 0; j < columnas.length; j++) {
+            demandas[j] = problema.getDemanda(columnas[j]);
+        }
+        return ProblemaTransporte.builder().ofertas(ofertas).demandas(demandas).costos(costos).build();
+    }
+
+    private static List<Double> canonico(ProblemaTransporte problema, HuellaProblema huella) {
+        ProblemaTransporte ordenado = reordenar(problema, huella.getOrdenOrigenes(), huella.getOrdenDestinos());
+        List<Double> valores = new ArrayList<>();
+        for (double oferta : ordenado.getOfertas()) {
+            valores.add(oferta);
+        }
+        for (double demanda : ordenado.getDemandas()) {
+            valores.add(demanda);
+        }
+        for (double[] fila : ordenado.getCostos()) {
+            for (double costo : fila) {
+                valores.add(costo);
+            }
+        }
+        return valores;
+    }
+}
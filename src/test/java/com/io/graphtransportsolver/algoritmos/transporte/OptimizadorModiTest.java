@@ -0,0 +1,190 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OptimizadorModiTest {
+
+    private final OptimizadorModi optimizador = new OptimizadorModi();
+    private final List<SolucionInicialStrategy> estrategias =
+            List.of(new EsquinaNoroesteStrategy(), new CostoMinimoStrategy(), new VogelStrategy());
+
+    @Test
+    void resuelveElEjemploClasico() {
+        ProblemaTransporte problema = ProblemaTransporte.builder()
+                .costos(new double[][]{{8, 6, 10, 9}, {9, 12, 13, 7}, {14, 9, 16, 5}})
+                .ofertas(new double[]{35, 50, 40})
+                .demandas(new double[]{45, 20, 30, 30})
+                .build();
+
+        SolucionTransporte solucion = optimizador.optimizar(
+                problema, new EsquinaNoroesteStrategy().encontrarSolucionInicial(problema));
+
+        ProblemasPrueba.verificarOptimo(problema, solucion);
+        assertEquals(1020, solucion.getCostoTotal(), 1e-9);
+    }
+
+    @Test
+    void alcanzaElOptimoDeReferenciaDesdeCualquierSolucionInicial() {
+        for (int semilla = 0; semilla < 150; semilla++) {
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(semilla, 1 + semilla % 9, 1 + (semilla * 7) % 11, true);
+            double optimo = ProblemasPrueba.costoOptimo(problema);
+
+            for (SolucionInicialStrategy estrategia : estrategias) {
+                SolucionTransporte solucion = optimizador.optimizar(problema, estrategia.encontrarSolucionInicial(problema));
+
+                assertTrue(solucion.isOptima());
+                ProblemasPrueba.verificarOptimo(problema, solucion);
+                assertEquals(optimo, solucion.getCostoTotal(), 1e-6, "semilla " + semilla);
+            }
+        }
+    }
+
+    @Test
+    void losCarrilesCandidatosNoCambianElOptimo() {
+        for (int semilla = 0; semilla < 150; semilla++) {
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(semilla, 2 + semilla % 13, 2 + (semilla * 5) % 17, true);
+            double optimo = ProblemasPrueba.costoOptimo(problema);
+            SolucionTransporte inicial = new VogelStrategy().encontrarSolucionInicial(problema);
+
+            // Con uno o dos candidatos por fila casi siempre hace falta la reparación por costos reducidos
+            for (int k = 1; k <= 3; k++) {
+                SolucionTransporte solucion = optimizador.optimizarConCandidatos(problema, inicial, k);
+
+                ProblemasPrueba.verificarOptimo(problema, solucion);
+                assertEquals(optimo, solucion.getCostoTotal(), 1e-6, "semilla " + semilla + ", k = " + k);
+            }
+        }
+    }
+
+    @Test
+    void reanudaDesdeLaBaseAnteriorTrasCambiarCantidadesYCostos() {
+        int reanudados = 0;
+        for (int semilla = 0; semilla < 150; semilla++) {
+            ProblemaTransporte anterior = ProblemasPrueba.aleatorio(semilla, 2 + semilla % 8, 2 + (semilla * 3) % 9, true);
+            int[] base = optimizador.optimizar(anterior, new VogelStrategy().encontrarSolucionInicial(anterior))
+                    .getCeldasBasicas();
+
+            // Mismas dimensiones, otras cantidades y costos: la base anterior suele quedar infactible
+            ProblemaTransporte actual = ProblemasPrueba.aleatorio(semilla + 5_000,
+                    anterior.getOfertas().length, anterior.getDemandas().length, true);
+            SolucionTransporte solucion = optimizador.reanudar(actual, base);
+
+            if (solucion == null) {
+                continue;
+            }
+            ProblemasPrueba.verificarOptimo(actual, solucion);
+            assertEquals(ProblemasPrueba.costoOptimo(actual), solucion.getCostoTotal(), 1e-6, "semilla " + semilla);
+            reanudados++;
+        }
+        assertTrue(reanudados > 100);
+    }
+
+    @Test
+    void respetaLasCapacidadesDeLosCarrilesConElOptimoDeReferencia() {
+        int factibles = 0;
+        int infactibles = 0;
+        for (int semilla = 0; semilla < 200; semilla++) {
+            Random random = new Random(semilla);
+            int m = 2 + random.nextInt(6);
+            int n = 2 + random.nextInt(6);
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(semilla, m, n, true);
+            double[][] limites = ProblemasPrueba.limitesAleatorios(random, m, n);
+            problema.setCapacidades(ProblemasPrueba.capacidades(limites));
+            double optimo = ProblemasPrueba.costoOptimo(
+                    problema.getCostos(), problema.getOfertas(), problema.getDemandas(), limites);
+            SolucionTransporte inicial = new VogelStrategy().encontrarSolucionInicial(problema);
+
+            if (Double.isNaN(optimo)) {
+                assertThrows(IllegalArgumentException.class,
+                        () -> optimizador.optimizarConCapacidades(problema, inicial, ControlEjecucion.SIN_LIMITE),
+                        "semilla " + semilla);
+                infactibles++;
+                continue;
+            }
+            SolucionTransporte solucion =
+                    optimizador.optimizarConCapacidades(problema, inicial, ControlEjecucion.SIN_LIMITE);
+
+            assertTrue(solucion.isOptima());
+            double[][] plan = solucion.getAsignaciones();
+            double costo = 0;
+            for (int i = 0; i < m; i++) {
+                double porFila = 0;
+                for (int j = 0; j < n; j++) {
+                    assertTrue(plan[i][j] >= -1e-7 && plan[i][j] <= limites[i][j] + 1e-7, "semilla " + semilla);
+                    porFila += plan[i][j];
+                    costo += plan[i][j] * problema.getCosto(i, j);
+                }
+                assertEquals(problema.getOferta(i), porFila, 1e-6);
+            }
+            for (int j = 0; j < n; j++) {
+                double porColumna = 0;
+                for (double[] fila : plan) {
+                    porColumna += fila[j];
+                }
+                assertEquals(problema.getDemanda(j), porColumna, 1e-6);
+            }
+            assertEquals(optimo, costo, 1e-6, "semilla " + semilla);
+            assertEquals(costo, solucion.getCostoTotal(), 1e-6);
+            for (int celda : solucion.getCeldasEnCotaSuperior()) {
+                assertEquals(limites[celda / n][celda % n], plan[celda / n][celda % n], 1e-9);
+            }
+            factibles++;
+        }
+        assertTrue(factibles > 50 && infactibles > 10);
+    }
+
+    @Test
+    void siVenceElPlazoConCapacidadesNoLoInformaComoInfactible() throws InterruptedException {
+        // Vogel llena la diagonal, que solo admite 5 unidades por carril
+        ProblemaTransporte problema = ProblemaTransporte.builder()
+                .costos(new double[][]{{1, 10}, {10, 1}})
+                .ofertas(new double[]{10, 10})
+                .demandas(new double[]{10, 10})
+                .build();
+        double infinito = Double.POSITIVE_INFINITY;
+        problema.setCapacidades(ProblemasPrueba.capacidades(new double[][]{{5, infinito}, {infinito, 5}}));
+        SolucionTransporte inicial = new VogelStrategy().encontrarSolucionInicial(problema);
+
+        ControlEjecucion vencido = ControlEjecucion.cancelable().conPlazo(1);
+        Thread.sleep(5);
+
+        assertThrows(PlazoVencidoException.class,
+                () -> optimizador.optimizarConCapacidades(problema, inicial, vencido));
+        // Con tiempo, el mismo problema es factible
+        SolucionTransporte solucion = optimizador.optimizarConCapacidades(problema, inicial, ControlEjecucion.SIN_LIMITE);
+        assertEquals(110, solucion.getCostoTotal(), 1e-9);
+    }
+
+    @Test
+    void parteDeUnPlanConCiclosYLoLlevaAUnaBase() {
+        for (int semilla = 0; semilla < 100; semilla++) {
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(1_000 + semilla, 1 + semilla % 7, 1 + (semilla * 5) % 9, true);
+            int m = problema.getOfertas().length;
+            int n = problema.getDemandas().length;
+
+            // Plan proporcional: usa todas las celdas con oferta, muchas más que las m + n - 1 de una base
+            double total = problema.getDemandaTotal();
+            double[][] plan = new double[m][n];
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    plan[i][j] = problema.getOferta(i) * problema.getDemanda(j) / total;
+                }
+            }
+            SolucionTransporte inicial = SolucionTransporte.builder().asignaciones(plan).build();
+
+            SolucionTransporte solucion = optimizador.optimizar(problema, inicial);
+
+            ProblemasPrueba.verificarOptimo(problema, solucion);
+            assertEquals(ProblemasPrueba.costoOptimo(problema), solucion.getCostoTotal(), 1e-6, "semilla " + semilla);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.io.graphtransportsolver.algoritmos.transporte;
+
+import com.io.graphtransportsolver.models.transporte.CapacidadesCarril;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.FuenteCostos;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Problemas aleatorios y solucionadores de referencia para las pruebas de los algoritmos de
+ * transporte. La referencia es deliberadamente simple (caminos más cortos sucesivos con
+ * Bellman-Ford sobre el grafo bipartito) y no comparte código con los algoritmos probados.
+ */
+public final class ProblemasPrueba {
+
+    private static final double EPSILON = 1e-6;
+
+    private ProblemasPrueba() {
+    }
+
+    /**
+     * Problema con costos enteros en [1, 50], algunas ofertas nulas y cantidades enteras.
+     *
+     * @param semilla     semilla del generador
+     * @param m           cantidad de orígenes
+     * @param n           cantidad de destinos
+     * @param balanceado  si se ajusta el último origen o destino para que oferta y demanda coincidan
+     * @return problema generado
+     */
+    public static ProblemaTransporte aleatorio(long semilla, int m, int n, boolean balanceado) {
+        Random random = new Random(semilla);
+        double[][] costos = new double[m][n];
+        for (double[] fila : costos) {
+            for (int j = 0; j < n; j++) {
+                fila[j] = 1 + random.nextInt(50);
+            }
+        }
+        double[] ofertas = new double[m];
+        double[] demandas = new double[n];
+        for (int i = 0; i < m; i++) {
+            ofertas[i] = random.nextInt(4) == 0 ? 0 : 1 + random.nextInt(30);
+        }
+        for (int j = 0; j < n; j++) {
+            demandas[j] = 1 + random.nextInt(30);
+        }
+        if (balanceado) {
+            double diferencia = Arrays.stream(ofertas).sum() - Arrays.stream(demandas).sum();
+            if (diferencia > 0) {
+                demandas[n - 1] += diferencia;
+            } else {
+                ofertas[m - 1] -= diferencia;
+            }
+        }
+        return ProblemaTransporte.builder().ofertas(ofertas).demandas(demandas).costos(costos).build();
+    }
+
+    /**
+     * Limita cerca de la mitad de los carriles a entre 0 y 29 unidades; el resto no tiene límite.
+     *
+     * @param random generador
+     * @param m      cantidad de orígenes
+     * @param n      cantidad de destinos
+     * @return capacidad de cada carril (infinita si no tiene límite)
+     */
+    public static double[][] limitesAleatorios(Random random, int m, int n) {
+        double[][] limites = new double[m][n];
+        for (double[] fila : limites) {
+            for (int j = 0; j < n; j++) {
+                fila[j] = random.nextBoolean() ? random.nextInt(30) : Double.POSITIVE_INFINITY;
+            }
+        }
+        return limites;
+    }
+
+    /**
+     * Forma dispersa de una matriz de capacidades: solo los carriles con límite finito.
+     *
+     * @param limites capacidad de cada carril (infinita si no tiene límite)
+     * @return capacidades por carril
+     */
+    public static CapacidadesCarril capacidades(double[][] limites) {
+        List<int[]> carriles = new ArrayList<>();
+        for (int i = 0; i < limites.length; i++) {
+            for (int j = 0; j < limites[i].length; j++) {
+                if (Double.isFinite(limites[i][j])) {
+                    carriles.add(new int[]{i, j});
+                }
+            }
+        }
+        int[] filas = new int[carriles.size()];
+        int[] columnas = new int[carriles.size()];
+        double[] valores = new double[carriles.size()];
+        for (int l = 0; l < carriles.size(); l++) {
+            filas[l] = carriles.get(l)[0];
+            columnas[l] = carriles.get(l)[1];
+            valores[l] = limites[filas[l]][columnas[l]];
+        }
+        return CapacidadesCarril.desdeCarriles(limites.length, limites[0].length, filas, columnas, valores);
+    }
+
+    /**
+     * Costo óptimo de un problema balanceado con cantidades enteras, por caminos más cortos
+     * sucesivos de a una unidad.
+     *
+     * @param costos      costos unitarios
+     * @param ofertas     ofertas enteras
+     * @param demandas    demandas enteras
+     * @param capacidades capacidad de cada carril (null = sin límite)
+     * @return costo óptimo, o NaN si las capacidades no permiten enviar toda la oferta
+     */
+    public static double costoOptimo(double[][] costos, double[] ofertas, double[] demandas, double[][] capacidades) {
+        int m = ofertas.length;
+        int n = demandas.length;
+        double[][] flujo = new double[m][n];
+        double[] ofertaRestante = ofertas.clone();
+        double[] demandaRestante = demandas.clone();
+        double costo = 0;
+
+        long unidades = Math.round(Arrays.stream(ofertas).sum());
+        for (long unidad = 0; unidad < unidades; unidad++) {
+            // Nodos 0..m-1 orígenes, m..m+n-1 destinos; la fuente se modela con distancia 0 en
+            // los orígenes que conservan oferta
+            double[] distancia = new double[m + n];
+            int[] previo = new int[m + n];
+            Arrays.fill(distancia, Double.POSITIVE_INFINITY);
+            Arrays.fill(previo, -1);
+            for (int i = 0; i < m; i++) {
+                if (ofertaRestante[i] > EPSILON) {
+                    distancia[i] = 0;
+                }
+            }
+            for (int ronda = 0; ronda < m + n; ronda++) {
+                boolean cambio = false;
+                for (int i = 0; i < m; i++) {
+                    for (int j = 0; j < n; j++) {
+                        double limite = capacidades == null ? Double.POSITIVE_INFINITY : capacidades[i][j];
+                        if (distancia[i] + costos[i][j] < distancia[m + j] - EPSILON && flujo[i][j] < limite - EPSILON) {
+                            distancia[m + j] = distancia[i] + costos[i][j];
+                            previo[m + j] = i;
+                            cambio = true;
+                        }
+                        if (distancia[m + j] - costos[i][j] < distancia[i] - EPSILON && flujo[i][j] > EPSILON) {
+                            distancia[i] = distancia[m + j] - costos[i][j];
+                            previo[i] = m + j;
+                            cambio = true;
+                        }
+                    }
+                }
+                if (!cambio) {
+                    break;
+                }
+            }
+
+            int destino = -1;
+            for (int j = 0; j < n; j++) {
+                if (demandaRestante[j] > EPSILON && (destino < 0 || distancia[m + j] < distancia[m + destino])) {
+                    destino = j;
+                }
+            }
+            if (destino < 0 || distancia[m + destino] == Double.POSITIVE_INFINITY) {
+                return Double.NaN;
+            }
+
+            int nodo = m + destino;
+            while (previo[nodo] >= 0) {
+                int anterior = previo[nodo];
+                if (nodo >= m) {
+                    flujo[anterior][nodo - m] += 1;
+                } else {
+                    flujo[nodo][anterior - m] -= 1;
+                }
+                nodo = anterior;
+            }
+            ofertaRestante[nodo] -= 1;
+            demandaRestante[destino] -= 1;
+            costo += distancia[m + destino];
+        }
+        return costo;
+    }
+
+    /**
+     * Costo óptimo de un problema balanceado sin capacidades.
+     */
+    public static double costoOptimo(ProblemaTransporte problema) {
+        return costoOptimo(problema.getCostos(), problema.getOfertas(), problema.getDemandas(), null);
+    }
+
+    /**
+     * Verifica que el plan sea factible, que los potenciales certifiquen su optimalidad (costos
+     * reducidos no negativos y nulos en las celdas con envío) y que el costo informado coincida.
+     *
+     * @param problema problema balanceado
+     * @param solucion solución con potenciales
+     */
+    public static void verificarOptimo(ProblemaTransporte problema, SolucionTransporte solucion) {
+        double[][] plan = solucion.getAsignaciones();
+        FuenteCostos costos = problema.getFuenteCostos();
+        int m = plan.length;
+        int n = plan[0].length;
+        double[] u = solucion.getPotencialesFila();
+        double[] v = solucion.getPotencialesColumna();
+
+        double costo = 0;
+        double[] porColumna = new double[n];
+        for (int i = 0; i < m; i++) {
+            double porFila = 0;
+            for (int j = 0; j < n; j++) {
+                assertTrue(plan[i][j] >= -EPSILON, "Envío negativo en (" + i + ", " + j + ")");
+                double reducido = costos.costo(i, j) - u[i] - v[j];
+                assertTrue(reducido > -EPSILON, "Costo reducido negativo en (" + i + ", " + j + "): " + reducido);
+                if (plan[i][j] > EPSILON) {
+                    assertEquals(0, reducido, EPSILON, "Celda con envío y costo reducido no nulo");
+                }
+                porFila += plan[i][j];
+                porColumna[j] += plan[i][j];
+                costo += plan[i][j] * costos.costo(i, j);
+            }
+            assertEquals(problema.getOferta(i), porFila, EPSILON, "Oferta del origen " + i);
+        }
+        for (int j = 0; j < n; j++) {
+            assertEquals(problema.getDemanda(j), porColumna[j], EPSILON, "Demanda del destino " + j);
+        }
+        assertEquals(costo, solucion.getCostoTotal(), EPSILON);
+    }
+}
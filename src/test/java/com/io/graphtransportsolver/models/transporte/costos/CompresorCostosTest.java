@@ -0,0 +1,121 @@
+package com.io.graphtransportsolver.models.transporte.costos;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+/**
+ * Verifica que cada codificación de {@link CompresorCostos} devuelva exactamente la matriz original.
+ */
+class CompresorCostosTest {
+
+    @Test
+    void pocasTarifasUsanUnDiccionarioDeUnByte() {
+        Random random = new Random(1);
+        double[] tarifas = {12.5, 7.25, 0, -3.125, 1e9, 0.1, 42, 99.99};
+        double[][] costos = matriz(200, 300, (i, j) -> tarifas[random.nextInt(tarifas.length)]);
+
+        FuenteCostos comprimida = CompresorCostos.comprimir(copia(costos));
+
+        assertInstanceOf(CostosDiccionario.class, comprimida);
+        assertEquals(200L * 300 + 8L * tarifas.length, comprimida.estimarBytes());
+        verificarSinPerdida(costos, comprimida);
+    }
+
+    @Test
+    void masDe256TarifasUsanUnDiccionarioDeDosBytes() {
+        Random random = new Random(2);
+        double[] tarifas = new double[5_000];
+        for (int k = 0; k < tarifas.length; k++) {
+            tarifas[k] = random.nextDouble() * 1_000;
+        }
+        double[][] costos = matriz(300, 400, (i, j) -> tarifas[random.nextInt(tarifas.length)]);
+
+        FuenteCostos comprimida = CompresorCostos.comprimir(copia(costos));
+
+        assertInstanceOf(CostosDiccionario.class, comprimida);
+        assertEquals(2L * 300 * 400 + 8L * tarifas.length, comprimida.estimarBytes());
+        verificarSinPerdida(costos, comprimida);
+    }
+
+    @Test
+    void filasConPocaVariacionSeDesplazanEnUnByte() {
+        Random random = new Random(3);
+        // Centésimos: las escalas 1 y 10 no son exactas; cada fila tiene su propio mínimo
+        double[][] costos = matriz(400, 300, (i, j) -> (i * 100_000L - 5_000_000L + random.nextInt(256)) / 100.0);
+
+        FuenteCostos comprimida = CompresorCostos.comprimir(copia(costos));
+
+        assertInstanceOf(CostosDesplazados.class, comprimida);
+        assertEquals(400L * 300 + 8L * 400, comprimida.estimarBytes());
+        verificarSinPerdida(costos, comprimida);
+    }
+
+    @Test
+    void filasConMasVariacionSeDesplazanEnDosBytes() {
+        Random random = new Random(4);
+        double[][] costos = matriz(400, 300, (i, j) -> (i * 1_000_000L + random.nextInt(60_000)) / 1000.0);
+
+        FuenteCostos comprimida = CompresorCostos.comprimir(copia(costos));
+
+        assertInstanceOf(CostosDesplazados.class, comprimida);
+        assertEquals(2L * 400 * 300 + 8L * 400, comprimida.estimarBytes());
+        verificarSinPerdida(costos, comprimida);
+    }
+
+    @Test
+    void sinUnaCodificacionQueAhorreQuedaLaMatriz() {
+        Random random = new Random(5);
+        // Más de 65536 valores distintos sin una escala decimal exacta
+        double[][] costos = matriz(300, 300, (i, j) -> random.nextDouble() * 1_000);
+        // Enteros, pero con más de 65536 valores distintos y filas con un rango mayor que 2 bytes
+        double[][] enteros = matriz(300, 300, (i, j) -> random.nextInt(1_000_000));
+
+        FuenteCostos comprimida = CompresorCostos.comprimir(copia(costos));
+        FuenteCostos comprimidaEnteros = CompresorCostos.comprimir(copia(enteros));
+
+        assertInstanceOf(MatrizCostos.class, comprimida);
+        assertInstanceOf(MatrizCostos.class, comprimidaEnteros);
+        verificarSinPerdida(costos, comprimida);
+        verificarSinPerdida(enteros, comprimidaEnteros);
+    }
+
+    private static void verificarSinPerdida(double[][] costos, FuenteCostos comprimida) {
+        int n = costos[0].length;
+        assertEquals(costos.length, comprimida.getNumOrigenes());
+        assertEquals(n, comprimida.getNumDestinos());
+        double[] buffer = new double[n];
+        for (int i = 0; i < costos.length; i++) {
+            double[] fila = comprimida.obtenerFila(i, buffer);
+            for (int j = 0; j < n; j++) {
+                assertEquals(costos[i][j], comprimida.costo(i, j), "(" + i + ", " + j + ")");
+                assertEquals(costos[i][j], fila[j], "(" + i + ", " + j + ")");
+            }
+        }
+    }
+
+    private static double[][] matriz(int m, int n, Celda celda) {
+        double[][] costos = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                costos[i][j] = celda.costo(i, j);
+            }
+        }
+        return costos;
+    }
+
+    private static double[][] copia(double[][] costos) {
+        double[][] copia = new double[costos.length][];
+        for (int i = 0; i < costos.length; i++) {
+            copia[i] = costos[i].clone();
+        }
+        return copia;
+    }
+
+    private interface Celda {
+        double costo(int i, int j);
+    }
+}
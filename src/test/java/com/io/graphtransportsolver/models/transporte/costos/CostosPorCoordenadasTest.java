@@ -0,0 +1,63 @@
+package com.io.graphtransportsolver.models.transporte.costos;
+
+import com.io.graphtransportsolver.models.transporte.enums.FormulaCosto;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CostosPorCoordenadasTest {
+
+    @Test
+    void costoYFilaDanExactamenteElMismoValor() {
+        Random random = new Random(9);
+        for (FormulaCosto formula : FormulaCosto.values()) {
+            double[][] origenes = puntos(random, 40);
+            double[][] destinos = puntos(random, 60);
+            CostosPorCoordenadas costos = new CostosPorCoordenadas(origenes, destinos, formula, 1.7, 0.3);
+            double[] buffer = new double[destinos.length];
+
+            for (int i = 0; i < origenes.length; i++) {
+                double[] fila = costos.obtenerFila(i, buffer);
+                for (int j = 0; j < destinos.length; j++) {
+                    assertEquals(Double.doubleToLongBits(costos.costo(i, j)), Double.doubleToLongBits(fila[j]),
+                            formula + " (" + i + ", " + j + ")");
+                }
+            }
+        }
+    }
+
+    @Test
+    void calculaLasDistanciasDeCadaFormula() {
+        double[][] origen = {{0, 0}};
+        double[][] destino = {{3, 4}};
+
+        assertEquals(7.0, new CostosPorCoordenadas(origen, destino, FormulaCosto.EUCLIDIANA, 1, 2).costo(0, 0), 1e-12);
+        assertEquals(9.0, new CostosPorCoordenadas(origen, destino, FormulaCosto.MANHATTAN, 1, 2).costo(0, 0), 1e-12);
+        // Un cuarto del ecuador
+        double cuarto = new CostosPorCoordenadas(origen, new double[][]{{0, 90}}, FormulaCosto.HAVERSINE, 1, 0).costo(0, 0);
+        assertEquals(Math.PI * 6371.0 / 2, cuarto, 1e-9);
+    }
+
+    @Test
+    void rechazaLatitudesYLongitudesFueraDeRangoConHaversine() {
+        double[][] valido = {{-33.4, -70.6}};
+
+        assertThrows(IllegalArgumentException.class, () -> new CostosPorCoordenadas(
+                new double[][]{{90.5, 0}}, valido, FormulaCosto.HAVERSINE, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new CostosPorCoordenadas(
+                valido, new double[][]{{10, -180.5}}, FormulaCosto.HAVERSINE, 1, 0));
+        // Las mismas coordenadas son válidas en el plano
+        new CostosPorCoordenadas(new double[][]{{90.5, 0}}, new double[][]{{10, -180.5}}, FormulaCosto.EUCLIDIANA, 1, 0);
+    }
+
+    private static double[][] puntos(Random random, int cantidad) {
+        double[][] puntos = new double[cantidad][];
+        for (int k = 0; k < cantidad; k++) {
+            puntos[k] = new double[]{random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180};
+        }
+        return puntos;
+    }
+}
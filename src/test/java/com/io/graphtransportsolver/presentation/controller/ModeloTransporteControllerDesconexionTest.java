@@ -0,0 +1,87 @@
+package com.io.graphtransportsolver.presentation.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que una resolución se cancela cuando el cliente cierra la conexión sin esperar la respuesta.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"transporte.tiempo-limite-ms=60000", "transporte.historial.segmento-mb=0"})
+class ModeloTransporteControllerDesconexionTest {
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private ExecutorService ejecutorSolicitudes;
+
+    @Test
+    void cancelaLaResolucionCuandoElClienteSeDesconecta() throws Exception {
+        ThreadPoolExecutor ejecutor = (ThreadPoolExecutor) ejecutorSolicitudes;
+        byte[] cuerpo = problemaGrande(2500).getBytes(StandardCharsets.UTF_8);
+        String ruta = environment.getProperty("server.servlet.context-path", "") + "/api/v1/transporte/resolver";
+
+        Socket socket = new Socket("localhost", Integer.parseInt(environment.getProperty("local.server.port")));
+        OutputStream salida = socket.getOutputStream();
+        salida.write(("POST " + ruta + " HTTP/1.1\r\nHost: localhost\r\nContent-Type: application/json\r\n"
+                + "Content-Length: " + cuerpo.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        salida.write(cuerpo);
+        salida.flush();
+
+        // Esperar a que la resolución esté en curso
+        long limite = System.currentTimeMillis() + 10_000;
+        while (ejecutor.getActiveCount() == 0 && System.currentTimeMillis() < limite) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(1_000);
+        assertEquals(1, ejecutor.getActiveCount(), "la resolución debe seguir en curso antes de desconectarse");
+
+        long inicio = System.nanoTime();
+        socket.close();
+        while (ejecutor.getActiveCount() > 0 && System.nanoTime() - inicio < 5_000_000_000L) {
+            Thread.sleep(1);
+        }
+        long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+
+        assertEquals(0, ejecutor.getActiveCount(), "la resolución debe detenerse al desconectarse el cliente");
+        assertTrue(milisegundos < 1_000, "la resolución tardó " + milisegundos + " ms en detenerse");
+    }
+
+    /**
+     * Problema de n x n con costos por coordenadas, para que la solicitud sea pequeña y la resolución larga.
+     */
+    private static String problemaGrande(int n) {
+        Random random = new Random(7);
+        StringBuilder json = new StringBuilder("{\"metodoInicial\":\"VOGEL\",\"modoOptimizacion\":\"MODI\"");
+        for (String campo : new String[]{"coordenadasOrigenes", "coordenadasDestinos"}) {
+            json.append(",\"").append(campo).append("\":[");
+            for (int i = 0; i < n; i++) {
+                json.append(i > 0 ? "," : "").append('[').append(random.nextInt(10_000)).append(',')
+                        .append(random.nextInt(10_000)).append(']');
+            }
+            json.append(']');
+        }
+        for (String campo : new String[]{"ofertas", "demandas"}) {
+            json.append(",\"").append(campo).append("\":[");
+            for (int i = 0; i < n; i++) {
+                json.append(i > 0 ? "," : "").append(10 + random.nextInt(90));
+            }
+            json.append(']');
+        }
+        return json.append('}').toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.io.graphtransportsolver.presentation.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica las etiquetas de las soluciones y su consulta por GET en ambos solucionadores.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "transporte.historial.segmento-mb=0")
+class SolucionesEtiquetadasTest {
+
+    private static final String PROBLEMA_TRANSPORTE = "{\"costos\":[[4,6,9],[5,3,8]],\"ofertas\":[40,60],"
+            + "\"demandas\":[30,50,20],\"metodoInicial\":\"VOGEL\",\"modoOptimizacion\":\"MODI\"}";
+
+    private static final String PROBLEMA_GRAFICO = "{\"funcionObjetivo\":{\"coeficienteX1\":3,\"coeficienteX2\":5,"
+            + "\"tipo\":\"MAXIMIZAR\"},\"incluirNoNegatividad\":true,\"restricciones\":["
+            + "{\"coeficienteX1\":1,\"coeficienteX2\":0,\"tipo\":\"MENOR_IGUAL\",\"ladoDerecho\":4},"
+            + "{\"coeficienteX1\":3,\"coeficienteX2\":2,\"tipo\":\"MENOR_IGUAL\",\"ladoDerecho\":18}]}";
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void laSolucionDeTransporteSeConsultaPorSuEtiqueta() throws Exception {
+        HttpResponse<String> resuelta = post("/api/v1/transporte/resolver", PROBLEMA_TRANSPORTE);
+        assertEquals(200, resuelta.statusCode());
+        String etiqueta = resuelta.headers().firstValue("ETag").orElseThrow();
+        String ruta = resuelta.headers().firstValue("Content-Location").orElseThrow();
+
+        HttpResponse<String> repetida = post("/api/v1/transporte/resolver", PROBLEMA_TRANSPORTE);
+        assertEquals(etiqueta, repetida.headers().firstValue("ETag").orElseThrow());
+        assertEquals(resuelta.body(), repetida.body());
+
+        HttpResponse<String> consultada = get(ruta, null);
+        assertEquals(200, consultada.statusCode());
+        assertEquals(resuelta.body(), consultada.body());
+        assertEquals(304, get(ruta, etiqueta).statusCode());
+    }
+
+    @Test
+    void unaSolucionDesconocidaRespondeNoEncontrada() throws Exception {
+        String contexto = environment.getProperty("server.servlet.context-path", "");
+
+        HttpResponse<String> transporte = get(contexto + "/api/v1/transporte/soluciones/desconocida", null);
+        assertEquals(404, transporte.statusCode());
+        assertTrue(transporte.body().contains("\"success\":false"));
+
+        assertEquals(404, get(contexto + "/api/v1/grafico/soluciones/desconocida", null).statusCode());
+    }
+
+    @Test
+    void laSolucionGraficaSeRevalidaPorSuEtiqueta() throws Exception {
+        HttpResponse<String> resuelta = post("/api/v1/grafico/resolver", PROBLEMA_GRAFICO);
+        assertEquals(200, resuelta.statusCode());
+        String etiqueta = resuelta.headers().firstValue("ETag").orElseThrow();
+
+        assertEquals(304, get(resuelta.headers().firstValue("Content-Location").orElseThrow(), etiqueta).statusCode());
+    }
+
+    private HttpResponse<String> post(String ruta, String cuerpo) throws IOException, InterruptedException {
+        HttpRequest solicitud = HttpRequest.newBuilder(uri(environment.getProperty("server.servlet.context-path", "") + ruta))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+        return http.send(solicitud, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> get(String ruta, String etiqueta) throws IOException, InterruptedException {
+        HttpRequest.Builder solicitud = HttpRequest.newBuilder(uri(ruta)).GET();
+        if (etiqueta != null) {
+            solicitud.header("If-None-Match", etiqueta);
+        }
+        return http.send(solicitud.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String ruta) {
+        return URI.create("http://localhost:" + environment.getProperty("local.server.port") + ruta);
+    }
+}
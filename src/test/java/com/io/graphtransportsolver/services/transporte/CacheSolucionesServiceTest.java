@@ -0,0 +1,125 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.ProblemasPrueba;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
+import com.io.graphtransportsolver.presentation.dto.transporte.ProblemaTransporteDTO;
+import com.io.graphtransportsolver.presentation.dto.transporte.SolucionTransporteDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que una solución guardada se entregue reordenada a un problema con los orígenes y
+ * destinos en otro orden: el plan, los potenciales y la base deben corresponder a ese orden.
+ */
+@SpringBootTest(properties = "transporte.historial.segmento-mb=0")
+class CacheSolucionesServiceTest {
+
+    @Autowired
+    private ModeloTransporteService modeloTransporteService;
+
+    @Autowired
+    private CacheSolucionesService cacheSolucionesService;
+
+    @Test
+    void laSolucionReordenadaEsOptimaParaElProblemaPermutado() {
+        Random random = new Random(11);
+        for (int caso = 0; caso < 30; caso++) {
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(100 + caso, 2 + random.nextInt(7), 2 + random.nextInt(7), true);
+            int m = problema.getOfertas().length;
+            int n = problema.getDemandas().length;
+            ProblemaTransporte permutado = permutar(problema, permutacion(random, m), permutacion(random, n));
+            SolucionTransporteDTO original = resolver(problema, nombres("O", m), nombres("D", n), null);
+            long aciertos = cacheSolucionesService.estadisticas().aciertos();
+
+            SolucionTransporteDTO reutilizada = resolver(permutado, nombres("X", m), nombres("Y", n), null);
+
+            assertEquals(aciertos + 1, cacheSolucionesService.estadisticas().aciertos(), "caso " + caso);
+            assertEquals(original.costoTotal(), reutilizada.costoTotal(), 1e-6);
+            assertEquals(ProblemasPrueba.costoOptimo(permutado), reutilizada.costoTotal(), 1e-6, "caso " + caso);
+            assertEquals("X0", reutilizada.nombresOrigenes()[0]);
+            verificarPlanYPotenciales(permutado, reutilizada);
+
+            // La base reubicada ya es óptima para el problema permutado
+            SolucionTransporteDTO enCaliente = resolver(permutado, null, null, reutilizada.celdasBasicas());
+            assertTrue(enCaliente.arranqueEnCaliente());
+            assertEquals(0, enCaliente.iteracionesOptimizacion(), "caso " + caso);
+        }
+    }
+
+    private SolucionTransporteDTO resolver(ProblemaTransporte problema, String[] origenes, String[] destinos, int[] base) {
+        ProblemaTransporteDTO dto = new ProblemaTransporteDTO(
+                problema.getCostos(), problema.getOfertas(), problema.getDemandas(), origenes, destinos,
+                MetodoSolucionInicial.VOGEL, null, null, null, null, null, ModoOptimizacion.MODI,
+                null, null, null, null, base, true, null, null, null);
+        return modeloTransporteService.resolverProblema(dto).getData();
+    }
+
+    private static void verificarPlanYPotenciales(ProblemaTransporte problema, SolucionTransporteDTO solucion) {
+        double[][] plan = solucion.asignaciones();
+        double[] u = solucion.sensibilidad().preciosSombraOfertas();
+        double[] v = solucion.sensibilidad().preciosSombraDemandas();
+        for (int i = 0; i < plan.length; i++) {
+            double porFila = 0;
+            for (int j = 0; j < plan[i].length; j++) {
+                double reducido = problema.getCosto(i, j) - u[i] - v[j];
+                assertTrue(reducido > -1e-6);
+                if (plan[i][j] > 1e-9) {
+                    assertEquals(0.0, reducido, 1e-6);
+                }
+                porFila += plan[i][j];
+            }
+            assertEquals(problema.getOferta(i), porFila, 1e-6);
+        }
+        for (int j = 0; j < plan[0].length; j++) {
+            double porColumna = 0;
+            for (double[] fila : plan) {
+                porColumna += fila[j];
+            }
+            assertEquals(problema.getDemanda(j), porColumna, 1e-6);
+        }
+    }
+
+    private static int[] permutacion(Random random, int tamano) {
+        List<Integer> indices = new ArrayList<>();
+        for (int k = 0; k < tamano; k++) {
+            indices.add(k);
+        }
+        Collections.shuffle(indices, random);
+        return indices.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static ProblemaTransporte permutar(ProblemaTransporte problema, int[] filas, int[] columnas) {
+        double[][] costos = new double[filas.length][columnas.length];
+        double[] ofertas = new double[filas.length];
+        double[] demandas = new double[columnas.length];
+        for (int i = 0; i < filas.length; i++) {
+            ofertas[i] = problema.getOferta(filas[i]);
+            for (int j = 0; j < columnas.length; j++) {
+                costos[i][j] = problema.getCosto(filas[i], columnas[j]);
+            }
+        }
+        for (int j = 0; j < columnas.length; j++) {
+            demandas[j] = problema.getDemanda(columnas[j]);
+        }
+        return ProblemaTransporte.builder().ofertas(ofertas).demandas(demandas).costos(costos).build();
+    }
+
+    private static String[] nombres(String prefijo, int cantidad) {
+        String[] nombres = new String[cantidad];
+        for (int k = 0; k < cantidad; k++) {
+            nombres[k] = prefijo + k;
+        }
+        return nombres;
+    }
+}
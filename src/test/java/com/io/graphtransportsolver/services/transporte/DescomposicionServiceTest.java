@@ -0,0 +1,180 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.OptimizadorModi;
+import com.io.graphtransportsolver.algoritmos.transporte.ProblemasPrueba;
+import com.io.graphtransportsolver.algoritmos.transporte.VogelStrategy;
+import com.io.graphtransportsolver.models.transporte.ComponenteTransporte;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara la resolución por componentes con la del problema completo, donde los carriles entre
+ * componentes están cerrados y cada ficticio solo atiende a las componentes que lo necesitan.
+ */
+class DescomposicionServiceTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(2);
+    private static final double PROHIBIDO = 500;
+
+    private final DescomposicionService servicio = new DescomposicionService(new BalanceadorService(), POOL);
+    private final OptimizadorModi optimizador = new OptimizadorModi();
+
+    @AfterAll
+    static void detenerPool() {
+        POOL.shutdownNow();
+    }
+
+    @Test
+    void elPlanUnidoCoincideConElOptimoDelProblemaCompleto() {
+        for (int semilla = 0; semilla < 150; semilla++) {
+            Random random = new Random(semilla);
+            int m = 2 + random.nextInt(8);
+            int n = 2 + random.nextInt(8);
+            int grupos = 2 + random.nextInt(3);
+            // Grupo -1: origen o destino sin carriles permitidos
+            int[] grupoOrigen = grupos(random, m, grupos);
+            int[] grupoDestino = grupos(random, n, grupos);
+            double[] ofertas = cantidades(random, m);
+            double[] demandas = cantidades(random, n);
+            double[][] costos = new double[m][n];
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    boolean mismoGrupo = grupoOrigen[i] >= 0 && grupoOrigen[i] == grupoDestino[j];
+                    costos[i][j] = mismoGrupo ? 1 + random.nextInt(40) : PROHIBIDO + random.nextInt(100);
+                }
+            }
+            ProblemaTransporte problema = ProblemaTransporte.builder()
+                    .costos(costos).ofertas(ofertas).demandas(demandas).build();
+
+            List<ComponenteTransporte> componentes = servicio.detectarComponentes(problema, PROHIBIDO);
+            DescomposicionService.ResultadoDescomposicion resultado = servicio.resolver(problema, componentes,
+                    subproblema -> optimizador.optimizar(subproblema, new VogelStrategy().encontrarSolucionInicial(subproblema)));
+
+            assertEquals(componentesEsperadas(grupoOrigen, grupoDestino, grupos), componentes.size(), "semilla " + semilla);
+            ProblemaTransporte unido = resultado.problemaUnido();
+            double[][] plan = resultado.solucion().getAsignaciones();
+            verificarFactible(unido, plan, "semilla " + semilla);
+            for (int i = 0; i < m; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (costos[i][j] >= PROHIBIDO) {
+                        assertEquals(0.0, plan[i][j], "semilla " + semilla);
+                    }
+                }
+            }
+            assertEquals(costoDeReferencia(costos, ofertas, demandas, grupoOrigen, grupoDestino, grupos),
+                    resultado.solucion().getCostoTotal(), 1e-6, "semilla " + semilla);
+        }
+    }
+
+    private static int[] grupos(Random random, int cantidad, int grupos) {
+        int[] grupo = new int[cantidad];
+        for (int k = 0; k < cantidad; k++) {
+            grupo[k] = random.nextInt(6) == 0 ? -1 : random.nextInt(grupos);
+        }
+        return grupo;
+    }
+
+    private static double[] cantidades(Random random, int cantidad) {
+        double[] valores = new double[cantidad];
+        for (int k = 0; k < cantidad; k++) {
+            valores[k] = random.nextInt(8) == 0 ? 0 : 1 + random.nextInt(30);
+        }
+        return valores;
+    }
+
+    /**
+     * Cada grupo con orígenes y destinos es una componente; los orígenes y destinos de un grupo
+     * sin contraparte (o del grupo -1) quedan solos.
+     */
+    private static int componentesEsperadas(int[] grupoOrigen, int[] grupoDestino, int grupos) {
+        int total = 0;
+        for (int g = -1; g < grupos; g++) {
+            int origenes = contar(grupoOrigen, g);
+            int destinos = contar(grupoDestino, g);
+            total += g >= 0 && origenes > 0 && destinos > 0 ? 1 : origenes + destinos;
+        }
+        return total;
+    }
+
+    private static int contar(int[] grupo, int g) {
+        return (int) Arrays.stream(grupo).filter(valor -> valor == g).count();
+    }
+
+    /**
+     * Óptimo del problema completo con un origen y un destino ficticios de costo nulo. Los carriles
+     * entre grupos están cerrados; el destino ficticio solo recibe de los grupos con oferta de más y
+     * el origen ficticio solo envía a los grupos con demanda de más.
+     */
+    private static double costoDeReferencia(double[][] costos, double[] ofertas, double[] demandas,
+                                            int[] grupoOrigen, int[] grupoDestino, int grupos) {
+        int m = ofertas.length;
+        int n = demandas.length;
+        // Oferta menos demanda de cada grupo; los orígenes y destinos del grupo -1 van solos
+        double[] saldo = new double[grupos];
+        for (int i = 0; i < m; i++) {
+            if (grupoOrigen[i] >= 0) saldo[grupoOrigen[i]] += ofertas[i];
+        }
+        for (int j = 0; j < n; j++) {
+            if (grupoDestino[j] >= 0) saldo[grupoDestino[j]] -= demandas[j];
+        }
+
+        double[][] extendidos = new double[m + 1][n + 1];
+        double[][] limites = new double[m + 1][n + 1];
+        double ofertaFicticia = 0;
+        double demandaFicticia = 0;
+        for (int i = 0; i < m; i++) {
+            System.arraycopy(costos[i], 0, extendidos[i], 0, n);
+            for (int j = 0; j < n; j++) {
+                boolean mismoGrupo = grupoOrigen[i] >= 0 && grupoOrigen[i] == grupoDestino[j];
+                limites[i][j] = mismoGrupo ? Double.POSITIVE_INFINITY : 0;
+            }
+            boolean sobra = grupoOrigen[i] < 0 || saldo[grupoOrigen[i]] > 0;
+            limites[i][n] = sobra ? Double.POSITIVE_INFINITY : 0;
+        }
+        for (int j = 0; j < n; j++) {
+            boolean falta = grupoDestino[j] < 0 || saldo[grupoDestino[j]] < 0;
+            limites[m][j] = falta ? Double.POSITIVE_INFINITY : 0;
+        }
+        for (int g = 0; g < grupos; g++) {
+            demandaFicticia += Math.max(0, saldo[g]);
+            ofertaFicticia += Math.max(0, -saldo[g]);
+        }
+        for (int i = 0; i < m; i++) {
+            if (grupoOrigen[i] < 0) demandaFicticia += ofertas[i];
+        }
+        for (int j = 0; j < n; j++) {
+            if (grupoDestino[j] < 0) ofertaFicticia += demandas[j];
+        }
+
+        double[] ofertasExtendidas = Arrays.copyOf(ofertas, m + 1);
+        ofertasExtendidas[m] = ofertaFicticia;
+        double[] demandasExtendidas = Arrays.copyOf(demandas, n + 1);
+        demandasExtendidas[n] = demandaFicticia;
+        return ProblemasPrueba.costoOptimo(extendidos, ofertasExtendidas, demandasExtendidas, limites);
+    }
+
+    private static void verificarFactible(ProblemaTransporte problema, double[][] plan, String mensaje) {
+        int m = problema.getOfertas().length;
+        int n = problema.getDemandas().length;
+        assertEquals(m, plan.length, mensaje);
+        for (int i = 0; i < m; i++) {
+            assertEquals(n, plan[i].length, mensaje);
+            assertEquals(problema.getOferta(i), Arrays.stream(plan[i]).sum(), 1e-6, mensaje);
+        }
+        for (int j = 0; j < n; j++) {
+            double recibido = 0;
+            for (double[] fila : plan) {
+                recibido += fila[j];
+            }
+            assertEquals(problema.getDemanda(j), recibido, 1e-6, mensaje);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.OptimizadorModi;
+import com.io.graphtransportsolver.algoritmos.transporte.ProblemasPrueba;
+import com.io.graphtransportsolver.algoritmos.transporte.VogelStrategy;
+import com.io.graphtransportsolver.models.transporte.FirmaProblema;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class HistorialSolucionesServiceTest {
+
+    private static final Path PRIMER_SEGMENTO = Path.of("segmento-000000.dat");
+
+    private final OptimizadorModi optimizador = new OptimizadorModi();
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void lasBasesGuardadasSobrevivenAlReinicioYLleganAlOptimo() {
+        HistorialSolucionesService historial = abrir();
+        List<ProblemaTransporte> problemas = new ArrayList<>();
+        List<int[]> bases = new ArrayList<>();
+        for (int semilla = 0; semilla < 40; semilla++) {
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(semilla, 2 + semilla % 6, 2 + (semilla * 3) % 7, true);
+            int[] base = optimizador.optimizar(problema, new VogelStrategy().encontrarSolucionInicial(problema))
+                    .getCeldasBasicas();
+            historial.registrar(historial.firmar(problema), base);
+            problemas.add(problema);
+            bases.add(base);
+        }
+        historial.detener();
+
+        // Otra instancia simula un reinicio: el índice se reconstruye desde los segmentos
+        HistorialSolucionesService reabierto = abrir();
+
+        assertEquals(problemas.size(), reabierto.estadisticas().registros());
+        for (int k = 0; k < problemas.size(); k++) {
+            ProblemaTransporte problema = problemas.get(k);
+            int[] base = reabierto.buscarBase(reabierto.firmar(problema));
+            assertArrayEquals(bases.get(k), base, "semilla " + k);
+
+            SolucionTransporte solucion = optimizador.reanudar(problema, base);
+            assertNotNull(solucion, "semilla " + k);
+            assertEquals(0, solucion.getIteracionesOptimizacion(), "semilla " + k);
+            assertEquals(ProblemasPrueba.costoOptimo(problema), solucion.getCostoTotal(), 1e-6, "semilla " + k);
+        }
+    }
+
+    @Test
+    void unProblemaMuyDistintoNoRecibeBase() {
+        HistorialSolucionesService historial = abrir();
+        ProblemaTransporte problema = ProblemasPrueba.aleatorio(1, 5, 6, true);
+        historial.registrar(historial.firmar(problema), new int[]{0, 1, 2, 8, 9, 15, 20, 26, 27, 29});
+
+        ProblemaTransporte otro = ProblemasPrueba.aleatorio(2, 5, 6, true);
+        ProblemaTransporte otrasDimensiones = ProblemasPrueba.aleatorio(1, 6, 5, true);
+
+        assertNull(historial.buscarBase(historial.firmar(otro)));
+        assertNull(historial.buscarBase(historial.firmar(otrasDimensiones)));
+        assertEquals(2, historial.estadisticas().sinParecido());
+    }
+
+    @Test
+    void unRegistroDanadoSeDescartaConLosQueLeSiguen() throws IOException {
+        HistorialSolucionesService historial = abrir();
+        ProblemaTransporte primero = ProblemasPrueba.aleatorio(3, 4, 4, true);
+        ProblemaTransporte segundo = ProblemasPrueba.aleatorio(4, 3, 5, true);
+        ProblemaTransporte tercero = ProblemasPrueba.aleatorio(5, 5, 3, true);
+        int[] base = {0, 1, 5, 6, 10, 11, 15};
+        historial.registrar(historial.firmar(primero), base);
+        historial.registrar(historial.firmar(segundo), base);
+        historial.registrar(historial.firmar(tercero), base);
+        historial.detener();
+
+        // Corrompe las filas del segundo registro, como una escritura interrumpida a medias
+        try (FileChannel canal = FileChannel.open(directorio.resolve(PRIMER_SEGMENTO),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int segundoRegistro = 32 + leerEntero(canal, 32);
+            escribirEntero(canal, segundoRegistro + 4, -1);
+        }
+        // Un archivo con el nombre de un segmento pero sin su formato se ignora
+        Files.write(directorio.resolve("segmento-000007.dat"), new byte[]{1, 2, 3});
+
+        HistorialSolucionesService reabierto = abrir();
+
+        assertEquals(1, reabierto.estadisticas().registros());
+        assertArrayEquals(base, reabierto.buscarBase(reabierto.firmar(primero)));
+        assertNull(reabierto.buscarBase(reabierto.firmar(tercero)));
+
+        // Los registros nuevos ocupan el lugar de los descartados y sobreviven a otro reinicio
+        reabierto.registrar(reabierto.firmar(tercero), base);
+        reabierto.detener();
+        HistorialSolucionesService otraVez = abrir();
+        assertEquals(2, otraVez.estadisticas().registros());
+        assertArrayEquals(base, otraVez.buscarBase(otraVez.firmar(tercero)));
+    }
+
+    @Test
+    void rotaLosSegmentosSinPasarDelMaximo() throws IOException {
+        HistorialSolucionesService historial = abrir();
+        ProblemaTransporte problema = ProblemasPrueba.aleatorio(6, 30, 30, true);
+        FirmaProblema firma = historial.firmar(problema);
+        // Unos 400 KB por registro: entran dos por segmento de 1 MB
+        int[] grande = new int[100_000];
+        for (int k = 0; k < 12; k++) {
+            historial.registrar(firma, grande);
+        }
+        int[] reciente = {0, 31, 62};
+        historial.registrar(firma, reciente);
+        HistorialSolucionesService.Estadisticas estadisticas = historial.estadisticas();
+        historial.detener();
+
+        assertEquals(2, estadisticas.segmentos());
+        // Quedan los dos registros grandes de cada segmento sobreviviente y el reciente
+        assertEquals(5, estadisticas.registros());
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            assertEquals(2, archivos.count());
+        }
+        HistorialSolucionesService reabierto = abrir();
+        assertEquals(5, reabierto.estadisticas().registros());
+        assertArrayEquals(reciente, reabierto.buscarBase(firma));
+    }
+
+    private HistorialSolucionesService abrir() {
+        HistorialSolucionesService historial = new HistorialSolucionesService(directorio.toString(), 1, 2, 0.2);
+        historial.iniciar();
+        return historial;
+    }
+
+    private static int leerEntero(FileChannel canal, long posicion) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        canal.read(buffer, posicion);
+        return buffer.getInt(0);
+    }
+
+    private static void escribirEntero(FileChannel canal, long posicion, int valor) throws IOException {
+        canal.write(ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN).putInt(0, valor), posicion);
+    }
+}
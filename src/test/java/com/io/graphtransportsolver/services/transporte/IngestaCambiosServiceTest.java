@@ -0,0 +1,99 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.AnalizadorSensibilidad;
+import com.io.graphtransportsolver.algoritmos.transporte.CostoMinimoStrategy;
+import com.io.graphtransportsolver.algoritmos.transporte.EsquinaNoroesteStrategy;
+import com.io.graphtransportsolver.algoritmos.transporte.OptimizadorModi;
+import com.io.graphtransportsolver.algoritmos.transporte.ProblemasPrueba;
+import com.io.graphtransportsolver.algoritmos.transporte.VogelStrategy;
+import com.io.graphtransportsolver.models.transporte.ActualizacionResidente;
+import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifica que las suscripciones de un problema se cierren cuando este sale del almacén.
+ */
+class IngestaCambiosServiceTest {
+
+    private static final ExecutorService EJECUTOR = Executors.newSingleThreadExecutor();
+
+    // Caben dos problemas: el tercero descarta al menos usado
+    private final AlmacenProblemasService almacen = new AlmacenProblemasService(64, 2);
+    private final BalanceadorService balanceador = new BalanceadorService();
+    private final ProblemasResidentesService residentes = new ProblemasResidentesService(
+            almacen,
+            balanceador,
+            new SolucionInicialService(
+                    new EsquinaNoroesteStrategy(), new CostoMinimoStrategy(), new VogelStrategy(), balanceador),
+            new OptimizacionService(new OptimizadorModi(), new AnalizadorSensibilidad()));
+    private final IngestaCambiosService ingesta = new IngestaCambiosService(
+            residentes, almacen, ForkJoinPool.commonPool(), EJECUTOR, 100, 10, 100);
+
+    @AfterAll
+    static void detenerEjecutor() {
+        EJECUTOR.shutdownNow();
+    }
+
+    @Test
+    void alEliminarElProblemaSeCierranSusSuscripciones() {
+        String id = crear(1);
+        Registro primero = new Registro();
+        Registro segundo = new Registro();
+        ingesta.suscribir(id, primero);
+        ingesta.suscribir(id, segundo);
+
+        residentes.eliminar(id);
+
+        assertEquals(List.of("El problema " + id + " se eliminó"), primero.cierres);
+        assertEquals(primero.cierres, segundo.cierres);
+        assertThrows(IllegalArgumentException.class, () -> ingesta.suscribir(id, new Registro()));
+    }
+
+    @Test
+    void alDescartarPorFaltaDeEspacioSoloSeCierraElProblemaDescartado() {
+        String descartado = crear(1);
+        String conservado = crear(2);
+        Registro delDescartado = new Registro();
+        Registro delConservado = new Registro();
+        ingesta.suscribir(descartado, delDescartado);
+        ingesta.suscribir(conservado, delConservado);
+
+        crear(3);
+
+        assertEquals(List.of("El problema " + descartado + " se descartó por falta de espacio"), delDescartado.cierres);
+        assertTrue(delConservado.cierres.isEmpty());
+    }
+
+    private String crear(int semilla) {
+        return residentes.crear(ProblemasPrueba.aleatorio(semilla, 3, 4, false), MetodoSolucionInicial.VOGEL).id();
+    }
+
+    private static final class Registro implements IngestaCambiosService.Suscriptor {
+
+        private final List<String> cierres = new ArrayList<>();
+
+        @Override
+        public void actualizado(ActualizacionResidente actualizacion) {
+        }
+
+        @Override
+        public void rechazado(String mensaje) {
+        }
+
+        @Override
+        public void cerrado(String mensaje) {
+            cierres.add(mensaje);
+        }
+    }
+}
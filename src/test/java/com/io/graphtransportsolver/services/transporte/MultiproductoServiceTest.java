@@ -0,0 +1,153 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.AnalizadorSensibilidad;
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
+import com.io.graphtransportsolver.algoritmos.transporte.CostoMinimoStrategy;
+import com.io.graphtransportsolver.algoritmos.transporte.EsquinaNoroesteStrategy;
+import com.io.graphtransportsolver.algoritmos.transporte.OptimizadorModi;
+import com.io.graphtransportsolver.algoritmos.transporte.ProblemasPrueba;
+import com.io.graphtransportsolver.algoritmos.transporte.VogelStrategy;
+import com.io.graphtransportsolver.models.transporte.CapacidadesCarril;
+import com.io.graphtransportsolver.models.transporte.ProblemaMultiproducto;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionMultiproducto;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiproductoServiceTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(2);
+
+    private final MultiproductoService servicio = new MultiproductoService(
+            new BalanceadorService(),
+            new SolucionInicialService(new EsquinaNoroesteStrategy(), new CostoMinimoStrategy(),
+                    new VogelStrategy(), new BalanceadorService()),
+            new OptimizacionService(new OptimizadorModi(), new AnalizadorSensibilidad()),
+            POOL);
+
+    @AfterAll
+    static void detenerPool() {
+        POOL.shutdownNow();
+    }
+
+    @Test
+    void rechazaProductosQueJuntosNoCabenEnLosCarriles() {
+        // Cada producto envía 10 unidades de O1 a D1 y el carril admite 15
+        ProblemaMultiproducto problema = ProblemaMultiproducto.builder()
+                .productos(List.of(unoAUno(), unoAUno()))
+                .capacidades(CapacidadesCarril.desdeCarriles(1, 1, new int[]{0}, new int[]{0}, new double[]{15}))
+                .build();
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> servicio.resolver(problema, 60, ControlEjecucion.SIN_LIMITE));
+        assertTrue(error.getMessage().contains("juntos"));
+    }
+
+    @Test
+    void rechazaUnProductoQueNoCabeSolo() {
+        ProblemaMultiproducto problema = ProblemaMultiproducto.builder()
+                .productos(List.of(unoAUno()))
+                .capacidades(CapacidadesCarril.desdeCarriles(1, 1, new int[]{0}, new int[]{0}, new double[]{5}))
+                .build();
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> servicio.resolver(problema, 60, ControlEjecucion.SIN_LIMITE));
+        assertTrue(error.getMessage().contains("producto 0"));
+    }
+
+    @Test
+    void conUnSoloProductoAlcanzaElOptimoConCapacidades() {
+        int comparados = 0;
+        for (int semilla = 0; semilla < 40; semilla++) {
+            Random random = new Random(semilla);
+            ProblemaTransporte producto = ProblemasPrueba.aleatorio(semilla, 2 + random.nextInt(4), 2 + random.nextInt(4), true);
+            double[][] limites = limitesAleatorios(random, producto.getOfertas().length, producto.getDemandas().length);
+            double optimo = ProblemasPrueba.costoOptimo(
+                    producto.getCostos(), producto.getOfertas(), producto.getDemandas(), limites);
+            ProblemaMultiproducto problema = ProblemaMultiproducto.builder()
+                    .productos(List.of(producto))
+                    .capacidades(ProblemasPrueba.capacidades(limites))
+                    .build();
+
+            if (Double.isNaN(optimo)) {
+                assertThrows(IllegalArgumentException.class,
+                        () -> servicio.resolver(problema, 60, ControlEjecucion.SIN_LIMITE), "semilla " + semilla);
+                continue;
+            }
+            SolucionMultiproducto solucion = servicio.resolver(problema, 60, ControlEjecucion.SIN_LIMITE);
+            assertTrue(solucion.isFactible(), "semilla " + semilla);
+            assertEquals(optimo, solucion.getCostoTotal(), 1e-6, "semilla " + semilla);
+            assertTrue(solucion.getCotaInferior() <= solucion.getCostoTotal() + 1e-6, "semilla " + semilla);
+            comparados++;
+        }
+        assertTrue(comparados > 10);
+    }
+
+    @Test
+    void laCotaNuncaSuperaElCostoNiLosPlanesFactiblesLasCapacidades() {
+        for (int semilla = 0; semilla < 40; semilla++) {
+            Random random = new Random(semilla);
+            int m = 3 + random.nextInt(4);
+            int n = 3 + random.nextInt(4);
+            List<ProblemaTransporte> productos = new ArrayList<>();
+            for (int k = 1 + random.nextInt(3); k > 0; k--) {
+                productos.add(ProblemasPrueba.aleatorio(semilla * 31L + k, m, n, semilla % 2 == 0));
+            }
+            double[][] limites = limitesAleatorios(random, m, n);
+            ProblemaMultiproducto problema = ProblemaMultiproducto.builder()
+                    .productos(productos)
+                    .capacidades(ProblemasPrueba.capacidades(limites))
+                    .build();
+
+            SolucionMultiproducto solucion;
+            try {
+                solucion = servicio.resolver(problema, 60, ControlEjecucion.SIN_LIMITE);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            assertTrue(solucion.getCotaInferior() <= solucion.getCostoTotal() + 1e-6, "semilla " + semilla);
+            assertTrue(solucion.getBrechaOptimalidad() >= 0.0);
+            if (solucion.isFactible()) {
+                for (int i = 0; i < m; i++) {
+                    for (int j = 0; j < n; j++) {
+                        double uso = 0.0;
+                        for (double[][] plan : solucion.getPlanes()) {
+                            uso += plan[i][j];
+                        }
+                        assertTrue(uso <= limites[i][j] + 1e-6, "semilla " + semilla);
+                    }
+                }
+            }
+        }
+    }
+
+    private static ProblemaTransporte unoAUno() {
+        return ProblemaTransporte.builder()
+                .ofertas(new double[]{10})
+                .demandas(new double[]{10})
+                .costos(new double[][]{{1}})
+                .build();
+    }
+
+    /**
+     * Limita cerca de la mitad de los carriles a entre 5 y 34 unidades; el resto no tiene límite.
+     */
+    private static double[][] limitesAleatorios(Random random, int m, int n) {
+        double[][] limites = new double[m][n];
+        for (double[] fila : limites) {
+            for (int j = 0; j < n; j++) {
+                fila[j] = random.nextBoolean() ? 5 + random.nextInt(30) : Double.POSITIVE_INFINITY;
+            }
+        }
+        return limites;
+    }
+}
@@ -0,0 +1,157 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.OptimizadorModi;
+import com.io.graphtransportsolver.algoritmos.transporte.ProblemasPrueba;
+import com.io.graphtransportsolver.algoritmos.transporte.VogelStrategy;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.ReduccionTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.costos.CostosPorCoordenadas;
+import com.io.graphtransportsolver.models.transporte.enums.FormulaCosto;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PresolveServiceTest {
+
+    private final PresolveService presolve = new PresolveService();
+    private final OptimizadorModi optimizador = new OptimizadorModi();
+    private final VogelStrategy vogel = new VogelStrategy();
+
+    @Test
+    void laSolucionExpandidaTieneElCostoOptimo() {
+        int reducidos = 0;
+        for (int semilla = 0; semilla < 200; semilla++) {
+            ProblemaTransporte problema = conRepeticiones(semilla);
+            double optimo = ProblemasPrueba.costoOptimo(
+                    problema.getCostos(), problema.getOfertas(), problema.getDemandas(), null);
+            if (Double.isNaN(optimo)) {
+                continue;
+            }
+
+            ReduccionTransporte reduccion = presolve.reducir(problema);
+            SolucionTransporte reducida = null;
+            if (!reduccion.estaResuelta()) {
+                ProblemaTransporte problemaReducido = reduccion.getProblemaReducido();
+                reducida = optimizador.optimizar(problemaReducido, vogel.encontrarSolucionInicial(problemaReducido));
+                if (problemaReducido.getOfertas().length * problemaReducido.getDemandas().length
+                        < problema.getOfertas().length * problema.getDemandas().length) {
+                    reducidos++;
+                }
+            }
+            SolucionTransporte solucion = presolve.expandir(reduccion, reducida, problema.getFuenteCostos());
+
+            assertTrue(solucion.isOptima());
+            verificarPlan(problema, solucion);
+            assertEquals(optimo, solucion.getCostoTotal(), 1e-6, "semilla " + semilla);
+        }
+        assertTrue(reducidos > 100);
+    }
+
+    @Test
+    void fusionaOrigenesConLasMismasCoordenadas() {
+        ProblemaTransporte problema = ProblemaTransporte.builder()
+                .ofertas(new double[]{10, 5, 0})
+                .demandas(new double[]{4, 6, 5})
+                .fuenteCostos(new CostosPorCoordenadas(
+                        new double[][]{{0, 0}, {0, 0}, {5, 5}},
+                        new double[][]{{1, 1}, {2, 2}, {1, 1}},
+                        FormulaCosto.EUCLIDIANA, 1.0, 0.0))
+                .build();
+
+        ReduccionTransporte reduccion = presolve.reducir(problema);
+
+        // El origen sin oferta se elimina y los dos restantes comparten coordenadas
+        assertTrue(reduccion.estaResuelta() || reduccion.getProblemaReducido().getOfertas().length == 1);
+        SolucionTransporte reducida = reduccion.estaResuelta()
+                ? null
+                : vogel.encontrarSolucionInicial(reduccion.getProblemaReducido());
+        verificarPlan(problema, presolve.expandir(reduccion, reducida, problema.getFuenteCostos()));
+    }
+
+    /**
+     * Problema aleatorio con filas y columnas repetidas, cantidades nulas y, en uno de cada tres,
+     * un destino que solo puede recibir de un origen.
+     */
+    private static ProblemaTransporte conRepeticiones(long semilla) {
+        Random random = new Random(semilla);
+        int m0 = 2 + random.nextInt(6);
+        int n0 = 2 + random.nextInt(6);
+        ProblemaTransporte base = ProblemasPrueba.aleatorio(semilla, m0, n0, true);
+        int m = m0 + random.nextInt(4);
+        int n = n0 + random.nextInt(4);
+
+        int[] filaOriginal = new int[m];
+        int[] columnaOriginal = new int[n];
+        for (int i = 0; i < m; i++) {
+            filaOriginal[i] = i < m0 ? i : random.nextInt(m0);
+        }
+        for (int j = 0; j < n; j++) {
+            columnaOriginal[j] = j < n0 ? j : random.nextInt(n0);
+        }
+
+        double[][] costos = new double[m][n];
+        for (int i = 0; i < m; i++) {
+            for (int j = 0; j < n; j++) {
+                costos[i][j] = base.getCosto(filaOriginal[i], columnaOriginal[j]);
+            }
+        }
+        // Las copias se llevan parte de la cantidad del original, o nada
+        double[] ofertas = new double[m];
+        double[] demandas = new double[n];
+        for (int i = 0; i < m; i++) {
+            ofertas[i] = i < m0 ? base.getOferta(i) : 0;
+        }
+        for (int i = m0; i < m; i++) {
+            double parte = Math.floor(ofertas[filaOriginal[i]] / 2);
+            ofertas[filaOriginal[i]] -= parte;
+            ofertas[i] = parte;
+        }
+        for (int j = 0; j < n; j++) {
+            demandas[j] = j < n0 ? base.getDemanda(j) : 0;
+        }
+        for (int j = n0; j < n; j++) {
+            double parte = random.nextBoolean() ? 0 : Math.floor(demandas[columnaOriginal[j]] / 2);
+            demandas[columnaOriginal[j]] -= parte;
+            demandas[j] = parte;
+        }
+
+        if (semilla % 3 == 0) {
+            int destino = random.nextInt(n);
+            int unico = random.nextInt(m);
+            for (int i = 0; i < m; i++) {
+                if (i != unico) {
+                    costos[i][destino] = Double.POSITIVE_INFINITY;
+                }
+            }
+        }
+        return ProblemaTransporte.builder().ofertas(ofertas).demandas(demandas).costos(costos).build();
+    }
+
+    private static void verificarPlan(ProblemaTransporte problema, SolucionTransporte solucion) {
+        double[][] plan = solucion.getAsignaciones();
+        double costo = 0;
+        for (int i = 0; i < plan.length; i++) {
+            double porFila = 0;
+            for (int j = 0; j < plan[i].length; j++) {
+                assertTrue(plan[i][j] >= -1e-7);
+                porFila += plan[i][j];
+                if (plan[i][j] > 0) {
+                    costo += plan[i][j] * problema.getCosto(i, j);
+                }
+            }
+            assertEquals(problema.getOferta(i), porFila, 1e-6);
+        }
+        for (int j = 0; j < plan[0].length; j++) {
+            double porColumna = 0;
+            for (double[] fila : plan) {
+                porColumna += fila[j];
+            }
+            assertEquals(problema.getDemanda(j), porColumna, 1e-6);
+        }
+        assertEquals(costo, solucion.getCostoTotal(), 1e-6);
+    }
+}
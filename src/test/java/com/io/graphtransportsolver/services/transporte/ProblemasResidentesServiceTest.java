@@ -0,0 +1,136 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.AnalizadorSensibilidad;
+import com.io.graphtransportsolver.algoritmos.transporte.CostoMinimoStrategy;
+import com.io.graphtransportsolver.algoritmos.transporte.EsquinaNoroesteStrategy;
+import com.io.graphtransportsolver.algoritmos.transporte.OptimizadorModi;
+import com.io.graphtransportsolver.algoritmos.transporte.ProblemasPrueba;
+import com.io.graphtransportsolver.algoritmos.transporte.VogelStrategy;
+import com.io.graphtransportsolver.models.transporte.ActualizacionResidente;
+import com.io.graphtransportsolver.models.transporte.CambiosProblema;
+import com.io.graphtransportsolver.models.transporte.Celda;
+import com.io.graphtransportsolver.models.transporte.ProblemaResidente;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import com.io.graphtransportsolver.models.transporte.enums.MetodoSolucionInicial;
+import com.io.graphtransportsolver.models.transporte.enums.ModoOptimizacion;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProblemasResidentesServiceTest {
+
+    private final AlmacenProblemasService almacen = new AlmacenProblemasService(64, 16);
+    private final OptimizacionQueFalla optimizacion = new OptimizacionQueFalla();
+    private final BalanceadorService balanceador = new BalanceadorService();
+    private final ProblemasResidentesService servicio = new ProblemasResidentesService(
+            almacen,
+            balanceador,
+            new SolucionInicialService(
+                    new EsquinaNoroesteStrategy(), new CostoMinimoStrategy(), new VogelStrategy(), balanceador),
+            optimizacion);
+
+    @Test
+    void cadaActualizacionLlegaAlOptimoDeReferencia() {
+        Random random = new Random(4);
+        for (int semilla = 0; semilla < 40; semilla++) {
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(semilla, 2 + semilla % 6, 2 + (semilla * 3) % 7, false);
+            int m = problema.getOfertas().length;
+            int n = problema.getDemandas().length;
+            double[][] costos = problema.getCostos();
+            double[] ofertas = problema.getOfertas().clone();
+            double[] demandas = problema.getDemandas().clone();
+            String id = servicio.crear(problema, MetodoSolucionInicial.VOGEL).id();
+
+            for (int paso = 0; paso < 4; paso++) {
+                CambiosProblema cambios = CambiosProblema.builder().build();
+                int i = random.nextInt(m);
+                int j = random.nextInt(n);
+                costos[i][j] = random.nextInt(40);
+                cambios.getCostos().add(Celda.builder().fila(i).columna(j).costo(costos[i][j]).build());
+                int origen = random.nextInt(m);
+                ofertas[origen] = 5 + random.nextInt(30);
+                cambios.getOfertas().put(origen, ofertas[origen]);
+
+                ActualizacionResidente actualizacion = servicio.actualizar(id, cambios);
+
+                assertEquals(paso + 1, actualizacion.getVersion());
+                assertEquals(optimoBalanceado(costos, ofertas, demandas), actualizacion.getCostoTotal(), 1e-6,
+                        "semilla " + semilla + ", paso " + paso);
+            }
+        }
+    }
+
+    @Test
+    void siLaResolucionFallaElProblemaQuedaComoEstaba() {
+        ProblemaTransporte problema = ProblemasPrueba.aleatorio(3, 4, 5, true);
+        String id = servicio.crear(problema, MetodoSolucionInicial.VOGEL).id();
+        ProblemaResidente residente = almacen.obtener(id);
+        double[] ofertas = residente.getOfertas().clone();
+        double costo = residente.getCostoTotal();
+
+        CambiosProblema cambios = CambiosProblema.builder().build();
+        cambios.getCostos().add(Celda.builder().fila(1).columna(2).costo(0).build());
+        cambios.getCarrilesCerrados().add(Celda.builder().fila(0).columna(0).build());
+        cambios.getOfertas().put(2, ofertas[2] + 7);
+        optimizacion.fallar = true;
+        assertThrows(IllegalStateException.class, () -> servicio.actualizar(id, cambios));
+
+        assertEquals(0, residente.getVersion());
+        assertTrue(residente.getCambiosCostos().isEmpty());
+        assertArrayEquals(ofertas, residente.getOfertas());
+        assertEquals(costo, residente.getCostoTotal());
+
+        // Sin la falla, los mismos cambios se aplican completos
+        optimizacion.fallar = false;
+        ActualizacionResidente actualizacion = servicio.actualizar(id, cambios);
+        assertEquals(1, actualizacion.getVersion());
+        assertEquals(2, residente.getCambiosCostos().size());
+        assertEquals(ofertas[2] + 7, residente.getOfertas()[2]);
+    }
+
+    private double optimoBalanceado(double[][] costos, double[] ofertas, double[] demandas) {
+        ProblemaTransporte balanceado = balanceador.balancear(ProblemaTransporte.builder()
+                .costos(costos).ofertas(ofertas.clone()).demandas(demandas.clone()).build());
+        return ProblemasPrueba.costoOptimo(balanceado);
+    }
+
+    /**
+     * Optimización que lanza una excepción mientras {@code fallar} sea true.
+     */
+    private static final class OptimizacionQueFalla extends OptimizacionService {
+
+        private boolean fallar;
+
+        private OptimizacionQueFalla() {
+            super(new OptimizadorModi(), new AnalizadorSensibilidad());
+        }
+
+        @Override
+        public SolucionTransporte reanudar(ProblemaTransporte problema, int[] celdasBasicas) {
+            verificar();
+            return super.reanudar(problema, celdasBasicas);
+        }
+
+        @Override
+        public SolucionTransporte optimizar(
+                ProblemaTransporte problema,
+                SolucionTransporte inicial,
+                ModoOptimizacion modo,
+                Integer carrilesCandidatos) {
+            verificar();
+            return super.optimizar(problema, inicial, modo, carrilesCandidatos);
+        }
+
+        private void verificar() {
+            if (fallar) {
+                throw new IllegalStateException("Falla simulada");
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.ContraccionJerarquica;
+import com.io.graphtransportsolver.models.transporte.GrafoVial;
+import com.io.graphtransportsolver.models.transporte.JerarquiaContraccion;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RedVialServiceTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(2);
+    private static final double SIN_CAMINO = -1.0;
+
+    private final RedVialService servicio = new RedVialService(POOL);
+
+    @TempDir
+    Path directorio;
+
+    @AfterAll
+    static void detenerPool() {
+        POOL.shutdownNow();
+    }
+
+    @Test
+    void laJerarquiaYDijkstraCoincidenConFloydWarshall() {
+        Random random = new Random(5);
+        for (int caso = 0; caso < 150; caso++) {
+            Red red = redAleatoria(random);
+            GrafoVial grafo = GrafoVial.desdeAristas(red.desde, red.hasta, red.pesos, red.dirigida);
+            long[] origenes = nodosAleatorios(random, red.ids, 1 + random.nextInt(12));
+            long[] destinos = nodosAleatorios(random, red.ids, 1 + random.nextInt(12));
+            double[][] esperado = costosDeReferencia(red, origenes, destinos, 1.5, 2.0);
+
+            double[][] dijkstra = servicio.calcularCostos(grafo, origenes, destinos, 1.5, 2.0, SIN_CAMINO);
+            double[][] jerarquia = servicio.calcularCostos(
+                    ContraccionJerarquica.construir(grafo), origenes, destinos, 1.5, 2.0, SIN_CAMINO);
+
+            for (int i = 0; i < origenes.length; i++) {
+                for (int j = 0; j < destinos.length; j++) {
+                    assertEquals(esperado[i][j], dijkstra[i][j], 1e-9, "caso " + caso);
+                    assertEquals(esperado[i][j], jerarquia[i][j], 1e-9, "caso " + caso);
+                }
+            }
+        }
+    }
+
+    @Test
+    void laJerarquiaGuardadaSeReabreDesdeDisco() {
+        Random random = new Random(11);
+        Red red = redAleatoria(random);
+        GrafoVial grafo = GrafoVial.desdeAristas(red.desde, red.hasta, red.pesos, red.dirigida);
+        long[] origenes = nodosAleatorios(random, red.ids, 10);
+        long[] destinos = nodosAleatorios(random, red.ids, 10);
+
+        String id = new IndiceRedesService(directorio.toString()).registrar(grafo).id();
+        // Otra instancia simula un reinicio: la jerarquía se mapea desde el archivo
+        JerarquiaContraccion reabierta = new IndiceRedesService(directorio.toString()).obtener(id);
+
+        double[][] esperado = costosDeReferencia(red, origenes, destinos, 1.0, 0.0);
+        double[][] calculado = servicio.calcularCostos(reabierta, origenes, destinos, 1.0, 0.0, SIN_CAMINO);
+        for (int i = 0; i < origenes.length; i++) {
+            for (int j = 0; j < destinos.length; j++) {
+                assertEquals(esperado[i][j], calculado[i][j], 1e-9);
+            }
+        }
+    }
+
+    @Test
+    void rechazaIdentificadoresDeRedInvalidosODesconocidos() {
+        IndiceRedesService indice = new IndiceRedesService(directorio.toString());
+
+        assertThrows(IllegalArgumentException.class, () -> indice.obtener("../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> indice.obtener(UUID.randomUUID().toString()));
+    }
+
+    /**
+     * Red con ids dispersos (algunos negativos), aristas repetidas, lazos, pesos nulos y
+     * componentes sin conexión entre sí.
+     */
+    private static Red redAleatoria(Random random) {
+        int nodos = 2 + random.nextInt(40);
+        int aristas = 1 + random.nextInt(120);
+        long[] desde = new long[aristas];
+        long[] hasta = new long[aristas];
+        double[] pesos = new double[aristas];
+        for (int k = 0; k < aristas; k++) {
+            desde[k] = random.nextInt(nodos) * 3L - 20;
+            hasta[k] = random.nextInt(nodos) * 3L - 20;
+            pesos[k] = random.nextInt(5) == 0 ? 0 : random.nextInt(30) + random.nextDouble();
+        }
+        long[] todos = new long[2 * aristas];
+        System.arraycopy(desde, 0, todos, 0, aristas);
+        System.arraycopy(hasta, 0, todos, aristas, aristas);
+        return new Red(desde, hasta, pesos, random.nextBoolean(), Arrays.stream(todos).sorted().distinct().toArray());
+    }
+
+    private static long[] nodosAleatorios(Random random, long[] ids, int cantidad) {
+        long[] nodos = new long[cantidad];
+        for (int k = 0; k < cantidad; k++) {
+            nodos[k] = ids[random.nextInt(ids.length)];
+        }
+        return nodos;
+    }
+
+    private static double[][] costosDeReferencia(Red red, long[] origenes, long[] destinos, double tarifa, double costoFijo) {
+        int nodos = red.ids.length;
+        double[][] distancia = new double[nodos][nodos];
+        for (double[] fila : distancia) {
+            Arrays.fill(fila, Double.POSITIVE_INFINITY);
+        }
+        for (int v = 0; v < nodos; v++) {
+            distancia[v][v] = 0;
+        }
+        for (int k = 0; k < red.desde.length; k++) {
+            int a = Arrays.binarySearch(red.ids, red.desde[k]);
+            int b = Arrays.binarySearch(red.ids, red.hasta[k]);
+            distancia[a][b] = Math.min(distancia[a][b], red.pesos[k]);
+            if (!red.dirigida) {
+                distancia[b][a] = Math.min(distancia[b][a], red.pesos[k]);
+            }
+        }
+        for (int intermedio = 0; intermedio < nodos; intermedio++) {
+            for (int a = 0; a < nodos; a++) {
+                for (int b = 0; b < nodos; b++) {
+                    distancia[a][b] = Math.min(distancia[a][b], distancia[a][intermedio] + distancia[intermedio][b]);
+                }
+            }
+        }
+
+        double[][] costos = new double[origenes.length][destinos.length];
+        for (int i = 0; i < origenes.length; i++) {
+            for (int j = 0; j < destinos.length; j++) {
+                double d = distancia[Arrays.binarySearch(red.ids, origenes[i])][Arrays.binarySearch(red.ids, destinos[j])];
+                costos[i][j] = d == Double.POSITIVE_INFINITY ? SIN_CAMINO : tarifa * d + costoFijo;
+            }
+        }
+        return costos;
+    }
+
+    private record Red(long[] desde, long[] hasta, double[] pesos, boolean dirigida, long[] ids) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
+import com.io.graphtransportsolver.algoritmos.transporte.OptimizadorModi;
+import com.io.graphtransportsolver.algoritmos.transporte.ProblemasPrueba;
+import com.io.graphtransportsolver.models.transporte.ProblemaTransporte;
+import com.io.graphtransportsolver.models.transporte.SolucionTransporte;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResolucionDistribuidaServiceTest {
+
+    private static final ForkJoinPool POOL = new ForkJoinPool(2);
+    private static final List<TrabajadorDistribuidoService> TRABAJADORES = new ArrayList<>();
+    private static String direcciones;
+
+    @BeforeAll
+    static void iniciarTrabajadores() throws IOException {
+        StringBuilder lista = new StringBuilder();
+        for (int w = 0; w < 3; w++) {
+            int puerto = puertoLibre();
+            TrabajadorDistribuidoService trabajador =
+                    new TrabajadorDistribuidoService(puerto, "127.0.0.1", 1_000_000, POOL);
+            trabajador.iniciar();
+            TRABAJADORES.add(trabajador);
+            lista.append(w > 0 ? "," : "").append("localhost:").append(puerto);
+        }
+        direcciones = lista.toString();
+    }
+
+    @AfterAll
+    static void detenerTrabajadores() throws IOException {
+        for (TrabajadorDistribuidoService trabajador : TRABAJADORES) {
+            trabajador.detener();
+        }
+        POOL.shutdownNow();
+    }
+
+    @Test
+    void alcanzaElOptimoDeLaMatrizCompleta() {
+        ResolucionDistribuidaService servicio = new ResolucionDistribuidaService(new OptimizadorModi(), direcciones, 10_000);
+        for (int semilla = 0; semilla < 30; semilla++) {
+            ProblemaTransporte problema = ProblemasPrueba.aleatorio(semilla, 3 + semilla % 11, 2 + semilla % 7, true);
+
+            SolucionTransporte solucion = servicio.resolver(problema, 1 + semilla % 3, ControlEjecucion.SIN_LIMITE);
+
+            assertTrue(solucion.isOptima());
+            ProblemasPrueba.verificarOptimo(problema, solucion);
+            assertEquals(ProblemasPrueba.costoOptimo(problema), solucion.getCostoTotal(), 1e-6, "semilla " + semilla);
+        }
+    }
+
+    @Test
+    void fallaConExcepcionPropiaSiUnTrabajadorNoResponde() throws IOException {
+        ResolucionDistribuidaService servicio =
+                new ResolucionDistribuidaService(new OptimizadorModi(), "localhost:" + puertoLibre(), 1_000);
+        ProblemaTransporte problema = ProblemasPrueba.aleatorio(1, 5, 5, true);
+
+        assertThrows(ResolucionDistribuidaException.class,
+                () -> servicio.resolver(problema, null, ControlEjecucion.SIN_LIMITE));
+    }
+
+    private static int puertoLibre() throws IOException {
+        try (ServerSocket libre = new ServerSocket(0)) {
+            return libre.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import com.io.graphtransportsolver.algoritmos.transporte.ControlEjecucion;
+import com.io.graphtransportsolver.algoritmos.transporte.PlazoVencidoException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResolucionesEnCursoTest {
+
+    private static final long ESPERA_S = 10;
+
+    private final ResolucionesEnCurso<String> resoluciones = new ResolucionesEnCurso<>("prueba");
+    private final ExecutorService ejecutor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void detenerEjecutor() {
+        ejecutor.shutdownNow();
+    }
+
+    @Test
+    void lasSolicitudesIdenticasCompartenUnaSolaResolucion() throws Exception {
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        AtomicInteger ejecuciones = new AtomicInteger();
+        Future<CompletableFuture<String>> lider = ejecutor.submit(() -> resoluciones.unirse(
+                "clave", ControlEjecucion.cancelable(), control -> {
+                    ejecuciones.incrementAndGet();
+                    iniciada.countDown();
+                    esperar(liberar);
+                    return "resultado";
+                }));
+        assertTrue(iniciada.await(ESPERA_S, TimeUnit.SECONDS));
+
+        List<CompletableFuture<String>> seguidores = new ArrayList<>();
+        for (int k = 0; k < 5; k++) {
+            seguidores.add(resoluciones.unirse("clave", ControlEjecucion.cancelable(), control -> {
+                ejecuciones.incrementAndGet();
+                return "repetido";
+            }));
+        }
+        CompletableFuture<String> otraClave =
+                resoluciones.unirse("otra", ControlEjecucion.cancelable(), control -> "independiente");
+        liberar.countDown();
+
+        assertEquals("resultado", lider.get(ESPERA_S, TimeUnit.SECONDS).get());
+        for (CompletableFuture<String> seguidor : seguidores) {
+            assertEquals("resultado", seguidor.get(ESPERA_S, TimeUnit.SECONDS));
+        }
+        assertEquals("independiente", otraClave.get());
+        assertEquals(1, ejecuciones.get());
+        assertEquals(5, resoluciones.getUnidas());
+    }
+
+    @Test
+    void laResolucionSigueMientrasQuedeAlguienEsperando() throws Exception {
+        ControlEjecucion primera = ControlEjecucion.cancelable();
+        ControlEjecucion segunda = ControlEjecucion.cancelable();
+        AtomicReference<ControlEjecucion> compartido = new AtomicReference<>();
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<CompletableFuture<String>> lider = ejecutor.submit(() -> resoluciones.unirse("clave", primera, control -> {
+            compartido.set(control);
+            iniciada.countDown();
+            esperar(liberar);
+            return control.fueCancelado() ? "cancelada" : "completa";
+        }));
+        assertTrue(iniciada.await(ESPERA_S, TimeUnit.SECONDS));
+        CompletableFuture<String> seguidor = resoluciones.unirse("clave", segunda, control -> "repetido");
+
+        primera.cancelar();
+        assertFalse(compartido.get().fueCancelado());
+        liberar.countDown();
+
+        assertEquals("completa", seguidor.get(ESPERA_S, TimeUnit.SECONDS));
+        lider.get(ESPERA_S, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void laResolucionSeCancelaCuandoTodosSeVan() throws Exception {
+        ControlEjecucion primera = ControlEjecucion.cancelable();
+        ControlEjecucion segunda = ControlEjecucion.cancelable();
+        AtomicReference<ControlEjecucion> compartido = new AtomicReference<>();
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<CompletableFuture<String>> lider = ejecutor.submit(() -> resoluciones.unirse("clave", primera, control -> {
+            compartido.set(control);
+            iniciada.countDown();
+            esperar(liberar);
+            control.verificarCancelacion();
+            return "completa";
+        }));
+        assertTrue(iniciada.await(ESPERA_S, TimeUnit.SECONDS));
+        CompletableFuture<String> seguidor = resoluciones.unirse("clave", segunda, control -> "repetido");
+
+        primera.cancelar();
+        segunda.cancelar();
+        assertTrue(compartido.get().debeDetenerse());
+        liberar.countDown();
+
+        assertThrows(CancellationException.class, () -> seguidor.get(ESPERA_S, TimeUnit.SECONDS));
+
+        // Una solicitud posterior ya no se une a la resolución abandonada
+        lider.get(ESPERA_S, TimeUnit.SECONDS);
+        assertEquals("nueva", resoluciones.unirse("clave", ControlEjecucion.cancelable(), control -> "nueva").get());
+    }
+
+    @Test
+    void elPlazoCuentaDesdeQueSeAceptoLaSolicitud() throws Exception {
+        ControlEjecucion aceptada = ControlEjecucion.cancelable();
+        // La solicitud espera un hilo libre más que todo su presupuesto
+        Thread.sleep(60);
+
+        String resultado = resoluciones.unirse("clave", aceptada, compartido -> {
+            ControlEjecucion control = compartido.conPlazo(30);
+            assertTrue(control.debeDetenerse());
+            assertThrows(PlazoVencidoException.class, control::verificarInicio);
+            assertFalse(compartido.conPlazo(60_000).debeDetenerse());
+            return "rechazada";
+        }).get(ESPERA_S, TimeUnit.SECONDS);
+
+        assertEquals("rechazada", resultado);
+    }
+
+    @Test
+    void unErrorDeLaResolucionLlegaATodosLosQueEsperan() throws Exception {
+        CountDownLatch iniciada = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Future<CompletableFuture<String>> lider = ejecutor.submit(() -> resoluciones.unirse(
+                "clave", ControlEjecucion.cancelable(), control -> {
+                    iniciada.countDown();
+                    esperar(liberar);
+                    throw new IllegalArgumentException("problema inválido");
+                }));
+        assertTrue(iniciada.await(ESPERA_S, TimeUnit.SECONDS));
+        CompletableFuture<String> seguidor = resoluciones.unirse("clave", ControlEjecucion.cancelable(), control -> "repetido");
+        liberar.countDown();
+
+        for (CompletableFuture<String> resultado : List.of(lider.get(ESPERA_S, TimeUnit.SECONDS), seguidor)) {
+            ExecutionException error = assertThrows(ExecutionException.class, () -> resultado.get(ESPERA_S, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalArgumentException.class, error.getCause());
+        }
+    }
+
+    private static void esperar(CountDownLatch liberar) {
+        try {
+            assertTrue(liberar.await(ESPERA_S, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
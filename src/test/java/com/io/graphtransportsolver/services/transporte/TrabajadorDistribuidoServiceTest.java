@@ -0,0 +1,114 @@
+package com.io.graphtransportsolver.services.transporte;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrabajadorDistribuidoServiceTest {
+
+    private ForkJoinPool pool;
+    private TrabajadorDistribuidoService trabajador;
+    private Socket socket;
+    private DataInputStream entrada;
+    private DataOutputStream salida;
+
+    @BeforeEach
+    void iniciar() throws IOException {
+        int puerto;
+        try (ServerSocket libre = new ServerSocket(0)) {
+            puerto = libre.getLocalPort();
+        }
+        pool = new ForkJoinPool(2);
+        trabajador = new TrabajadorDistribuidoService(puerto, "127.0.0.1", 1_000, pool);
+        trabajador.iniciar();
+
+        socket = new Socket(InetAddress.getLoopbackAddress(), puerto);
+        entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        salida = new DataOutputStream(socket.getOutputStream());
+    }
+
+    @AfterEach
+    void detener() throws IOException {
+        socket.close();
+        trabajador.detener();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void rechazaBloquesQueSuperanElMaximoSinReservarlos() throws IOException {
+        salida.writeByte(ProtocoloDistribuido.CARGAR);
+        salida.writeInt(0);
+        salida.writeInt(Integer.MAX_VALUE);
+        salida.writeInt(Integer.MAX_VALUE);
+        salida.flush();
+
+        assertEquals(ProtocoloDistribuido.ERROR, entrada.readByte());
+        assertTrue(entrada.readUTF().contains("supera el máximo"));
+    }
+
+    @Test
+    void rechazaPotencialesFueraDelBloque() throws IOException {
+        cargar(2, 3);
+
+        salida.writeByte(ProtocoloDistribuido.VALORAR);
+        salida.writeInt(1);
+        salida.writeInt(7);
+        salida.writeDouble(1.0);
+        salida.flush();
+
+        assertEquals(ProtocoloDistribuido.ERROR, entrada.readByte());
+        assertTrue(entrada.readUTF().contains("no pertenece al bloque"));
+    }
+
+    @Test
+    void valoraLasViolacionesDelBloque() throws IOException {
+        cargar(2, 3);
+
+        // u = (0, 0), v = (0, 0, 5): solo las celdas de la última columna tienen reducido negativo
+        salida.writeByte(ProtocoloDistribuido.VALORAR);
+        salida.writeInt(0);
+        salida.writeInt(1);
+        salida.writeInt(2);
+        salida.writeDouble(5.0);
+        salida.writeInt(10);
+        salida.writeDouble(1e-9);
+        salida.flush();
+
+        ProtocoloDistribuido.leerEstado(entrada);
+        assertEquals(2, entrada.readInt());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(i, entrada.readInt());
+            assertEquals(2, entrada.readInt());
+            assertEquals(i + 2, entrada.readDouble());
+        }
+    }
+
+    /**
+     * Carga un bloque con costo(i, j) = i + j.
+     */
+    private void cargar(int filas, int n) throws IOException {
+        salida.writeByte(ProtocoloDistribuido.CARGAR);
+        salida.writeInt(0);
+        salida.writeInt(filas);
+        salida.writeInt(n);
+        for (int i = 0; i < filas; i++) {
+            for (int j = 0; j < n; j++) {
+                salida.writeDouble(i + j);
+            }
+        }
+        salida.flush();
+        ProtocoloDistribuido.leerEstado(entrada);
+    }
+}
@@ -0,0 +1,63 @@
+package com.io.graphtransportsolver.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RespuestasEtiquetadasTest {
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final RespuestasEtiquetadas<Solicitud> respuestas = new RespuestasEtiquetadas<>(
+            "/soluciones/", jsonMapper, new CacheLRUPonderada<>("prueba", 1024 * 1024, 100), 0);
+
+    @Test
+    void laEtiquetaEsElHashDelCuerpo() throws Exception {
+        RespuestasEtiquetadas.Guardada guardada = respuestas.guardar("h", new Respuesta(120.0, false));
+
+        String esperada = HexFormat.of().formatHex(
+                MessageDigest.getInstance("SHA-256").digest(jsonMapper.writeValueAsBytes(new Respuesta(120.0, false))));
+        assertEquals(esperada, guardada.etiqueta());
+        assertArrayEquals(guardada.cuerpo(), respuestas.obtener(guardada.etiqueta()));
+
+        ResponseEntity<byte[]> respuesta = respuestas.responder(guardada);
+        assertEquals("\"" + esperada + "\"", respuesta.getHeaders().getETag());
+        assertEquals("/soluciones/" + esperada, respuesta.getHeaders().getFirst(HttpHeaders.CONTENT_LOCATION));
+    }
+
+    @Test
+    void unaMismaSolicitudConOtraRespuestaCambiaDeEtiqueta() {
+        String huella = respuestas.huella(new Solicitud(List.of(1, 2), "VOGEL"));
+        RespuestasEtiquetadas.Guardada fria = respuestas.guardar(huella, new Respuesta(120.0, false));
+        RespuestasEtiquetadas.Guardada caliente = respuestas.guardar(huella, new Respuesta(120.0, true));
+
+        assertNotEquals(fria.etiqueta(), caliente.etiqueta());
+        assertEquals(caliente.etiqueta(), respuestas.buscar(huella).etiqueta());
+        // La respuesta anterior sigue disponible por su propia etiqueta
+        assertArrayEquals(fria.cuerpo(), respuestas.obtener(fria.etiqueta()));
+    }
+
+    @Test
+    void laHuellaDependeSoloDelContenidoDeLaSolicitud() {
+        assertEquals(respuestas.huella(new Solicitud(List.of(1, 2), "VOGEL")),
+                respuestas.huella(new Solicitud(List.of(1, 2), "VOGEL")));
+        assertNotEquals(respuestas.huella(new Solicitud(List.of(1, 2), "VOGEL")),
+                respuestas.huella(new Solicitud(List.of(2, 1), "VOGEL")));
+        assertNull(respuestas.buscar(respuestas.huella(new Solicitud(List.of(3), "VOGEL"))));
+    }
+
+    private record Solicitud(List<Integer> ofertas, String metodo) {
+    }
+
+    private record Respuesta(double costoTotal, boolean arranqueEnCaliente) {
+    }
+}